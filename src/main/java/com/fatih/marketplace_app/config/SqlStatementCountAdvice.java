@@ -0,0 +1,37 @@
+package com.fatih.marketplace_app.config;
+
+import com.fatih.marketplace_app.constant.HeaderConst;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Adds the number of SQL statements executed so far to the response headers, just before the body is written.
+ * Statements issued while the body itself is serialized are only included in the log of {@link SqlStatementCountFilter}.
+ */
+@RestControllerAdvice
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "diagnostics.sql-statement-count.enabled", havingValue = "true")
+public class SqlStatementCountAdvice implements ResponseBodyAdvice<Object> {
+
+    private final SqlStatementCounter sqlStatementCounter;
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        response.getHeaders().set(HeaderConst.SQL_STATEMENT_COUNT, String.valueOf(sqlStatementCounter.getCount()));
+        return body;
+    }
+}
@@ -0,0 +1,38 @@
+package com.fatih.marketplace_app.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Counts the SQL statements executed while handling each request and logs the total once the response is complete.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "diagnostics.sql-statement-count.enabled", havingValue = "true")
+public class SqlStatementCountFilter extends OncePerRequestFilter {
+
+    private final SqlStatementCounter sqlStatementCounter;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        sqlStatementCounter.reset();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            log.info("{} {} executed {} SQL statements", request.getMethod(), request.getRequestURI(),
+                    sqlStatementCounter.getCount());
+            sqlStatementCounter.clear();
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.fatih.marketplace_app.config;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the current thread.
+ * Registers itself as the session factory's statement inspector, so every JPQL, criteria and native query is counted.
+ * Enabled with {@code diagnostics.sql-statement-count.enabled=true}.
+ */
+@Component
+@ConditionalOnProperty(name = "diagnostics.sql-statement-count.enabled", havingValue = "true")
+public class SqlStatementCounter implements StatementInspector, HibernatePropertiesCustomizer {
+
+    private final ThreadLocal<long[]> statementCount = ThreadLocal.withInitial(() -> new long[1]);
+
+    /**
+     * Registers this counter as the Hibernate statement inspector.
+     *
+     * @param hibernateProperties the properties the session factory is built with
+     */
+    @Override
+    public void customize(Map<String, Object> hibernateProperties) {
+        hibernateProperties.put(AvailableSettings.STATEMENT_INSPECTOR, this);
+    }
+
+    /**
+     * Counts the statement and returns it unchanged.
+     *
+     * @param sql the SQL statement about to be prepared
+     * @return the same SQL statement
+     */
+    @Override
+    public String inspect(String sql) {
+        statementCount.get()[0]++;
+        return sql;
+    }
+
+    /**
+     * Returns the number of statements counted on the current thread since the last reset.
+     *
+     * @return the statement count
+     */
+    public long getCount() {
+        return statementCount.get()[0];
+    }
+
+    /**
+     * Starts counting from zero on the current thread.
+     */
+    public void reset() {
+        statementCount.get()[0] = 0;
+    }
+
+    /**
+     * Releases the counter of the current thread.
+     */
+    public void clear() {
+        statementCount.remove();
+    }
+}
@@ -0,0 +1,16 @@
+package com.fatih.marketplace_app.constant;
+
+/**
+ * Defines constant HTTP header names used by the application.
+ */
+public final class HeaderConst {
+
+    /** Client supplied key that makes a request safe to retry. */
+    public static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+
+    /** Set on responses that were replayed from a previous request with the same idempotency key. */
+    public static final String IDEMPOTENT_REPLAYED = "Idempotent-Replayed";
+
+    /** Number of SQL statements Hibernate prepared while handling the request, set when the statement counter is enabled. */
+    public static final String SQL_STATEMENT_COUNT = "X-SQL-Statement-Count";
+}
@@ -33,4 +33,13 @@ public final class UrlConst {
     public static final String ADD = "/add";
     public static final String REMOVE = "/remove";
     public static final String NUMBER = "/number";
+    public static final String STATEMENT = "/statement";
+    public static final String ASYNC = "/async";
+    public static final String STATUS = "/status";
+    public static final String BATCH = "/batch";
+    public static final String CURSOR = "/cursor";
+    public static final String CANCEL = "/cancel";
+    public static final String LIVE = "/live";
+    public static final String ACTIVE = "/active";
+    public static final String BEST = "/best";
 }
@@ -1,9 +1,11 @@
 package com.fatih.marketplace_app.controller;
 
 import com.fatih.marketplace_app.controller.api.AddressApi;
+import com.fatih.marketplace_app.dto.page.CursorPage;
 import com.fatih.marketplace_app.dto.request.address.CreateAddressRequest;
 import com.fatih.marketplace_app.dto.request.address.UpdateAddressRequest;
 import com.fatih.marketplace_app.dto.response.address.AddressResponse;
+import com.fatih.marketplace_app.dto.response.page.CursorPageResponse;
 import com.fatih.marketplace_app.entity.AddressEntity;
 import com.fatih.marketplace_app.manager.service.AddressService;
 import com.fatih.marketplace_app.mapper.AddressMapper;
@@ -84,6 +86,25 @@ public class AddressController implements AddressApi {
         return new ResponseEntity<>(new PageImpl<>(List.of(addressMap), pageable, addressEntities.getTotalElements()), HttpStatus.OK);
     }
 
+    /**
+     * Retrieves addresses with keyset pagination.
+     *
+     * @param token     continuation token of the previous page.
+     * @param size      maximum number of addresses to return.
+     * @param withTotal whether to count all addresses as well.
+     * @return ResponseEntity with one page of addresses and the token of the next page.
+     */
+    @Override
+    public ResponseEntity<CursorPageResponse<AddressResponse>> getAllAddressesByCursor(String token, int size, boolean withTotal) {
+
+        log.info("Fetching addresses by cursor, size: {}", size);
+        CursorPage<AddressEntity> addressPage = addressService.getAllAddressesByCursor(token, size, withTotal);
+        List<AddressResponse> addressResponses = AddressMapper.INSTANCE.toAddressResponseList(addressPage.content());
+        log.info("Retrieved {} addresses", addressResponses.size());
+
+        return new ResponseEntity<>(CursorPageResponse.of(addressPage, addressResponses), HttpStatus.OK);
+    }
+
     /**
      * Deletes an address by its unique ID.
      *
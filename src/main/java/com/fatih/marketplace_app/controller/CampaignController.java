@@ -1,11 +1,17 @@
 package com.fatih.marketplace_app.controller;
 
 import com.fatih.marketplace_app.controller.api.CampaignApi;
+import com.fatih.marketplace_app.dto.campaign.BestCampaign;
+import com.fatih.marketplace_app.dto.campaign.CatalogCampaign;
+import com.fatih.marketplace_app.dto.page.CursorPage;
 import com.fatih.marketplace_app.dto.request.campaign.ApplyCampaignRequest;
 import com.fatih.marketplace_app.dto.request.campaign.CreateCampaignRequest;
 import com.fatih.marketplace_app.dto.request.campaign.UpdateCampaignRequest;
+import com.fatih.marketplace_app.dto.response.campaign.ActiveCampaignResponse;
 import com.fatih.marketplace_app.dto.response.campaign.ApplyCampaignResponse;
+import com.fatih.marketplace_app.dto.response.campaign.BestCampaignResponse;
 import com.fatih.marketplace_app.dto.response.campaign.CampaignResponse;
+import com.fatih.marketplace_app.dto.response.page.CursorPageResponse;
 import com.fatih.marketplace_app.entity.CampaignEntity;
 import com.fatih.marketplace_app.entity.CartEntity;
 import com.fatih.marketplace_app.manager.service.CampaignService;
@@ -87,6 +93,25 @@ public class CampaignController implements CampaignApi {
         return new ResponseEntity<>(new PageImpl<>(List.of(campaignMap), pageable, campaignEntities.getTotalElements()), HttpStatus.OK);
     }
 
+    /**
+     * Retrieves campaigns with keyset pagination.
+     *
+     * @param token     continuation token of the previous page.
+     * @param size      maximum number of campaigns to return.
+     * @param withTotal whether to count all campaigns as well.
+     * @return ResponseEntity with one page of campaigns and the token of the next page.
+     */
+    @Override
+    public ResponseEntity<CursorPageResponse<CampaignResponse>> getAllCampaignsByCursor(String token, int size, boolean withTotal) {
+
+        log.info("Fetching campaigns by cursor, size: {}", size);
+        CursorPage<CampaignEntity> campaignPage = campaignService.getAllCampaignsByCursor(token, size, withTotal);
+        List<CampaignResponse> campaignResponses = CampaignMapper.INSTANCE.toCampaignResponseList(campaignPage.content());
+        log.info("Retrieved {} campaigns", campaignResponses.size());
+
+        return new ResponseEntity<>(CursorPageResponse.of(campaignPage, campaignResponses), HttpStatus.OK);
+    }
+
     /**
      * Updates an existing campaign.
      *
@@ -138,6 +163,22 @@ public class CampaignController implements CampaignApi {
         return new ResponseEntity<>(campaignResponse, HttpStatus.FOUND);
     }
 
+    /**
+     * Retrieves the campaigns that are active now.
+     *
+     * @return The list of active campaign responses.
+     */
+    @Override
+    public ResponseEntity<List<ActiveCampaignResponse>> getActiveCampaigns() {
+
+        log.info("Fetching active campaigns");
+        List<CatalogCampaign> activeCampaigns = campaignService.getActiveCampaigns();
+        List<ActiveCampaignResponse> activeCampaignResponses = CampaignMapper.INSTANCE.toActiveCampaignResponseList(activeCampaigns);
+        log.info("Retrieved {} active campaigns", activeCampaignResponses.size());
+
+        return new ResponseEntity<>(activeCampaignResponses, HttpStatus.OK);
+    }
+
     /**
      * Applies a campaign to a cart.
      *
@@ -159,4 +200,29 @@ public class CampaignController implements CampaignApi {
 
         return new ResponseEntity<>(campaignResponse, HttpStatus.OK);
     }
+
+    /**
+     * Finds the active campaign giving a cart the largest discount.
+     *
+     * @param cartId The unique identifier of the cart.
+     * @return The best campaign code, or no code if no active campaign discounts the cart.
+     */
+    @Override
+    public ResponseEntity<BestCampaignResponse> getBestCampaign(UUID cartId) {
+
+        log.info("Finding the best campaign for cart {}", cartId);
+        BestCampaign bestCampaign = campaignService.findBestCampaign(cartId);
+        CatalogCampaign campaign = bestCampaign.campaign();
+
+        BestCampaignResponse bestCampaignResponse = new BestCampaignResponse(
+                bestCampaign.cartId(),
+                campaign == null ? null : campaign.campaignCode(),
+                campaign == null ? null : campaign.discountValue(),
+                bestCampaign.cartPrice(),
+                bestCampaign.discountedPrice()
+        );
+        log.info("Best campaign for cart {}: {}", cartId, bestCampaignResponse.campaignCode());
+
+        return new ResponseEntity<>(bestCampaignResponse, HttpStatus.OK);
+    }
 }
@@ -1,9 +1,11 @@
 package com.fatih.marketplace_app.controller;
 
 import com.fatih.marketplace_app.controller.api.CartApi;
+import com.fatih.marketplace_app.dto.page.CursorPage;
 import com.fatih.marketplace_app.dto.request.cart.CreateCartRequest;
 import com.fatih.marketplace_app.dto.request.cart.UpdateCartRequest;
 import com.fatih.marketplace_app.dto.response.cart.CartResponse;
+import com.fatih.marketplace_app.dto.response.page.CursorPageResponse;
 import com.fatih.marketplace_app.entity.CartEntity;
 import com.fatih.marketplace_app.manager.service.CartService;
 import com.fatih.marketplace_app.mapper.CartMapper;
@@ -101,6 +103,25 @@ public class CartController implements CartApi {
         return new ResponseEntity<>(new PageImpl<>(List.of(cartMap), pageable, cartEntities.getTotalElements()), HttpStatus.OK);
     }
 
+    /**
+     * Retrieves carts with keyset pagination.
+     *
+     * @param token     continuation token of the previous page.
+     * @param size      maximum number of carts to return.
+     * @param withTotal whether to count all carts as well.
+     * @return ResponseEntity with one page of carts and the token of the next page.
+     */
+    @Override
+    public ResponseEntity<CursorPageResponse<CartResponse>> getAllCartsByCursor(String token, int size, boolean withTotal) {
+
+        log.info("Fetching carts by cursor, size: {}", size);
+        CursorPage<CartEntity> cartPage = cartService.getAllCartsByCursor(token, size, withTotal);
+        List<CartResponse> cartResponses = CartMapper.INSTANCE.toCartResponseList(cartPage.content());
+        log.info("Retrieved {} carts", cartResponses.size());
+
+        return new ResponseEntity<>(CursorPageResponse.of(cartPage, cartResponses), HttpStatus.OK);
+    }
+
     /**
      * Deletes a cart by its unique ID.
      *
@@ -1,11 +1,17 @@
 package com.fatih.marketplace_app.controller;
 
 import com.fatih.marketplace_app.controller.api.CartItemApi;
+import com.fatih.marketplace_app.dto.cart.CartItemOperation;
+import com.fatih.marketplace_app.dto.page.CursorPage;
 import com.fatih.marketplace_app.dto.request.cartItem.AddProductToCartItemRequest;
+import com.fatih.marketplace_app.dto.request.cartItem.CartItemBatchRequest;
 import com.fatih.marketplace_app.dto.request.cartItem.CreateCartItemRequest;
 import com.fatih.marketplace_app.dto.request.cartItem.RemoveProductFromCartItemRequest;
 import com.fatih.marketplace_app.dto.request.cartItem.UpdateCartItemRequest;
+import com.fatih.marketplace_app.dto.response.cartItem.CartItemBatchResponse;
 import com.fatih.marketplace_app.dto.response.cartItem.CartItemResponse;
+import com.fatih.marketplace_app.dto.response.page.CursorPageResponse;
+import com.fatih.marketplace_app.entity.CartEntity;
 import com.fatih.marketplace_app.entity.CartItemEntity;
 import com.fatih.marketplace_app.manager.service.CartItemService;
 import com.fatih.marketplace_app.mapper.CartItemMapper;
@@ -104,6 +110,25 @@ public class CartItemController implements CartItemApi {
         return new ResponseEntity<>(new PageImpl<>(List.of(cartItemMap), pageable, cartItemEntities.getTotalElements()), HttpStatus.OK);
     }
 
+    /**
+     * Retrieves cart items with keyset pagination.
+     *
+     * @param token     continuation token of the previous page.
+     * @param size      maximum number of cart items to return.
+     * @param withTotal whether to count all cart items as well.
+     * @return ResponseEntity with one page of cart items and the token of the next page.
+     */
+    @Override
+    public ResponseEntity<CursorPageResponse<CartItemResponse>> getAllCartItemsByCursor(String token, int size, boolean withTotal) {
+
+        log.info("Fetching cart items by cursor, size: {}", size);
+        CursorPage<CartItemEntity> cartItemPage = cartItemService.getAllCartItemsByCursor(token, size, withTotal);
+        List<CartItemResponse> cartItemResponses = CartItemMapper.INSTANCE.toCartItemResponseList(cartItemPage.content());
+        log.info("Retrieved {} cart items", cartItemResponses.size());
+
+        return new ResponseEntity<>(CursorPageResponse.of(cartItemPage, cartItemResponses), HttpStatus.OK);
+    }
+
     /**
      * Deletes a cart item by its unique ID.
      *
@@ -154,6 +179,24 @@ public class CartItemController implements CartItemApi {
         return new ResponseEntity<>(cartItemResponse, HttpStatus.OK);
     }
 
+    /**
+     * Applies many cart item operations to one cart.
+     *
+     * @param cartItemBatchRequest The request containing the cart and the operations in order.
+     * @return The cart price and all cart items after the operations.
+     */
+    @Override
+    public ResponseEntity<CartItemBatchResponse> applyCartItemOperations(CartItemBatchRequest cartItemBatchRequest) {
+
+        log.info("Applying {} operations to cart {}", cartItemBatchRequest.operations().size(), cartItemBatchRequest.cartId());
+        List<CartItemOperation> operations = CartItemMapper.INSTANCE.toCartItemOperations(cartItemBatchRequest.operations());
+        CartEntity updatedCart = cartItemService.applyCartItemOperations(cartItemBatchRequest.cartId(), operations);
+        CartItemBatchResponse cartItemBatchResponse = CartItemMapper.INSTANCE.toCartItemBatchResponse(updatedCart);
+        log.info("Operations applied, cart price: {}", cartItemBatchResponse.cartPrice());
+
+        return new ResponseEntity<>(cartItemBatchResponse, HttpStatus.OK);
+    }
+
     /**
      * Retrieves all cart items for a given cart ID with pagination.
      *
@@ -172,4 +215,24 @@ public class CartItemController implements CartItemApi {
 
         return new ResponseEntity<>(new PageImpl<>(List.of(cartItemMap), pageable, cartItemEntities.getTotalElements()), HttpStatus.FOUND);
     }
+
+    /**
+     * Retrieves the cart items of a cart with keyset pagination.
+     *
+     * @param cartId    The unique identifier of the cart.
+     * @param token     continuation token of the previous page.
+     * @param size      maximum number of cart items to return.
+     * @param withTotal whether to count all cart items of the cart as well.
+     * @return ResponseEntity with one page of cart items and the token of the next page.
+     */
+    @Override
+    public ResponseEntity<CursorPageResponse<CartItemResponse>> getCartItemsByCartIdByCursor(UUID cartId, String token, int size, boolean withTotal) {
+
+        log.info("Fetching cart items for cart ID: {} by cursor, size: {}", cartId, size);
+        CursorPage<CartItemEntity> cartItemPage = cartItemService.getCartItemsByCartIdByCursor(cartId, token, size, withTotal);
+        List<CartItemResponse> cartItemResponses = CartItemMapper.INSTANCE.toCartItemResponseList(cartItemPage.content());
+        log.info("Fetched {} cart items for cart ID: {}", cartItemResponses.size(), cartId);
+
+        return new ResponseEntity<>(CursorPageResponse.of(cartItemPage, cartItemResponses), HttpStatus.OK);
+    }
 }
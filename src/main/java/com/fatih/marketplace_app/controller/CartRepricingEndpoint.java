@@ -0,0 +1,32 @@
+package com.fatih.marketplace_app.controller;
+
+import com.fatih.marketplace_app.dto.cart.CartRepricingProgress;
+import com.fatih.marketplace_app.manager.service.CartRepricingService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Actuator endpoint showing the progress of the cart re-pricings started by campaign changes,
+ * served at {@code /actuator/cartrepricing}.
+ */
+@Component
+@Endpoint(id = "cartrepricing")
+@RequiredArgsConstructor
+public class CartRepricingEndpoint {
+
+    private final CartRepricingService cartRepricingService;
+
+    /**
+     * Returns the progress of the latest re-pricing of each campaign, most recent first.
+     *
+     * @return The progress of the re-pricings
+     */
+    @ReadOperation
+    public List<CartRepricingProgress> repricingProgress() {
+        return cartRepricingService.getRepricingProgress();
+    }
+}
@@ -1,8 +1,10 @@
 package com.fatih.marketplace_app.controller;
 
 import com.fatih.marketplace_app.controller.api.InvoiceApi;
+import com.fatih.marketplace_app.dto.page.CursorPage;
 import com.fatih.marketplace_app.dto.request.invoice.CreateInvoiceRequest;
 import com.fatih.marketplace_app.dto.response.invoice.InvoiceResponse;
+import com.fatih.marketplace_app.dto.response.page.CursorPageResponse;
 import com.fatih.marketplace_app.entity.InvoiceEntity;
 import com.fatih.marketplace_app.manager.service.InvoiceService;
 import com.fatih.marketplace_app.mapper.InvoiceMapper;
@@ -98,6 +100,25 @@ public class InvoiceController implements InvoiceApi {
         return new ResponseEntity<>(new PageImpl<>(List.of(invoiceMap), pageable, invoiceEntities.getTotalElements()), HttpStatus.OK);
     }
 
+    /**
+     * Retrieves invoices with keyset pagination.
+     *
+     * @param token     continuation token of the previous page.
+     * @param size      maximum number of invoices to return.
+     * @param withTotal whether to count all invoices as well.
+     * @return ResponseEntity with one page of invoices and the token of the next page.
+     */
+    @Override
+    public ResponseEntity<CursorPageResponse<InvoiceResponse>> getAllInvoicesByCursor(String token, int size, boolean withTotal) {
+
+        log.info("Fetching invoices by cursor, size: {}", size);
+        CursorPage<InvoiceEntity> invoicePage = invoiceService.getAllInvoicesByCursor(token, size, withTotal);
+        List<InvoiceResponse> invoiceResponses = InvoiceMapper.INSTANCE.toInvoiceResponseList(invoicePage.content());
+        log.info("Retrieved {} invoices", invoiceResponses.size());
+
+        return new ResponseEntity<>(CursorPageResponse.of(invoicePage, invoiceResponses), HttpStatus.OK);
+    }
+
     /**
      * Retrieves an invoice by its associated order ID.
      *
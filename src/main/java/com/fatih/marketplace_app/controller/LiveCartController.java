@@ -0,0 +1,76 @@
+package com.fatih.marketplace_app.controller;
+
+import com.fatih.marketplace_app.controller.api.LiveCartApi;
+import com.fatih.marketplace_app.dto.cart.LiveCart;
+import com.fatih.marketplace_app.dto.request.cart.LiveCartItemRequest;
+import com.fatih.marketplace_app.dto.response.cart.LiveCartResponse;
+import com.fatih.marketplace_app.manager.service.LiveCartService;
+import com.fatih.marketplace_app.mapper.LiveCartMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.UUID;
+
+/**
+ * Controller for managing live carts.
+ */
+@Slf4j
+@RestController
+@RequiredArgsConstructor
+public class LiveCartController implements LiveCartApi {
+
+    private final LiveCartService liveCartService;
+
+    /**
+     * Retrieves the live state of a cart.
+     *
+     * @param cartId The unique identifier of the cart.
+     * @return The live cart response.
+     */
+    @Override
+    public ResponseEntity<LiveCartResponse> getLiveCart(UUID cartId) {
+
+        log.info("Fetching live cart with ID: {}", cartId);
+        LiveCart liveCart = liveCartService.getLiveCart(cartId);
+        LiveCartResponse liveCartResponse = LiveCartMapper.INSTANCE.toLiveCartResponse(liveCart);
+
+        return new ResponseEntity<>(liveCartResponse, HttpStatus.OK);
+    }
+
+    /**
+     * Adds a quantity of a product to a live cart.
+     *
+     * @param liveCartItemRequest The request containing cart, product and quantity.
+     * @return The live cart response after the change.
+     */
+    @Override
+    public ResponseEntity<LiveCartResponse> addProduct(LiveCartItemRequest liveCartItemRequest) {
+
+        log.info("Adding product {} to live cart {}", liveCartItemRequest.productId(), liveCartItemRequest.cartId());
+        LiveCart liveCart = liveCartService.addProduct(liveCartItemRequest.cartId(),
+                liveCartItemRequest.productId(), liveCartItemRequest.productQuantity());
+        LiveCartResponse liveCartResponse = LiveCartMapper.INSTANCE.toLiveCartResponse(liveCart);
+
+        return new ResponseEntity<>(liveCartResponse, HttpStatus.OK);
+    }
+
+    /**
+     * Removes a quantity of a product from a live cart.
+     *
+     * @param liveCartItemRequest The request containing cart, product and quantity.
+     * @return The live cart response after the change.
+     */
+    @Override
+    public ResponseEntity<LiveCartResponse> removeProduct(LiveCartItemRequest liveCartItemRequest) {
+
+        log.info("Removing product {} from live cart {}", liveCartItemRequest.productId(), liveCartItemRequest.cartId());
+        LiveCart liveCart = liveCartService.removeProduct(liveCartItemRequest.cartId(),
+                liveCartItemRequest.productId(), liveCartItemRequest.productQuantity());
+        LiveCartResponse liveCartResponse = LiveCartMapper.INSTANCE.toLiveCartResponse(liveCart);
+
+        return new ResponseEntity<>(liveCartResponse, HttpStatus.OK);
+    }
+}
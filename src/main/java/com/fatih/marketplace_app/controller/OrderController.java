@@ -1,11 +1,26 @@
 package com.fatih.marketplace_app.controller;
 
 import com.fatih.marketplace_app.controller.api.OrderApi;
+import com.fatih.marketplace_app.dto.order.OrderBatchResult;
+import com.fatih.marketplace_app.dto.order.OrderCancellationResult;
+import com.fatih.marketplace_app.dto.page.CursorPage;
+import com.fatih.marketplace_app.dto.request.order.CancelOrderBatchRequest;
+import com.fatih.marketplace_app.dto.request.order.CreateOrderBatchRequest;
 import com.fatih.marketplace_app.dto.request.order.CreateOrderRequest;
+import com.fatih.marketplace_app.dto.response.order.OrderBatchItemResponse;
+import com.fatih.marketplace_app.dto.response.order.OrderBatchResponse;
+import com.fatih.marketplace_app.dto.response.order.OrderCancellationResponse;
 import com.fatih.marketplace_app.dto.response.order.OrderResponse;
+import com.fatih.marketplace_app.dto.response.order.OrderStatusResponse;
+import com.fatih.marketplace_app.dto.response.page.CursorPageResponse;
 import com.fatih.marketplace_app.entity.OrderEntity;
+import com.fatih.marketplace_app.entity.OrderSummaryEntity;
+import com.fatih.marketplace_app.manager.service.CheckoutQueueService;
+import com.fatih.marketplace_app.manager.service.IdempotencyService;
 import com.fatih.marketplace_app.manager.service.OrderService;
+import com.fatih.marketplace_app.manager.service.OrderSummaryService;
 import com.fatih.marketplace_app.mapper.OrderMapper;
+import com.fatih.marketplace_app.mapper.OrderSummaryMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
@@ -20,6 +35,9 @@ import java.util.Map;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
+import static com.fatih.marketplace_app.constant.UrlConst.ASYNC;
+import static com.fatih.marketplace_app.constant.UrlConst.ORDER;
+
 /**
  * REST controller for managing orders.
  */
@@ -29,23 +47,86 @@ import java.util.stream.Collectors;
 public class OrderController implements OrderApi {
 
     private final OrderService orderService;
+    private final IdempotencyService idempotencyService;
+    private final CheckoutQueueService checkoutQueueService;
+    private final OrderSummaryService orderSummaryService;
 
     /**
      * Creates a new order.
      *
+     * @param idempotencyKey     optional key making retries of this request safe.
      * @param createOrderRequest request containing order details.
      * @return ResponseEntity with the created order.
      */
     @Override
-    public ResponseEntity<OrderResponse> createOrder(CreateOrderRequest createOrderRequest) {
+    public ResponseEntity<OrderResponse> createOrder(String idempotencyKey, CreateOrderRequest createOrderRequest) {
 
         log.info("Creating a new order with details: {}", createOrderRequest);
-        OrderEntity requestedOrder = OrderMapper.INSTANCE.createOrderRequestToEntity(createOrderRequest);
-        OrderEntity createdOrder = orderService.createOrder(requestedOrder);
-        OrderResponse orderResponse = OrderMapper.INSTANCE.toOrderResponse(createdOrder);
-        log.info("Order created successfully with ID: {}", createdOrder.getId());
+        return idempotencyService.execute(ORDER, idempotencyKey, createOrderRequest, OrderResponse.class, () -> {
+            OrderEntity requestedOrder = OrderMapper.INSTANCE.createOrderRequestToEntity(createOrderRequest);
+            OrderEntity createdOrder = orderService.createOrder(requestedOrder);
+            OrderResponse orderResponse = OrderMapper.INSTANCE.toOrderResponse(createdOrder);
+            log.info("Order created successfully with ID: {}", createdOrder.getId());
+
+            return new ResponseEntity<>(orderResponse, HttpStatus.CREATED);
+        });
+    }
+
+    /**
+     * Creates many orders in one request.
+     *
+     * @param createOrderBatchRequest request containing the orders.
+     * @return ResponseEntity with the per-order results.
+     */
+    @Override
+    public ResponseEntity<OrderBatchResponse> createOrders(CreateOrderBatchRequest createOrderBatchRequest) {
+
+        log.info("Creating a batch of {} orders", createOrderBatchRequest.orders().size());
+        List<OrderEntity> requestedOrders = OrderMapper.INSTANCE.createOrderRequestsToEntities(createOrderBatchRequest.orders());
+        List<OrderBatchResult> orderBatchResults = orderService.createOrders(requestedOrders);
+        List<OrderBatchItemResponse> itemResponses = OrderMapper.INSTANCE.toOrderBatchItemResponseList(orderBatchResults);
+        int succeededCount = (int) itemResponses.stream().filter(OrderBatchItemResponse::succeeded).count();
+        log.info("Batch processed, {} of {} orders created", succeededCount, itemResponses.size());
+
+        return new ResponseEntity<>(new OrderBatchResponse(succeededCount, itemResponses.size() - succeededCount, itemResponses), HttpStatus.OK);
+    }
+
+    /**
+     * Accepts a new order for asynchronous checkout.
+     *
+     * @param idempotencyKey     optional key making retries of this request safe.
+     * @param createOrderRequest request containing order details.
+     * @return ResponseEntity with the status of the accepted order.
+     */
+    @Override
+    public ResponseEntity<OrderStatusResponse> createOrderAsync(String idempotencyKey, CreateOrderRequest createOrderRequest) {
+
+        log.info("Accepting a new order for asynchronous checkout with details: {}", createOrderRequest);
+        return idempotencyService.execute(ORDER + ASYNC, idempotencyKey, createOrderRequest, OrderStatusResponse.class, () -> {
+            OrderEntity requestedOrder = OrderMapper.INSTANCE.createOrderRequestToEntity(createOrderRequest);
+            OrderEntity pendingOrder = checkoutQueueService.submitOrder(requestedOrder);
+            OrderStatusResponse orderStatusResponse = OrderMapper.INSTANCE.toOrderStatusResponse(pendingOrder);
+            log.info("Order accepted with ID: {}", pendingOrder.getId());
+
+            return new ResponseEntity<>(orderStatusResponse, HttpStatus.ACCEPTED);
+        });
+    }
+
+    /**
+     * Retrieves the checkout status of an order.
+     *
+     * @param orderId ID of the order.
+     * @return ResponseEntity with the order status.
+     */
+    @Override
+    public ResponseEntity<OrderStatusResponse> getOrderStatus(UUID orderId) {
+
+        log.info("Fetching status of order with ID: {}", orderId);
+        OrderEntity foundOrder = orderService.getOrderById(orderId);
+        OrderStatusResponse orderStatusResponse = OrderMapper.INSTANCE.toOrderStatusResponse(foundOrder);
+        log.info("Order status: {}", orderStatusResponse);
 
-        return new ResponseEntity<>(orderResponse, HttpStatus.CREATED);
+        return new ResponseEntity<>(orderStatusResponse, HttpStatus.OK);
     }
 
     /**
@@ -83,6 +164,25 @@ public class OrderController implements OrderApi {
         return new ResponseEntity<>(new PageImpl<>(List.of(orderMap), pageable, orderEntities.getTotalElements()), HttpStatus.OK);
     }
 
+    /**
+     * Retrieves orders with keyset pagination.
+     *
+     * @param token     continuation token of the previous page.
+     * @param size      maximum number of orders to return.
+     * @param withTotal whether to count all orders as well.
+     * @return ResponseEntity with one page of orders and the token of the next page.
+     */
+    @Override
+    public ResponseEntity<CursorPageResponse<OrderResponse>> getAllOrdersByCursor(String token, int size, boolean withTotal) {
+
+        log.info("Fetching orders by cursor, size: {}", size);
+        CursorPage<OrderEntity> orderPage = orderService.getAllOrdersByCursor(token, size, withTotal);
+        List<OrderResponse> orderResponses = OrderMapper.INSTANCE.toOrderResponseList(orderPage.content());
+        log.info("Retrieved {} orders", orderResponses.size());
+
+        return new ResponseEntity<>(CursorPageResponse.of(orderPage, orderResponses), HttpStatus.OK);
+    }
+
     /**
      * Cancels an order by its ID.
      *
@@ -99,6 +199,23 @@ public class OrderController implements OrderApi {
         return new ResponseEntity<>(HttpStatus.NO_CONTENT);
     }
 
+    /**
+     * Cancels many orders at once.
+     *
+     * @param cancelOrderBatchRequest request containing the IDs of the orders to cancel.
+     * @return ResponseEntity with the cancelled, refunded and missing order IDs.
+     */
+    @Override
+    public ResponseEntity<OrderCancellationResponse> cancelOrders(CancelOrderBatchRequest cancelOrderBatchRequest) {
+
+        log.info("Cancelling a batch of {} orders", cancelOrderBatchRequest.orderIds().size());
+        OrderCancellationResult orderCancellationResult = orderService.cancelOrders(cancelOrderBatchRequest.orderIds());
+        OrderCancellationResponse orderCancellationResponse = OrderMapper.INSTANCE.toOrderCancellationResponse(orderCancellationResult);
+        log.info("Batch cancelled, {} orders cancelled", orderCancellationResponse.cancelledOrderIds().size());
+
+        return new ResponseEntity<>(orderCancellationResponse, HttpStatus.OK);
+    }
+
     /**
      * Retrieves orders for a specific user with pagination.
      *
@@ -110,12 +227,32 @@ public class OrderController implements OrderApi {
     public ResponseEntity<PageImpl<Map<UUID, List<OrderResponse>>>> getOrdersByUserId(UUID userId, Pageable pageable) {
 
         log.info("Fetching orders for user ID: {} with pagination: {}", userId, pageable);
-        Page<OrderEntity> foundEntities = orderService.getOrdersByUserId(userId, pageable);
-        List<OrderResponse> orderResponses = OrderMapper.INSTANCE.toOrderResponseList(foundEntities.getContent());
+        Page<OrderSummaryEntity> foundSummaries = orderSummaryService.getOrderSummariesByUserId(userId, pageable);
+        List<OrderResponse> orderResponses = OrderSummaryMapper.INSTANCE.toOrderResponseList(foundSummaries.getContent());
         Map<UUID, List<OrderResponse>> orderMap = orderResponses.stream().collect(Collectors.groupingBy(OrderResponse::orderId));
         log.info("Retrieved {} orders for user ID: {}", orderResponses.size(), userId);
 
-        return new ResponseEntity<>(new PageImpl<>(List.of(orderMap), pageable, foundEntities.getTotalElements()), HttpStatus.OK);
+        return new ResponseEntity<>(new PageImpl<>(List.of(orderMap), pageable, foundSummaries.getTotalElements()), HttpStatus.OK);
+    }
+
+    /**
+     * Retrieves orders for a specific user with keyset pagination.
+     *
+     * @param userId    ID of the user.
+     * @param token     continuation token of the previous page.
+     * @param size      maximum number of orders to return.
+     * @param withTotal whether to count all orders of the user as well.
+     * @return ResponseEntity with one page of orders and the token of the next page.
+     */
+    @Override
+    public ResponseEntity<CursorPageResponse<OrderResponse>> getOrdersByUserIdByCursor(UUID userId, String token, int size, boolean withTotal) {
+
+        log.info("Fetching orders for user ID: {} by cursor, size: {}", userId, size);
+        CursorPage<OrderSummaryEntity> orderSummaryPage = orderSummaryService.getOrderSummariesByUserIdByCursor(userId, token, size, withTotal);
+        List<OrderResponse> orderResponses = OrderSummaryMapper.INSTANCE.toOrderResponseList(orderSummaryPage.content());
+        log.info("Retrieved {} orders for user ID: {}", orderResponses.size(), userId);
+
+        return new ResponseEntity<>(CursorPageResponse.of(orderSummaryPage, orderResponses), HttpStatus.OK);
     }
 
     /**
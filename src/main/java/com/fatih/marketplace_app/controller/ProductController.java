@@ -1,8 +1,10 @@
 package com.fatih.marketplace_app.controller;
 
 import com.fatih.marketplace_app.controller.api.ProductApi;
+import com.fatih.marketplace_app.dto.page.CursorPage;
 import com.fatih.marketplace_app.dto.request.product.CreateProductRequest;
 import com.fatih.marketplace_app.dto.request.product.UpdateProductRequest;
+import com.fatih.marketplace_app.dto.response.page.CursorPageResponse;
 import com.fatih.marketplace_app.dto.response.product.ProductResponse;
 import com.fatih.marketplace_app.entity.ProductEntity;
 import com.fatih.marketplace_app.manager.service.ProductService;
@@ -69,6 +71,25 @@ public class ProductController implements ProductApi {
                 HttpStatus.OK);
     }
 
+    /**
+     * Retrieves products with keyset pagination.
+     *
+     * @param token     continuation token of the previous page.
+     * @param size      maximum number of products to return.
+     * @param withTotal whether to count all products as well.
+     * @return ResponseEntity with one page of products and the token of the next page.
+     */
+    @Override
+    public ResponseEntity<CursorPageResponse<ProductResponse>> getAllProductsByCursor(String token, int size, boolean withTotal) {
+
+        log.info("Fetching products by cursor, size: {}", size);
+        CursorPage<ProductEntity> productPage = productService.getAllProductsByCursor(token, size, withTotal);
+        List<ProductResponse> productResponses = ProductMapper.INSTANCE.toProductResponseList(productPage.content());
+        log.info("Retrieved {} products", productResponses.size());
+
+        return new ResponseEntity<>(CursorPageResponse.of(productPage, productResponses), HttpStatus.OK);
+    }
+
     /**
      * Retrieves a product by its ID.
      *
@@ -1,8 +1,10 @@
 package com.fatih.marketplace_app.controller;
 
 import com.fatih.marketplace_app.controller.api.UserApi;
+import com.fatih.marketplace_app.dto.page.CursorPage;
 import com.fatih.marketplace_app.dto.request.user.CreateUserRequest;
 import com.fatih.marketplace_app.dto.request.user.UpdateUserRequest;
+import com.fatih.marketplace_app.dto.response.page.CursorPageResponse;
 import com.fatih.marketplace_app.dto.response.user.UserResponse;
 import com.fatih.marketplace_app.entity.UserEntity;
 import com.fatih.marketplace_app.manager.service.UserService;
@@ -69,6 +71,25 @@ public class UserController implements UserApi {
                 HttpStatus.OK);
     }
 
+    /**
+     * Retrieves users with keyset pagination.
+     *
+     * @param token     continuation token of the previous page.
+     * @param size      maximum number of users to return.
+     * @param withTotal whether to count all users as well.
+     * @return ResponseEntity with one page of users and the token of the next page.
+     */
+    @Override
+    public ResponseEntity<CursorPageResponse<UserResponse>> getAllUsersByCursor(String token, int size, boolean withTotal) {
+
+        log.info("Fetching users by cursor, size: {}", size);
+        CursorPage<UserEntity> userPage = userService.getAllUsersByCursor(token, size, withTotal);
+        List<UserResponse> userResponses = UserMapper.INSTANCE.toUserResponseList(userPage.content());
+        log.info("Retrieved {} users", userResponses.size());
+
+        return new ResponseEntity<>(CursorPageResponse.of(userPage, userResponses), HttpStatus.OK);
+    }
+
     /**
      * Retrieves a user by ID.
      *
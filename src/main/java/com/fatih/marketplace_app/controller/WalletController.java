@@ -2,12 +2,18 @@ package com.fatih.marketplace_app.controller;
 
 
 import com.fatih.marketplace_app.controller.api.WalletApi;
+import com.fatih.marketplace_app.dto.page.CursorPage;
 import com.fatih.marketplace_app.dto.request.wallet.ChangeBalanceRequest;
 import com.fatih.marketplace_app.dto.request.wallet.CreateWalletRequest;
 import com.fatih.marketplace_app.dto.request.wallet.LoadBalanceRequest;
 import com.fatih.marketplace_app.dto.request.wallet.PaymentRequest;
+import com.fatih.marketplace_app.dto.response.page.CursorPageResponse;
 import com.fatih.marketplace_app.dto.response.wallet.WalletResponse;
+import com.fatih.marketplace_app.dto.response.wallet.WalletStatementResponse;
+import com.fatih.marketplace_app.dto.response.wallet.WalletTransactionResponse;
 import com.fatih.marketplace_app.entity.WalletEntity;
+import com.fatih.marketplace_app.entity.WalletTransactionEntity;
+import com.fatih.marketplace_app.manager.service.IdempotencyService;
 import com.fatih.marketplace_app.manager.service.WalletService;
 import com.fatih.marketplace_app.mapper.WalletMapper;
 import lombok.RequiredArgsConstructor;
@@ -19,11 +25,15 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
+import static com.fatih.marketplace_app.constant.UrlConst.PAY;
+import static com.fatih.marketplace_app.constant.UrlConst.WALLET;
+
 /**
  * Controller for managing wallet-related operations.
  * Implements {@link WalletApi} interface.
@@ -34,6 +44,7 @@ import java.util.stream.Collectors;
 public class WalletController implements WalletApi {
 
     private final WalletService walletService;
+    private final IdempotencyService idempotencyService;
 
     /**
      * Creates a new wallet for a user.
@@ -87,6 +98,25 @@ public class WalletController implements WalletApi {
         return new ResponseEntity<>(new PageImpl<>(List.of(walletMap), pageable, walletEntities.getTotalElements()), HttpStatus.OK);
     }
 
+    /**
+     * Retrieves wallets with keyset pagination.
+     *
+     * @param token     continuation token of the previous page.
+     * @param size      maximum number of wallets to return.
+     * @param withTotal whether to count all wallets as well.
+     * @return ResponseEntity with one page of wallets and the token of the next page.
+     */
+    @Override
+    public ResponseEntity<CursorPageResponse<WalletResponse>> getAllWalletsByCursor(String token, int size, boolean withTotal) {
+
+        log.info("Fetching wallets by cursor, size: {}", size);
+        CursorPage<WalletEntity> walletPage = walletService.getAllWalletsByCursor(token, size, withTotal);
+        List<WalletResponse> walletResponses = WalletMapper.INSTANCE.toWalletResponseList(walletPage.content());
+        log.info("Retrieved {} wallets", walletResponses.size());
+
+        return new ResponseEntity<>(CursorPageResponse.of(walletPage, walletResponses), HttpStatus.OK);
+    }
+
     /**
      * Loads balance into a wallet.
      *
@@ -107,19 +137,21 @@ public class WalletController implements WalletApi {
     /**
      * Processes a payment from a wallet.
      *
+     * @param idempotencyKey Optional key making retries of this request safe.
      * @param paymentRequest The request containing wallet ID and payment amount.
      * @return ResponseEntity containing updated wallet details.
      */
     @Override
-    public ResponseEntity<WalletResponse> payment(PaymentRequest paymentRequest) {
+    public ResponseEntity<WalletResponse> payment(String idempotencyKey, PaymentRequest paymentRequest) {
 
         log.info("Processing payment from wallet ID: {} with amount: {}", paymentRequest.walletId(), paymentRequest.amount());
-        WalletEntity updatedWallet = walletService.payment(paymentRequest.walletId(), paymentRequest.amount());
-        WalletResponse walletResponse = WalletMapper.INSTANCE.toWalletResponse(updatedWallet);
-        log.info("Payment processed successfully: {}", walletResponse);
-
-        return new ResponseEntity<>(walletResponse, HttpStatus.OK);
+        return idempotencyService.execute(WALLET + PAY, idempotencyKey, paymentRequest, WalletResponse.class, () -> {
+            WalletEntity updatedWallet = walletService.payment(paymentRequest.walletId(), paymentRequest.amount());
+            WalletResponse walletResponse = WalletMapper.INSTANCE.toWalletResponse(updatedWallet);
+            log.info("Payment processed successfully: {}", walletResponse);
 
+            return new ResponseEntity<>(walletResponse, HttpStatus.OK);
+        });
     }
 
     /**
@@ -171,4 +203,28 @@ public class WalletController implements WalletApi {
 
         return new ResponseEntity<>(walletResponse, HttpStatus.FOUND);
     }
+
+    /**
+     * Retrieves a page of the wallet's transaction history.
+     *
+     * @param walletId The ID of the wallet.
+     * @param createTime The creation time of the last transaction of the previous page.
+     * @param transactionId The ID of the last transaction of the previous page.
+     * @param size The maximum number of transactions to return.
+     * @return ResponseEntity containing the wallet transactions and the position of the next page.
+     */
+    @Override
+    public ResponseEntity<WalletStatementResponse> getWalletStatement(UUID walletId, LocalDateTime createTime,
+                                                                      UUID transactionId, int size) {
+
+        log.info("Fetching statement for wallet ID: {}", walletId);
+        List<WalletTransactionEntity> transactions = walletService.getWalletStatement(walletId, createTime, transactionId, size);
+        List<WalletTransactionResponse> transactionResponses = WalletMapper.INSTANCE.toWalletTransactionResponseList(transactions);
+        WalletTransactionResponse last = transactionResponses.size() == size ? transactionResponses.getLast() : null;
+        WalletStatementResponse statementResponse = new WalletStatementResponse(walletId, transactionResponses,
+                last == null ? null : last.createTime(), last == null ? null : last.transactionId());
+        log.info("Retrieved {} wallet transactions", transactionResponses.size());
+
+        return new ResponseEntity<>(statementResponse, HttpStatus.OK);
+    }
 }
@@ -3,8 +3,12 @@ package com.fatih.marketplace_app.controller.api;
 import com.fatih.marketplace_app.dto.request.address.CreateAddressRequest;
 import com.fatih.marketplace_app.dto.request.address.UpdateAddressRequest;
 import com.fatih.marketplace_app.dto.response.address.AddressResponse;
+import com.fatih.marketplace_app.dto.response.page.CursorPageResponse;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
@@ -51,6 +55,19 @@ public interface AddressApi {
     @GetMapping(ALL)
     ResponseEntity<PageImpl<Map<UUID, List<AddressResponse>>>> getAllAddresses(Pageable pageable);
 
+    /**
+     * Retrieves addresses with keyset pagination, newest first.
+     *
+     * @param token The continuation token returned with the previous page, omitted for the first page.
+     * @param size The maximum number of addresses to return.
+     * @param withTotal Whether to count all addresses as well.
+     * @return One page of addresses and the continuation token of the next page.
+     */
+    @GetMapping(ALL + CURSOR)
+    ResponseEntity<CursorPageResponse<AddressResponse>> getAllAddressesByCursor(@RequestParam(value = "token", required = false) @Size(max = 200) String token,
+                                                                                @RequestParam(value = "size", defaultValue = "20") @Min(1) @Max(100) int size,
+                                                                                @RequestParam(value = "withTotal", defaultValue = "false") boolean withTotal);
+
     /**
      * Deletes an address by its ID.
      *
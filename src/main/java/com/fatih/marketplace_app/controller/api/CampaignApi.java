@@ -3,9 +3,14 @@ package com.fatih.marketplace_app.controller.api;
 import com.fatih.marketplace_app.dto.request.campaign.ApplyCampaignRequest;
 import com.fatih.marketplace_app.dto.request.campaign.CreateCampaignRequest;
 import com.fatih.marketplace_app.dto.request.campaign.UpdateCampaignRequest;
+import com.fatih.marketplace_app.dto.response.campaign.ActiveCampaignResponse;
 import com.fatih.marketplace_app.dto.response.campaign.ApplyCampaignResponse;
+import com.fatih.marketplace_app.dto.response.campaign.BestCampaignResponse;
 import com.fatih.marketplace_app.dto.response.campaign.CampaignResponse;
+import com.fatih.marketplace_app.dto.response.page.CursorPageResponse;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 import org.springframework.data.domain.PageImpl;
@@ -53,6 +58,19 @@ public interface CampaignApi {
     @GetMapping(ALL)
     ResponseEntity<PageImpl<Map<UUID, List<CampaignResponse>>>> getAllCampaigns(Pageable pageable);
 
+    /**
+     * Retrieves campaigns with keyset pagination, newest first.
+     *
+     * @param token The continuation token returned with the previous page, omitted for the first page.
+     * @param size The maximum number of campaigns to return.
+     * @param withTotal Whether to count all campaigns as well.
+     * @return One page of campaigns and the continuation token of the next page.
+     */
+    @GetMapping(ALL + CURSOR)
+    ResponseEntity<CursorPageResponse<CampaignResponse>> getAllCampaignsByCursor(@RequestParam(value = "token", required = false) @Size(max = 200) String token,
+                                                                                 @RequestParam(value = "size", defaultValue = "20") @Min(1) @Max(100) int size,
+                                                                                 @RequestParam(value = "withTotal", defaultValue = "false") boolean withTotal);
+
     /**
      * Updates an existing campaign.
      *
@@ -80,6 +98,14 @@ public interface CampaignApi {
     @GetMapping(CODE)
     ResponseEntity<CampaignResponse> getCampaignByCampaignCode(@RequestParam("campaignCode") @NotNull @Size(min = 5, max = 20) String campaignCode);
 
+    /**
+     * Retrieves the campaigns that are active now.
+     *
+     * @return The active campaigns, in the order of their start date.
+     */
+    @GetMapping(ACTIVE)
+    ResponseEntity<List<ActiveCampaignResponse>> getActiveCampaigns();
+
     /**
      * Applies a campaign to a user's cart or order.
      *
@@ -88,4 +114,13 @@ public interface CampaignApi {
      */
     @PutMapping(APPLY)
     ResponseEntity<ApplyCampaignResponse> applyCampaign(@RequestBody @Valid ApplyCampaignRequest applyCampaignRequest);
+
+    /**
+     * Finds the active campaign giving a cart the largest discount, without applying it.
+     *
+     * @param cartId The unique identifier of the cart.
+     * @return The best campaign code with the cart price before and after its discount.
+     */
+    @GetMapping(BEST)
+    ResponseEntity<BestCampaignResponse> getBestCampaign(@RequestParam("cartId") @NotNull UUID cartId);
 }
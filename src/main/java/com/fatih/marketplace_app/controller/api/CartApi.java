@@ -3,8 +3,12 @@ package com.fatih.marketplace_app.controller.api;
 import com.fatih.marketplace_app.dto.request.cart.CreateCartRequest;
 import com.fatih.marketplace_app.dto.request.cart.UpdateCartRequest;
 import com.fatih.marketplace_app.dto.response.cart.CartResponse;
+import com.fatih.marketplace_app.dto.response.page.CursorPageResponse;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
@@ -59,6 +63,19 @@ public interface CartApi {
     @GetMapping(ALL)
     ResponseEntity<PageImpl<Map<UUID, List<CartResponse>>>> getAllCarts(Pageable pageable);
 
+    /**
+     * Retrieves carts with keyset pagination, newest first.
+     *
+     * @param token The continuation token returned with the previous page, omitted for the first page.
+     * @param size The maximum number of carts to return.
+     * @param withTotal Whether to count all carts as well.
+     * @return One page of carts and the continuation token of the next page.
+     */
+    @GetMapping(ALL + CURSOR)
+    ResponseEntity<CursorPageResponse<CartResponse>> getAllCartsByCursor(@RequestParam(value = "token", required = false) @Size(max = 200) String token,
+                                                                         @RequestParam(value = "size", defaultValue = "20") @Min(1) @Max(100) int size,
+                                                                         @RequestParam(value = "withTotal", defaultValue = "false") boolean withTotal);
+
     /**
      * Deletes a cart by its unique ID.
      *
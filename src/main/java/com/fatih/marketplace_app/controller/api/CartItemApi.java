@@ -1,12 +1,18 @@
 package com.fatih.marketplace_app.controller.api;
 
 import com.fatih.marketplace_app.dto.request.cartItem.AddProductToCartItemRequest;
+import com.fatih.marketplace_app.dto.request.cartItem.CartItemBatchRequest;
 import com.fatih.marketplace_app.dto.request.cartItem.CreateCartItemRequest;
 import com.fatih.marketplace_app.dto.request.cartItem.RemoveProductFromCartItemRequest;
 import com.fatih.marketplace_app.dto.request.cartItem.UpdateCartItemRequest;
+import com.fatih.marketplace_app.dto.response.cartItem.CartItemBatchResponse;
 import com.fatih.marketplace_app.dto.response.cartItem.CartItemResponse;
+import com.fatih.marketplace_app.dto.response.page.CursorPageResponse;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
@@ -61,6 +67,19 @@ public interface CartItemApi {
     @GetMapping(ALL)
     ResponseEntity<PageImpl<Map<UUID, List<CartItemResponse>>>> getAllCartItems(Pageable pageable);
 
+    /**
+     * Retrieves cart items with keyset pagination, newest first.
+     *
+     * @param token The continuation token returned with the previous page, omitted for the first page.
+     * @param size The maximum number of cart items to return.
+     * @param withTotal Whether to count all cart items as well.
+     * @return One page of cart items and the continuation token of the next page.
+     */
+    @GetMapping(ALL + CURSOR)
+    ResponseEntity<CursorPageResponse<CartItemResponse>> getAllCartItemsByCursor(@RequestParam(value = "token", required = false) @Size(max = 200) String token,
+                                                                                 @RequestParam(value = "size", defaultValue = "20") @Min(1) @Max(100) int size,
+                                                                                 @RequestParam(value = "withTotal", defaultValue = "false") boolean withTotal);
+
     /**
      * Deletes a cart item by its unique ID.
      *
@@ -88,6 +107,15 @@ public interface CartItemApi {
     @PutMapping(REMOVE)
     ResponseEntity<CartItemResponse> removeProductFromCartItem(@RequestBody @Valid RemoveProductFromCartItemRequest removeProductFromCartItemRequest);
 
+    /**
+     * Applies many add, remove and set quantity operations to one cart in a single transaction.
+     *
+     * @param cartItemBatchRequest Request body containing the cart and the operations in order.
+     * @return The cart price and all cart items after the operations.
+     */
+    @PutMapping(BATCH)
+    ResponseEntity<CartItemBatchResponse> applyCartItemOperations(@RequestBody @Valid CartItemBatchRequest cartItemBatchRequest);
+
     /**
      * Retrieves all cart items associated with a specific cart ID.
      *
@@ -97,4 +125,19 @@ public interface CartItemApi {
      */
     @GetMapping(CART + ID)
     ResponseEntity<PageImpl<Map<UUID, List<CartItemResponse>>>> getCartItemsByCartId(@RequestParam("cartId") @NotNull UUID cartId, Pageable pageable);
+
+    /**
+     * Retrieves the cart items of a cart with keyset pagination, newest first.
+     *
+     * @param cartId The unique identifier of the cart.
+     * @param token The continuation token returned with the previous page, omitted for the first page.
+     * @param size The maximum number of cart items to return.
+     * @param withTotal Whether to count all cart items of the cart as well.
+     * @return One page of cart items and the continuation token of the next page.
+     */
+    @GetMapping(CART + ID + CURSOR)
+    ResponseEntity<CursorPageResponse<CartItemResponse>> getCartItemsByCartIdByCursor(@RequestParam("cartId") @NotNull UUID cartId,
+                                                                                      @RequestParam(value = "token", required = false) @Size(max = 200) String token,
+                                                                                      @RequestParam(value = "size", defaultValue = "20") @Min(1) @Max(100) int size,
+                                                                                      @RequestParam(value = "withTotal", defaultValue = "false") boolean withTotal);
 }
@@ -2,7 +2,10 @@ package com.fatih.marketplace_app.controller.api;
 
 import com.fatih.marketplace_app.dto.request.invoice.CreateInvoiceRequest;
 import com.fatih.marketplace_app.dto.response.invoice.InvoiceResponse;
+import com.fatih.marketplace_app.dto.response.page.CursorPageResponse;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 import org.springframework.data.domain.PageImpl;
@@ -59,6 +62,19 @@ public interface InvoiceApi {
     @GetMapping(ALL)
     ResponseEntity<PageImpl<Map<UUID, List<InvoiceResponse>>>> getAllInvoices(Pageable pageable);
 
+    /**
+     * Retrieves invoices with keyset pagination, newest first.
+     *
+     * @param token The continuation token returned with the previous page, omitted for the first page.
+     * @param size The maximum number of invoices to return.
+     * @param withTotal Whether to count all invoices as well.
+     * @return One page of invoices and the continuation token of the next page.
+     */
+    @GetMapping(ALL + CURSOR)
+    ResponseEntity<CursorPageResponse<InvoiceResponse>> getAllInvoicesByCursor(@RequestParam(value = "token", required = false) @Size(max = 200) String token,
+                                                                               @RequestParam(value = "size", defaultValue = "20") @Min(1) @Max(100) int size,
+                                                                               @RequestParam(value = "withTotal", defaultValue = "false") boolean withTotal);
+
     /**
      * Retrieves an invoice by the associated order ID.
      *
@@ -0,0 +1,46 @@
+package com.fatih.marketplace_app.controller.api;
+
+import com.fatih.marketplace_app.dto.request.cart.LiveCartItemRequest;
+import com.fatih.marketplace_app.dto.response.cart.LiveCartResponse;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.UUID;
+
+import static com.fatih.marketplace_app.constant.UrlConst.*;
+
+/**
+ * API interface for live carts, which keep cart changes in Redis until checkout.
+ */
+@RequestMapping(CART + LIVE)
+public interface LiveCartApi {
+
+    /**
+     * Retrieves the live state of a cart.
+     *
+     * @param cartId The unique identifier of the cart.
+     * @return The live cart response.
+     */
+    @GetMapping
+    ResponseEntity<LiveCartResponse> getLiveCart(@RequestParam("cartId") @NotNull UUID cartId);
+
+    /**
+     * Adds a quantity of a product to a live cart.
+     *
+     * @param liveCartItemRequest Request body containing cart, product and quantity.
+     * @return The live cart response after the change.
+     */
+    @PutMapping(ADD)
+    ResponseEntity<LiveCartResponse> addProduct(@RequestBody @Valid LiveCartItemRequest liveCartItemRequest);
+
+    /**
+     * Removes a quantity of a product from a live cart.
+     *
+     * @param liveCartItemRequest Request body containing cart, product and quantity.
+     * @return The live cart response after the change.
+     */
+    @PutMapping(REMOVE)
+    ResponseEntity<LiveCartResponse> removeProduct(@RequestBody @Valid LiveCartItemRequest liveCartItemRequest);
+}
@@ -1,8 +1,16 @@
 package com.fatih.marketplace_app.controller.api;
 
+import com.fatih.marketplace_app.dto.request.order.CancelOrderBatchRequest;
+import com.fatih.marketplace_app.dto.request.order.CreateOrderBatchRequest;
 import com.fatih.marketplace_app.dto.request.order.CreateOrderRequest;
+import com.fatih.marketplace_app.dto.response.order.OrderBatchResponse;
+import com.fatih.marketplace_app.dto.response.order.OrderCancellationResponse;
 import com.fatih.marketplace_app.dto.response.order.OrderResponse;
+import com.fatih.marketplace_app.dto.response.order.OrderStatusResponse;
+import com.fatih.marketplace_app.dto.response.page.CursorPageResponse;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 import org.springframework.data.domain.PageImpl;
@@ -15,6 +23,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 
+import static com.fatih.marketplace_app.constant.HeaderConst.IDEMPOTENCY_KEY;
 import static com.fatih.marketplace_app.constant.UrlConst.*;
 
 /**
@@ -26,11 +35,45 @@ public interface OrderApi {
     /**
      * Creates a new order.
      *
+     * Retrying with the same {@code Idempotency-Key} header returns the first response instead of creating another order.
+     *
+     * @param idempotencyKey     Optional client supplied key identifying this order attempt.
      * @param createOrderRequest The request body containing order details.
      * @return The created order response.
      */
     @PostMapping
-    ResponseEntity<OrderResponse> createOrder(@RequestBody @Valid CreateOrderRequest createOrderRequest);
+    ResponseEntity<OrderResponse> createOrder(@RequestHeader(value = IDEMPOTENCY_KEY, required = false) @Size(max = 255) String idempotencyKey,
+                                              @RequestBody @Valid CreateOrderRequest createOrderRequest);
+
+    /**
+     * Creates many orders in one request. Each order succeeds or fails on its own.
+     *
+     * @param createOrderBatchRequest The request body containing the orders.
+     * @return The per-order results.
+     */
+    @PostMapping(BATCH)
+    ResponseEntity<OrderBatchResponse> createOrders(@RequestBody @Valid CreateOrderBatchRequest createOrderBatchRequest);
+
+    /**
+     * Accepts a new order for asynchronous checkout.
+     * The order is saved as {@code PENDING} and settled in the background; poll {@link #getOrderStatus(UUID)} for the outcome.
+     *
+     * @param idempotencyKey     Optional client supplied key identifying this order attempt.
+     * @param createOrderRequest The request body containing order details.
+     * @return The status of the accepted order.
+     */
+    @PostMapping(ASYNC)
+    ResponseEntity<OrderStatusResponse> createOrderAsync(@RequestHeader(value = IDEMPOTENCY_KEY, required = false) @Size(max = 255) String idempotencyKey,
+                                                         @RequestBody @Valid CreateOrderRequest createOrderRequest);
+
+    /**
+     * Retrieves the checkout status of an order.
+     *
+     * @param orderId The unique identifier of the order.
+     * @return The order status response.
+     */
+    @GetMapping(STATUS)
+    ResponseEntity<OrderStatusResponse> getOrderStatus(@RequestParam("orderId") @NotNull UUID orderId);
 
     /**
      * Retrieves an order by its unique ID.
@@ -50,6 +93,19 @@ public interface OrderApi {
     @GetMapping(ALL)
     ResponseEntity<PageImpl<Map<UUID, List<OrderResponse>>>> getAllOrders(Pageable pageable);
 
+    /**
+     * Retrieves orders with keyset pagination, newest first.
+     *
+     * @param token The continuation token returned with the previous page, omitted for the first page.
+     * @param size The maximum number of orders to return.
+     * @param withTotal Whether to count all orders as well.
+     * @return One page of orders and the continuation token of the next page.
+     */
+    @GetMapping(ALL + CURSOR)
+    ResponseEntity<CursorPageResponse<OrderResponse>> getAllOrdersByCursor(@RequestParam(value = "token", required = false) @Size(max = 200) String token,
+                                                                           @RequestParam(value = "size", defaultValue = "20") @Min(1) @Max(100) int size,
+                                                                           @RequestParam(value = "withTotal", defaultValue = "false") boolean withTotal);
+
     /**
      * Cancels an order by its unique ID.
      *
@@ -59,6 +115,15 @@ public interface OrderApi {
     @DeleteMapping
     ResponseEntity<HttpStatus> cancelOrder(@RequestParam("orderId") @NotNull UUID orderId);
 
+    /**
+     * Cancels many orders in one request, returning the stock and payment of the ones that were paid.
+     *
+     * @param cancelOrderBatchRequest The request body containing the order IDs.
+     * @return The cancelled, refunded and missing order IDs.
+     */
+    @PostMapping(CANCEL + BATCH)
+    ResponseEntity<OrderCancellationResponse> cancelOrders(@RequestBody @Valid CancelOrderBatchRequest cancelOrderBatchRequest);
+
     /**
      * Retrieves all orders associated with a specific user.
      *
@@ -69,6 +134,21 @@ public interface OrderApi {
     @GetMapping(USER + ID)
     ResponseEntity<PageImpl<Map<UUID, List<OrderResponse>>>> getOrdersByUserId(@RequestParam("userId") @NotNull UUID userId, Pageable pageable);
 
+    /**
+     * Retrieves the orders of a user with keyset pagination, newest first.
+     *
+     * @param userId The unique identifier of the user.
+     * @param token The continuation token returned with the previous page, omitted for the first page.
+     * @param size The maximum number of orders to return.
+     * @param withTotal Whether to count all orders of the user as well.
+     * @return One page of orders and the continuation token of the next page.
+     */
+    @GetMapping(USER + ID + CURSOR)
+    ResponseEntity<CursorPageResponse<OrderResponse>> getOrdersByUserIdByCursor(@RequestParam("userId") @NotNull UUID userId,
+                                                                                @RequestParam(value = "token", required = false) @Size(max = 200) String token,
+                                                                                @RequestParam(value = "size", defaultValue = "20") @Min(1) @Max(100) int size,
+                                                                                @RequestParam(value = "withTotal", defaultValue = "false") boolean withTotal);
+
     /**
      * Retrieves an order by its order number.
      *
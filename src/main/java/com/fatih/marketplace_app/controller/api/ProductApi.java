@@ -2,9 +2,13 @@ package com.fatih.marketplace_app.controller.api;
 
 import com.fatih.marketplace_app.dto.request.product.CreateProductRequest;
 import com.fatih.marketplace_app.dto.request.product.UpdateProductRequest;
+import com.fatih.marketplace_app.dto.response.page.CursorPageResponse;
 import com.fatih.marketplace_app.dto.response.product.ProductResponse;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
@@ -41,6 +45,19 @@ public interface ProductApi {
     @GetMapping(ALL)
     ResponseEntity<PageImpl<Map<UUID, List<ProductResponse>>>> getAllProducts(Pageable pageable);
 
+    /**
+     * Retrieves products with keyset pagination, newest first.
+     *
+     * @param token The continuation token returned with the previous page, omitted for the first page.
+     * @param size The maximum number of products to return.
+     * @param withTotal Whether to count all products as well.
+     * @return One page of products and the continuation token of the next page.
+     */
+    @GetMapping(ALL + CURSOR)
+    ResponseEntity<CursorPageResponse<ProductResponse>> getAllProductsByCursor(@RequestParam(value = "token", required = false) @Size(max = 200) String token,
+                                                                               @RequestParam(value = "size", defaultValue = "20") @Min(1) @Max(100) int size,
+                                                                               @RequestParam(value = "withTotal", defaultValue = "false") boolean withTotal);
+
     /**
      * Retrieves a product by its unique ID.
      *
@@ -2,9 +2,13 @@ package com.fatih.marketplace_app.controller.api;
 
 import com.fatih.marketplace_app.dto.request.user.CreateUserRequest;
 import com.fatih.marketplace_app.dto.request.user.UpdateUserRequest;
+import com.fatih.marketplace_app.dto.response.page.CursorPageResponse;
 import com.fatih.marketplace_app.dto.response.user.UserResponse;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.*;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Size;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
@@ -41,6 +45,19 @@ public interface UserApi {
     @GetMapping(ALL)
     ResponseEntity<PageImpl<Map<UUID, List<UserResponse>>>> getAllUsers(Pageable pageable);
 
+    /**
+     * Retrieves users with keyset pagination, newest first.
+     *
+     * @param token The continuation token returned with the previous page, omitted for the first page.
+     * @param size The maximum number of users to return.
+     * @param withTotal Whether to count all users as well.
+     * @return One page of users and the continuation token of the next page.
+     */
+    @GetMapping(ALL + CURSOR)
+    ResponseEntity<CursorPageResponse<UserResponse>> getAllUsersByCursor(@RequestParam(value = "token", required = false) @Size(max = 200) String token,
+                                                                         @RequestParam(value = "size", defaultValue = "20") @Min(1) @Max(100) int size,
+                                                                         @RequestParam(value = "withTotal", defaultValue = "false") boolean withTotal);
+
     /**
      * Retrieves a user by their unique ID.
      *
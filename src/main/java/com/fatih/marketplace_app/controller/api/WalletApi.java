@@ -4,19 +4,27 @@ import com.fatih.marketplace_app.dto.request.wallet.ChangeBalanceRequest;
 import com.fatih.marketplace_app.dto.request.wallet.CreateWalletRequest;
 import com.fatih.marketplace_app.dto.request.wallet.LoadBalanceRequest;
 import com.fatih.marketplace_app.dto.request.wallet.PaymentRequest;
+import com.fatih.marketplace_app.dto.response.page.CursorPageResponse;
 import com.fatih.marketplace_app.dto.response.wallet.WalletResponse;
+import com.fatih.marketplace_app.dto.response.wallet.WalletStatementResponse;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 
+import static com.fatih.marketplace_app.constant.HeaderConst.IDEMPOTENCY_KEY;
 import static com.fatih.marketplace_app.constant.UrlConst.*;
 
 /**
@@ -52,6 +60,19 @@ public interface WalletApi {
     @GetMapping(ALL)
     ResponseEntity<PageImpl<Map<UUID, List<WalletResponse>>>> getAllWallets(Pageable pageable);
 
+    /**
+     * Retrieves wallets with keyset pagination, newest first.
+     *
+     * @param token The continuation token returned with the previous page, omitted for the first page.
+     * @param size The maximum number of wallets to return.
+     * @param withTotal Whether to count all wallets as well.
+     * @return One page of wallets and the continuation token of the next page.
+     */
+    @GetMapping(ALL + CURSOR)
+    ResponseEntity<CursorPageResponse<WalletResponse>> getAllWalletsByCursor(@RequestParam(value = "token", required = false) @Size(max = 200) String token,
+                                                                             @RequestParam(value = "size", defaultValue = "20") @Min(1) @Max(100) int size,
+                                                                             @RequestParam(value = "withTotal", defaultValue = "false") boolean withTotal);
+
     /**
      * Loads balance into a wallet.
      *
@@ -64,11 +85,15 @@ public interface WalletApi {
     /**
      * Processes a payment from a wallet.
      *
+     * Retrying with the same {@code Idempotency-Key} header returns the first response instead of paying again.
+     *
+     * @param idempotencyKey Optional client supplied key identifying this payment attempt.
      * @param paymentRequest The request body containing payment details.
      * @return The updated wallet response.
      */
     @PutMapping(PAY)
-    ResponseEntity<WalletResponse> payment(@RequestBody @Valid PaymentRequest paymentRequest);
+    ResponseEntity<WalletResponse> payment(@RequestHeader(value = IDEMPOTENCY_KEY, required = false) @Size(max = 255) String idempotencyKey,
+                                           @RequestBody @Valid PaymentRequest paymentRequest);
 
     /**
      * Changes the balance of a wallet manually.
@@ -96,4 +121,22 @@ public interface WalletApi {
      */
     @GetMapping(USER + ID)
     ResponseEntity<WalletResponse> getWalletByUserId(@RequestParam("userId") @NotNull UUID userId);
-}
\ No newline at end of file
+
+    /**
+     * Retrieves the transaction history of a wallet, newest first, one page at a time.
+     * To fetch the next page, pass the {@code nextCreateTime} and {@code nextTransactionId} of the previous response.
+     *
+     * @param walletId The unique identifier of the wallet.
+     * @param createTime The creation time of the last transaction of the previous page.
+     * @param transactionId The unique identifier of the last transaction of the previous page.
+     * @param size The maximum number of transactions to return.
+     * @return The wallet statement response.
+     */
+    @GetMapping(STATEMENT)
+    ResponseEntity<WalletStatementResponse> getWalletStatement(
+            @RequestParam("walletId") @NotNull UUID walletId,
+            @RequestParam(value = "createTime", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createTime,
+            @RequestParam(value = "transactionId", required = false) UUID transactionId,
+            @RequestParam(value = "size", defaultValue = "20") @Min(1) @Max(100) int size);
+}
@@ -0,0 +1,52 @@
+package com.fatih.marketplace_app.converter;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fatih.marketplace_app.dto.campaign.DiscountRules;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * JPA attribute converter that stores the discount rules of a campaign as JSON.
+ */
+@Converter
+public class DiscountRulesConverter implements AttributeConverter<DiscountRules, String> {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    /**
+     * Serializes the discount rules before persisting them to the database.
+     *
+     * @param attribute the discount rules
+     * @return the JSON to be stored in the database, or {@code null} if the input is {@code null}
+     */
+    @Override
+    public String convertToDatabaseColumn(DiscountRules attribute) {
+        if (attribute == null) {
+            return null;
+        }
+        try {
+            return OBJECT_MAPPER.writeValueAsString(attribute);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Discount rules cannot be serialized", e);
+        }
+    }
+
+    /**
+     * Deserializes the discount rules read from the database.
+     *
+     * @param dbData the stored JSON
+     * @return the discount rules, or {@code null} if the input is {@code null}
+     */
+    @Override
+    public DiscountRules convertToEntityAttribute(String dbData) {
+        if (dbData == null) {
+            return null;
+        }
+        try {
+            return OBJECT_MAPPER.readValue(dbData, DiscountRules.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Discount rules cannot be read", e);
+        }
+    }
+}
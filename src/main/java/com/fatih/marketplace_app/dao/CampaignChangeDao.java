@@ -0,0 +1,44 @@
+package com.fatih.marketplace_app.dao;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+
+/**
+ * Data Access Object (DAO) for campaign change notifications exchanged between instances over Redis pub/sub.
+ * A notification carries only the instance that changed the campaigns; receivers reload the campaigns themselves.
+ */
+@Component
+@RequiredArgsConstructor
+public class CampaignChangeDao {
+
+    private static final ChannelTopic CHANNEL = new ChannelTopic("campaign-catalog:changed");
+
+    private final StringRedisTemplate redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+
+    /**
+     * Notifies every subscribed instance that campaigns have changed.
+     *
+     * @param origin the instance that changed the campaigns
+     */
+    public void publishChange(String origin) {
+        redisTemplate.convertAndSend(CHANNEL.getTopic(), origin);
+    }
+
+    /**
+     * Subscribes to campaign change notifications.
+     *
+     * @param listener called with the instance that changed the campaigns
+     */
+    public void subscribe(Consumer<String> listener) {
+        listenerContainer.addMessageListener(
+                (message, pattern) -> listener.accept(new String(message.getBody(), StandardCharsets.UTF_8)),
+                CHANNEL);
+    }
+}
@@ -7,6 +7,8 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Component;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -50,6 +52,25 @@ public class CampaignDao {
         return campaignRepository.findAll(pageable);
     }
 
+    /**
+     * Retrieves all campaigns.
+     *
+     * @return a list of all {@link CampaignEntity} objects
+     */
+    public List<CampaignEntity> findAll() {
+        return campaignRepository.findAll();
+    }
+
+    /**
+     * Retrieves the campaigns whose validity window contains the given time.
+     *
+     * @param time the time
+     * @return a list of the active {@link CampaignEntity} objects
+     */
+    public List<CampaignEntity> findAllActiveAt(LocalDateTime time) {
+        return campaignRepository.findAllByStartDateLessThanEqualAndEndDateAfterOrderByStartDate(time, time);
+    }
+
     /**
      * Deletes the given campaign entity from the database.
      *
@@ -0,0 +1,120 @@
+package com.fatih.marketplace_app.dao;
+
+import com.fatih.marketplace_app.dto.campaign.RedemptionCount;
+import com.fatih.marketplace_app.dto.campaign.RedemptionReload;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Data Access Object (DAO) for the redemption counts of campaigns kept in the campaign_redemptions table.
+ * Each campaign has one row per user that redeemed it and one row for its total, under
+ * {@link RedemptionCount#ALL_USERS}. The counts are merged in from the Redis counters periodically,
+ * and are counted here directly while Redis is unavailable. A user row counted here records when, so that
+ * its Redis counters are loaded again once Redis is back.
+ */
+@Component
+@RequiredArgsConstructor
+public class CampaignRedemptionDao {
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * Reads the total redemptions of a campaign and the redemptions of one user.
+     *
+     * @param campaignId the campaign
+     * @param userId     the user
+     * @return the total count and the count of the user, zero for counts not stored yet
+     */
+    public List<RedemptionCount> findCounts(UUID campaignId, UUID userId) {
+        List<RedemptionCount> storedCounts = jdbcTemplate.query("SELECT campaign_id, user_id, redeemed_count " +
+                        "FROM campaign_redemptions WHERE campaign_id = :campaignId AND user_id IN (:allUsers, :userId)",
+                parameters(campaignId, userId),
+                (resultSet, rowNumber) -> new RedemptionCount(resultSet.getObject("campaign_id", UUID.class),
+                        resultSet.getObject("user_id", UUID.class), resultSet.getLong("redeemed_count")));
+        return List.of(countOf(storedCounts, campaignId, RedemptionCount.ALL_USERS), countOf(storedCounts, campaignId, userId));
+    }
+
+    /**
+     * Adds one redemption to a count unless the count has reached the limit. The count row stays locked until the
+     * current transaction ends, and the redemption is undone if the transaction rolls back.
+     * A user count is marked for its Redis counters to be loaded again.
+     *
+     * @param campaignId the campaign
+     * @param userId     the user, or {@link RedemptionCount#ALL_USERS} for the total of the campaign
+     * @param limit      the maximum number of redemptions, at least one
+     * @return {@code true} if the redemption was counted, {@code false} if the limit was reached
+     */
+    public boolean tryRedeem(UUID campaignId, UUID userId, long limit) {
+        return jdbcTemplate.update("INSERT INTO campaign_redemptions (campaign_id, user_id, redeemed_count, update_time, reload_requested_time) " +
+                "VALUES (:campaignId, :userId, 1, now(), CASE WHEN :userId <> :allUsers THEN now() END) " +
+                "ON CONFLICT (campaign_id, user_id) DO UPDATE " +
+                "SET redeemed_count = campaign_redemptions.redeemed_count + 1, update_time = now(), " +
+                "reload_requested_time = EXCLUDED.reload_requested_time " +
+                "WHERE campaign_redemptions.redeemed_count < :limit",
+                parameters(campaignId, userId).addValue("limit", limit)) == 1;
+    }
+
+    /**
+     * Finds the user counts whose Redis counters have to be loaded again, oldest request first.
+     *
+     * @param limit the maximum number of requests to return
+     * @return the reload requests
+     */
+    public List<RedemptionReload> findReloads(int limit) {
+        return jdbcTemplate.query("SELECT campaign_id, user_id, reload_requested_time FROM campaign_redemptions " +
+                        "WHERE reload_requested_time IS NOT NULL ORDER BY reload_requested_time LIMIT :limit",
+                new MapSqlParameterSource("limit", limit),
+                (resultSet, rowNumber) -> new RedemptionReload(resultSet.getObject("campaign_id", UUID.class),
+                        resultSet.getObject("user_id", UUID.class),
+                        resultSet.getObject("reload_requested_time", LocalDateTime.class)));
+    }
+
+    /**
+     * Removes a reload request unless a later redemption in the database has renewed it.
+     *
+     * @param reload the completed reload request
+     */
+    public void clearReload(RedemptionReload reload) {
+        jdbcTemplate.update("UPDATE campaign_redemptions SET reload_requested_time = NULL " +
+                        "WHERE campaign_id = :campaignId AND user_id = :userId AND reload_requested_time = :requestedTime",
+                parameters(reload.campaignId(), reload.userId()).addValue("requestedTime", reload.requestedTime()));
+    }
+
+    /**
+     * Merges counts into the stored counts with one batch, keeping the higher of the two for each row,
+     * so that redemptions counted here while Redis was unavailable are not lost.
+     *
+     * @param counts the counts to merge
+     */
+    public void mergeCounts(List<RedemptionCount> counts) {
+        SqlParameterSource[] batch = counts.stream()
+                .map(count -> parameters(count.campaignId(), count.userId()).addValue("redeemedCount", count.redeemedCount()))
+                .toArray(SqlParameterSource[]::new);
+        jdbcTemplate.batchUpdate("INSERT INTO campaign_redemptions (campaign_id, user_id, redeemed_count, update_time) " +
+                "VALUES (:campaignId, :userId, :redeemedCount, now()) " +
+                "ON CONFLICT (campaign_id, user_id) DO UPDATE " +
+                "SET redeemed_count = GREATEST(campaign_redemptions.redeemed_count, EXCLUDED.redeemed_count), update_time = now() " +
+                "WHERE campaign_redemptions.redeemed_count < EXCLUDED.redeemed_count", batch);
+    }
+
+    private RedemptionCount countOf(List<RedemptionCount> storedCounts, UUID campaignId, UUID userId) {
+        return storedCounts.stream()
+                .filter(count -> count.userId().equals(userId))
+                .findFirst()
+                .orElse(new RedemptionCount(campaignId, userId, 0));
+    }
+
+    private MapSqlParameterSource parameters(UUID campaignId, UUID userId) {
+        return new MapSqlParameterSource()
+                .addValue("campaignId", campaignId)
+                .addValue("userId", userId)
+                .addValue("allUsers", RedemptionCount.ALL_USERS);
+    }
+}
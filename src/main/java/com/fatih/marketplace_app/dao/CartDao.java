@@ -2,12 +2,16 @@ package com.fatih.marketplace_app.dao;
 
 import com.fatih.marketplace_app.entity.CartEntity;
 import com.fatih.marketplace_app.repository.CartRepository;
+import com.fatih.marketplace_app.repository.projection.CartExpiryView;
+import com.fatih.marketplace_app.repository.projection.CartPriceView;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Component;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -41,6 +45,26 @@ public class CartDao {
         return cartRepository.findById(cartId);
     }
 
+    /**
+     * Returns a reference to a cart without loading it.
+     *
+     * @param cartId the UUID of the cart
+     * @return a lazily loaded {@link CartEntity}
+     */
+    public CartEntity getReference(UUID cartId) {
+        return cartRepository.getReferenceById(cartId);
+    }
+
+    /**
+     * Finds a cart by its unique identifier together with its items, their products, its user and the user's wallet.
+     *
+     * @param cartId the UUID of the cart
+     * @return an {@link Optional} containing the found cart, or empty if not found
+     */
+    public Optional<CartEntity> findWithItemsById(UUID cartId) {
+        return cartRepository.findWithItemsById(cartId);
+    }
+
     /**
      * Finds a cart associated with a specific user.
      *
@@ -71,12 +95,155 @@ public class CartDao {
     }
 
     /**
-     * Finds all carts that have an update time before the given expiration time.
+     * Finds all carts with the given IDs together with their items, their products, their users and the users' wallets.
+     *
+     * @param cartIds the UUIDs of the carts
+     * @return a {@link List} of the carts that exist
+     */
+    public List<CartEntity> findAllWithItemsByIds(Collection<UUID> cartIds) {
+        return cartRepository.findAllWithItemsByIdIn(cartIds);
+    }
+
+    /**
+     * Locks the cart with the given ID until the end of the current transaction.
+     *
+     * @param cartId the UUID of the cart
+     * @return {@code true} if the cart exists
+     */
+    public boolean lockById(UUID cartId) {
+        return cartRepository.lockById(cartId).isPresent();
+    }
+
+    /**
+     * Locks the carts with the given IDs in ID order until the end of the current transaction.
+     *
+     * @param cartIds the UUIDs of the carts
+     * @return the IDs of the carts that exist
+     */
+    public List<UUID> lockByIds(Collection<UUID> cartIds) {
+        return cartRepository.lockByIds(cartIds);
+    }
+
+    /**
+     * Adds the amount to the price of a cart without a campaign.
+     *
+     * @param cartId the UUID of the cart
+     * @param amount the amount to add, negative to subtract
+     * @return {@code true} if the price was changed, {@code false} if the cart is missing or has a campaign
+     */
+    public boolean addToCartPrice(UUID cartId, BigDecimal amount) {
+        return cartRepository.addToCartPrice(cartId, amount) > 0;
+    }
+
+    /**
+     * Sets the price of a cart.
+     *
+     * @param cartId    the UUID of the cart
+     * @param cartPrice the new price of the cart
+     */
+    public void setCartPrice(UUID cartId, BigDecimal cartPrice) {
+        cartRepository.setCartPrice(cartId, cartPrice);
+    }
+
+    /**
+     * Reads the stored prices of the given carts together with the totals of their lines.
+     *
+     * @param cartIds the UUIDs of the carts
+     * @return a list of {@link CartPriceView} objects
+     */
+    public List<CartPriceView> findCartPrices(Collection<UUID> cartIds) {
+        return cartRepository.findCartPrices(cartIds);
+    }
+
+    /**
+     * Reads the prices of the carts following the given ID in ID order.
+     *
+     * @param startId the UUID to start from
+     * @param limit   the maximum number of carts to read
+     * @return a list of {@link CartPriceView} objects
+     */
+    public List<CartPriceView> findCartPricesFrom(UUID startId, int limit) {
+        return cartRepository.findCartPricesFrom(startId, limit);
+    }
+
+    /**
+     * Reads the prices of the next chunk of carts that applied a campaign, in ID order.
+     *
+     * @param campaignId the UUID of the campaign
+     * @param afterId    the UUID of the last cart of the previous chunk
+     * @param limit      the maximum number of carts to read
+     * @return a list of {@link CartPriceView} objects
+     */
+    public List<CartPriceView> findCampaignCartPrices(UUID campaignId, UUID afterId, int limit) {
+        return cartRepository.findCampaignCartPrices(campaignId, afterId, limit);
+    }
+
+    /**
+     * Locks the next chunk of expired carts within an ID range that still need to be cleared.
+     *
+     * @param expirationTime  carts last updated before this time are expired
+     * @param fromId          the first ID of the range
+     * @param toId            the last ID of the range
+     * @param afterUpdateTime the update time of the last cart of the previous chunk
+     * @param afterId         the ID of the last cart of the previous chunk
+     * @param limit           the maximum number of carts to lock
+     * @return a list of {@link CartExpiryView} objects in keyset order
+     */
+    public List<CartExpiryView> lockExpiredCarts(LocalDateTime expirationTime, UUID fromId, UUID toId,
+                                                 LocalDateTime afterUpdateTime, UUID afterId, int limit) {
+        return cartRepository.lockExpiredCarts(expirationTime, fromId, toId, afterUpdateTime, afterId, limit);
+    }
+
+    /**
+     * Resets the price of the given carts to zero.
+     *
+     * @param cartIds the UUIDs of the carts
+     * @return the number of carts updated
+     */
+    public int clearCartPrices(Collection<UUID> cartIds) {
+        return cartRepository.clearCartPrices(cartIds);
+    }
+
+    /**
+     * Locks those of the given carts that are expired and still need to be cleared.
+     *
+     * @param cartIds        the UUIDs of the carts
+     * @param expirationTime carts last updated before this time are expired
+     * @return the UUIDs of the locked carts
+     */
+    public List<UUID> lockExpiredCartsByIds(Collection<UUID> cartIds, LocalDateTime expirationTime) {
+        return cartRepository.lockExpiredCartsByIds(cartIds, expirationTime);
+    }
+
+    /**
+     * Finds the next chunk of carts that still hold a price or active items.
+     *
+     * @param afterUpdateTime the update time of the last cart of the previous chunk
+     * @param afterId         the ID of the last cart of the previous chunk
+     * @param limit           the maximum number of carts to return
+     * @return a list of {@link CartExpiryView} objects in keyset order
+     */
+    public List<CartExpiryView> findUnclearedCarts(LocalDateTime afterUpdateTime, UUID afterId, int limit) {
+        return cartRepository.findUnclearedCarts(afterUpdateTime, afterId, limit);
+    }
+
+    /**
+     * Finds those of the given carts that still hold a price or active items.
+     *
+     * @param cartIds the UUIDs of the carts
+     * @return a list of {@link CartExpiryView} objects
+     */
+    public List<CartExpiryView> findUnclearedCartsByIds(Collection<UUID> cartIds) {
+        return cartRepository.findUnclearedCartsByIds(cartIds);
+    }
+
+    /**
+     * Resets the price of the given carts to zero and removes their campaigns.
      *
-     * @param expirationTime the time threshold for filtering outdated carts
-     * @return a {@link List} of {@link CartEntity} objects matching the criteria
+     * @param cartIds the UUIDs of the carts
+     * @return the number of carts updated
      */
-    public List<CartEntity> findByUpdateTimeBefore(LocalDateTime expirationTime) {
-        return cartRepository.findByUpdateTimeBefore(expirationTime);
+    public int resetCarts(Collection<UUID> cartIds) {
+        return cartRepository.resetCarts(cartIds);
     }
 }
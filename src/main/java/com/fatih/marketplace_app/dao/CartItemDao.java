@@ -2,11 +2,16 @@ package com.fatih.marketplace_app.dao;
 
 import com.fatih.marketplace_app.entity.CartItemEntity;
 import com.fatih.marketplace_app.repository.CartItemRepository;
+import com.fatih.marketplace_app.repository.projection.CartItemUpsertView;
+import com.fatih.marketplace_app.repository.projection.CartLineView;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Component;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -18,6 +23,7 @@ import java.util.UUID;
 public class CartItemDao {
 
     private final CartItemRepository cartItemRepository;
+    private final EntityManager entityManager;
 
     /**
      * Saves the given cart item entity to the database.
@@ -68,4 +74,73 @@ public class CartItemDao {
     public Page<CartItemEntity> findAllByCartId(UUID cartId, Pageable pageable) {
         return cartItemRepository.findAllByCart_Id(cartId, pageable);
     }
-}
\ No newline at end of file
+
+    /**
+     * Retrieves all cart items of a cart together with their products in a single query.
+     *
+     * @param cartId the UUID of the cart
+     * @return a list of {@link CartItemEntity} objects belonging to the given cart
+     */
+    public List<CartItemEntity> findAllWithProductByCartId(UUID cartId) {
+        return cartItemRepository.findAllWithProductByCart_Id(cartId);
+    }
+
+    /**
+     * Adds a quantity of a product to a cart, creating or increasing the cart item and changing the cart price.
+     *
+     * @param cartId    the UUID of the cart, locked by the caller
+     * @param productId the UUID of the product
+     * @param quantity  the quantity to add
+     * @return an {@link Optional} containing the ID of the cart item and whether the cart price was changed,
+     * or empty if the product is not found
+     */
+    public Optional<CartItemUpsertView> addToCart(UUID cartId, UUID productId, int quantity) {
+        return cartItemRepository.addToCart(cartId, productId, quantity);
+    }
+
+    /**
+     * Finds the cart ID of a cart item.
+     *
+     * @param cartItemId the UUID of the cart item
+     * @return an {@link Optional} containing the cart ID, or empty if the cart item is not found
+     */
+    public Optional<UUID> findCartIdById(UUID cartItemId) {
+        return cartItemRepository.findCartIdById(cartItemId);
+    }
+
+    /**
+     * Writes pending changes of cart items to the database.
+     */
+    public void flush() {
+        cartItemRepository.flush();
+    }
+
+    /**
+     * Writes pending changes to the database and detaches all loaded entities,
+     * so that carts and items changed by native statements afterwards are read again instead of served stale.
+     */
+    public void flushAndClear() {
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    /**
+     * Reads the active lines of the given carts.
+     *
+     * @param cartIds the UUIDs of the carts
+     * @return the active lines of the carts
+     */
+    public List<CartLineView> findLinesByCartIds(Collection<UUID> cartIds) {
+        return cartItemRepository.findLinesByCartIds(cartIds);
+    }
+
+    /**
+     * Soft deletes all cart items of the given carts.
+     *
+     * @param cartIds the UUIDs of the carts
+     * @return the number of cart items deleted
+     */
+    public int deleteAllByCartIds(Collection<UUID> cartIds) {
+        return cartItemRepository.deleteAllByCartIds(cartIds);
+    }
+}
@@ -0,0 +1,46 @@
+package com.fatih.marketplace_app.dao;
+
+import com.fatih.marketplace_app.dto.cart.CartPriceDrift;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Data Access Object (DAO) for writing the prices of many carts with one batch.
+ * Each price is written only if the cart still holds the price it was computed from and still uses the campaign,
+ * so a cart changed in the meantime keeps the price set by that change.
+ */
+@Component
+@RequiredArgsConstructor
+public class CartPriceBatchDao {
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * Sets the expected prices of carts that use a campaign. The update time of the carts is left unchanged,
+     * as a re-priced cart was not used by its owner.
+     *
+     * @param campaignId the campaign the prices were computed with
+     * @param carts      the carts with their stored and expected prices
+     * @return the number of carts whose price was set
+     */
+    public int updateCartPrices(UUID campaignId, List<CartPriceDrift> carts) {
+        SqlParameterSource[] parameters = carts.stream()
+                .map(cart -> new MapSqlParameterSource()
+                        .addValue("cartId", cart.cartId())
+                        .addValue("campaignId", campaignId)
+                        .addValue("cartPrice", cart.cartPrice())
+                        .addValue("expectedPrice", cart.expectedPrice()))
+                .toArray(SqlParameterSource[]::new);
+        int[] updateCounts = jdbcTemplate.batchUpdate("UPDATE carts SET cart_price = :expectedPrice " +
+                "WHERE id = :cartId AND campaign_id = :campaignId AND cart_price = :cartPrice " +
+                "AND record_status <> true", parameters);
+        return (int) Arrays.stream(updateCounts).filter(count -> count > 0).count();
+    }
+}
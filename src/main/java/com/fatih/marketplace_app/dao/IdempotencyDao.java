@@ -0,0 +1,162 @@
+package com.fatih.marketplace_app.dao;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fatih.marketplace_app.dto.idempotency.IdempotencyRecord;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Data Access Object (DAO) for idempotency records.
+ * Records are kept in Redis so that every instance sees them. When Redis is unreachable,
+ * an in-memory store of this instance is used instead, which still protects retries that reach the same instance.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class IdempotencyDao {
+
+    private static final String KEY_PREFIX = "idempotency:";
+
+    /**
+     * Extends the expiry of a record only while it is still the given record, so that a lock is not extended
+     * once the response has replaced it.
+     */
+    private static final RedisScript<Long> RENEW = RedisScript.of("""
+            if redis.call('GET', KEYS[1]) == ARGV[1] then
+                return redis.call('PEXPIRE', KEYS[1], ARGV[2])
+            end
+            return 0
+            """, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final Map<String, LocalEntry> localStore = new ConcurrentHashMap<>();
+
+    /**
+     * Finds the record stored under the given key.
+     *
+     * @param key the idempotency key including its scope
+     * @return an {@link Optional} containing the record, or empty if the key is unknown or expired
+     */
+    public Optional<IdempotencyRecord> find(String key) {
+        try {
+            return Optional.ofNullable(redisTemplate.opsForValue().get(KEY_PREFIX + key)).map(this::read);
+        } catch (DataAccessException e) {
+            log.warn("Redis unavailable, reading idempotency key {} from local store", key, e);
+            LocalEntry entry = localStore.get(key);
+            return entry == null || entry.isExpired() ? Optional.empty() : Optional.of(entry.idempotencyRecord());
+        }
+    }
+
+    /**
+     * Stores the record only if no record exists under the given key.
+     *
+     * @param key               the idempotency key including its scope
+     * @param idempotencyRecord the record to store
+     * @param ttl               how long the record is kept
+     * @return {@code true} if the record was stored, {@code false} if the key is already taken
+     */
+    public boolean saveIfAbsent(String key, IdempotencyRecord idempotencyRecord, Duration ttl) {
+        try {
+            return Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(KEY_PREFIX + key, write(idempotencyRecord), ttl));
+        } catch (DataAccessException e) {
+            log.warn("Redis unavailable, locking idempotency key {} in local store", key, e);
+            LocalEntry newEntry = new LocalEntry(idempotencyRecord, System.nanoTime() + ttl.toNanos());
+            return localStore.compute(key, (k, entry) -> entry == null || entry.isExpired() ? newEntry : entry) == newEntry;
+        }
+    }
+
+    /**
+     * Extends the expiry of the record stored under the given key, if it is still the given record.
+     *
+     * @param key               the idempotency key including its scope
+     * @param idempotencyRecord the record expected under the key
+     * @param ttl               how long the record is kept from now
+     * @return {@code true} if the record was extended, {@code false} if the key holds another record or expired
+     */
+    public boolean renew(String key, IdempotencyRecord idempotencyRecord, Duration ttl) {
+        try {
+            Long renewed = redisTemplate.execute(RENEW, List.of(KEY_PREFIX + key),
+                    write(idempotencyRecord), Long.toString(ttl.toMillis()));
+            return renewed != null && renewed == 1;
+        } catch (DataAccessException e) {
+            log.warn("Redis unavailable, renewing idempotency key {} in local store", key, e);
+            LocalEntry renewedEntry = new LocalEntry(idempotencyRecord, System.nanoTime() + ttl.toNanos());
+            return localStore.computeIfPresent(key, (k, entry) ->
+                    !entry.isExpired() && entry.idempotencyRecord().equals(idempotencyRecord) ? renewedEntry : entry) == renewedEntry;
+        }
+    }
+
+    /**
+     * Stores the record under the given key, replacing any existing record.
+     *
+     * @param key               the idempotency key including its scope
+     * @param idempotencyRecord the record to store
+     * @param ttl               how long the record is kept
+     */
+    public void save(String key, IdempotencyRecord idempotencyRecord, Duration ttl) {
+        try {
+            redisTemplate.opsForValue().set(KEY_PREFIX + key, write(idempotencyRecord), ttl);
+        } catch (DataAccessException e) {
+            log.warn("Redis unavailable, saving idempotency key {} to local store", key, e);
+            localStore.put(key, new LocalEntry(idempotencyRecord, System.nanoTime() + ttl.toNanos()));
+        }
+    }
+
+    /**
+     * Deletes the record stored under the given key.
+     *
+     * @param key the idempotency key including its scope
+     */
+    public void delete(String key) {
+        localStore.remove(key);
+        try {
+            redisTemplate.delete(KEY_PREFIX + key);
+        } catch (DataAccessException e) {
+            log.warn("Redis unavailable, idempotency key {} removed from local store only", key, e);
+        }
+    }
+
+    /**
+     * Removes expired records from the local store.
+     */
+    @Scheduled(fixedDelay = 60_000)
+    public void purgeExpiredLocalEntries() {
+        localStore.values().removeIf(LocalEntry::isExpired);
+    }
+
+    private IdempotencyRecord read(String value) {
+        try {
+            return objectMapper.readValue(value, IdempotencyRecord.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unreadable idempotency record", e);
+        }
+    }
+
+    private String write(IdempotencyRecord idempotencyRecord) {
+        try {
+            return objectMapper.writeValueAsString(idempotencyRecord);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unwritable idempotency record", e);
+        }
+    }
+
+    private record LocalEntry(IdempotencyRecord idempotencyRecord, long expiresAtNanos) {
+
+        boolean isExpired() {
+            return System.nanoTime() - expiresAtNanos > 0;
+        }
+    }
+}
@@ -76,4 +76,16 @@ public class InvoiceDao {
     public Optional<InvoiceEntity> findByInvoiceNumber(String invoiceNumber) {
         return invoiceRepository.findByInvoiceNumber(invoiceNumber);
     }
-}
\ No newline at end of file
+
+    /**
+     * Finds the greatest invoice number between the given bounds that ends with the given suffix.
+     *
+     * @param lowerBound the least invoice number to consider
+     * @param upperBound the greatest invoice number to consider
+     * @param nodeSuffix the suffix the invoice number must end with
+     * @return an {@link Optional} containing the invoice number, or empty if there is none
+     */
+    public Optional<String> findMaxInvoiceNumber(String lowerBound, String upperBound, String nodeSuffix) {
+        return Optional.ofNullable(invoiceRepository.findMaxInvoiceNumber(lowerBound, upperBound, nodeSuffix));
+    }
+}
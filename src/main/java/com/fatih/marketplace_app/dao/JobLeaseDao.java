@@ -0,0 +1,66 @@
+package com.fatih.marketplace_app.dao;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Data Access Object (DAO) for job leases.
+ * A lease gives one instance the right to run one partition of a scheduled job until the lease ends.
+ * Leases are kept in the job_leases table of the database, which every instance shares, and are compared
+ * against the database clock only, so the clocks of the instances do not need to agree.
+ */
+@Component
+@RequiredArgsConstructor
+public class JobLeaseDao {
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * Takes the lease of a job partition if it is free or its previous lease has ended.
+     *
+     * @param jobName   the name of the job
+     * @param partition the partition of the job
+     * @param owner     the instance taking the lease
+     * @param leaseTime how long the lease lasts unless released earlier
+     * @return {@code true} if the lease was taken, {@code false} if another lease is still running
+     */
+    public boolean tryAcquire(String jobName, int partition, String owner, Duration leaseTime) {
+        return jdbcTemplate.update("INSERT INTO job_leases (job_name, partition_no, owner, acquired_at, lease_until) " +
+                "VALUES (:jobName, :partition, :owner, now(), now() + make_interval(secs => :leaseSeconds)) " +
+                "ON CONFLICT (job_name, partition_no) DO UPDATE " +
+                "SET owner = EXCLUDED.owner, acquired_at = EXCLUDED.acquired_at, lease_until = EXCLUDED.lease_until " +
+                "WHERE job_leases.lease_until <= now()",
+                parameters(jobName, partition, owner).addValue("leaseSeconds", toSeconds(leaseTime))) == 1;
+    }
+
+    /**
+     * Ends the lease of a job partition, but not before it has been held for the minimum hold time,
+     * so that instances whose schedule fires a little later do not run the same partition again.
+     *
+     * @param jobName     the name of the job
+     * @param partition   the partition of the job
+     * @param owner       the instance holding the lease
+     * @param minHoldTime how long after it was taken the lease lasts at least
+     */
+    public void release(String jobName, int partition, String owner, Duration minHoldTime) {
+        jdbcTemplate.update("UPDATE job_leases " +
+                "SET lease_until = GREATEST(acquired_at + make_interval(secs => :holdSeconds), now()) " +
+                "WHERE job_name = :jobName AND partition_no = :partition AND owner = :owner",
+                parameters(jobName, partition, owner).addValue("holdSeconds", toSeconds(minHoldTime)));
+    }
+
+    private MapSqlParameterSource parameters(String jobName, int partition, String owner) {
+        return new MapSqlParameterSource()
+                .addValue("jobName", jobName)
+                .addValue("partition", partition)
+                .addValue("owner", owner);
+    }
+
+    private double toSeconds(Duration duration) {
+        return duration.toMillis() / 1000.0;
+    }
+}
@@ -0,0 +1,89 @@
+package com.fatih.marketplace_app.dao;
+
+import com.fatih.marketplace_app.dto.page.CursorPosition;
+import com.fatih.marketplace_app.entity.BaseEntity;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Data Access Object (DAO) for keyset pagination over any {@link BaseEntity}.
+ * Rows are ordered by creation time and ID, newest first, and a page starts right after the given position,
+ * so reading a deep page costs the same as reading the first one, given an index on {@code (create_time, id)}.
+ */
+@Component
+@RequiredArgsConstructor
+public class KeysetPageDao {
+
+    private static final String CREATE_TIME = "createTime";
+    private static final String ID = "id";
+
+    private final EntityManager entityManager;
+
+    /**
+     * Finds the rows following the given position.
+     *
+     * @param entityClass the entity type to read
+     * @param filter      an additional restriction, or {@code null}
+     * @param after       the position of the last row already returned, or {@code null} for the first page
+     * @param limit       the maximum number of rows to return
+     * @param <E>         the entity type
+     * @return the rows, newest first
+     */
+    public <E extends BaseEntity> List<E> findPage(Class<E> entityClass, Specification<E> filter, CursorPosition after, int limit) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<E> query = criteriaBuilder.createQuery(entityClass);
+        Root<E> root = query.from(entityClass);
+        Path<LocalDateTime> createTime = root.get(CREATE_TIME);
+        Path<UUID> id = root.get(ID);
+
+        List<Predicate> predicates = new ArrayList<>();
+        if (filter != null) {
+            predicates.add(filter.toPredicate(root, query, criteriaBuilder));
+        }
+        if (after != null) {
+            predicates.add(criteriaBuilder.lessThanOrEqualTo(createTime, after.createTime()));
+            predicates.add(criteriaBuilder.or(
+                    criteriaBuilder.lessThan(createTime, after.createTime()),
+                    criteriaBuilder.lessThan(id, after.id())));
+        }
+
+        query.select(root)
+                .where(predicates.toArray(Predicate[]::new))
+                .orderBy(criteriaBuilder.desc(createTime), criteriaBuilder.desc(id));
+
+        return entityManager.createQuery(query).setMaxResults(limit).getResultList();
+    }
+
+    /**
+     * Counts all rows matching the filter.
+     *
+     * @param entityClass the entity type to count
+     * @param filter      an additional restriction, or {@code null}
+     * @param <E>         the entity type
+     * @return the number of rows
+     */
+    public <E extends BaseEntity> long count(Class<E> entityClass, Specification<E> filter) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = criteriaBuilder.createQuery(Long.class);
+        Root<E> root = query.from(entityClass);
+
+        query.select(criteriaBuilder.count(root));
+        if (filter != null) {
+            query.where(filter.toPredicate(root, query, criteriaBuilder));
+        }
+
+        return entityManager.createQuery(query).getSingleResult();
+    }
+}
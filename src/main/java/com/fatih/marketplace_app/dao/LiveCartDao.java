@@ -0,0 +1,237 @@
+package com.fatih.marketplace_app.dao;
+
+import com.fatih.marketplace_app.dto.cart.LiveCart;
+import com.fatih.marketplace_app.dto.cart.LiveCartLine;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Data Access Object (DAO) for live carts kept in Redis.
+ * Each cart is one hash holding a quantity ({@code q:<productId>}) and a unit price in cents ({@code p:<productId>})
+ * per product, plus the running total in cents ({@code total}). Changed carts are tracked in a sorted set
+ * scored by the time of their last change, from which they are flushed to the database.
+ */
+@Component
+@RequiredArgsConstructor
+public class LiveCartDao {
+
+    private static final String KEY_PREFIX = "live-cart:";
+    private static final String DIRTY_KEY = "live-cart:dirty";
+    private static final String TOTAL_FIELD = "total";
+    private static final String QUANTITY_PREFIX = "q:";
+    private static final String PRICE_PREFIX = "p:";
+
+    /**
+     * Changes the quantity of one line and the running total in one step.
+     * The unit price already stored for the line wins over the given one; lines that drop to zero are removed.
+     * Returns -1 without changes if the cart is not live.
+     */
+    private static final RedisScript<Long> CHANGE_QUANTITY = RedisScript.of("""
+            if redis.call('EXISTS', KEYS[1]) == 0 then return -1 end
+            local quantityField = 'q:' .. ARGV[1]
+            local priceField = 'p:' .. ARGV[1]
+            local current = tonumber(redis.call('HGET', KEYS[1], quantityField) or '0')
+            local price = tonumber(redis.call('HGET', KEYS[1], priceField) or ARGV[3])
+            local target = math.max(current + tonumber(ARGV[2]), 0)
+            if target == 0 then
+                redis.call('HDEL', KEYS[1], quantityField, priceField)
+            else
+                redis.call('HSET', KEYS[1], quantityField, target, priceField, price)
+            end
+            redis.call('HINCRBY', KEYS[1], 'total', (target - current) * price)
+            redis.call('PEXPIRE', KEYS[1], ARGV[4])
+            redis.call('ZADD', KEYS[2], ARGV[5], ARGV[6])
+            return target
+            """, Long.class);
+
+    /**
+     * Writes the initial lines of a cart unless the cart is already live.
+     */
+    private static final RedisScript<Long> SEED = RedisScript.of("""
+            if redis.call('EXISTS', KEYS[1]) == 1 then return 0 end
+            redis.call('HSET', KEYS[1], unpack(ARGV, 2))
+            redis.call('PEXPIRE', KEYS[1], ARGV[1])
+            return 1
+            """, Long.class);
+
+    /**
+     * Reads the fields of a live cart and removes the cart and its change mark in one step.
+     */
+    private static final RedisScript<List> TAKE = RedisScript.of("""
+            local fields = redis.call('HGETALL', KEYS[1])
+            redis.call('DEL', KEYS[1])
+            redis.call('ZREM', KEYS[2], ARGV[1])
+            return fields
+            """, List.class);
+
+    private final StringRedisTemplate redisTemplate;
+
+    /**
+     * Adds the given quantity to a line of a live cart, creating or removing the line as needed.
+     *
+     * @param cartId    the ID of the cart
+     * @param productId the ID of the product of the line
+     * @param delta     the quantity to add, negative to remove
+     * @param unitPrice the unit price used if the line is new
+     * @param ttl       how long the cart is kept after this change
+     * @return the new quantity of the line, or -1 if the cart is not live
+     */
+    public long addQuantity(UUID cartId, UUID productId, long delta, BigDecimal unitPrice, Duration ttl) {
+        Long quantity = redisTemplate.execute(CHANGE_QUANTITY, List.of(KEY_PREFIX + cartId, DIRTY_KEY),
+                productId.toString(),
+                Long.toString(delta),
+                Long.toString(toCents(unitPrice)),
+                Long.toString(ttl.toMillis()),
+                Long.toString(System.currentTimeMillis()),
+                cartId.toString());
+        return quantity == null ? -1 : quantity;
+    }
+
+    /**
+     * Makes a cart live with the given lines, unless it is live already.
+     *
+     * @param cartId the ID of the cart
+     * @param lines  the initial lines of the cart
+     * @param ttl    how long the cart is kept
+     * @return {@code true} if the cart was seeded, {@code false} if it was already live
+     */
+    public boolean seed(UUID cartId, Collection<LiveCartLine> lines, Duration ttl) {
+        List<String> args = new ArrayList<>(2 + lines.size() * 4);
+        args.add(Long.toString(ttl.toMillis()));
+        long total = 0;
+        for (LiveCartLine line : lines) {
+            long unitPrice = toCents(line.unitPrice());
+            args.add(QUANTITY_PREFIX + line.productId());
+            args.add(Integer.toString(line.productQuantity()));
+            args.add(PRICE_PREFIX + line.productId());
+            args.add(Long.toString(unitPrice));
+            total += unitPrice * line.productQuantity();
+        }
+        args.add(TOTAL_FIELD);
+        args.add(Long.toString(total));
+
+        Long seeded = redisTemplate.execute(SEED, List.of(KEY_PREFIX + cartId), args.toArray());
+        return seeded != null && seeded == 1;
+    }
+
+    /**
+     * Reads a live cart.
+     *
+     * @param cartId the ID of the cart
+     * @return an {@link Optional} containing the live cart, or empty if the cart is not live
+     */
+    public Optional<LiveCart> find(UUID cartId) {
+        return toLiveCart(cartId, redisTemplate.opsForHash().entries(KEY_PREFIX + cartId));
+    }
+
+    /**
+     * Reads a live cart and ends it, so that later changes find the cart not live.
+     *
+     * @param cartId the ID of the cart
+     * @return an {@link Optional} containing the removed live cart, or empty if the cart was not live
+     */
+    public Optional<LiveCart> take(UUID cartId) {
+        List<?> values = redisTemplate.execute(TAKE, List.of(KEY_PREFIX + cartId, DIRTY_KEY), cartId.toString());
+        Map<Object, Object> fields = new HashMap<>();
+        if (values != null) {
+            for (int i = 0; i + 1 < values.size(); i += 2) {
+                fields.put(values.get(i), values.get(i + 1));
+            }
+        }
+        return toLiveCart(cartId, fields);
+    }
+
+    /**
+     * Makes a taken live cart live again, e.g. after the change that took it rolled back, and marks it as changed,
+     * as its lines were not stored. Does nothing if the cart was made live again in the meantime.
+     *
+     * @param liveCart the taken live cart
+     * @param ttl      how long the cart is kept
+     */
+    public void restore(LiveCart liveCart, Duration ttl) {
+        if (seed(liveCart.cartId(), liveCart.lines(), ttl)) {
+            markDirty(liveCart.cartId());
+        }
+    }
+
+    /**
+     * Finds carts that were changed but have not been flushed, and have not been changed since the given time.
+     *
+     * @param idleSince the latest last-change time, in epoch milliseconds
+     * @param limit     the maximum number of cart IDs to return
+     * @return the IDs of the carts, least recently changed first
+     */
+    public List<UUID> findDirtyCartIds(long idleSince, int limit) {
+        Set<String> cartIds = redisTemplate.opsForZSet().rangeByScore(DIRTY_KEY, 0, idleSince, 0, limit);
+        return cartIds == null ? List.of() : cartIds.stream().map(UUID::fromString).toList();
+    }
+
+    /**
+     * Removes a cart from the changed carts. Only the caller for which this returns {@code true} flushes the cart.
+     *
+     * @param cartId the ID of the cart
+     * @return {@code true} if the cart was marked as changed
+     */
+    public boolean claimDirty(UUID cartId) {
+        Long removed = redisTemplate.opsForZSet().remove(DIRTY_KEY, cartId.toString());
+        return removed != null && removed > 0;
+    }
+
+    /**
+     * Marks a cart as changed again, e.g. after a failed flush.
+     *
+     * @param cartId the ID of the cart
+     */
+    public void markDirty(UUID cartId) {
+        redisTemplate.opsForZSet().addIfAbsent(DIRTY_KEY, cartId.toString(), System.currentTimeMillis());
+    }
+
+    private static Optional<LiveCart> toLiveCart(UUID cartId, Map<Object, Object> fields) {
+        if (fields.isEmpty()) {
+            return Optional.empty();
+        }
+
+        Map<UUID, Long> unitPrices = new HashMap<>();
+        Map<UUID, Integer> quantities = new HashMap<>();
+        fields.forEach((field, value) -> {
+            String name = (String) field;
+            if (name.startsWith(PRICE_PREFIX)) {
+                unitPrices.put(UUID.fromString(name.substring(PRICE_PREFIX.length())), Long.parseLong((String) value));
+            } else if (name.startsWith(QUANTITY_PREFIX)) {
+                quantities.put(UUID.fromString(name.substring(QUANTITY_PREFIX.length())), Integer.parseInt((String) value));
+            }
+        });
+
+        List<LiveCartLine> lines = quantities.entrySet().stream()
+                .map(entry -> {
+                    long unitPrice = unitPrices.get(entry.getKey());
+                    return new LiveCartLine(entry.getKey(), entry.getValue(),
+                            fromCents(unitPrice), fromCents(unitPrice * entry.getValue()));
+                })
+                .toList();
+        long total = Long.parseLong((String) fields.getOrDefault(TOTAL_FIELD, "0"));
+        return Optional.of(new LiveCart(cartId, lines, fromCents(total)));
+    }
+
+    private static long toCents(BigDecimal amount) {
+        return amount.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    private static BigDecimal fromCents(long cents) {
+        return BigDecimal.valueOf(cents, 2);
+    }
+}
@@ -1,12 +1,19 @@
 package com.fatih.marketplace_app.dao;
 
 import com.fatih.marketplace_app.entity.OrderEntity;
+import com.fatih.marketplace_app.enums.OrderStatus;
 import com.fatih.marketplace_app.repository.OrderRepository;
+import com.fatih.marketplace_app.repository.projection.OrderLockView;
+import com.fatih.marketplace_app.repository.projection.OrderPartyView;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Component;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -78,4 +85,101 @@ public class OrderDao {
     public Optional<OrderEntity> findByOrderNumber(String orderNumber) {
         return orderRepository.findByOrderNumber(orderNumber);
     }
-}
\ No newline at end of file
+
+    /**
+     * Finds an order by its unique identifier together with its address, cart, cart owner, cart items and products.
+     *
+     * @param orderId the UUID of the order
+     * @return an {@link Optional} containing the found order, or empty if not found
+     */
+    public Optional<OrderEntity> findWithDetailsById(UUID orderId) {
+        return orderRepository.findWithDetailsById(orderId);
+    }
+
+    /**
+     * Finds the orders with the given IDs together with their lines.
+     *
+     * @param orderIds the UUIDs of the orders
+     * @return a {@link List} of the orders that exist
+     */
+    public List<OrderEntity> findAllWithLinesByIds(Collection<UUID> orderIds) {
+        return orderRepository.findAllWithLinesByIdIn(orderIds);
+    }
+
+    /**
+     * Finds the users and delivery addresses of the given orders, including users and addresses deleted since.
+     *
+     * @param orderIds the UUIDs of the orders
+     * @return a {@link List} of the users and addresses of the orders that exist
+     */
+    public List<OrderPartyView> findPartiesByIds(Collection<UUID> orderIds) {
+        return orderRepository.findPartiesByIdIn(orderIds);
+    }
+
+    /**
+     * Finds an order by its unique identifier and locks it until the end of the transaction.
+     *
+     * @param orderId the UUID of the order
+     * @return an {@link Optional} containing the locked order, or empty if not found
+     */
+    public Optional<OrderEntity> findByIdForUpdate(UUID orderId) {
+        return orderRepository.findByIdForUpdate(orderId);
+    }
+
+    /**
+     * Finds the IDs of orders in the given status that have not been updated since the given time.
+     *
+     * @param orderStatus   the status of the orders
+     * @param updatedBefore the time the orders must have been last updated before
+     * @param limit         the maximum number of IDs to return
+     * @return a list of order IDs, oldest first
+     */
+    public List<UUID> findIdsByStatusUpdatedBefore(OrderStatus orderStatus, LocalDateTime updatedBefore, int limit) {
+        return orderRepository.findIdsByOrderStatusUpdatedBefore(orderStatus, updatedBefore, Limit.of(limit));
+    }
+
+    /**
+     * Changes the status of an order if it still has the expected status.
+     *
+     * @param orderId        the UUID of the order
+     * @param expectedStatus the status the order must currently have
+     * @param newStatus      the status to set
+     * @param failureReason  the reason to record, or {@code null}
+     * @return {@code true} if the status was changed, {@code false} otherwise
+     */
+    public boolean updateStatusIfCurrent(UUID orderId, OrderStatus expectedStatus, OrderStatus newStatus, String failureReason) {
+        return orderRepository.updateStatusIfCurrent(orderId, expectedStatus, newStatus, failureReason, LocalDateTime.now()) > 0;
+    }
+
+    /**
+     * Finds the greatest order number between the given bounds that ends with the given suffix.
+     *
+     * @param lowerBound the least order number to consider
+     * @param upperBound the greatest order number to consider
+     * @param nodeSuffix the suffix the order number must end with
+     * @return an {@link Optional} containing the order number, or empty if there is none
+     */
+    public Optional<String> findMaxOrderNumber(String lowerBound, String upperBound, String nodeSuffix) {
+        return Optional.ofNullable(orderRepository.findMaxOrderNumber(lowerBound, upperBound, nodeSuffix));
+    }
+
+    /**
+     * Locks the given orders until the end of the transaction.
+     *
+     * @param orderIds the UUIDs of the orders
+     * @return the status and wallet of each order that exists and is not cancelled yet
+     */
+    public List<OrderLockView> lockOrders(Collection<UUID> orderIds) {
+        return orderRepository.lockOrders(orderIds);
+    }
+
+    /**
+     * Marks the given orders as cancelled and soft deletes them.
+     *
+     * @param orderIds the UUIDs of the orders
+     * @return the number of cancelled orders
+     */
+    public int cancelAll(Collection<UUID> orderIds) {
+        return orderRepository.cancelAll(orderIds);
+    }
+}
@@ -0,0 +1,40 @@
+package com.fatih.marketplace_app.dao;
+
+import com.fatih.marketplace_app.entity.OrderLineEntity;
+import com.fatih.marketplace_app.repository.OrderLineRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Data Access Object (DAO) for managing {@link OrderLineEntity} persistence operations.
+ */
+@Component
+@RequiredArgsConstructor
+public class OrderLineDao {
+
+    private final OrderLineRepository orderLineRepository;
+
+    /**
+     * Retrieves the lines of the given orders.
+     *
+     * @param orderIds the UUIDs of the orders
+     * @return a {@link List} of {@link OrderLineEntity} objects of the orders
+     */
+    public List<OrderLineEntity> findAllByOrderIds(Collection<UUID> orderIds) {
+        return orderLineRepository.findAllByOrder_IdIn(orderIds);
+    }
+
+    /**
+     * Writes the lines of the given orders from the current items of their carts.
+     *
+     * @param orderIds the UUIDs of the orders
+     * @return the number of lines written
+     */
+    public int insertFromCarts(Collection<UUID> orderIds) {
+        return orderLineRepository.insertFromCarts(orderIds);
+    }
+}
@@ -0,0 +1,98 @@
+package com.fatih.marketplace_app.dao;
+
+import com.fatih.marketplace_app.entity.OrderSummaryEntity;
+import com.fatih.marketplace_app.enums.OrderStatus;
+import com.fatih.marketplace_app.repository.OrderSummaryRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Data Access Object (DAO) for managing {@link OrderSummaryEntity} operations.
+ */
+@Component
+@RequiredArgsConstructor
+public class OrderSummaryDao {
+
+    private final OrderSummaryRepository orderSummaryRepository;
+
+    /**
+     * Saves the given order summary.
+     *
+     * @param orderSummaryEntity the order summary to save
+     * @return the saved {@link OrderSummaryEntity}
+     */
+    public OrderSummaryEntity save(OrderSummaryEntity orderSummaryEntity) {
+        return orderSummaryRepository.save(orderSummaryEntity);
+    }
+
+    /**
+     * Saves all given order summaries.
+     *
+     * @param orderSummaryEntities the order summaries to save
+     * @return the saved order summaries
+     */
+    public List<OrderSummaryEntity> saveAll(Collection<OrderSummaryEntity> orderSummaryEntities) {
+        return orderSummaryRepository.saveAll(orderSummaryEntities);
+    }
+
+    /**
+     * Finds the summary of an order.
+     *
+     * @param orderId the UUID of the order
+     * @return an {@link Optional} containing the found summary, or empty if not found
+     */
+    public Optional<OrderSummaryEntity> findByOrderId(UUID orderId) {
+        return orderSummaryRepository.findByOrderId(orderId);
+    }
+
+    /**
+     * Retrieves a paginated list of the order summaries of a user.
+     *
+     * @param userId   the UUID of the user
+     * @param pageable pagination information
+     * @return a {@link Page} of {@link OrderSummaryEntity} objects
+     */
+    public Page<OrderSummaryEntity> findAllByUserId(UUID userId, Pageable pageable) {
+        return orderSummaryRepository.findAllByUserId(userId, pageable);
+    }
+
+    /**
+     * Changes the status recorded in the summary of an order.
+     *
+     * @param orderId     the UUID of the order
+     * @param orderStatus the status to set
+     * @return {@code true} if a summary was updated
+     */
+    public boolean updateOrderStatus(UUID orderId, OrderStatus orderStatus) {
+        return orderSummaryRepository.updateOrderStatus(orderId, orderStatus, LocalDateTime.now()) > 0;
+    }
+
+    /**
+     * Marks the summaries of the given orders as cancelled and soft deletes them.
+     *
+     * @param orderIds the UUIDs of the orders
+     * @return the number of cancelled summaries
+     */
+    public int cancelAll(Collection<UUID> orderIds) {
+        return orderSummaryRepository.cancelAll(orderIds);
+    }
+
+    /**
+     * Finds active orders after the given ID that have no summary yet, in ID order.
+     *
+     * @param afterId the UUID after which to search
+     * @param limit   the maximum number of IDs to return
+     * @return the UUIDs of the orders
+     */
+    public List<UUID> findOrderIdsWithoutSummary(UUID afterId, int limit) {
+        return orderSummaryRepository.findOrderIdsWithoutSummary(afterId, limit);
+    }
+}
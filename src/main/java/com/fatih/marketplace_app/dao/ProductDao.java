@@ -2,13 +2,18 @@ package com.fatih.marketplace_app.dao;
 
 import com.fatih.marketplace_app.entity.ProductEntity;
 import com.fatih.marketplace_app.repository.ProductRepository;
+import com.fatih.marketplace_app.repository.projection.ProductStockView;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
 import java.util.Optional;
+import java.util.Collection;
+import java.util.Map;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 /**
  * Data Access Object (DAO) for managing {@link ProductEntity} operations.
@@ -49,6 +54,26 @@ public class ProductDao {
         return productRepository.findById(productId);
     }
 
+    /**
+     * Finds the products with the given unique identifiers.
+     *
+     * @param productIds the UUIDs of the products
+     * @return a list of the {@link ProductEntity} objects found
+     */
+    public List<ProductEntity> findAllByIds(Collection<UUID> productIds) {
+        return productRepository.findAllById(productIds);
+    }
+
+    /**
+     * Returns a reference to a product without loading it.
+     *
+     * @param productId the UUID of the product
+     * @return a lazily loaded {@link ProductEntity}
+     */
+    public ProductEntity getReference(UUID productId) {
+        return productRepository.getReferenceById(productId);
+    }
+
     /**
      * Deletes the given product entity from the database.
      *
@@ -57,4 +82,46 @@ public class ProductDao {
     public void delete(ProductEntity foundProduct) {
         productRepository.delete(foundProduct);
     }
+
+    /**
+     * Decreases the stock of a product if enough stock is available.
+     *
+     * @param productId the UUID of the product
+     * @param quantity  the quantity to deduct
+     * @return {@code true} if the stock was decreased, {@code false} if there was not enough stock
+     */
+    public boolean decreaseStock(UUID productId, long quantity) {
+        return productRepository.decreaseStock(productId, quantity) > 0;
+    }
+
+    /**
+     * Locks the given products and returns their current stock quantities.
+     *
+     * @param productIds the UUIDs of the products
+     * @return the stock quantities keyed by product ID, for the products that exist
+     */
+    public Map<UUID, Long> lockStockQuantities(Collection<UUID> productIds) {
+        return productRepository.lockStockQuantities(productIds).stream()
+                .collect(Collectors.toMap(ProductStockView::getId, ProductStockView::getStockQuantity));
+    }
+
+    /**
+     * Locks the products in the lines of the given orders.
+     *
+     * @param orderIds the UUIDs of the orders
+     * @return the UUIDs of the locked products
+     */
+    public List<UUID> lockProductsOfOrders(Collection<UUID> orderIds) {
+        return productRepository.lockProductsOfOrders(orderIds);
+    }
+
+    /**
+     * Adds the quantities in the lines of the given orders back to the product stock.
+     *
+     * @param orderIds the UUIDs of the orders
+     * @return the number of products whose stock was restored
+     */
+    public int restoreStockOfOrders(Collection<UUID> orderIds) {
+        return productRepository.restoreStockOfOrders(orderIds);
+    }
 }
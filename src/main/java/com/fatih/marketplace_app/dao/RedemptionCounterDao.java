@@ -0,0 +1,241 @@
+package com.fatih.marketplace_app.dao;
+
+import com.fatih.marketplace_app.dto.campaign.RedemptionCount;
+import com.fatih.marketplace_app.enums.RedemptionOutcome;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Data Access Object (DAO) for the redemption counters of campaigns kept in Redis.
+ * Each campaign has a counter of its total redemptions ({@code campaign-redemption:<campaignId>}) and a counter per
+ * user ({@code campaign-redemption:<campaignId>:<userId>}), checked and incremented together in one script.
+ * Changed counters are tracked in a set, from which they are merged into the database.
+ */
+@Component
+@RequiredArgsConstructor
+public class RedemptionCounterDao {
+
+    private static final String KEY_PREFIX = "campaign-redemption:";
+    private static final String CHANGED_KEY = "campaign-redemption:changed";
+    private static final String MEMBER_SEPARATOR = ":";
+
+    /**
+     * Increments the total and user counters unless either has reached its limit, a negative limit meaning none.
+     * Returns 1 if redeemed, 0 if the campaign limit or -1 if the user limit was reached,
+     * and -2 without changes if the counters are not loaded.
+     */
+    private static final RedisScript<Long> REDEEM = RedisScript.of("""
+            local total = redis.call('GET', KEYS[1])
+            local used = redis.call('GET', KEYS[2])
+            if not total or not used then return -2 end
+            local limit = tonumber(ARGV[1])
+            local userLimit = tonumber(ARGV[2])
+            if limit >= 0 and tonumber(total) >= limit then return 0 end
+            if userLimit >= 0 and tonumber(used) >= userLimit then return -1 end
+            redis.call('INCR', KEYS[1])
+            redis.call('INCR', KEYS[2])
+            redis.call('PEXPIRE', KEYS[1], ARGV[3])
+            redis.call('PEXPIRE', KEYS[2], ARGV[3])
+            redis.call('SADD', KEYS[3], ARGV[4])
+            return 1
+            """, Long.class);
+
+    /**
+     * Takes back one redemption from counters that are still loaded.
+     */
+    private static final RedisScript<Long> RELEASE = RedisScript.of("""
+            if redis.call('EXISTS', KEYS[1]) == 0 or redis.call('EXISTS', KEYS[2]) == 0 then return 0 end
+            redis.call('DECR', KEYS[1])
+            redis.call('DECR', KEYS[2])
+            redis.call('SADD', KEYS[3], ARGV[1])
+            return 1
+            """, Long.class);
+
+    /**
+     * Loads the counters from the given counts, keeping counters that are loaded already.
+     */
+    private static final RedisScript<Long> LOAD = RedisScript.of("""
+            redis.call('SET', KEYS[1], ARGV[1], 'NX', 'PX', ARGV[3])
+            redis.call('SET', KEYS[2], ARGV[2], 'NX', 'PX', ARGV[3])
+            return 1
+            """, Long.class);
+
+    /**
+     * Removes the total and user counters if they still hold the given values, an empty value standing for a
+     * counter that is not loaded. Returns 1 if removed, 0 if either changed.
+     */
+    private static final RedisScript<Long> UNLOAD_IF_UNCHANGED = RedisScript.of("""
+            if (redis.call('GET', KEYS[1]) or '') ~= ARGV[1] or (redis.call('GET', KEYS[2]) or '') ~= ARGV[2] then
+                return 0
+            end
+            redis.call('DEL', KEYS[1], KEYS[2])
+            return 1
+            """, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+
+    /**
+     * Counts one redemption of a campaign by a user unless a limit has been reached.
+     *
+     * @param campaignId the campaign
+     * @param userId     the user
+     * @param limit      the maximum total redemptions, negative for none
+     * @param userLimit  the maximum redemptions per user, negative for none
+     * @param ttl        how long the counters are kept after this redemption
+     * @return the outcome of the redemption
+     */
+    public RedemptionOutcome tryRedeem(UUID campaignId, UUID userId, long limit, long userLimit, Duration ttl) {
+        Long outcome = redisTemplate.execute(REDEEM, keys(campaignId, userId),
+                Long.toString(limit),
+                Long.toString(userLimit),
+                Long.toString(ttl.toMillis()),
+                member(campaignId, userId));
+        if (outcome == null || outcome == -2) {
+            return RedemptionOutcome.NOT_LOADED;
+        }
+        if (outcome == 1) {
+            return RedemptionOutcome.REDEEMED;
+        }
+        return outcome == 0 ? RedemptionOutcome.CAMPAIGN_LIMIT_REACHED : RedemptionOutcome.USER_LIMIT_REACHED;
+    }
+
+    /**
+     * Takes back one redemption of a campaign by a user, for example because the transaction that redeemed it
+     * rolled back. Counters that are no longer loaded are left alone, as they are loaded again from the database.
+     *
+     * @param campaignId the campaign
+     * @param userId     the user
+     */
+    public void release(UUID campaignId, UUID userId) {
+        redisTemplate.execute(RELEASE, keys(campaignId, userId), member(campaignId, userId));
+    }
+
+    /**
+     * Loads the counters of a campaign and user unless they are loaded already.
+     *
+     * @param totalCount the total redemptions of the campaign
+     * @param userCount  the redemptions of the user
+     * @param ttl        how long the counters are kept
+     */
+    public void load(RedemptionCount totalCount, RedemptionCount userCount, Duration ttl) {
+        redisTemplate.execute(LOAD, keys(userCount.campaignId(), userCount.userId()),
+                Long.toString(totalCount.redeemedCount()),
+                Long.toString(userCount.redeemedCount()),
+                Long.toString(ttl.toMillis()));
+    }
+
+    /**
+     * Removes up to the given number of changed counters from the changed set and reads them.
+     * The total of a campaign is read once, however many of its users changed.
+     *
+     * @param maxCount the maximum number of changed user counters to take
+     * @return the counts of the changed counters that are still loaded
+     */
+    public List<RedemptionCount> takeChanged(int maxCount) {
+        List<String> members = redisTemplate.opsForSet().pop(CHANGED_KEY, maxCount);
+        if (members == null || members.isEmpty()) {
+            return List.of();
+        }
+        List<RedemptionCount> counts = new ArrayList<>(members.size() * 2);
+        Set<UUID> campaignIds = new HashSet<>();
+        List<String> keys = new ArrayList<>(members.size() * 2);
+        for (String member : members) {
+            String[] ids = member.split(MEMBER_SEPARATOR);
+            UUID campaignId = UUID.fromString(ids[0]);
+            UUID userId = UUID.fromString(ids[1]);
+            counts.add(new RedemptionCount(campaignId, userId, 0));
+            keys.add(KEY_PREFIX + campaignId + MEMBER_SEPARATOR + userId);
+            if (campaignIds.add(campaignId)) {
+                counts.add(new RedemptionCount(campaignId, RedemptionCount.ALL_USERS, 0));
+                keys.add(KEY_PREFIX + campaignId);
+            }
+        }
+        List<String> values = redisTemplate.opsForValue().multiGet(keys);
+        List<RedemptionCount> loadedCounts = new ArrayList<>(counts.size());
+        for (int i = 0; i < counts.size(); i++) {
+            String value = values == null ? null : values.get(i);
+            if (value != null) {
+                RedemptionCount count = counts.get(i);
+                loadedCounts.add(new RedemptionCount(count.campaignId(), count.userId(), Long.parseLong(value)));
+            }
+        }
+        return loadedCounts;
+    }
+
+    /**
+     * Marks counters as changed again, for example because merging them into the database failed.
+     *
+     * @param counts the counts whose user counters changed
+     */
+    public void markChanged(Collection<RedemptionCount> counts) {
+        String[] members = counts.stream()
+                .filter(count -> !RedemptionCount.ALL_USERS.equals(count.userId()))
+                .map(count -> member(count.campaignId(), count.userId()))
+                .toArray(String[]::new);
+        if (members.length > 0) {
+            redisTemplate.opsForSet().add(CHANGED_KEY, members);
+        }
+    }
+
+    /**
+     * Reads the total and user counters of a campaign and user.
+     *
+     * @param campaignId the campaign
+     * @param userId     the user
+     * @return the counts of the counters that are loaded, the total first
+     */
+    public List<RedemptionCount> find(UUID campaignId, UUID userId) {
+        List<String> values = redisTemplate.opsForValue().multiGet(keys(campaignId, userId).subList(0, 2));
+        List<RedemptionCount> loadedCounts = new ArrayList<>(2);
+        if (values != null && values.get(0) != null) {
+            loadedCounts.add(new RedemptionCount(campaignId, RedemptionCount.ALL_USERS, Long.parseLong(values.get(0))));
+        }
+        if (values != null && values.get(1) != null) {
+            loadedCounts.add(new RedemptionCount(campaignId, userId, Long.parseLong(values.get(1))));
+        }
+        return loadedCounts;
+    }
+
+    /**
+     * Removes the counters of a campaign and user, so that they are loaded again from the database,
+     * unless they changed since they were read. Redemptions counted after the read are therefore never dropped;
+     * the caller merges the read counts first and tries again later if this returns {@code false}.
+     *
+     * @param campaignId   the campaign
+     * @param userId       the user
+     * @param loadedCounts the counts as read by {@link #find(UUID, UUID)}
+     * @return {@code true} if the counters were removed, or were not loaded
+     */
+    public boolean unloadIfUnchanged(UUID campaignId, UUID userId, List<RedemptionCount> loadedCounts) {
+        Long unloaded = redisTemplate.execute(UNLOAD_IF_UNCHANGED, keys(campaignId, userId).subList(0, 2),
+                valueOf(loadedCounts, RedemptionCount.ALL_USERS),
+                valueOf(loadedCounts, userId));
+        return unloaded != null && unloaded == 1;
+    }
+
+    private String valueOf(List<RedemptionCount> counts, UUID userId) {
+        return counts.stream()
+                .filter(count -> count.userId().equals(userId))
+                .map(count -> Long.toString(count.redeemedCount()))
+                .findFirst()
+                .orElse("");
+    }
+
+    private List<String> keys(UUID campaignId, UUID userId) {
+        return List.of(KEY_PREFIX + campaignId, KEY_PREFIX + member(campaignId, userId), CHANGED_KEY);
+    }
+
+    private String member(UUID campaignId, UUID userId) {
+        return campaignId + MEMBER_SEPARATOR + userId;
+    }
+}
@@ -1,14 +1,20 @@
 package com.fatih.marketplace_app.dao;
 
 import com.fatih.marketplace_app.entity.WalletEntity;
+import com.fatih.marketplace_app.enums.WalletTransactionType;
 import com.fatih.marketplace_app.repository.WalletRepository;
+import com.fatih.marketplace_app.repository.projection.WalletBalanceView;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Component;
 
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 /**
  * Data Access Object (DAO) for managing {@link WalletEntity} operations.
@@ -68,4 +74,67 @@ public class WalletDao {
     public Optional<WalletEntity> findByUserId(UUID userId) {
         return walletRepository.findByUser_Id(userId);
     }
+
+    /**
+     * Subtracts the amount from the wallet balance if the balance covers it and records the transaction.
+     *
+     * @param walletId        the UUID of the wallet
+     * @param amount          the amount to subtract
+     * @param transactionType the type of the transaction to record
+     * @param referenceId     the UUID of the related record, or {@code null}
+     * @return {@code true} if the balance was updated, {@code false} if the wallet is missing or has insufficient balance
+     */
+    public boolean debit(UUID walletId, BigDecimal amount, WalletTransactionType transactionType, UUID referenceId) {
+        return walletRepository.debit(walletId, amount, transactionType.name(), toText(referenceId)) > 0;
+    }
+
+    /**
+     * Adds the amount to the wallet balance and records the transaction.
+     *
+     * @param walletId        the UUID of the wallet
+     * @param amount          the amount to add
+     * @param transactionType the type of the transaction to record
+     * @param referenceId     the UUID of the related record, or {@code null}
+     * @return {@code true} if the balance was updated, {@code false} if the wallet is missing
+     */
+    public boolean credit(UUID walletId, BigDecimal amount, WalletTransactionType transactionType, UUID referenceId) {
+        return walletRepository.credit(walletId, amount, transactionType.name(), toText(referenceId)) > 0;
+    }
+
+    /**
+     * Sets the wallet balance to the given amount and records the difference as a transaction.
+     *
+     * @param walletId the UUID of the wallet
+     * @param amount   the new balance
+     * @return {@code true} if the balance was updated, {@code false} if the wallet is missing
+     */
+    public boolean changeBalance(UUID walletId, BigDecimal amount) {
+        return walletRepository.changeBalance(walletId, amount) > 0;
+    }
+
+    private String toText(UUID referenceId) {
+        return referenceId == null ? null : referenceId.toString();
+    }
+
+    /**
+     * Locks the given wallets and returns their current balances.
+     *
+     * @param walletIds the UUIDs of the wallets
+     * @return the balances keyed by wallet ID, for the wallets that exist
+     */
+    public Map<UUID, BigDecimal> lockBalances(Collection<UUID> walletIds) {
+        return walletRepository.lockBalances(walletIds).stream()
+                .collect(Collectors.toMap(WalletBalanceView::getId, WalletBalanceView::getBalance));
+    }
+
+    /**
+     * Refunds the final price of each given order to its wallet and records one transaction per order.
+     *
+     * @param orderIds        the UUIDs of the orders
+     * @param transactionType the type of the transactions to record
+     * @return the number of orders refunded
+     */
+    public int refundOrders(Collection<UUID> orderIds, WalletTransactionType transactionType) {
+        return walletRepository.refundOrders(orderIds, transactionType.name());
+    }
 }
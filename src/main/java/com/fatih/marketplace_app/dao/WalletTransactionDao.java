@@ -0,0 +1,38 @@
+package com.fatih.marketplace_app.dao;
+
+import com.fatih.marketplace_app.entity.WalletTransactionEntity;
+import com.fatih.marketplace_app.repository.WalletTransactionRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Data Access Object (DAO) for reading {@link WalletTransactionEntity} records.
+ * Transactions are written only together with balance updates, see {@link WalletDao}.
+ */
+@Component
+@RequiredArgsConstructor
+public class WalletTransactionDao {
+
+    private final WalletTransactionRepository walletTransactionRepository;
+
+    /**
+     * Retrieves a page of wallet transactions, newest first.
+     * When no position is given, the newest transactions are returned.
+     *
+     * @param walletId   the UUID of the wallet
+     * @param createTime the creation time of the last transaction of the previous page, or {@code null}
+     * @param id         the UUID of the last transaction of the previous page, or {@code null}
+     * @param size       the maximum number of transactions to return
+     * @return the list of {@link WalletTransactionEntity} objects
+     */
+    public List<WalletTransactionEntity> findStatementPage(UUID walletId, LocalDateTime createTime, UUID id, int size) {
+        if (createTime == null || id == null) {
+            return walletTransactionRepository.findFirstStatementPage(walletId, size);
+        }
+        return walletTransactionRepository.findStatementPageAfter(walletId, createTime, id, size);
+    }
+}
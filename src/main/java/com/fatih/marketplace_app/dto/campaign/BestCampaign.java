@@ -0,0 +1,21 @@
+package com.fatih.marketplace_app.dto.campaign;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * Active campaign giving a cart the largest discount, as found without applying any campaign.
+ *
+ * @param cartId          the evaluated cart
+ * @param campaign        the best campaign, or null if no active campaign discounts the cart
+ * @param cartPrice       the price of the lines of the cart
+ * @param discountedPrice the price of the cart with the best campaign applied
+ */
+public record BestCampaign(
+
+        UUID cartId,
+        CatalogCampaign campaign,
+        BigDecimal cartPrice,
+        BigDecimal discountedPrice
+) {
+}
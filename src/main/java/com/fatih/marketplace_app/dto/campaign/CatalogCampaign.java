@@ -0,0 +1,60 @@
+package com.fatih.marketplace_app.dto.campaign;
+
+import com.fatih.marketplace_app.entity.CampaignEntity;
+import com.fatih.marketplace_app.enums.CampaignType;
+import com.fatih.marketplace_app.strategy.DiscountRule;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Immutable copy of the fields of a campaign needed to apply it, with its compiled discount rule,
+ * as kept in the in-memory campaign catalog.
+ *
+ * @param id            the campaign
+ * @param campaignCode  the unique campaign code
+ * @param campaignType  the type of the discount
+ * @param discountValue the discount amount or percentage
+ * @param startDate     the first moment the campaign can be applied
+ * @param endDate       the moment the campaign can no longer be applied
+ * @param maxRedemptions        the maximum number of times the campaign can be applied, or null for no limit
+ * @param maxRedemptionsPerUser the maximum number of times one user can apply the campaign, or null for no limit
+ * @param discountRule  the discount of the campaign, compiled by the strategy of its campaign type
+ */
+public record CatalogCampaign(
+
+        UUID id,
+        String campaignCode,
+        CampaignType campaignType,
+        BigDecimal discountValue,
+        LocalDateTime startDate,
+        LocalDateTime endDate,
+        Integer maxRedemptions,
+        Integer maxRedemptionsPerUser,
+        DiscountRule discountRule
+) {
+
+    /**
+     * Copies the fields of a campaign entity.
+     *
+     * @param campaign     the campaign entity
+     * @param discountRule the compiled discount of the campaign
+     * @return the catalog entry of the campaign
+     */
+    public static CatalogCampaign of(CampaignEntity campaign, DiscountRule discountRule) {
+        return new CatalogCampaign(campaign.getId(), campaign.getCampaignCode(), campaign.getCampaignType(),
+                campaign.getDiscountValue(), campaign.getStartDate(), campaign.getEndDate(),
+                campaign.getMaxRedemptions(), campaign.getMaxRedemptionsPerUser(), discountRule);
+    }
+
+    /**
+     * Tells whether the campaign can be applied at the given time.
+     *
+     * @param time the time to check
+     * @return true if the time lies within the valid-time window of the campaign
+     */
+    public boolean isActiveAt(LocalDateTime time) {
+        return !time.isBefore(startDate) && time.isBefore(endDate);
+    }
+}
@@ -0,0 +1,35 @@
+package com.fatih.marketplace_app.dto.campaign;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Positive;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Definition of the discount of a campaign whose type needs more than a single discount value.
+ * Only the fields of the campaign type are used.
+ *
+ * @param tiers            the cart total thresholds and their discounts, for tiered campaigns
+ * @param productId        the product bought, for buy-x-get-y campaigns
+ * @param buyQuantity      the quantity to buy for free units, for buy-x-get-y campaigns
+ * @param freeQuantity     the free units per bought quantity, for buy-x-get-y campaigns
+ * @param productDiscounts the discounts per unit of each product, for per-product campaigns
+ */
+public record DiscountRules(
+
+        @Valid
+        List<DiscountTier> tiers,
+
+        UUID productId,
+
+        @Positive
+        Integer buyQuantity,
+
+        @Positive
+        Integer freeQuantity,
+
+        @Valid
+        List<ProductDiscount> productDiscounts
+) {
+}
@@ -0,0 +1,27 @@
+package com.fatih.marketplace_app.dto.campaign;
+
+import jakarta.validation.constraints.Digits;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+
+import java.math.BigDecimal;
+
+/**
+ * One tier of a tiered campaign.
+ *
+ * @param threshold the cart total from which the tier applies
+ * @param discount  the amount deducted from carts of the tier
+ */
+public record DiscountTier(
+
+        @NotNull
+        @Positive
+        @Digits(integer = 12, fraction = 2)
+        BigDecimal threshold,
+
+        @NotNull
+        @Positive
+        @Digits(integer = 12, fraction = 2)
+        BigDecimal discount
+) {
+}
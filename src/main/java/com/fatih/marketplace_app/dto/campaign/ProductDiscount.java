@@ -0,0 +1,26 @@
+package com.fatih.marketplace_app.dto.campaign;
+
+import jakarta.validation.constraints.Digits;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * Discount of one product of a per-product campaign.
+ *
+ * @param productId the discounted product
+ * @param discount  the amount deducted per unit of the product
+ */
+public record ProductDiscount(
+
+        @NotNull
+        UUID productId,
+
+        @NotNull
+        @Positive
+        @Digits(integer = 12, fraction = 2)
+        BigDecimal discount
+) {
+}
@@ -0,0 +1,18 @@
+package com.fatih.marketplace_app.dto.campaign;
+
+import java.util.UUID;
+
+/**
+ * Number of times a campaign was redeemed by one user, or by all users together.
+ *
+ * @param campaignId    the redeemed campaign
+ * @param userId        the user, or {@link #ALL_USERS} for the total of the campaign
+ * @param redeemedCount the number of redemptions
+ */
+public record RedemptionCount(UUID campaignId, UUID userId, long redeemedCount) {
+
+    /**
+     * User ID under which the total of a campaign is counted.
+     */
+    public static final UUID ALL_USERS = new UUID(0L, 0L);
+}
@@ -0,0 +1,15 @@
+package com.fatih.marketplace_app.dto.campaign;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Request to load the Redis counters of a campaign and user again from the database,
+ * recorded when a redemption was counted in the database while Redis was unavailable.
+ *
+ * @param campaignId    the redeemed campaign
+ * @param userId        the user
+ * @param requestedTime when the last such redemption was counted
+ */
+public record RedemptionReload(UUID campaignId, UUID userId, LocalDateTime requestedTime) {
+}
@@ -0,0 +1,20 @@
+package com.fatih.marketplace_app.dto.cart;
+
+import com.fatih.marketplace_app.enums.CartItemOperationType;
+
+import java.util.UUID;
+
+/**
+ * One change to the line of a product in a cart.
+ *
+ * @param operation       whether the quantity is added, removed or set
+ * @param productId       the product of the line
+ * @param productQuantity the quantity to add, remove or set
+ */
+public record CartItemOperation(
+
+        CartItemOperationType operation,
+        UUID productId,
+        Integer productQuantity
+) {
+}
@@ -0,0 +1,14 @@
+package com.fatih.marketplace_app.dto.cart;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * Cart whose stored price differs from the price of its lines.
+ *
+ * @param cartId        the cart
+ * @param cartPrice     the stored price of the cart
+ * @param expectedPrice the price of the lines of the cart, discounted by its campaign
+ */
+public record CartPriceDrift(UUID cartId, BigDecimal cartPrice, BigDecimal expectedPrice) {
+}
@@ -0,0 +1,27 @@
+package com.fatih.marketplace_app.dto.cart;
+
+import com.fatih.marketplace_app.enums.RepricingStatus;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Progress of the re-pricing of the carts of a campaign.
+ *
+ * @param campaignId    the changed campaign
+ * @param status        the status of the re-pricing
+ * @param scannedCarts  the number of carts of the campaign priced so far
+ * @param repricedCarts the number of carts whose price was changed so far
+ * @param startTime     the time the re-pricing started
+ * @param endTime       the time the re-pricing ended, or {@code null} while it is running
+ */
+public record CartRepricingProgress(
+
+        UUID campaignId,
+        RepricingStatus status,
+        long scannedCarts,
+        long repricedCarts,
+        LocalDateTime startTime,
+        LocalDateTime endTime
+) {
+}
@@ -0,0 +1,20 @@
+package com.fatih.marketplace_app.dto.cart;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Snapshot of a cart as kept in Redis during the browsing phase.
+ *
+ * @param cartId    the cart the live cart belongs to
+ * @param lines     the product lines of the cart
+ * @param cartPrice the running total of the lines
+ */
+public record LiveCart(
+
+        UUID cartId,
+        List<LiveCartLine> lines,
+        BigDecimal cartPrice
+) {
+}
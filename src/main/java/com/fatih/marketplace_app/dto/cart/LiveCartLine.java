@@ -0,0 +1,21 @@
+package com.fatih.marketplace_app.dto.cart;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * One product line of a live cart.
+ *
+ * @param productId       the product of the line
+ * @param productQuantity the quantity of the product
+ * @param unitPrice       the unit price captured when the product was first added
+ * @param linePrice       the unit price multiplied by the quantity
+ */
+public record LiveCartLine(
+
+        UUID productId,
+        Integer productQuantity,
+        BigDecimal unitPrice,
+        BigDecimal linePrice
+) {
+}
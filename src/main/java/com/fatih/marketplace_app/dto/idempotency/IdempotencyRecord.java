@@ -0,0 +1,21 @@
+package com.fatih.marketplace_app.dto.idempotency;
+
+/**
+ * State of a request stored under an idempotency key.
+ * A record without a status is a request that is still being processed.
+ *
+ * @param fingerprint hash of the request body the key was first used with
+ * @param status      HTTP status of the stored response, or {@code null} while processing
+ * @param body        JSON body of the stored response, or {@code null} while processing
+ */
+public record IdempotencyRecord(
+
+        String fingerprint,
+        Integer status,
+        String body
+) {
+
+    public boolean completed() {
+        return status != null;
+    }
+}
@@ -0,0 +1,38 @@
+package com.fatih.marketplace_app.dto.job;
+
+import java.math.BigInteger;
+import java.util.UUID;
+
+/**
+ * Inclusive range of {@link UUID} keys, in the order PostgreSQL compares {@code uuid} values.
+ * A job partitioned by key range processes the rows whose ID lies within the range of its partition.
+ *
+ * @param fromId the first ID of the range
+ * @param toId   the last ID of the range
+ */
+public record UuidRange(UUID fromId, UUID toId) {
+
+    private static final BigInteger KEY_SPACE = BigInteger.ONE.shiftLeft(Long.SIZE);
+
+    /**
+     * Splits the ID space into equally sized ranges on the most significant bits and returns one of them.
+     *
+     * @param partition      the index of the range, from zero
+     * @param partitionCount the number of ranges
+     * @return the range of the partition
+     */
+    public static UuidRange ofPartition(int partition, int partitionCount) {
+        if (partition < 0 || partition >= partitionCount) {
+            throw new IllegalArgumentException("Partition " + partition + " is not within " + partitionCount + " partitions");
+        }
+        UUID fromId = new UUID(boundary(partition, partitionCount), 0L);
+        UUID toId = partition == partitionCount - 1
+                ? new UUID(-1L, -1L)
+                : new UUID(boundary(partition + 1, partitionCount) - 1, -1L);
+        return new UuidRange(fromId, toId);
+    }
+
+    private static long boundary(int partition, int partitionCount) {
+        return KEY_SPACE.multiply(BigInteger.valueOf(partition)).divide(BigInteger.valueOf(partitionCount)).longValue();
+    }
+}
@@ -0,0 +1,32 @@
+package com.fatih.marketplace_app.dto.order;
+
+import com.fatih.marketplace_app.entity.OrderEntity;
+
+import java.util.UUID;
+
+/**
+ * Outcome of one order of a batch.
+ *
+ * @param index         position of the order in the batch
+ * @param cartId        cart the order was requested for
+ * @param succeeded     whether the order was created
+ * @param order         the created order, or {@code null} if it failed
+ * @param failureReason why the order was not created, or {@code null} if it succeeded
+ */
+public record OrderBatchResult(
+
+        int index,
+        UUID cartId,
+        boolean succeeded,
+        OrderEntity order,
+        String failureReason
+) {
+
+    public static OrderBatchResult success(int index, OrderEntity order) {
+        return new OrderBatchResult(index, order.getCart().getId(), true, order, null);
+    }
+
+    public static OrderBatchResult failure(int index, UUID cartId, String failureReason) {
+        return new OrderBatchResult(index, cartId, false, null, failureReason);
+    }
+}
@@ -0,0 +1,19 @@
+package com.fatih.marketplace_app.dto.order;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Outcome of cancelling a set of orders.
+ *
+ * @param cancelledOrderIds orders that were cancelled
+ * @param refundedOrderIds  cancelled orders that had been paid, so their stock and payment were returned
+ * @param notFoundOrderIds  orders that do not exist or were already cancelled
+ */
+public record OrderCancellationResult(
+
+        List<UUID> cancelledOrderIds,
+        List<UUID> refundedOrderIds,
+        List<UUID> notFoundOrderIds
+) {
+}
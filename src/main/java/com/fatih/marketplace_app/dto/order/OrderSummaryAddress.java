@@ -0,0 +1,20 @@
+package com.fatih.marketplace_app.dto.order;
+
+import java.util.UUID;
+
+/**
+ * Snapshot of the delivery address of an order, as stored in the order history read model.
+ */
+public record OrderSummaryAddress(
+
+        UUID addressId,
+        String country,
+        String city,
+        String district,
+        String neighbourhood,
+        String street,
+        String apartment,
+        String apartmentNumber,
+        String zipCode
+) {
+}
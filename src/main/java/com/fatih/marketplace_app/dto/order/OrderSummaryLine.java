@@ -0,0 +1,27 @@
+package com.fatih.marketplace_app.dto.order;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * Snapshot of one cart line of an order, as stored in the order history read model.
+ *
+ * @param cartItemId         the order line, or for older summaries the cart item, the line was taken from
+ * @param productId          the ordered product
+ * @param productName        the product name at the time of the order
+ * @param productDescription the product description at the time of the order
+ * @param productPrice       the unit price at the time of the order
+ * @param cartItemPrice      the price of the line
+ * @param productQuantity    the ordered quantity
+ */
+public record OrderSummaryLine(
+
+        UUID cartItemId,
+        UUID productId,
+        String productName,
+        String productDescription,
+        BigDecimal productPrice,
+        BigDecimal cartItemPrice,
+        Integer productQuantity
+) {
+}
@@ -0,0 +1,19 @@
+package com.fatih.marketplace_app.dto.page;
+
+import java.util.List;
+
+/**
+ * One page of a keyset paginated list.
+ *
+ * @param content       the rows of the page, newest first
+ * @param nextToken     the continuation token of the next page, or {@code null} if this is the last page
+ * @param totalElements the total number of rows, or {@code null} if it was not requested
+ * @param <E>           the type of the rows
+ */
+public record CursorPage<E>(
+
+        List<E> content,
+        String nextToken,
+        Long totalElements
+) {
+}
@@ -0,0 +1,53 @@
+package com.fatih.marketplace_app.dto.page;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Position of a row in a keyset page ordered by creation time and ID, newest first.
+ * Clients only see it as an opaque continuation token.
+ *
+ * @param createTime the creation time of the last row already returned
+ * @param id         the ID of the last row already returned
+ */
+public record CursorPosition(
+
+        LocalDateTime createTime,
+        UUID id
+) {
+
+    private static final String SEPARATOR = "|";
+
+    /**
+     * Encodes the position as a URL safe continuation token.
+     *
+     * @return the continuation token
+     */
+    public String toToken() {
+        String position = createTime + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a continuation token created by {@link #toToken()}.
+     *
+     * @param token the continuation token
+     * @return the decoded position
+     * @throws IllegalArgumentException if the token is malformed
+     */
+    public static CursorPosition fromToken(String token) {
+        try {
+            String position = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = position.indexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new IllegalArgumentException("Missing separator in continuation token");
+            }
+            return new CursorPosition(LocalDateTime.parse(position.substring(0, separator)),
+                    UUID.fromString(position.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Malformed continuation token", e);
+        }
+    }
+}
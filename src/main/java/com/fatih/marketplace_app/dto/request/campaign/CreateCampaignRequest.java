@@ -1,6 +1,8 @@
 package com.fatih.marketplace_app.dto.request.campaign;
 
+import com.fatih.marketplace_app.dto.campaign.DiscountRules;
 import com.fatih.marketplace_app.enums.CampaignType;
+import jakarta.validation.Valid;
 import jakarta.validation.constraints.*;
 
 import java.math.BigDecimal;
@@ -31,6 +33,15 @@ public record CreateCampaignRequest(
         @Digits(integer = 12, fraction = 2)
         BigDecimal discountValue,
 
+        @Valid
+        DiscountRules discountRules,
+
+        @Positive
+        Integer maxRedemptions,
+
+        @Positive
+        Integer maxRedemptionsPerUser,
+
         @NotNull
         LocalDateTime startDate,
 
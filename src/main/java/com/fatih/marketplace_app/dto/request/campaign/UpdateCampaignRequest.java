@@ -1,6 +1,8 @@
 package com.fatih.marketplace_app.dto.request.campaign;
 
 import com.fatih.marketplace_app.annotation.OptionalFieldValidation;
+import com.fatih.marketplace_app.dto.campaign.DiscountRules;
+import jakarta.validation.Valid;
 import jakarta.validation.constraints.Digits;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
@@ -27,6 +29,15 @@ public record UpdateCampaignRequest(
         @Digits(integer = 12, fraction = 2)
         BigDecimal discountValue,
 
+        @Valid
+        DiscountRules discountRules,
+
+        @Positive
+        Integer maxRedemptions,
+
+        @Positive
+        Integer maxRedemptionsPerUser,
+
         LocalDateTime startDate,
 
         LocalDateTime endDate
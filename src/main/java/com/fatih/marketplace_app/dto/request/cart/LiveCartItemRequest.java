@@ -0,0 +1,20 @@
+package com.fatih.marketplace_app.dto.request.cart;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+
+import java.util.UUID;
+
+public record LiveCartItemRequest(
+
+        @NotNull
+        UUID cartId,
+
+        @NotNull
+        UUID productId,
+
+        @Positive
+        @NotNull
+        Integer productQuantity
+) {
+}
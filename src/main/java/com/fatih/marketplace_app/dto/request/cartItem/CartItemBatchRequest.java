@@ -0,0 +1,20 @@
+package com.fatih.marketplace_app.dto.request.cartItem;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+import java.util.UUID;
+
+public record CartItemBatchRequest(
+
+        @NotNull
+        UUID cartId,
+
+        @NotEmpty
+        @Size(max = 500)
+        List<@Valid @NotNull CartItemOperationRequest> operations
+) {
+}
@@ -0,0 +1,21 @@
+package com.fatih.marketplace_app.dto.request.cartItem;
+
+import com.fatih.marketplace_app.enums.CartItemOperationType;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
+
+import java.util.UUID;
+
+public record CartItemOperationRequest(
+
+        @NotNull
+        CartItemOperationType operation,
+
+        @NotNull
+        UUID productId,
+
+        @PositiveOrZero
+        @NotNull
+        Integer productQuantity
+) {
+}
@@ -0,0 +1,16 @@
+package com.fatih.marketplace_app.dto.request.order;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+import java.util.UUID;
+
+public record CancelOrderBatchRequest(
+
+        @NotEmpty
+        @Size(max = 1000)
+        List<@NotNull UUID> orderIds
+) {
+}
@@ -0,0 +1,16 @@
+package com.fatih.marketplace_app.dto.request.order;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record CreateOrderBatchRequest(
+
+        @NotEmpty
+        @Size(max = 1000)
+        List<@Valid @NotNull CreateOrderRequest> orders
+) {
+}
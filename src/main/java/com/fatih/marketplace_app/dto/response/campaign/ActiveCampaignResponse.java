@@ -0,0 +1,23 @@
+package com.fatih.marketplace_app.dto.response.campaign;
+
+import com.fatih.marketplace_app.enums.CampaignType;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public record ActiveCampaignResponse(
+
+        UUID id,
+
+        String campaignCode,
+
+        CampaignType campaignType,
+
+        BigDecimal discountValue,
+
+        LocalDateTime startDate,
+
+        LocalDateTime endDate
+) {
+}
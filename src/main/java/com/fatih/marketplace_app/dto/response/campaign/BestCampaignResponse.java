@@ -0,0 +1,14 @@
+package com.fatih.marketplace_app.dto.response.campaign;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+public record BestCampaignResponse(
+
+        UUID cartId,
+        String campaignCode,
+        BigDecimal discountValue,
+        BigDecimal cartPrice,
+        BigDecimal discountedCartPrice
+) {
+}
@@ -1,5 +1,6 @@
 package com.fatih.marketplace_app.dto.response.campaign;
 
+import com.fatih.marketplace_app.dto.campaign.DiscountRules;
 import com.fatih.marketplace_app.enums.CampaignType;
 
 import java.math.BigDecimal;
@@ -20,6 +21,12 @@ public record CampaignResponse(
 
         BigDecimal discountValue,
 
+        DiscountRules discountRules,
+
+        Integer maxRedemptions,
+
+        Integer maxRedemptionsPerUser,
+
         LocalDateTime startDate,
 
         LocalDateTime endDate
@@ -0,0 +1,13 @@
+package com.fatih.marketplace_app.dto.response.cart;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+public record LiveCartLineResponse(
+
+        UUID productId,
+        Integer productQuantity,
+        BigDecimal unitPrice,
+        BigDecimal linePrice
+) {
+}
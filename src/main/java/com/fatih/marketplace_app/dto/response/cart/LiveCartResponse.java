@@ -0,0 +1,13 @@
+package com.fatih.marketplace_app.dto.response.cart;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+public record LiveCartResponse(
+
+        UUID cartId,
+        List<LiveCartLineResponse> lines,
+        BigDecimal cartPrice
+) {
+}
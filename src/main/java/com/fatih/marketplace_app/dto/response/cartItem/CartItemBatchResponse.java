@@ -0,0 +1,15 @@
+package com.fatih.marketplace_app.dto.response.cartItem;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+public record CartItemBatchResponse(
+
+        UUID cartId,
+
+        BigDecimal cartPrice,
+
+        List<CartItemResponse> cartItemResponses
+) {
+}
@@ -0,0 +1,16 @@
+package com.fatih.marketplace_app.dto.response.order;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+public record OrderBatchItemResponse(
+
+        int index,
+        UUID cartId,
+        boolean succeeded,
+        UUID orderId,
+        String orderNumber,
+        BigDecimal finalPrice,
+        String failureReason
+) {
+}
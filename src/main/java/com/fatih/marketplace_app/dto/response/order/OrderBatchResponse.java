@@ -0,0 +1,11 @@
+package com.fatih.marketplace_app.dto.response.order;
+
+import java.util.List;
+
+public record OrderBatchResponse(
+
+        int succeededCount,
+        int failedCount,
+        List<OrderBatchItemResponse> results
+) {
+}
@@ -0,0 +1,12 @@
+package com.fatih.marketplace_app.dto.response.order;
+
+import java.util.List;
+import java.util.UUID;
+
+public record OrderCancellationResponse(
+
+        List<UUID> cancelledOrderIds,
+        List<UUID> refundedOrderIds,
+        List<UUID> notFoundOrderIds
+) {
+}
@@ -0,0 +1,16 @@
+package com.fatih.marketplace_app.dto.response.order;
+
+import com.fatih.marketplace_app.enums.OrderStatus;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+public record OrderStatusResponse(
+
+        UUID orderId,
+        String orderNumber,
+        OrderStatus orderStatus,
+        BigDecimal finalPrice,
+        String failureReason
+) {
+}
@@ -0,0 +1,18 @@
+package com.fatih.marketplace_app.dto.response.page;
+
+import com.fatih.marketplace_app.dto.page.CursorPage;
+
+import java.util.List;
+
+public record CursorPageResponse<T>(
+
+        List<T> content,
+        String nextToken,
+        boolean hasNext,
+        Long totalElements
+) {
+
+    public static <T> CursorPageResponse<T> of(CursorPage<?> page, List<T> content) {
+        return new CursorPageResponse<>(content, page.nextToken(), page.nextToken() != null, page.totalElements());
+    }
+}
@@ -0,0 +1,14 @@
+package com.fatih.marketplace_app.dto.response.wallet;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+public record WalletStatementResponse(
+
+        UUID walletId,
+        List<WalletTransactionResponse> transactions,
+        LocalDateTime nextCreateTime,
+        UUID nextTransactionId
+) {
+}
@@ -0,0 +1,19 @@
+package com.fatih.marketplace_app.dto.response.wallet;
+
+import com.fatih.marketplace_app.enums.WalletTransactionType;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public record WalletTransactionResponse(
+
+        UUID transactionId,
+        UUID walletId,
+        WalletTransactionType transactionType,
+        BigDecimal amount,
+        BigDecimal balanceAfter,
+        UUID referenceId,
+        LocalDateTime createTime
+) {
+}
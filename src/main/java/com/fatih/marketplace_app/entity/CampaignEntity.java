@@ -1,6 +1,8 @@
 package com.fatih.marketplace_app.entity;
 
 import com.fasterxml.jackson.annotation.JsonManagedReference;
+import com.fatih.marketplace_app.converter.DiscountRulesConverter;
+import com.fatih.marketplace_app.dto.campaign.DiscountRules;
 import com.fatih.marketplace_app.enums.CampaignType;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
@@ -43,6 +45,16 @@ public class CampaignEntity extends BaseEntity implements Serializable {
     @Column(name = "discount_value", nullable = false, scale = 2, precision = 12)
     private BigDecimal discountValue;
 
+    @Convert(converter = DiscountRulesConverter.class)
+    @Column(name = "discount_rules", length = 4000)
+    private DiscountRules discountRules;
+
+    @Column(name = "max_redemptions")
+    private Integer maxRedemptions;
+
+    @Column(name = "max_redemptions_per_user")
+    private Integer maxRedemptionsPerUser;
+
     @Column(name = "start_date", nullable = false)
     private LocalDateTime startDate;
 
@@ -22,7 +22,9 @@ import java.util.List;
 @AllArgsConstructor
 @NoArgsConstructor
 @SuperBuilder
-@Table(name = "carts")
+@Table(name = "carts", indexes = {
+        @Index(name = "idx_carts_update_time", columnList = "update_time, id"),
+        @Index(name = "idx_carts_campaign", columnList = "campaign_id, id")})
 @SQLDelete(sql = "UPDATE carts SET record_status = true, cart_price = 0 WHERE id = ?")
 @SQLRestriction("record_status <> 'true'")
 @EntityListeners(CartListener.class)
@@ -47,6 +49,6 @@ public class CartEntity extends BaseEntity implements Serializable {
     private CampaignEntity campaign;
 
     @JsonManagedReference("cart-order")
-    @OneToOne(mappedBy = "cart")
-    private OrderEntity order;
+    @OneToMany(mappedBy = "cart", fetch = FetchType.LAZY)
+    private List<OrderEntity> orders;
 }
@@ -19,7 +19,9 @@ import java.math.BigDecimal;
 @NoArgsConstructor
 @AllArgsConstructor
 @SuperBuilder
-@Table(name = "cart_items")
+@Table(name = "cart_items", indexes = {
+        @Index(name = "idx_cart_items_time", columnList = "create_time, id"),
+        @Index(name = "idx_cart_items_cart_time", columnList = "cart_id, create_time, id")})
 @SQLDelete(sql = "UPDATE cart_items SET record_status = true, cart_item_price = 0, product_quantity = 0 WHERE id = ?")
 @SQLRestriction("record_status <> 'true'")
 public class CartItemEntity extends BaseEntity implements Serializable {
@@ -15,6 +15,7 @@ import org.hibernate.annotations.SQLRestriction;
 
 import java.io.Serializable;
 import java.math.BigDecimal;
+import java.util.List;
 
 @Entity
 @Getter
@@ -22,7 +23,7 @@ import java.math.BigDecimal;
 @AllArgsConstructor
 @NoArgsConstructor
 @SuperBuilder
-@Table(name = "orders")
+@Table(name = "orders", indexes = @Index(name = "idx_orders_time", columnList = "create_time, id"))
 @SQLDelete(sql = "UPDATE orders SET record_status = true, order_status = 'CANCELLED' WHERE id = ?")
 @SQLRestriction("record_status <> 'true'")
 @EntityListeners(OrderListener.class)
@@ -38,11 +39,18 @@ public class OrderEntity extends BaseEntity implements Serializable {
     @Column(name = "order_status", nullable = false, length = 10)
     private OrderStatus orderStatus;
 
+    @Column(name = "failure_reason")
+    private String failureReason;
+
     @JsonBackReference("cart-order")
-    @OneToOne(fetch = FetchType.LAZY)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "cart_id", referencedColumnName = "id", nullable = false)
     private CartEntity cart;
 
+    @JsonManagedReference("order-orderLine")
+    @OneToMany(mappedBy = "order", fetch = FetchType.LAZY)
+    private List<OrderLineEntity> orderLines;
+
     @JsonManagedReference("invoice-order")
     @OneToOne(mappedBy = "order")
     private InvoiceEntity invoice;
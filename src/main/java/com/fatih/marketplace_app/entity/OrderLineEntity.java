@@ -0,0 +1,53 @@
+package com.fatih.marketplace_app.entity;
+
+import com.fasterxml.jackson.annotation.JsonBackReference;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.SuperBuilder;
+import org.hibernate.annotations.Immutable;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * Snapshot of one line of an order, written once at checkout and never changed.
+ * Holds the product as it was ordered, so reading, invoicing and cancelling an order does not depend on
+ * the cart, which is reused after checkout, or on the product, which may change or be deleted.
+ */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@SuperBuilder
+@Immutable
+@Table(name = "order_lines", indexes = @Index(name = "idx_order_lines_order", columnList = "order_id"))
+public class OrderLineEntity extends BaseEntity implements Serializable {
+
+    @Column(name = "product_id", nullable = false)
+    private UUID productId;
+
+    @Column(name = "product_name", nullable = false, length = 100)
+    private String productName;
+
+    @Column(name = "product_description", nullable = false, length = 500)
+    private String productDescription;
+
+    @Column(name = "unit_price", nullable = false, precision = 12, scale = 2)
+    private BigDecimal unitPrice;
+
+    @Column(name = "product_quantity", nullable = false)
+    private Integer productQuantity;
+
+    @Column(name = "line_price", nullable = false, precision = 12, scale = 2)
+    private BigDecimal linePrice;
+
+    @JsonBackReference("order-orderLine")
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "order_id", referencedColumnName = "id", nullable = false)
+    private OrderEntity order;
+}
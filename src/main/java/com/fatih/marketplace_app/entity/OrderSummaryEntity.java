@@ -0,0 +1,83 @@
+package com.fatih.marketplace_app.entity;
+
+import com.fatih.marketplace_app.dto.order.OrderSummaryAddress;
+import com.fatih.marketplace_app.dto.order.OrderSummaryLine;
+import com.fatih.marketplace_app.enums.OrderStatus;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.SuperBuilder;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.annotations.SQLDelete;
+import org.hibernate.annotations.SQLRestriction;
+import org.hibernate.type.SqlTypes;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Denormalised read model of an order for order history pages.
+ * Holds everything an order response needs in one row, with the cart lines and the address stored as JSON,
+ * so a page of orders is read without touching carts, cart items, products, users or addresses.
+ * Kept in step with {@link OrderEntity} by the order operations that change it.
+ * The creation time is the creation time of the order, so summaries sort and page like the orders they mirror.
+ */
+@Entity
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@SuperBuilder
+@Table(name = "order_summaries",
+        indexes = @Index(name = "idx_order_summaries_user_time", columnList = "user_id, create_time, id"))
+@SQLDelete(sql = "UPDATE order_summaries SET record_status = true, order_status = 'CANCELLED' WHERE id = ?")
+@SQLRestriction("record_status <> 'true'")
+public class OrderSummaryEntity extends BaseEntity implements Serializable {
+
+    @Column(name = "order_id", nullable = false, unique = true)
+    private UUID orderId;
+
+    @Column(name = "user_id", nullable = false)
+    private UUID userId;
+
+    @Column(name = "order_number", nullable = false, length = 12)
+    private String orderNumber;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "order_status", nullable = false, length = 10)
+    private OrderStatus orderStatus;
+
+    @Column(name = "first_name", nullable = false, length = 50)
+    private String firstName;
+
+    @Column(name = "last_name", nullable = false, length = 50)
+    private String lastName;
+
+    @Column(name = "final_price", nullable = false, precision = 12, scale = 2)
+    private BigDecimal finalPrice;
+
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "lines", nullable = false, columnDefinition = "jsonb")
+    private List<OrderSummaryLine> lines;
+
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "address", nullable = false, columnDefinition = "jsonb")
+    private OrderSummaryAddress address;
+
+    /**
+     * Keeps the order's creation time if it was set before the summary is persisted.
+     */
+    @Override
+    protected void onCreate() {
+        LocalDateTime orderTime = getCreateTime();
+        super.onCreate();
+        if (orderTime != null) {
+            setCreateTime(orderTime);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.fatih.marketplace_app.entity;
+
+import com.fasterxml.jackson.annotation.JsonBackReference;
+import com.fatih.marketplace_app.enums.WalletTransactionType;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.SuperBuilder;
+import org.hibernate.annotations.Immutable;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * A single balance movement of a wallet. Rows are only ever appended, together with the balance update they record.
+ */
+@Entity
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@SuperBuilder
+@Immutable
+@Table(name = "wallet_transactions",
+        indexes = @Index(name = "idx_wallet_transactions_wallet_time", columnList = "wallet_id, create_time, id"))
+public class WalletTransactionEntity extends BaseEntity implements Serializable {
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "transaction_type", nullable = false, length = 15)
+    private WalletTransactionType transactionType;
+
+    @Column(name = "amount", nullable = false, precision = 12, scale = 2)
+    private BigDecimal amount;
+
+    @Column(name = "balance_after", nullable = false, precision = 12, scale = 2)
+    private BigDecimal balanceAfter;
+
+    @Column(name = "reference_id")
+    private UUID referenceId;
+
+    @JsonBackReference("wallet-transactions")
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "wallet_id", referencedColumnName = "id", nullable = false)
+    private WalletEntity wallet;
+}
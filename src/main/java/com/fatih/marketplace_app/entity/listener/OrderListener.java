@@ -12,12 +12,15 @@ import org.springframework.stereotype.Component;
 public class OrderListener {
 
     /**
-     * Sets the initial order status to {@link OrderStatus#FINALIZED} before persisting a new {@link OrderEntity}.
+     * Sets the initial order status to {@link OrderStatus#FINALIZED} before persisting a new {@link OrderEntity},
+     * unless a status such as {@link OrderStatus#PENDING} was already set.
      *
      * @param orderEntity the order entity being persisted
      */
     @PrePersist
     public void prePersist(OrderEntity orderEntity) {
-        orderEntity.setOrderStatus(OrderStatus.FINALIZED);
+        if (orderEntity.getOrderStatus() == null) {
+            orderEntity.setOrderStatus(OrderStatus.FINALIZED);
+        }
     }
 }
@@ -1,7 +1,13 @@
 package com.fatih.marketplace_app.enums;
 
+/**
+ * Discount types of campaigns. For the types defined by discount rules, the discount value caps the discount.
+ */
 public enum CampaignType {
 
     FIXED,
-    PERCENTAGE
+    PERCENTAGE,
+    TIERED,
+    BUY_X_GET_Y,
+    PER_PRODUCT
 }
@@ -0,0 +1,8 @@
+package com.fatih.marketplace_app.enums;
+
+public enum CartItemOperationType {
+
+    ADD,
+    REMOVE,
+    SET_QUANTITY
+}
@@ -2,6 +2,8 @@ package com.fatih.marketplace_app.enums;
 
 public enum OrderStatus {
 
+    PENDING,
     FINALIZED,
+    FAILED,
     CANCELLED
 }
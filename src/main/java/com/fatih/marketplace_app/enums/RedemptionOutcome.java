@@ -0,0 +1,9 @@
+package com.fatih.marketplace_app.enums;
+
+public enum RedemptionOutcome {
+
+    REDEEMED,
+    CAMPAIGN_LIMIT_REACHED,
+    USER_LIMIT_REACHED,
+    NOT_LOADED
+}
@@ -0,0 +1,9 @@
+package com.fatih.marketplace_app.enums;
+
+public enum RepricingStatus {
+
+    RUNNING,
+    COMPLETED,
+    SUPERSEDED,
+    FAILED
+}
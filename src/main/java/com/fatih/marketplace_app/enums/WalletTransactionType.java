@@ -0,0 +1,10 @@
+package com.fatih.marketplace_app.enums;
+
+public enum WalletTransactionType {
+
+    LOAD,
+    PAYMENT,
+    CHANGE,
+    ORDER_PAYMENT,
+    ORDER_REFUND
+}
@@ -1,9 +1,11 @@
 package com.fatih.marketplace_app.manager;
 
 import com.fatih.marketplace_app.dao.AddressDao;
+import com.fatih.marketplace_app.dto.page.CursorPage;
 import com.fatih.marketplace_app.entity.AddressEntity;
 import com.fatih.marketplace_app.exception.DataAlreadyExistException;
 import com.fatih.marketplace_app.manager.service.AddressService;
+import com.fatih.marketplace_app.manager.service.CursorPageService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.MessageSource;
@@ -26,6 +28,7 @@ public class AddressManager implements AddressService {
 
     private final AddressDao addressDao;
     private final MessageSource messageSource;
+    private final CursorPageService cursorPageService;
 
     /**
      * Creates a new address.
@@ -72,6 +75,22 @@ public class AddressManager implements AddressService {
         return addressDao.findAll(pageable);
     }
 
+    /**
+     * Retrieves addresses with keyset pagination, newest first, without an offset scan.
+     *
+     * @param token The continuation token of the previous page, or null for the first page
+     * @param size The maximum number of addresses to return
+     * @param withTotal Whether to count all addresses as well
+     * @return A page of addresses with the continuation token of the next page
+     */
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
+    @Override
+    public CursorPage<AddressEntity> getAllAddressesByCursor(String token, int size, boolean withTotal) {
+        log.info("Retrieving addresses by cursor. Size: {}", size);
+
+        return cursorPageService.getPage(AddressEntity.class, null, token, size, withTotal);
+    }
+
     /**
      * Deletes an address by its ID.
      *
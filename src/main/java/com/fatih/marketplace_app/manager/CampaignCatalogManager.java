@@ -0,0 +1,277 @@
+package com.fatih.marketplace_app.manager;
+
+import com.fatih.marketplace_app.dao.CampaignChangeDao;
+import com.fatih.marketplace_app.dao.CampaignDao;
+import com.fatih.marketplace_app.dto.campaign.CatalogCampaign;
+import com.fatih.marketplace_app.entity.CampaignEntity;
+import com.fatih.marketplace_app.exception.BusinessException;
+import com.fatih.marketplace_app.manager.service.CampaignCatalogService;
+import com.fatih.marketplace_app.strategy.DiscountRule;
+import com.fatih.marketplace_app.strategy.DiscountStrategyFactory;
+import com.fatih.marketplace_app.util.IntervalIndex;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ScheduledFuture;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Manager class responsible for the in-memory catalog of campaigns.
+ * The catalog is an immutable snapshot of all campaigns keyed by campaign code and by ID, replaced as a whole whenever
+ * it is reloaded, so lookups are a plain map read without locks or database round trips. The discount of each
+ * campaign is compiled into its rule when the campaign enters the catalog, not when it is applied.
+ * A change to the campaigns reloads the catalog of this instance after commit and notifies the other instances over
+ * Redis pub/sub; a periodic reload covers notifications that are lost. Until the first load, lookups read the database.
+ * <p>
+ * The validity windows of the campaigns are kept in an {@link IntervalIndex}. The campaigns active now are kept apart
+ * and replaced by a task scheduled at the next window boundary, so campaigns start and end at their exact times.
+ * Every instance schedules its own boundaries from the same catalog, so boundaries need no notification.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CampaignCatalogManager implements CampaignCatalogService {
+
+    private final CampaignDao campaignDao;
+    private final CampaignChangeDao campaignChangeDao;
+    private final MeterRegistry meterRegistry;
+    private final DiscountStrategyFactory discountStrategyFactory;
+    private final TaskScheduler taskScheduler;
+    private final String instanceId = UUID.randomUUID().toString();
+
+    private volatile Catalog catalog;
+    private volatile ActiveCampaigns activeCampaigns;
+    private ScheduledFuture<?> nextBoundaryTask;
+
+    /**
+     * Subscribes to the campaign changes of the other instances and registers the catalog size as a gauge.
+     */
+    @PostConstruct
+    public void start() {
+        campaignChangeDao.subscribe(this::onCampaignsChanged);
+        meterRegistry.gauge("campaign.catalog.size", this, manager -> {
+            Catalog current = manager.catalog;
+            return current == null ? 0 : current.campaignsByCode().size();
+        });
+        meterRegistry.gauge("campaign.catalog.active", this, manager -> {
+            ActiveCampaigns current = manager.activeCampaigns;
+            return current == null ? 0 : current.campaigns().size();
+        });
+    }
+
+    /**
+     * Loads the catalog once the application is ready.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        reloadQuietly();
+    }
+
+    /**
+     * Reloads the catalog periodically, in case a change notification was missed.
+     */
+    @Scheduled(fixedDelayString = "${campaign-catalog.refresh-interval:PT5M}",
+            initialDelayString = "${campaign-catalog.refresh-interval:PT5M}")
+    public void refreshPeriodically() {
+        reloadQuietly();
+    }
+
+    /**
+     * Finds a campaign by its campaign code in the catalog, or in the database while the catalog is not loaded.
+     *
+     * @param campaignCode The unique campaign code.
+     * @return The campaign, or empty if no campaign has the code.
+     */
+    @Override
+    public Optional<CatalogCampaign> findCampaign(String campaignCode) {
+        Catalog current = catalog;
+        if (current == null) {
+            log.debug("Campaign catalog is not loaded, reading campaign '{}' from the database", campaignCode);
+            return campaignDao.findByCampaignCode(campaignCode).map(this::compile);
+        }
+        return Optional.ofNullable(current.campaignsByCode().get(campaignCode));
+    }
+
+    /**
+     * Finds the compiled discount rule of a campaign in the catalog.
+     *
+     * @param campaignId The unique identifier of the campaign.
+     * @return The discount rule, or empty if the catalog is not loaded or does not hold the campaign.
+     */
+    @Override
+    public Optional<DiscountRule> findDiscountRule(UUID campaignId) {
+        Catalog current = catalog;
+        if (current == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(current.campaignsById().get(campaignId)).map(CatalogCampaign::discountRule);
+    }
+
+    /**
+     * Returns the campaigns whose validity window contains the current time. The campaigns are taken from the
+     * active campaigns of the current window, or looked up in the validity index if the window has passed
+     * before its boundary task ran. Until the first load, the active campaigns are read from the database.
+     *
+     * @return The active campaigns, in the order of their start date.
+     */
+    @Override
+    public List<CatalogCampaign> getActiveCampaigns() {
+        LocalDateTime now = LocalDateTime.now();
+        ActiveCampaigns current = activeCampaigns;
+        if (current != null && current.covers(now)) {
+            return current.campaigns();
+        }
+        Catalog currentCatalog = catalog;
+        if (currentCatalog == null) {
+            log.debug("Campaign catalog is not loaded, reading active campaigns from the database");
+            return campaignDao.findAllActiveAt(now).stream().map(this::compile).toList();
+        }
+        return activeAt(currentCatalog, now).campaigns();
+    }
+
+    /**
+     * Reloads the catalog and notifies the other instances once the current transaction commits,
+     * so that a rolled back change is never published. Without a transaction both happen at once.
+     */
+    @Override
+    public void campaignsChanged() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            publishChange();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                publishChange();
+            }
+        });
+    }
+
+    /**
+     * Reloads all campaigns from the database, compiles their discounts and replaces the catalog with them.
+     * Campaigns whose discount does not compile are left out. Reloads run one at a time,
+     * so that a reload never replaces the catalog with campaigns older than its own.
+     */
+    @Override
+    public synchronized void refreshCatalog() {
+        List<CatalogCampaign> campaigns = new ArrayList<>();
+        for (CampaignEntity campaign : campaignDao.findAll()) {
+            try {
+                campaigns.add(compile(campaign));
+            } catch (BusinessException e) {
+                log.warn("Campaign '{}' is left out of the catalog: {}", campaign.getCampaignCode(), e.getMessage());
+            }
+        }
+        Catalog loadedCatalog = new Catalog(
+                campaigns.stream().collect(Collectors.toUnmodifiableMap(CatalogCampaign::campaignCode, Function.identity())),
+                campaigns.stream().collect(Collectors.toUnmodifiableMap(CatalogCampaign::id, Function.identity())),
+                new IntervalIndex<>(campaigns, CatalogCampaign::startDate, CatalogCampaign::endDate));
+        catalog = loadedCatalog;
+        activeCampaigns = activeAt(loadedCatalog, LocalDateTime.now());
+        scheduleNextBoundary();
+        log.info("Campaign catalog loaded with {} campaigns, {} active", campaigns.size(), activeCampaigns.campaigns().size());
+    }
+
+    /**
+     * Replaces the active campaigns once a window boundary is reached and schedules the next boundary.
+     */
+    private synchronized void passBoundary() {
+        Catalog currentCatalog = catalog;
+        ActiveCampaigns previous = activeCampaigns;
+        ActiveCampaigns current = activeAt(currentCatalog, LocalDateTime.now());
+        activeCampaigns = current;
+
+        Set<UUID> previousIds = previous.campaigns().stream().map(CatalogCampaign::id).collect(Collectors.toSet());
+        Set<UUID> currentIds = current.campaigns().stream().map(CatalogCampaign::id).collect(Collectors.toSet());
+        current.campaigns().stream().filter(campaign -> !previousIds.contains(campaign.id()))
+                .forEach(campaign -> log.info("Campaign '{}' is now active", campaign.campaignCode()));
+        previous.campaigns().stream().filter(campaign -> !currentIds.contains(campaign.id()))
+                .forEach(campaign -> log.info("Campaign '{}' is no longer active", campaign.campaignCode()));
+
+        scheduleNextBoundary();
+    }
+
+    /**
+     * Schedules the task of the next window boundary of the catalog, replacing the task of the previous catalog.
+     */
+    private void scheduleNextBoundary() {
+        if (nextBoundaryTask != null) {
+            nextBoundaryTask.cancel(false);
+            nextBoundaryTask = null;
+        }
+        LocalDateTime nextBoundary = activeCampaigns.until();
+        if (nextBoundary != null) {
+            nextBoundaryTask = taskScheduler.schedule(this::passBoundary, nextBoundary.atZone(ZoneId.systemDefault()).toInstant());
+        }
+    }
+
+    private ActiveCampaigns activeAt(Catalog currentCatalog, LocalDateTime time) {
+        IntervalIndex<CatalogCampaign> validityIndex = currentCatalog.validityIndex();
+        return new ActiveCampaigns(validityIndex.findValidAt(time), time, validityIndex.findNextBoundary(time));
+    }
+
+    private CatalogCampaign compile(CampaignEntity campaign) {
+        return CatalogCampaign.of(campaign, discountStrategyFactory.compile(
+                campaign.getCampaignType(), campaign.getDiscountValue(), campaign.getDiscountRules()));
+    }
+
+    private void publishChange() {
+        reloadQuietly();
+        try {
+            campaignChangeDao.publishChange(instanceId);
+        } catch (DataAccessException e) {
+            log.warn("Failed to notify other instances of the campaign change", e);
+        }
+    }
+
+    private void onCampaignsChanged(String origin) {
+        if (!instanceId.equals(origin)) {
+            log.debug("Campaigns changed on instance {}, reloading the catalog", origin);
+            reloadQuietly();
+        }
+    }
+
+    /**
+     * Snapshot of the campaigns, keyed by campaign code and by ID and indexed by validity window.
+     */
+    private record Catalog(Map<String, CatalogCampaign> campaignsByCode, Map<UUID, CatalogCampaign> campaignsById,
+                           IntervalIndex<CatalogCampaign> validityIndex) {
+    }
+
+    /**
+     * Campaigns active from a time until the next window boundary, or indefinitely if the boundary is null.
+     */
+    private record ActiveCampaigns(List<CatalogCampaign> campaigns, LocalDateTime from, LocalDateTime until) {
+
+        boolean covers(LocalDateTime time) {
+            return !time.isBefore(from) && (until == null || time.isBefore(until));
+        }
+    }
+
+    private void reloadQuietly() {
+        try {
+            refreshCatalog();
+        } catch (DataAccessException e) {
+            log.warn("Failed to reload the campaign catalog", e);
+        }
+    }
+}
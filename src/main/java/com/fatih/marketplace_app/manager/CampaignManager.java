@@ -1,13 +1,26 @@
 package com.fatih.marketplace_app.manager;
 
 import com.fatih.marketplace_app.dao.CampaignDao;
+import com.fatih.marketplace_app.dto.campaign.BestCampaign;
+import com.fatih.marketplace_app.dto.campaign.CatalogCampaign;
+import com.fatih.marketplace_app.dto.campaign.DiscountRules;
+import com.fatih.marketplace_app.dto.cart.LiveCart;
+import com.fatih.marketplace_app.dto.page.CursorPage;
 import com.fatih.marketplace_app.entity.CampaignEntity;
 import com.fatih.marketplace_app.entity.CartEntity;
+import com.fatih.marketplace_app.exception.BusinessException;
 import com.fatih.marketplace_app.exception.ResourceNotFoundException;
+import com.fatih.marketplace_app.manager.service.CampaignCatalogService;
+import com.fatih.marketplace_app.manager.service.CampaignRedemptionService;
 import com.fatih.marketplace_app.manager.service.CampaignService;
+import com.fatih.marketplace_app.manager.service.CartRepricingService;
 import com.fatih.marketplace_app.manager.service.CartService;
+import com.fatih.marketplace_app.manager.service.CursorPageService;
+import com.fatih.marketplace_app.manager.service.LiveCartService;
+import com.fatih.marketplace_app.strategy.CartLines;
+import com.fatih.marketplace_app.strategy.DiscountRule;
 import com.fatih.marketplace_app.strategy.DiscountStrategyFactory;
-import com.fatih.marketplace_app.strategy.DiscountStrategyService;
+import com.fatih.marketplace_app.util.Cents;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.MessageSource;
@@ -18,7 +31,10 @@ import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Locale;
+import java.util.Objects;
 import java.util.UUID;
 
 /**
@@ -34,6 +50,11 @@ public class CampaignManager implements CampaignService {
     private final MessageSource messageSource;
     private final CartService cartService;
     private final DiscountStrategyFactory discountStrategyFactory;
+    private final CursorPageService cursorPageService;
+    private final CampaignCatalogService campaignCatalogService;
+    private final CampaignRedemptionService campaignRedemptionService;
+    private final CartRepricingService cartRepricingService;
+    private final LiveCartService liveCartService;
 
     /**
      * Creates a new campaign.
@@ -53,8 +74,13 @@ public class CampaignManager implements CampaignService {
                             new Object[]{},
                             Locale.getDefault()));
         }
+        discountStrategyFactory.compile(requestedCampaign.getCampaignType(), requestedCampaign.getDiscountValue(),
+                requestedCampaign.getDiscountRules());
 
-        return campaignDao.save(requestedCampaign);
+        CampaignEntity savedCampaign = campaignDao.save(requestedCampaign);
+        campaignCatalogService.campaignsChanged();
+
+        return savedCampaign;
     }
 
     /**
@@ -88,7 +114,24 @@ public class CampaignManager implements CampaignService {
     }
 
     /**
-     * Updates an existing campaign.
+     * Retrieves campaigns with keyset pagination, newest first, without an offset scan.
+     *
+     * @param token The continuation token of the previous page, or null for the first page
+     * @param size The maximum number of campaigns to return
+     * @param withTotal Whether to count all campaigns as well
+     * @return A page of campaigns with the continuation token of the next page
+     */
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
+    @Override
+    public CursorPage<CampaignEntity> getAllCampaignsByCursor(String token, int size, boolean withTotal) {
+        log.info("Retrieving campaigns by cursor. Size: {}", size);
+
+        return cursorPageService.getPage(CampaignEntity.class, null, token, size, withTotal);
+    }
+
+    /**
+     * Updates an existing campaign. If the discount changed, the carts that applied the campaign are re-priced
+     * once the update commits.
      *
      * @param requestedCampaign The campaign entity with updated fields.
      * @return The updated campaign entity.
@@ -99,9 +142,20 @@ public class CampaignManager implements CampaignService {
 
         log.info("Updating campaign: {}", requestedCampaign);
         CampaignEntity foundCampaign = getCampaignById(requestedCampaign.getId());
+        BigDecimal previousDiscountValue = foundCampaign.getDiscountValue();
+        DiscountRules previousDiscountRules = foundCampaign.getDiscountRules();
         CampaignEntity updatedCampaign = checkUpdateConditions(requestedCampaign, foundCampaign);
+        discountStrategyFactory.compile(updatedCampaign.getCampaignType(), updatedCampaign.getDiscountValue(),
+                updatedCampaign.getDiscountRules());
 
-        return campaignDao.save(updatedCampaign);
+        CampaignEntity savedCampaign = campaignDao.save(updatedCampaign);
+        campaignCatalogService.campaignsChanged();
+        if (previousDiscountValue.compareTo(savedCampaign.getDiscountValue()) != 0
+                || !Objects.equals(previousDiscountRules, savedCampaign.getDiscountRules())) {
+            cartRepricingService.repriceCampaignCarts(savedCampaign.getId());
+        }
+
+        return savedCampaign;
     }
 
     /**
@@ -117,6 +171,7 @@ public class CampaignManager implements CampaignService {
         CampaignEntity foundCampaign = getCampaignById(campaignId);
 
         campaignDao.delete(foundCampaign);
+        campaignCatalogService.campaignsChanged();
     }
 
     /**
@@ -136,8 +191,21 @@ public class CampaignManager implements CampaignService {
                                 Locale.getDefault())));
     }
 
+    /**
+     * Retrieves the campaigns whose validity window contains the current time, from the in-memory campaign catalog.
+     *
+     * @return The active campaigns, in the order of their start date.
+     */
+    @Override
+    public List<CatalogCampaign> getActiveCampaigns() {
+        log.info("Fetching active campaigns.");
+        return campaignCatalogService.getActiveCampaigns();
+    }
+
     /**
      * Applies a campaign to a cart, adjusting the cart price accordingly.
+     * The campaign is read from the in-memory campaign catalog and must be within its valid-time window.
+     * Applying the campaign counts as one of its redemptions, which fails once its redemption limits are reached.
      *
      * @param campaignCode The campaign code.
      * @param cartId       The cart ID.
@@ -148,7 +216,19 @@ public class CampaignManager implements CampaignService {
     public CartEntity applyCampaign(String campaignCode, UUID cartId) {
         log.info("Applying campaign '{}' to cart '{}'.", campaignCode, cartId);
         CartEntity foundCart = cartService.getCartById(cartId);
-        CampaignEntity foundCampaign = getCampaignByCampaignCode(campaignCode);
+        CatalogCampaign foundCampaign = campaignCatalogService.findCampaign(campaignCode).orElseThrow(() ->
+                new ResourceNotFoundException(messageSource
+                        .getMessage("backend.exceptions.CMP002",
+                                new Object[]{campaignCode},
+                                Locale.getDefault())));
+
+        if (!foundCampaign.isActiveAt(LocalDateTime.now())) {
+            log.warn("Campaign '{}' is not active.", campaignCode);
+            throw new BusinessException(messageSource
+                    .getMessage("backend.exceptions.CMP006",
+                            new Object[]{campaignCode},
+                            Locale.getDefault()));
+        }
 
         if (foundCart.getCampaign() != null) {
             log.warn("Cart '{}' already has a campaign applied.", cartId);
@@ -158,17 +238,85 @@ public class CampaignManager implements CampaignService {
                             Locale.getDefault()));
         }
 
-        DiscountStrategyService discountStrategy = discountStrategyFactory.getStrategy(foundCampaign.getCampaignType());
+        campaignRedemptionService.redeem(foundCampaign, foundCart.getUser().getId());
 
-        BigDecimal discountedPrice = discountStrategy.applyDiscount(foundCart.getCartPrice(), foundCampaign.getDiscountValue());
+        DiscountRule discountRule = foundCampaign.discountRule();
+        CartLines cartLines = discountRule.needsLines()
+                ? toCartLines(foundCart)
+                : CartLines.ofTotal(Cents.toCents(foundCart.getCartPrice()));
+
+        BigDecimal discountedPrice = discountRule.apply(cartLines);
 
         foundCart.setCartPrice(discountedPrice);
-        foundCart.setCampaign(foundCampaign);
+        foundCart.setCampaign(toCampaignReference(foundCampaign));
         cartService.updateCart(foundCart);
 
         return foundCart;
     }
 
+    /**
+     * Finds the active campaign giving a cart the largest discount, without applying it or counting a redemption.
+     * The cart is read from its live state, and the active campaigns with their compiled rules from the campaign
+     * catalog, so each campaign costs one rule evaluation in memory. The cart is priced by its lines, ignoring a
+     * campaign it already applied, and redemption limits are only checked once a campaign is applied.
+     * Of campaigns giving the same discount, the one that started first is chosen.
+     *
+     * @param cartId The UUID of the cart.
+     * @return The best campaign, or no campaign if none discounts the cart.
+     */
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
+    @Override
+    public BestCampaign findBestCampaign(UUID cartId) {
+        log.info("Finding the best campaign for cart '{}'.", cartId);
+        LiveCart liveCart = liveCartService.getLiveCart(cartId);
+        CartLines cartLines = CartLines.withCapacity(liveCart.lines().size());
+        liveCart.lines().forEach(line ->
+                cartLines.add(line.productId(), line.productQuantity(), Cents.toCents(line.linePrice())));
+
+        CatalogCampaign bestCampaign = null;
+        long bestDiscountCents = 0;
+        for (CatalogCampaign campaign : campaignCatalogService.getActiveCampaigns()) {
+            long discountCents = Math.min(campaign.discountRule().discountCents(cartLines), cartLines.totalCents());
+            if (discountCents > bestDiscountCents) {
+                bestCampaign = campaign;
+                bestDiscountCents = discountCents;
+            }
+        }
+
+        return new BestCampaign(cartId, bestCampaign, Cents.toAmount(cartLines.totalCents()),
+                Cents.toAmount(cartLines.totalCents() - bestDiscountCents));
+    }
+
+    /**
+     * Reads the cart items of a cart into lines for discount rules that price individual products.
+     *
+     * @param cart The cart.
+     * @return The lines of the cart.
+     */
+    private CartLines toCartLines(CartEntity cart) {
+        CartLines cartLines = CartLines.withCapacity(cart.getCartItem().size());
+        cart.getCartItem().forEach(cartItem -> cartLines.add(cartItem.getProduct().getId(),
+                cartItem.getProductQuantity(), Cents.toCents(cartItem.getCartItemPrice())));
+        return cartLines;
+    }
+
+    /**
+     * Builds a detached campaign entity from a catalog entry, to be referenced by a cart without loading the campaign.
+     *
+     * @param campaign The catalog entry of the campaign.
+     * @return The campaign entity holding the fields of the catalog entry.
+     */
+    private CampaignEntity toCampaignReference(CatalogCampaign campaign) {
+        return CampaignEntity.builder()
+                .id(campaign.id())
+                .campaignCode(campaign.campaignCode())
+                .campaignType(campaign.campaignType())
+                .discountValue(campaign.discountValue())
+                .startDate(campaign.startDate())
+                .endDate(campaign.endDate())
+                .build();
+    }
+
     /**
      * Checks and updates the campaign fields if they are not null.
      *
@@ -192,6 +340,15 @@ public class CampaignManager implements CampaignService {
         if (requestedCampaign.getDiscountValue() != null) {
             foundCampaign.setDiscountValue(requestedCampaign.getDiscountValue());
         }
+        if (requestedCampaign.getDiscountRules() != null) {
+            foundCampaign.setDiscountRules(requestedCampaign.getDiscountRules());
+        }
+        if (requestedCampaign.getMaxRedemptions() != null) {
+            foundCampaign.setMaxRedemptions(requestedCampaign.getMaxRedemptions());
+        }
+        if (requestedCampaign.getMaxRedemptionsPerUser() != null) {
+            foundCampaign.setMaxRedemptionsPerUser(requestedCampaign.getMaxRedemptionsPerUser());
+        }
         if (requestedCampaign.getStartDate() != null) {
             foundCampaign.setStartDate(requestedCampaign.getStartDate());
         }
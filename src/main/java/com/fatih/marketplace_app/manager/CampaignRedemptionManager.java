@@ -0,0 +1,185 @@
+package com.fatih.marketplace_app.manager;
+
+import com.fatih.marketplace_app.dao.CampaignRedemptionDao;
+import com.fatih.marketplace_app.dao.RedemptionCounterDao;
+import com.fatih.marketplace_app.dto.campaign.CatalogCampaign;
+import com.fatih.marketplace_app.dto.campaign.RedemptionCount;
+import com.fatih.marketplace_app.dto.campaign.RedemptionReload;
+import com.fatih.marketplace_app.enums.RedemptionOutcome;
+import com.fatih.marketplace_app.exception.BusinessException;
+import com.fatih.marketplace_app.manager.service.CampaignRedemptionService;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.MessageSource;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+
+/**
+ * Manager class responsible for the redemption limits of campaigns.
+ * Redemptions are counted in Redis, where one script checks the limits and increments the counters of the campaign
+ * and the user together, so limits hold exactly under concurrent applies without touching the database.
+ * Counters are loaded from the database when first used and merged back into it periodically.
+ * <p>
+ * While Redis is unavailable, redemptions are counted in the database instead, with a conditional increment inside
+ * the applying transaction. Redemptions counted in Redis but not merged yet are not seen there, so the limits may
+ * be exceeded by those. Each such redemption marks its row in the database, and once Redis is back the marked counters
+ * are merged into the database and dropped from Redis, so that they are loaded again from the database. The marks
+ * are kept in the database so that they survive a restart, and a counter is only dropped if it did not change
+ * since it was merged, so that no redemption counted in Redis meanwhile is lost.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CampaignRedemptionManager implements CampaignRedemptionService {
+
+    private static final long NO_LIMIT = -1;
+
+    private final RedemptionCounterDao redemptionCounterDao;
+    private final CampaignRedemptionDao campaignRedemptionDao;
+    private final MessageSource messageSource;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${campaign-redemption.counter-ttl:P7D}")
+    private Duration counterTtl;
+
+    @Value("${campaign-redemption.reconcile-batch-size:500}")
+    private int reconcileBatchSize;
+
+    /**
+     * Counts one redemption of a campaign by a user. Campaigns without limits are not counted.
+     *
+     * @param campaign The campaign being applied.
+     * @param userId   The unique identifier of the user applying the campaign.
+     * @throws BusinessException if the campaign or the user has reached the redemption limit
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    @Override
+    public void redeem(CatalogCampaign campaign, UUID userId) {
+        if (campaign.maxRedemptions() == null && campaign.maxRedemptionsPerUser() == null) {
+            return;
+        }
+        long limit = campaign.maxRedemptions() == null ? NO_LIMIT : campaign.maxRedemptions();
+        long userLimit = campaign.maxRedemptionsPerUser() == null ? NO_LIMIT : campaign.maxRedemptionsPerUser();
+
+        RedemptionOutcome outcome;
+        try {
+            outcome = redeemInRedis(campaign.id(), userId, limit, userLimit);
+        } catch (DataAccessException e) {
+            log.warn("Redemption counters are unavailable, counting redemption of campaign '{}' in the database",
+                    campaign.campaignCode(), e);
+            outcome = redeemInDatabase(campaign.id(), userId, limit, userLimit);
+        }
+
+        if (outcome == RedemptionOutcome.CAMPAIGN_LIMIT_REACHED) {
+            meterRegistry.counter("campaign.redemption.rejected", "limit", "campaign").increment();
+            throw new BusinessException(messageSource.getMessage("backend.exceptions.CMP008",
+                    new Object[]{campaign.campaignCode()}, Locale.getDefault()));
+        }
+        if (outcome == RedemptionOutcome.USER_LIMIT_REACHED) {
+            meterRegistry.counter("campaign.redemption.rejected", "limit", "user").increment();
+            throw new BusinessException(messageSource.getMessage("backend.exceptions.CMP009",
+                    new Object[]{campaign.campaignCode()}, Locale.getDefault()));
+        }
+        meterRegistry.counter("campaign.redemption.redeemed").increment();
+    }
+
+    /**
+     * Merges the changed counters into the database in batches of the reconcile batch size, keeping the higher count
+     * of each row. Counters whose merge fails are marked as changed again. Afterwards, up to a batch of the counters
+     * redeemed in the database while Redis was unavailable are merged and dropped from Redis; a counter that changed
+     * in between is kept and tried again by the next run. Each instance merges the counters it takes.
+     */
+    @Scheduled(fixedDelayString = "${campaign-redemption.reconcile-interval:PT10S}",
+            initialDelayString = "${campaign-redemption.reconcile-interval:PT10S}")
+    @Override
+    public void reconcileCounts() {
+        try {
+            List<RedemptionCount> changedCounts;
+            do {
+                changedCounts = redemptionCounterDao.takeChanged(reconcileBatchSize);
+                if (!changedCounts.isEmpty()) {
+                    mergeCounts(changedCounts);
+                }
+            } while (!changedCounts.isEmpty());
+
+            for (RedemptionReload reload : campaignRedemptionDao.findReloads(reconcileBatchSize)) {
+                reload(reload);
+            }
+        } catch (DataAccessException e) {
+            log.warn("Failed to reconcile redemption counters", e);
+        }
+    }
+
+    private RedemptionOutcome redeemInRedis(UUID campaignId, UUID userId, long limit, long userLimit) {
+        RedemptionOutcome outcome = redemptionCounterDao.tryRedeem(campaignId, userId, limit, userLimit, counterTtl);
+        if (outcome == RedemptionOutcome.NOT_LOADED) {
+            List<RedemptionCount> storedCounts = campaignRedemptionDao.findCounts(campaignId, userId);
+            redemptionCounterDao.load(storedCounts.get(0), storedCounts.get(1), counterTtl);
+            outcome = redemptionCounterDao.tryRedeem(campaignId, userId, limit, userLimit, counterTtl);
+        }
+        if (outcome == RedemptionOutcome.REDEEMED) {
+            releaseOnRollback(campaignId, userId);
+        }
+        return outcome;
+    }
+
+    private RedemptionOutcome redeemInDatabase(UUID campaignId, UUID userId, long limit, long userLimit) {
+        if (!campaignRedemptionDao.tryRedeem(campaignId, RedemptionCount.ALL_USERS, limit == NO_LIMIT ? Long.MAX_VALUE : limit)) {
+            return RedemptionOutcome.CAMPAIGN_LIMIT_REACHED;
+        }
+        if (!campaignRedemptionDao.tryRedeem(campaignId, userId, userLimit == NO_LIMIT ? Long.MAX_VALUE : userLimit)) {
+            return RedemptionOutcome.USER_LIMIT_REACHED;
+        }
+        return RedemptionOutcome.REDEEMED;
+    }
+
+    private void reload(RedemptionReload reload) {
+        List<RedemptionCount> loadedCounts = redemptionCounterDao.find(reload.campaignId(), reload.userId());
+        if (!loadedCounts.isEmpty()) {
+            campaignRedemptionDao.mergeCounts(loadedCounts);
+        }
+        if (redemptionCounterDao.unloadIfUnchanged(reload.campaignId(), reload.userId(), loadedCounts)) {
+            campaignRedemptionDao.clearReload(reload);
+        } else {
+            log.debug("Redemption counters of campaign with ID: {} and user with ID: {} changed, reloading them later",
+                    reload.campaignId(), reload.userId());
+        }
+    }
+
+    private void mergeCounts(List<RedemptionCount> counts) {
+        try {
+            campaignRedemptionDao.mergeCounts(counts);
+        } catch (DataAccessException e) {
+            redemptionCounterDao.markChanged(counts);
+            throw e;
+        }
+    }
+
+    private void releaseOnRollback(UUID campaignId, UUID userId) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    return;
+                }
+                try {
+                    redemptionCounterDao.release(campaignId, userId);
+                } catch (DataAccessException e) {
+                    log.warn("Failed to take back redemption of campaign with ID: {} by user with ID: {}", campaignId, userId, e);
+                }
+            }
+        });
+    }
+}
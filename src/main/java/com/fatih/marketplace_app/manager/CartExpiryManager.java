@@ -0,0 +1,175 @@
+package com.fatih.marketplace_app.manager;
+
+import com.fatih.marketplace_app.dao.CartDao;
+import com.fatih.marketplace_app.dao.CartItemDao;
+import com.fatih.marketplace_app.manager.service.CartExpiryService;
+import com.fatih.marketplace_app.repository.projection.CartExpiryView;
+import com.fatih.marketplace_app.util.HierarchicalTimingWheel;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Manager class responsible for expiring idle carts.
+ * The expiry of every cart that still holds a price or items is kept in an in-memory hierarchical timing wheel,
+ * loaded from the database at startup and rescheduled whenever the update time of a cart moves.
+ * Each tick clears only the carts that are due, so expiry work follows cart activity instead of table scans.
+ * Due carts are checked against the database before they are cleared; carts changed elsewhere, for example on
+ * another instance, are rescheduled from their update time. The scheduled cleanup in {@link CartManager}
+ * remains as a backstop for expiries that are lost, for example on restart.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CartExpiryManager implements CartExpiryService {
+
+    private static final LocalDateTime SEED_START_TIME = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final UUID SEED_START_ID = new UUID(0, 0);
+
+    private final CartDao cartDao;
+    private final CartItemDao cartItemDao;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${cart-cleanup.expire-after:PT15M}")
+    private Duration expireAfter;
+
+    @Value("${cart-expiry.tick:PT1S}")
+    private Duration tick;
+
+    @Value("${cart-expiry.wheel-size:64}")
+    private int wheelSize;
+
+    @Value("${cart-expiry.levels:4}")
+    private int levelCount;
+
+    @Value("${cart-expiry.retry-delay:PT1M}")
+    private Duration retryDelay;
+
+    @Value("${cart-expiry.chunk-size:500}")
+    private int chunkSize;
+
+    private HierarchicalTimingWheel<UUID> expiryWheel;
+
+    /**
+     * Creates the timing wheel and registers the number of scheduled expiries as a gauge.
+     */
+    @PostConstruct
+    public void start() {
+        expiryWheel = new HierarchicalTimingWheel<>(tick, wheelSize, levelCount, System.currentTimeMillis());
+        meterRegistry.gauge("cart.expiry.scheduled", expiryWheel, HierarchicalTimingWheel::size);
+    }
+
+    /**
+     * Loads the expiries of the carts in the background once the application is ready, so startup is not delayed.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void seedOnStartup() {
+        Thread.ofVirtual().name("cart-expiry-seed").start(this::seedExpiries);
+    }
+
+    /**
+     * Schedules the expiry of a cart one expiry period from now.
+     *
+     * @param cartId The ID of the cart
+     */
+    @Override
+    public void scheduleExpiry(UUID cartId) {
+        expiryWheel.schedule(cartId, System.currentTimeMillis() + expireAfter.toMillis());
+    }
+
+    /**
+     * Advances the timing wheel and clears the due carts in chunks, each chunk in its own transaction.
+     * Carts of a chunk that fails are retried after the retry delay.
+     */
+    @Scheduled(fixedDelayString = "${cart-expiry.tick:PT1S}", initialDelayString = "${cart-expiry.tick:PT1S}")
+    @Override
+    public void expireDueCarts() {
+        List<UUID> dueCartIds = expiryWheel.advance(System.currentTimeMillis());
+        for (int from = 0; from < dueCartIds.size(); from += chunkSize) {
+            List<UUID> chunk = dueCartIds.subList(from, Math.min(from + chunkSize, dueCartIds.size()));
+            try {
+                transactionTemplate.executeWithoutResult(status -> expireCarts(chunk));
+            } catch (DataAccessException e) {
+                log.warn("Failed to expire {} carts, retrying after {}", chunk.size(), retryDelay, e);
+                long retryMillis = System.currentTimeMillis() + retryDelay.toMillis();
+                chunk.forEach(cartId -> expiryWheel.schedule(cartId, retryMillis));
+            }
+        }
+    }
+
+    /**
+     * Clears the given carts that are expired and reschedules the others that still hold a price or items:
+     * carts changed since their expiry was scheduled are rescheduled from their update time,
+     * carts that are locked are retried after the retry delay.
+     */
+    private void expireCarts(List<UUID> cartIds) {
+        List<UUID> expiredCartIds = cartDao.lockExpiredCartsByIds(cartIds, LocalDateTime.now().minus(expireAfter));
+        if (!expiredCartIds.isEmpty()) {
+            int clearedItems = cartItemDao.deleteAllByCartIds(expiredCartIds);
+            cartDao.clearCartPrices(expiredCartIds);
+            meterRegistry.counter("cart.expiry.carts").increment(expiredCartIds.size());
+            meterRegistry.counter("cart.expiry.items").increment(clearedItems);
+            log.debug("Expired {} carts with {} items", expiredCartIds.size(), clearedItems);
+        }
+
+        Set<UUID> remainingCartIds = new HashSet<>(cartIds);
+        expiredCartIds.forEach(remainingCartIds::remove);
+        if (remainingCartIds.isEmpty()) {
+            return;
+        }
+        long nowMillis = System.currentTimeMillis();
+        for (CartExpiryView cart : cartDao.findUnclearedCartsByIds(remainingCartIds)) {
+            long expiryMillis = expiryMillis(cart);
+            expiryWheel.schedule(cart.getId(), expiryMillis > nowMillis ? expiryMillis : nowMillis + retryDelay.toMillis());
+        }
+    }
+
+    /**
+     * Schedules the expiry of every cart that still holds a price or items, reading the carts in chunks.
+     * If loading fails, the carts not loaded yet are left to the scheduled cleanup.
+     */
+    private void seedExpiries() {
+        log.info("Loading cart expiries in chunks of {}", chunkSize);
+
+        int seededCount = 0;
+        try {
+            LocalDateTime afterUpdateTime = SEED_START_TIME;
+            UUID afterId = SEED_START_ID;
+            List<CartExpiryView> carts;
+            do {
+                carts = cartDao.findUnclearedCarts(afterUpdateTime, afterId, chunkSize);
+                carts.forEach(cart -> expiryWheel.schedule(cart.getId(), expiryMillis(cart)));
+                seededCount += carts.size();
+                if (!carts.isEmpty()) {
+                    afterUpdateTime = carts.getLast().getUpdateTime();
+                    afterId = carts.getLast().getId();
+                }
+            } while (carts.size() == chunkSize);
+        } catch (DataAccessException e) {
+            log.warn("Loading cart expiries stopped after {} carts", seededCount, e);
+        }
+
+        log.info("Loaded expiries of {} carts", seededCount);
+    }
+
+    private long expiryMillis(CartExpiryView cart) {
+        return cart.getUpdateTime().plus(expireAfter).atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
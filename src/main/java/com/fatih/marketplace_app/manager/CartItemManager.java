@@ -1,13 +1,20 @@
 package com.fatih.marketplace_app.manager;
 
 import com.fatih.marketplace_app.dao.CartItemDao;
+import com.fatih.marketplace_app.dto.cart.CartItemOperation;
+import com.fatih.marketplace_app.dto.page.CursorPage;
 import com.fatih.marketplace_app.entity.CartEntity;
 import com.fatih.marketplace_app.entity.CartItemEntity;
 import com.fatih.marketplace_app.entity.ProductEntity;
 import com.fatih.marketplace_app.exception.ResourceNotFoundException;
+import com.fatih.marketplace_app.manager.service.CartExpiryService;
 import com.fatih.marketplace_app.manager.service.CartItemService;
+import com.fatih.marketplace_app.manager.service.CartPricingService;
 import com.fatih.marketplace_app.manager.service.CartService;
+import com.fatih.marketplace_app.manager.service.CursorPageService;
+import com.fatih.marketplace_app.manager.service.LiveCartService;
 import com.fatih.marketplace_app.manager.service.ProductService;
+import com.fatih.marketplace_app.repository.projection.CartItemUpsertView;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.MessageSource;
@@ -18,9 +25,13 @@ import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Locale;
-import java.util.Optional;
+import java.util.Map;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Service class responsible for managing cart items.
@@ -35,76 +46,42 @@ public class CartItemManager implements CartItemService {
     private final MessageSource messageSource;
     private final CartService cartService;
     private final ProductService productService;
+    private final CursorPageService cursorPageService;
+    private final CartPricingService cartPricingService;
+    private final CartExpiryService cartExpiryService;
+    private final LiveCartService liveCartService;
 
     /**
-     * Creates or updates a cart item.
-     * If the item already exists, it updates the quantity and price.
-     * Otherwise, it creates a new cart item.
+     * Adds the requested quantity of a product to a cart.
+     * The cart row is locked and its live state ended, then a single upsert creates the cart item or increases the existing one
+     * and changes the cart price by the difference of the line price, without loading the other cart items.
+     * The expiry of the cart is rescheduled, as the cart was just used.
      *
      * @param requestedCartItem the cart item to be added or updated
      * @return the saved cart item entity
+     * @throws ResourceNotFoundException if the cart or the product is not found
      */
     @Transactional
     @Override
     public CartItemEntity createCartItem(CartItemEntity requestedCartItem) {
-        log.info("Creating or updating cart item with product ID: {}, cart ID: {}",
-                requestedCartItem.getProduct().getId(), requestedCartItem.getCart().getId());
-        ProductEntity foundProduct = productService.getProductById(requestedCartItem.getProduct().getId());
-        CartEntity foundCart = cartService.getCartById(requestedCartItem.getCart().getId());
-
-        log.debug("Product found: {}, Cart found: {}", foundProduct, foundCart);
-
-        Optional<CartItemEntity> matchingCartItemOpt = findMatchingCartItem(foundCart, foundProduct);
-
-        if (matchingCartItemOpt.isPresent()) {
-            CartItemEntity existingCartItem = matchingCartItemOpt.get();
-            log.debug("Matching cart item found: {}", existingCartItem);
-            updateExistingCartItem(existingCartItem, requestedCartItem.getProductQuantity(), foundProduct.getProductPrice());
-            log.debug("Updated cart item: {}", existingCartItem);
-            return cartItemDao.save(existingCartItem);
-        } else {
-            BigDecimal newCartItemPrice = foundProduct.getProductPrice()
-                    .multiply(BigDecimal.valueOf(requestedCartItem.getProductQuantity()));
-            requestedCartItem.setCartItemPrice(newCartItemPrice);
-            foundCart.setCartPrice(foundCart.getCartPrice().add(newCartItemPrice));
-            log.info("Creating new cart item with ID: {} and total price: {}", requestedCartItem.getId(), newCartItemPrice);
-            return cartItemDao.save(requestedCartItem);
-        }
-    }
+        UUID cartId = requestedCartItem.getCart().getId();
+        UUID productId = requestedCartItem.getProduct().getId();
+        log.info("Creating or updating cart item with product ID: {}, cart ID: {}", productId, cartId);
 
-    /**
-     * Finds an existing cart item in the given cart for the specified product.
-     *
-     * @param cart    the cart entity
-     * @param product the product entity
-     * @return an optional containing the matching cart item if found
-     */
-    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
-    public Optional<CartItemEntity> findMatchingCartItem(CartEntity cart, ProductEntity product) {
-        log.debug("Searching for matching cart item in cart ID: {} for product ID: {}", cart.getId(), product.getId());
-        return cart.getCartItem().stream()
-                .filter(cartItem -> cartItem.getProduct().getId().equals(product.getId()))
-                .findFirst();
-    }
+        liveCartService.endLiveCart(cartId);
+        CartItemUpsertView upsertedCartItem = cartItemDao.addToCart(cartId, productId, requestedCartItem.getProductQuantity())
+                .orElseThrow(() -> new ResourceNotFoundException(messageSource.getMessage(
+                        "backend.exceptions.PRD001",
+                        new Object[]{productId},
+                        Locale.getDefault())));
 
-    /**
-     * Updates the quantity and price of an existing cart item.
-     *
-     * @param existingCartItem  the cart item to be updated
-     * @param additionalQuantity the quantity to be added
-     * @param productPrice       the price of the product
-     */
-    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
-    public void updateExistingCartItem(CartItemEntity existingCartItem, int additionalQuantity, BigDecimal productPrice) {
-        log.debug("Updating existing cart item: {}, additional quantity: {}, product price: {}",
-                existingCartItem.getId(), additionalQuantity, productPrice);
-        int updatedQuantity = existingCartItem.getProductQuantity() + additionalQuantity;
-        existingCartItem.setProductQuantity(updatedQuantity);
-        existingCartItem.setCartItemPrice(
-                productPrice.multiply(BigDecimal.valueOf(updatedQuantity))
-        );
-        existingCartItem.getCart().setCartPrice(existingCartItem.getCart().getCartPrice().add(existingCartItem.getCartItemPrice()));
-        log.info("Cart item updated successfully. New quantity: {}, New price: {}", updatedQuantity, existingCartItem.getCartItemPrice());
+        if (!upsertedCartItem.getCartPriced()) {
+            cartPricingService.recomputeCartPrices(List.of(cartId));
+        }
+        cartExpiryService.scheduleExpiry(cartId);
+
+        log.debug("Cart item with ID: {} saved", upsertedCartItem.getCartItemId());
+        return getCartItemById(upsertedCartItem.getCartItemId());
     }
 
     /**
@@ -126,7 +103,7 @@ public class CartItemManager implements CartItemService {
     }
 
     /**
-     * Updates an existing cart item with new quantity and price.
+     * Updates the quantity of an existing cart item, recomputing its price and moving the cart price by the difference.
      *
      * @param requestedCartItem the updated cart item entity
      * @return the updated cart item
@@ -135,7 +112,7 @@ public class CartItemManager implements CartItemService {
     @Override
     public CartItemEntity updateCartItem(CartItemEntity requestedCartItem) {
         log.info("Updating cart item: {}", requestedCartItem);
-        CartItemEntity foundCartItem = getCartItemById(requestedCartItem.getId());
+        CartItemEntity foundCartItem = lockCartItem(requestedCartItem.getId());
         log.debug("Existing cart item before update: {}", foundCartItem);
         CartItemEntity updatedCartItem = checkCartItemConditions(foundCartItem, requestedCartItem);
         log.debug("Updated cart item after save: {}", updatedCartItem);
@@ -151,7 +128,23 @@ public class CartItemManager implements CartItemService {
     }
 
     /**
-     * Deletes a cart item by its ID.
+     * Retrieves cart items with keyset pagination, newest first, without an offset scan.
+     *
+     * @param token The continuation token of the previous page, or null for the first page
+     * @param size The maximum number of cart items to return
+     * @param withTotal Whether to count all cart items as well
+     * @return A page of cart items with the continuation token of the next page
+     */
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
+    @Override
+    public CursorPage<CartItemEntity> getAllCartItemsByCursor(String token, int size, boolean withTotal) {
+        log.info("Retrieving cart items by cursor. Size: {}", size);
+
+        return cursorPageService.getPage(CartItemEntity.class, null, token, size, withTotal);
+    }
+
+    /**
+     * Deletes a cart item by its ID and subtracts its price from the cart price.
      *
      * @param cartItemId the ID of the cart item to be deleted
      */
@@ -159,17 +152,17 @@ public class CartItemManager implements CartItemService {
     @Override
     public void deleteCartItem(UUID cartItemId) {
         log.info("Deleting cart item by ID: {}", cartItemId);
-        CartItemEntity foundCartItem = getCartItemById(cartItemId);
-        cartItemDao.delete(foundCartItem);
+        CartItemEntity foundCartItem = lockCartItem(cartItemId);
+        removeCartItem(foundCartItem);
         log.info("Cart item successfully deleted: {}", cartItemId);
     }
 
     /**
-     * Removes a product from the cart item.
+     * Removes one quantity of the product from the cart item. A cart item with a single quantity is deleted.
      *
      * @param cartItemId the ID of the cart item
      * @param productId  the ID of the product to be removed
-     * @return the updated cart item
+     * @return the updated cart item, with a quantity of zero if it was deleted
      */
     @Transactional
     @Override
@@ -177,19 +170,15 @@ public class CartItemManager implements CartItemService {
 
         log.info("Removing one quantity of product ID: {} from cart item ID: {}", productId, cartItemId);
         productService.getProductById(productId);
-        CartItemEntity foundCartItem = getCartItemById(cartItemId);
+        CartItemEntity foundCartItem = lockCartItem(cartItemId);
 
-        if (foundCartItem.getProductQuantity() <= 0) {
+        if (foundCartItem.getProductQuantity() <= 1) {
             log.warn("Product quantity is 1 or less. Deleting cart item.");
-            deleteCartItem(cartItemId);
+            removeCartItem(foundCartItem);
+            return foundCartItem;
         }
 
-        foundCartItem.setProductQuantity(foundCartItem.getProductQuantity() - 1);
-        foundCartItem.setCartItemPrice(
-                foundCartItem.getProduct().getProductPrice().multiply(
-                        BigDecimal.valueOf(foundCartItem.getProductQuantity())
-                )
-        );
+        changeQuantity(foundCartItem, foundCartItem.getProductQuantity() - 1);
 
         log.info("Product removed successfully. New quantity: {}, New total price: {}",
                 foundCartItem.getProductQuantity(), foundCartItem.getCartItemPrice());
@@ -198,7 +187,7 @@ public class CartItemManager implements CartItemService {
     }
 
     /**
-     * Adds a product to the cart item.
+     * Adds one quantity of the product to the cart item.
      *
      * @param cartItemId the ID of the cart item
      * @param productId  the ID of the product to be added
@@ -210,14 +199,9 @@ public class CartItemManager implements CartItemService {
         log.info("Adding one quantity of product ID: {} to cart item ID: {}", productId, cartItemId);
 
         productService.getProductById(productId);
-        CartItemEntity foundCartItem = getCartItemById(cartItemId);
+        CartItemEntity foundCartItem = lockCartItem(cartItemId);
 
-        foundCartItem.setProductQuantity(foundCartItem.getProductQuantity() + 1);
-        foundCartItem.setCartItemPrice(
-                foundCartItem.getProduct().getProductPrice().multiply(
-                        BigDecimal.valueOf(foundCartItem.getProductQuantity())
-                )
-        );
+        changeQuantity(foundCartItem, foundCartItem.getProductQuantity() + 1);
 
         log.info("Product added successfully. New quantity: {}, New total price: {}",
                 foundCartItem.getProductQuantity(), foundCartItem.getCartItemPrice());
@@ -225,6 +209,70 @@ public class CartItemManager implements CartItemService {
         return cartItemDao.save(foundCartItem);
     }
 
+    /**
+     * Applies an ordered list of line changes to a cart. The changes are folded into one target quantity
+     * per product first, so the cart items are read with one query, new products are read with one query
+     * and every line is written at most once. The cart price is recomputed and its expiry rescheduled once at the end.
+     *
+     * @param cartId     the ID of the cart
+     * @param operations the changes to apply, in order
+     * @return the cart after the changes
+     * @throws ResourceNotFoundException if the cart or a product to be added is not found
+     */
+    @Transactional
+    @Override
+    public CartEntity applyCartItemOperations(UUID cartId, List<CartItemOperation> operations) {
+        log.info("Applying {} cart item operations to cart with ID: {}", operations.size(), cartId);
+
+        liveCartService.endLiveCart(cartId);
+        Map<UUID, CartItemEntity> cartItemsByProduct = cartItemDao.findAllWithProductByCartId(cartId).stream()
+                .collect(Collectors.toMap(cartItem -> cartItem.getProduct().getId(), Function.identity()));
+
+        Map<UUID, Integer> quantities = new LinkedHashMap<>();
+        cartItemsByProduct.forEach((productId, cartItem) -> quantities.put(productId, cartItem.getProductQuantity()));
+        for (CartItemOperation operation : operations) {
+            int currentQuantity = quantities.getOrDefault(operation.productId(), 0);
+            quantities.put(operation.productId(), switch (operation.operation()) {
+                case ADD -> currentQuantity + operation.productQuantity();
+                case REMOVE -> Math.max(currentQuantity - operation.productQuantity(), 0);
+                case SET_QUANTITY -> operation.productQuantity();
+            });
+        }
+
+        List<UUID> newProductIds = quantities.entrySet().stream()
+                .filter(entry -> entry.getValue() > 0 && !cartItemsByProduct.containsKey(entry.getKey()))
+                .map(Map.Entry::getKey)
+                .toList();
+        Map<UUID, ProductEntity> newProducts = newProductIds.isEmpty() ? Map.of() : productService.getProductsByIds(newProductIds);
+
+        quantities.forEach((productId, quantity) -> {
+            CartItemEntity cartItem = cartItemsByProduct.get(productId);
+            if (cartItem == null) {
+                if (quantity > 0) {
+                    ProductEntity product = newProducts.get(productId);
+                    cartItemDao.save(CartItemEntity.builder()
+                            .cart(cartService.getCartReference(cartId))
+                            .product(product)
+                            .productQuantity(quantity)
+                            .cartItemPrice(product.getProductPrice().multiply(BigDecimal.valueOf(quantity)))
+                            .build());
+                }
+            } else if (quantity == 0) {
+                cartItemDao.delete(cartItem);
+            } else if (quantity != cartItem.getProductQuantity()) {
+                cartItem.setProductQuantity(quantity);
+                cartItem.setCartItemPrice(cartItem.getProduct().getProductPrice().multiply(BigDecimal.valueOf(quantity)));
+            }
+        });
+
+        cartItemDao.flush();
+        cartPricingService.recomputeCartPrices(List.of(cartId));
+        cartExpiryService.scheduleExpiry(cartId);
+        log.info("Cart item operations applied to cart with ID: {}", cartId);
+
+        return cartService.getCartById(cartId);
+    }
+
     /**
      * Retrieves a paginated list of cart items associated with a specific cart ID.
      *
@@ -241,14 +289,35 @@ public class CartItemManager implements CartItemService {
         return cartItemDao.findAllByCartId(cartId, pageable);
     }
 
+    /**
+     * Retrieves cart items of a cart with keyset pagination, newest first.
+     *
+     * @param cartId The unique identifier of the cart
+     * @param token The continuation token of the previous page, or null for the first page
+     * @param size The maximum number of cart items to return
+     * @param withTotal Whether to count all cart items of the cart as well
+     * @return A page of cart items with the continuation token of the next page
+     */
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
+    @Override
+    public CursorPage<CartItemEntity> getCartItemsByCartIdByCursor(UUID cartId, String token, int size, boolean withTotal) {
+        log.info("Fetching cart items for cart ID: {} by cursor. Size: {}", cartId, size);
+        cartService.getCartById(cartId);
+
+        return cursorPageService.getPage(CartItemEntity.class,
+                (root, query, criteriaBuilder) -> criteriaBuilder.equal(root.get("cart").get("id"), cartId),
+                token, size, withTotal);
+    }
+
     /**
      * Checks and updates the conditions of a cart item based on the requested changes.
+     * The price of the cart item is always derived from the product price and the quantity.
      *
      * @param foundCartItem    The existing cart item retrieved from the database.
      * @param requestedCartItem The cart item containing the requested updates.
-     * @return The updated cart item with modified quantity or price.
+     * @return The updated cart item with modified quantity and price.
      */
-    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
+    @Transactional(propagation = Propagation.MANDATORY)
     public CartItemEntity checkCartItemConditions(CartItemEntity foundCartItem, CartItemEntity requestedCartItem) {
 
         log.info("Checking cart item conditions for item ID: {}", foundCartItem.getId());
@@ -258,19 +327,44 @@ public class CartItemManager implements CartItemService {
                     foundCartItem.getProductQuantity(),
                     requestedCartItem.getProductQuantity());
 
-            foundCartItem.setProductQuantity(requestedCartItem.getProductQuantity());
-
-            foundCartItem.setCartItemPrice(foundCartItem.getProduct().getProductPrice().multiply(BigDecimal.valueOf(requestedCartItem.getProductQuantity())));
-        }
-        if (requestedCartItem.getCartItemPrice() != null) {
-            log.debug("Updating cart item price from {} to {}",
-                    foundCartItem.getCartItemPrice(),
-                    requestedCartItem.getCartItemPrice());
-
-            foundCartItem.setCartItemPrice(requestedCartItem.getCartItemPrice());
+            changeQuantity(foundCartItem, requestedCartItem.getProductQuantity());
         }
         log.info("Cart item conditions updated successfully for item ID: {}", foundCartItem.getId());
 
         return foundCartItem;
     }
+
+    /**
+     * Locks the cart of a cart item and ends its live state, then reads the cart item, so that changes to the lines
+     * and the price of one cart are applied one after another and to the current lines.
+     */
+    private CartItemEntity lockCartItem(UUID cartItemId) {
+        UUID cartId = cartItemDao.findCartIdById(cartItemId)
+                .orElseThrow(() -> new ResourceNotFoundException(messageSource.getMessage(
+                        "backend.exceptions.CIT001",
+                        new Object[]{cartItemId},
+                        Locale.getDefault())));
+        liveCartService.endLiveCart(cartId);
+        return getCartItemById(cartItemId);
+    }
+
+    /**
+     * Sets the quantity of a cart item, recomputes its price and moves the cart price by the difference.
+     */
+    private void changeQuantity(CartItemEntity cartItem, int productQuantity) {
+        BigDecimal previousPrice = cartItem.getCartItemPrice();
+        cartItem.setProductQuantity(productQuantity);
+        cartItem.setCartItemPrice(cartItem.getProduct().getProductPrice().multiply(BigDecimal.valueOf(productQuantity)));
+        cartPricingService.applyLineDelta(cartItem.getCart().getId(), cartItem.getCartItemPrice().subtract(previousPrice));
+    }
+
+    /**
+     * Deletes a cart item and subtracts its price from the cart price.
+     */
+    private void removeCartItem(CartItemEntity cartItem) {
+        cartPricingService.applyLineDelta(cartItem.getCart().getId(), cartItem.getCartItemPrice().negate());
+        cartItemDao.delete(cartItem);
+        cartItem.setProductQuantity(0);
+        cartItem.setCartItemPrice(BigDecimal.ZERO);
+    }
 }
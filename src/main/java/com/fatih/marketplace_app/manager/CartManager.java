@@ -1,27 +1,45 @@
 package com.fatih.marketplace_app.manager;
 
 import com.fatih.marketplace_app.dao.CartDao;
+import com.fatih.marketplace_app.dao.CartItemDao;
+import com.fatih.marketplace_app.dao.LiveCartDao;
+import com.fatih.marketplace_app.dto.cart.LiveCart;
+import com.fatih.marketplace_app.dto.job.UuidRange;
+import com.fatih.marketplace_app.dto.page.CursorPage;
 import com.fatih.marketplace_app.entity.CartEntity;
 import com.fatih.marketplace_app.entity.UserEntity;
 import com.fatih.marketplace_app.exception.DataAlreadyExistException;
 import com.fatih.marketplace_app.exception.ResourceNotFoundException;
+import com.fatih.marketplace_app.manager.service.CartExpiryService;
 import com.fatih.marketplace_app.manager.service.CartService;
+import com.fatih.marketplace_app.manager.service.CursorPageService;
+import com.fatih.marketplace_app.manager.service.JobLeaseService;
 import com.fatih.marketplace_app.manager.service.UserService;
+import com.fatih.marketplace_app.repository.projection.CartExpiryView;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.MessageSource;
+import org.springframework.dao.DataAccessException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Locale;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Manager class responsible for cart operations.
@@ -32,9 +50,35 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class CartManager implements CartService {
 
+    private static final LocalDateTime CLEANUP_START_TIME = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final UUID CLEANUP_START_ID = new UUID(0, 0);
+    private static final String CLEANUP_JOB = "cart-cleanup";
+
     private final CartDao cartDao;
     private final UserService userService;
     private final MessageSource messageSource;
+    private final CursorPageService cursorPageService;
+    private final CartItemDao cartItemDao;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    private final CartExpiryService cartExpiryService;
+    private final JobLeaseService jobLeaseService;
+    private final LiveCartDao liveCartDao;
+
+    @Value("${cart-cleanup.expire-after:PT15M}")
+    private Duration expireAfter;
+
+    @Value("${cart-cleanup.chunk-size:500}")
+    private int cleanupChunkSize;
+
+    @Value("${cart-cleanup.partitions:8}")
+    private int cleanupPartitions;
+
+    @Value("${cart-cleanup.lease-time:PT10M}")
+    private Duration cleanupLeaseTime;
+
+    @Value("${live-cart.ttl:PT15M}")
+    private Duration liveCartTtl;
 
     /**
      * Creates a new cart for a user.
@@ -79,6 +123,68 @@ public class CartManager implements CartService {
                                 Locale.getDefault())));
     }
 
+    /**
+     * Retrieves a cart by its ID, loading its items, their products, its user and the user's wallet in a single query.
+     *
+     * @param cartId The ID of the cart to retrieve
+     * @return The found cart entity
+     * @throws ResourceNotFoundException if no cart exists with the given ID
+     */
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
+    @Override
+    public CartEntity getCartWithItemsById(UUID cartId) {
+        log.info("Retrieving cart with items with ID: {}", cartId);
+        return cartDao.findWithItemsById(cartId)
+                .orElseThrow(() -> new ResourceNotFoundException(messageSource
+                        .getMessage("backend.exceptions.CRT001",
+                                new Object[]{cartId},
+                                Locale.getDefault())));
+    }
+
+    /**
+     * Locks a cart row so that concurrent changes of the cart price are applied one after another.
+     *
+     * @param cartId The ID of the cart to lock
+     * @throws ResourceNotFoundException if no cart exists with the given ID
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    @Override
+    public void lockCart(UUID cartId) {
+        log.debug("Locking cart with ID: {}", cartId);
+        if (!cartDao.lockById(cartId)) {
+            throw new ResourceNotFoundException(messageSource
+                    .getMessage("backend.exceptions.CRT001",
+                            new Object[]{cartId},
+                            Locale.getDefault()));
+        }
+    }
+
+    /**
+     * Returns a reference to a cart without querying it.
+     *
+     * @param cartId The ID of the cart
+     * @return A lazily loaded cart entity
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    @Override
+    public CartEntity getCartReference(UUID cartId) {
+        return cartDao.getReference(cartId);
+    }
+
+    /**
+     * Retrieves all carts with the given IDs, loading their items, their products, their users
+     * and the users' wallets in a single query.
+     *
+     * @param cartIds The IDs of the carts to retrieve
+     * @return The list of carts that exist
+     */
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
+    @Override
+    public List<CartEntity> getCartsByIds(Collection<UUID> cartIds) {
+        log.info("Retrieving {} carts by ID", cartIds.size());
+        return cartDao.findAllWithItemsByIds(cartIds);
+    }
+
     /**
      * Retrieves a cart by user ID.
      *
@@ -114,6 +220,22 @@ public class CartManager implements CartService {
         return cartDao.findAll(pageable);
     }
 
+    /**
+     * Retrieves carts with keyset pagination, newest first, without an offset scan.
+     *
+     * @param token The continuation token of the previous page, or null for the first page
+     * @param size The maximum number of carts to return
+     * @param withTotal Whether to count all carts as well
+     * @return A page of carts with the continuation token of the next page
+     */
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
+    @Override
+    public CursorPage<CartEntity> getAllCartsByCursor(String token, int size, boolean withTotal) {
+        log.info("Retrieving carts by cursor. Size: {}", size);
+
+        return cursorPageService.getPage(CartEntity.class, null, token, size, withTotal);
+    }
+
     /**
      * Deletes a cart by its ID.
      *
@@ -131,6 +253,9 @@ public class CartManager implements CartService {
 
     /**
      * Clears all items from a cart and resets its price to zero.
+     * The cart is locked and cleared with one statement for all its items and one for its price,
+     * however many items it has, instead of one soft delete per item. The live state of the cart is dropped
+     * with its items, and restored if the transaction rolls back.
      *
      * @param cartId The ID of the cart to clear
      * @throws ResourceNotFoundException if no cart exists with the given ID
@@ -140,12 +265,30 @@ public class CartManager implements CartService {
     public void clearCart(UUID cartId) {
         log.info("Clearing cart with ID: {}", cartId);
 
-        CartEntity foundCart = getCartById(cartId);
-        foundCart.getCartItem().clear();
-        foundCart.setCartPrice(BigDecimal.ZERO);
-        cartDao.save(foundCart);
+        lockCart(cartId);
+        dropLiveCart(cartId);
+        int removedItems = cartItemDao.deleteAllByCartIds(List.of(cartId));
+        cartDao.clearCartPrices(List.of(cartId));
+
+        log.info("Cart with ID: {} cleared successfully, {} items removed", cartId, removedItems);
+    }
+
+    /**
+     * Removes the items of the given carts, resets their prices and removes their campaigns,
+     * with one statement for all items and one for all carts. The carts are locked in ID order first,
+     * the same order cart item changes take, so that checkouts and cart changes cannot deadlock.
+     *
+     * @param cartIds The IDs of the carts to recycle
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    @Override
+    public void recycleCarts(Collection<UUID> cartIds) {
+        log.debug("Recycling {} carts", cartIds.size());
 
-        log.info("Cart with ID: {} cleared successfully", cartId);
+        cartDao.lockByIds(cartIds);
+        int removedItems = cartItemDao.deleteAllByCartIds(cartIds);
+        cartDao.resetCarts(cartIds);
+        log.debug("Removed {} items from {} recycled carts", removedItems, cartIds.size());
     }
 
     /**
@@ -162,6 +305,7 @@ public class CartManager implements CartService {
 
         CartEntity foundCart = getCartById(requestedCart.getId());
         CartEntity updatedCart = checkCartConditions(foundCart, requestedCart);
+        cartExpiryService.scheduleExpiry(updatedCart.getId());
 
         return cartDao.save(updatedCart);
     }
@@ -185,29 +329,93 @@ public class CartManager implements CartService {
     }
 
     /**
-     * Scheduled task that runs every 15 minutes to clean up expired carts.
-     * An expired cart is one that hasn't been updated in the last 15 minutes.
+     * Scheduled task that clears expired carts, i.e. carts that have not been updated for the expiry period.
+     * Carts are expired as they become due by {@link CartExpiryManager}; this task is the backstop for expiries
+     * that were lost, for example on restart, and runs hourly by default.
+     * The carts are split into ID range partitions that the instances share through job leases. Within a partition,
+     * expired carts are locked and cleared in chunks, each chunk in its own transaction with one statement for
+     * its items and one for its prices, so a backlog never loads all carts or holds one long transaction.
+     * Cleared carts no longer match the chunk query, so an interrupted run is resumed by the next one.
+     * Cleared carts, cleared items and the duration of every run are recorded as metrics.
      */
-    @Scheduled(cron = "0 0/15 * * * ?")
-    @Transactional
+    @Scheduled(cron = "${cart-cleanup.cron:0 0 * * * ?}")
     public void cleanUpExpiredCarts() {
         log.info("Starting scheduled cleanup of expired carts");
 
-        LocalDateTime expirationTime = LocalDateTime.now().minusMinutes(15);
-        List<CartEntity> expiredCarts = cartDao.findByUpdateTimeBefore(expirationTime);
-
-        log.info("Found {} expired carts to clean up", expiredCarts.size());
+        long startNanos = System.nanoTime();
+        LocalDateTime expirationTime = LocalDateTime.now().minus(expireAfter);
+        int partitionCount = jobLeaseService.runPartitioned(CLEANUP_JOB, cleanupPartitions, cleanupLeaseTime,
+                range -> cleanUpExpiredCarts(range, expirationTime));
 
-        if (!expiredCarts.isEmpty()) {
-            expiredCarts.forEach(cartEntity -> {
-                if (cartEntity.getCartItem() != null) {
-                    log.debug("Cleaning up expired cart with ID: {}", cartEntity.getId());
+        long elapsedNanos = System.nanoTime() - startNanos;
+        meterRegistry.timer("cart.cleanup.duration").record(elapsedNanos, TimeUnit.NANOSECONDS);
+        log.info("Cleaned up {} partitions of expired carts in {} ms",
+                partitionCount, TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+    }
 
-                    cartEntity.getCartItem().clear();
-                    cartEntity.setCartPrice(BigDecimal.ZERO);
-                    cartDao.save(cartEntity);
+    /**
+     * Ends the live state of a locked cart that is being cleared, restoring it if the transaction rolls back.
+     * The live cart is read from the DAO, as the live cart service depends on this service.
+     */
+    private void dropLiveCart(UUID cartId) {
+        Optional<LiveCart> takenCart;
+        try {
+            takenCart = liveCartDao.take(cartId);
+        } catch (DataAccessException e) {
+            log.warn("Redis unavailable, clearing cart with ID: {} without its live state", cartId, e);
+            return;
+        }
+        takenCart.ifPresent(liveCart -> TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    return;
+                }
+                try {
+                    liveCartDao.restore(liveCart, liveCartTtl);
+                } catch (DataAccessException e) {
+                    log.warn("Failed to restore live cart with ID: {}", cartId, e);
                 }
-            });
+            }
+        }));
+    }
+
+    private void cleanUpExpiredCarts(UuidRange range, LocalDateTime expirationTime) {
+        int clearedCarts = 0;
+        int clearedItems = 0;
+        CleanupChunk chunk = new CleanupChunk(0, 0, CLEANUP_START_TIME, CLEANUP_START_ID);
+        do {
+            CleanupChunk previousChunk = chunk;
+            chunk = transactionTemplate.execute(status -> clearExpiredChunk(expirationTime, range, previousChunk));
+            clearedCarts += chunk.cartCount();
+            clearedItems += chunk.itemCount();
+            meterRegistry.counter("cart.cleanup.carts").increment(chunk.cartCount());
+            meterRegistry.counter("cart.cleanup.items").increment(chunk.itemCount());
+        } while (chunk.cartCount() == cleanupChunkSize);
+
+        log.debug("Cleared {} expired carts with {} items from {} to {}",
+                clearedCarts, clearedItems, range.fromId(), range.toId());
+    }
+
+    private CleanupChunk clearExpiredChunk(LocalDateTime expirationTime, UuidRange range, CleanupChunk previousChunk) {
+        List<CartExpiryView> expiredCarts = cartDao.lockExpiredCarts(expirationTime, range.fromId(), range.toId(),
+                previousChunk.lastUpdateTime(), previousChunk.lastId(), cleanupChunkSize);
+        if (expiredCarts.isEmpty()) {
+            return new CleanupChunk(0, 0, previousChunk.lastUpdateTime(), previousChunk.lastId());
         }
+
+        List<UUID> cartIds = expiredCarts.stream().map(CartExpiryView::getId).toList();
+        log.debug("Clearing {} expired carts", cartIds.size());
+        int clearedItems = cartItemDao.deleteAllByCartIds(cartIds);
+        cartDao.clearCartPrices(cartIds);
+
+        CartExpiryView lastCart = expiredCarts.getLast();
+        return new CleanupChunk(cartIds.size(), clearedItems, lastCart.getUpdateTime(), lastCart.getId());
+    }
+
+    /**
+     * Outcome of one cleanup chunk and the keyset position to continue from.
+     */
+    private record CleanupChunk(int cartCount, int itemCount, LocalDateTime lastUpdateTime, UUID lastId) {
     }
 }
@@ -0,0 +1,205 @@
+package com.fatih.marketplace_app.manager;
+
+import com.fatih.marketplace_app.converter.DiscountRulesConverter;
+import com.fatih.marketplace_app.dao.CartDao;
+import com.fatih.marketplace_app.dao.CartItemDao;
+import com.fatih.marketplace_app.dto.cart.CartPriceDrift;
+import com.fatih.marketplace_app.enums.CampaignType;
+import com.fatih.marketplace_app.manager.service.CampaignCatalogService;
+import com.fatih.marketplace_app.manager.service.CartExpiryService;
+import com.fatih.marketplace_app.manager.service.CartPricingService;
+import com.fatih.marketplace_app.manager.service.JobLeaseService;
+import com.fatih.marketplace_app.repository.projection.CartLineView;
+import com.fatih.marketplace_app.repository.projection.CartPriceView;
+import com.fatih.marketplace_app.strategy.CartLines;
+import com.fatih.marketplace_app.strategy.DiscountRule;
+import com.fatih.marketplace_app.strategy.DiscountStrategyFactory;
+import com.fatih.marketplace_app.util.Cents;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Manager class responsible for cart prices.
+ * The price of a cart is the total of its active lines, discounted by the campaign of the cart.
+ * Line changes move the cart price by the line price difference with a single update, so a click never reads
+ * the other lines. Carts with a campaign are recomputed from their lines instead, as a discount is not additive.
+ * A scheduled verifier samples carts and reports, and optionally repairs, prices that drifted from their lines.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CartPricingManager implements CartPricingService {
+
+    private static final String VERIFIER_JOB = "cart-pricing-verifier";
+    private static final DiscountRulesConverter DISCOUNT_RULES_CONVERTER = new DiscountRulesConverter();
+
+    private final CartDao cartDao;
+    private final DiscountStrategyFactory discountStrategyFactory;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    private final CartExpiryService cartExpiryService;
+    private final JobLeaseService jobLeaseService;
+    private final CampaignCatalogService campaignCatalogService;
+    private final CartItemDao cartItemDao;
+
+    @Value("${cart-pricing.verifier.sample-size:200}")
+    private int sampleSize;
+
+    @Value("${cart-pricing.verifier.repair:false}")
+    private boolean repair;
+
+    @Value("${cart-pricing.verifier.lease-time:PT5M}")
+    private Duration verifierLeaseTime;
+
+    /**
+     * Adds the line price difference to the cart price, or recomputes the cart price if the cart has a campaign.
+     *
+     * @param cartId The ID of the cart
+     * @param lineDelta The new line price minus the previous line price
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    @Override
+    public void applyLineDelta(UUID cartId, BigDecimal lineDelta) {
+        if (lineDelta.signum() == 0) {
+            return;
+        }
+        if (!cartDao.addToCartPrice(cartId, lineDelta)) {
+            log.debug("Cart with ID: {} has a campaign, recomputing its price", cartId);
+            recomputeCartPrices(List.of(cartId));
+            return;
+        }
+        cartExpiryService.scheduleExpiry(cartId);
+    }
+
+    /**
+     * Locks the given carts in ID order, reads their line totals with one aggregate query
+     * and stores the recomputed price of each cart whose stored price differs.
+     *
+     * @param cartIds The IDs of the carts
+     * @return The IDs of the carts whose price was corrected
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    @Override
+    public List<UUID> recomputeCartPrices(Collection<UUID> cartIds) {
+        List<CartPriceDrift> driftedCarts = lockAndFindDrifted(cartIds);
+        driftedCarts.forEach(cart -> {
+            cartDao.setCartPrice(cart.cartId(), cart.expectedPrice());
+            cartExpiryService.scheduleExpiry(cart.cartId());
+        });
+        return driftedCarts.stream().map(CartPriceDrift::cartId).toList();
+    }
+
+    /**
+     * Reads the prices of a sample of carts starting at a random cart ID. Carts that look drifted are checked again
+     * under a lock, as they may have been changed while the sample was read, and are reported if the drift remains.
+     * Reported carts are repaired only if the repair mode is enabled. One instance of the cluster verifies per run.
+     */
+    @Scheduled(fixedDelayString = "${cart-pricing.verifier.interval:PT10M}", initialDelayString = "${cart-pricing.verifier.interval:PT10M}")
+    @Override
+    public void verifyCartPrices() {
+        jobLeaseService.runExclusively(VERIFIER_JOB, verifierLeaseTime, this::verifySample);
+    }
+
+    private void verifySample() {
+        List<CartPriceView> sample = cartDao.findCartPricesFrom(UUID.randomUUID(), sampleSize);
+        meterRegistry.counter("cart.price.verified").increment(sample.size());
+
+        List<UUID> suspectedCartIds = findDrifted(sample).stream().map(CartPriceDrift::cartId).toList();
+        if (suspectedCartIds.isEmpty()) {
+            log.debug("Verified prices of {} carts, no drift found", sample.size());
+            return;
+        }
+
+        List<CartPriceDrift> driftedCarts = transactionTemplate.execute(status -> {
+            List<CartPriceDrift> confirmed = lockAndFindDrifted(suspectedCartIds);
+            if (repair) {
+                confirmed.forEach(cart -> cartDao.setCartPrice(cart.cartId(), cart.expectedPrice()));
+            }
+            return confirmed;
+        });
+
+        meterRegistry.counter("cart.price.drift").increment(driftedCarts.size());
+        driftedCarts.forEach(cart -> log.warn("Cart with ID: {} has price {} but its lines price it at {}{}",
+                cart.cartId(), cart.cartPrice(), cart.expectedPrice(), repair ? ", repaired" : ""));
+    }
+
+    private List<CartPriceDrift> lockAndFindDrifted(Collection<UUID> cartIds) {
+        cartDao.lockByIds(cartIds);
+        return findDrifted(cartDao.findCartPrices(cartIds));
+    }
+
+    /**
+     * Compares the stored prices of the given carts with the prices of their lines. The lines themselves are read,
+     * with one query for all carts, only for carts whose campaign prices individual products.
+     *
+     * @param carts The stored prices of the carts, with the totals of their lines
+     * @return The carts whose stored price differs
+     */
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
+    @Override
+    public List<CartPriceDrift> findDrifted(List<CartPriceView> carts) {
+        Map<UUID, DiscountRule> discountRules = new HashMap<>();
+        List<UUID> lineCartIds = new ArrayList<>();
+        for (CartPriceView cart : carts) {
+            if (cart.getCampaignId() != null) {
+                DiscountRule discountRule = discountRuleOf(cart);
+                discountRules.put(cart.getCartId(), discountRule);
+                if (discountRule.needsLines()) {
+                    lineCartIds.add(cart.getCartId());
+                }
+            }
+        }
+        Map<UUID, CartLines> cartLines = lineCartIds.isEmpty() ? Map.of() : findCartLines(lineCartIds);
+
+        List<CartPriceDrift> driftedCarts = new ArrayList<>();
+        for (CartPriceView cart : carts) {
+            DiscountRule discountRule = discountRules.get(cart.getCartId());
+            BigDecimal expectedPrice = discountRule == null
+                    ? cart.getLineTotal()
+                    : discountRule.apply(cartLines.getOrDefault(cart.getCartId(), CartLines.ofTotal(Cents.toCents(cart.getLineTotal()))));
+            if (cart.getCartPrice().compareTo(expectedPrice) != 0) {
+                driftedCarts.add(new CartPriceDrift(cart.getCartId(), cart.getCartPrice(), expectedPrice));
+            }
+        }
+        return driftedCarts;
+    }
+
+    /**
+     * Takes the compiled rule of the campaign from the campaign catalog, or compiles it if the catalog does not
+     * hold the campaign, for example because the campaign was deleted after it was applied.
+     */
+    private DiscountRule discountRuleOf(CartPriceView cart) {
+        return campaignCatalogService.findDiscountRule(cart.getCampaignId())
+                .orElseGet(() -> discountStrategyFactory.compile(CampaignType.valueOf(cart.getCampaignType()),
+                        cart.getDiscountValue(), DISCOUNT_RULES_CONVERTER.convertToEntityAttribute(cart.getDiscountRules())));
+    }
+
+    private Map<UUID, CartLines> findCartLines(Collection<UUID> cartIds) {
+        Map<UUID, List<CartLineView>> linesByCart = cartItemDao.findLinesByCartIds(cartIds).stream()
+                .collect(Collectors.groupingBy(CartLineView::getCartId));
+        Map<UUID, CartLines> cartLines = new HashMap<>();
+        linesByCart.forEach((cartId, lines) -> {
+            CartLines cart = CartLines.withCapacity(lines.size());
+            lines.forEach(line -> cart.add(line.getProductId(), line.getProductQuantity(), Cents.toCents(line.getCartItemPrice())));
+            cartLines.put(cartId, cart);
+        });
+        return cartLines;
+    }
+}
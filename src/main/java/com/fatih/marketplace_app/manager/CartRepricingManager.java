@@ -0,0 +1,197 @@
+package com.fatih.marketplace_app.manager;
+
+import com.fatih.marketplace_app.dao.CartDao;
+import com.fatih.marketplace_app.dao.CartPriceBatchDao;
+import com.fatih.marketplace_app.dto.cart.CartPriceDrift;
+import com.fatih.marketplace_app.dto.cart.CartRepricingProgress;
+import com.fatih.marketplace_app.enums.RepricingStatus;
+import com.fatih.marketplace_app.manager.service.CartPricingService;
+import com.fatih.marketplace_app.manager.service.CartRepricingService;
+import com.fatih.marketplace_app.repository.projection.CartPriceView;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Manager class responsible for re-pricing the carts of a campaign after its discount changed.
+ * A reader thread walks the carts of the campaign in ID order, one chunk per query, and hands each chunk to a
+ * virtual thread that prices it with the compiled rule from the campaign catalog and writes the changed prices
+ * with one batch. The number of chunks in flight is bounded, which bounds both memory and database connections.
+ * A cart changed while its chunk is priced keeps the price set by that change, as the change prices it as well.
+ * The re-pricing runs on the instance that changed the campaign; a restart leaves the remaining carts to the
+ * cart price verifier.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CartRepricingManager implements CartRepricingService {
+
+    private static final UUID FIRST_ID = new UUID(0L, 0L);
+
+    private final CartDao cartDao;
+    private final CartPriceBatchDao cartPriceBatchDao;
+    private final CartPricingService cartPricingService;
+    private final Map<UUID, RepricingJob> repricingJobs = new ConcurrentHashMap<>();
+
+    @Value("${cart-repricing.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${cart-repricing.parallelism:8}")
+    private int parallelism;
+
+    /**
+     * Starts re-pricing the carts of a campaign after the current transaction commits, so that the re-pricing
+     * reads the changed campaign. Without a transaction, the re-pricing starts at once.
+     *
+     * @param campaignId The ID of the changed campaign
+     */
+    @Override
+    public void repriceCampaignCarts(UUID campaignId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            startRepricing(campaignId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                startRepricing(campaignId);
+            }
+        });
+    }
+
+    /**
+     * Returns the progress of the latest re-pricing of each campaign, most recent first.
+     *
+     * @return The progress of the re-pricings
+     */
+    @Override
+    public List<CartRepricingProgress> getRepricingProgress() {
+        return repricingJobs.values().stream()
+                .map(RepricingJob::toProgress)
+                .sorted(Comparator.comparing(CartRepricingProgress::startTime).reversed())
+                .toList();
+    }
+
+    private void startRepricing(UUID campaignId) {
+        RepricingJob job = new RepricingJob(campaignId, LocalDateTime.now());
+        RepricingJob previousJob = repricingJobs.put(campaignId, job);
+        if (previousJob != null) {
+            previousJob.supersede();
+        }
+        Thread.ofVirtual().name("cart-repricing-" + campaignId).start(() -> runRepricing(job));
+    }
+
+    /**
+     * Reads the chunks of carts of the campaign in ID order and prices each chunk on its own virtual thread.
+     * Reading stops at the first chunk that is not full, or when a newer re-pricing of the campaign starts.
+     */
+    private void runRepricing(RepricingJob job) {
+        log.info("Re-pricing carts of campaign with ID: {}", job.campaignId);
+        Semaphore chunksInFlight = new Semaphore(parallelism);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            UUID afterId = FIRST_ID;
+            List<CartPriceView> chunk;
+            do {
+                chunk = cartDao.findCampaignCartPrices(job.campaignId, afterId, chunkSize);
+                if (chunk.isEmpty()) {
+                    break;
+                }
+                afterId = chunk.getLast().getCartId();
+                chunksInFlight.acquire();
+                List<CartPriceView> carts = chunk;
+                executor.execute(() -> {
+                    try {
+                        repriceChunk(job, carts);
+                    } finally {
+                        chunksInFlight.release();
+                    }
+                });
+            } while (chunk.size() == chunkSize && job.isRunning());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            job.fail();
+        } catch (RuntimeException e) {
+            log.error("Failed to read the carts of campaign with ID: {}", job.campaignId, e);
+            job.fail();
+        }
+        job.complete();
+        log.info("Re-pricing of campaign with ID: {} ended as {}, {} of {} carts re-priced", job.campaignId,
+                job.status, job.repricedCarts.get(), job.scannedCarts.get());
+    }
+
+    private void repriceChunk(RepricingJob job, List<CartPriceView> carts) {
+        if (!job.isRunning()) {
+            return;
+        }
+        try {
+            List<CartPriceDrift> driftedCarts = cartPricingService.findDrifted(carts);
+            int repricedCount = driftedCarts.isEmpty() ? 0 : cartPriceBatchDao.updateCartPrices(job.campaignId, driftedCarts);
+            job.scannedCarts.addAndGet(carts.size());
+            job.repricedCarts.addAndGet(repricedCount);
+        } catch (RuntimeException e) {
+            log.error("Failed to re-price carts {} to {} of campaign with ID: {}",
+                    carts.getFirst().getCartId(), carts.getLast().getCartId(), job.campaignId, e);
+            job.fail();
+        }
+    }
+
+    /**
+     * Running or finished re-pricing of the carts of one campaign.
+     */
+    private static final class RepricingJob {
+
+        private final UUID campaignId;
+        private final LocalDateTime startTime;
+        private final AtomicLong scannedCarts = new AtomicLong();
+        private final AtomicLong repricedCarts = new AtomicLong();
+        private volatile RepricingStatus status = RepricingStatus.RUNNING;
+        private volatile LocalDateTime endTime;
+
+        private RepricingJob(UUID campaignId, LocalDateTime startTime) {
+            this.campaignId = campaignId;
+            this.startTime = startTime;
+        }
+
+        private boolean isRunning() {
+            return status == RepricingStatus.RUNNING;
+        }
+
+        private synchronized void supersede() {
+            if (isRunning()) {
+                status = RepricingStatus.SUPERSEDED;
+            }
+        }
+
+        private synchronized void fail() {
+            if (isRunning()) {
+                status = RepricingStatus.FAILED;
+            }
+        }
+
+        private synchronized void complete() {
+            if (isRunning()) {
+                status = RepricingStatus.COMPLETED;
+            }
+            endTime = LocalDateTime.now();
+        }
+
+        private CartRepricingProgress toProgress() {
+            return new CartRepricingProgress(campaignId, status, scannedCarts.get(), repricedCarts.get(),
+                    startTime, endTime);
+        }
+    }
+}
@@ -0,0 +1,204 @@
+package com.fatih.marketplace_app.manager;
+
+import com.fatih.marketplace_app.entity.OrderEntity;
+import com.fatih.marketplace_app.exception.BusinessException;
+import com.fatih.marketplace_app.exception.DataAlreadyExistException;
+import com.fatih.marketplace_app.exception.ResourceNotFoundException;
+import com.fatih.marketplace_app.manager.service.CheckoutQueueService;
+import com.fatih.marketplace_app.manager.service.JobLeaseService;
+import com.fatih.marketplace_app.manager.service.OrderService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.MessageSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Manager class responsible for asynchronous checkout.
+ * Pending orders are put on a bounded in-memory queue that is drained by a fixed number of virtual-thread workers.
+ * The number of workers bounds how many checkouts hit the database at once; the queue bounds how many wait.
+ * Orders lost from the queue, for example on restart, are picked up again by a periodic recovery.
+ * An order is queued at most once at a time per instance, and an order whose processing keeps failing
+ * for other than business reasons is marked as failed after the maximum number of attempts.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CheckoutQueueManager implements CheckoutQueueService {
+
+    private static final String RECOVERY_JOB = "checkout-recovery";
+
+    private final OrderService orderService;
+    private final MessageSource messageSource;
+    private final JobLeaseService jobLeaseService;
+    private final List<Thread> workers = new ArrayList<>();
+    private final Set<UUID> queuedOrders = ConcurrentHashMap.newKeySet();
+    private final Map<UUID, Integer> failedAttempts = new ConcurrentHashMap<>();
+
+    @Value("${checkout.queue-capacity:1000}")
+    private int queueCapacity;
+
+    @Value("${checkout.workers:8}")
+    private int workerCount;
+
+    @Value("${checkout.pending-timeout:PT1M}")
+    private Duration pendingTimeout;
+
+    @Value("${checkout.recovery-lease-time:PT1M}")
+    private Duration recoveryLeaseTime;
+
+    @Value("${checkout.max-attempts:3}")
+    private int maxAttempts;
+
+    private BlockingQueue<UUID> pendingOrders;
+
+    /**
+     * Creates the queue and starts the workers.
+     */
+    @PostConstruct
+    public void start() {
+        log.info("Starting {} checkout workers with queue capacity {}", workerCount, queueCapacity);
+
+        pendingOrders = new ArrayBlockingQueue<>(queueCapacity);
+        for (int i = 0; i < workerCount; i++) {
+            workers.add(Thread.ofVirtual().name("checkout-worker-" + i).start(this::drainQueue));
+        }
+    }
+
+    /**
+     * Stops the workers. Orders still in the queue stay pending and are recovered on the next start.
+     */
+    @PreDestroy
+    public void stop() {
+        log.info("Stopping checkout workers, {} orders left in queue", pendingOrders.size());
+
+        workers.forEach(Thread::interrupt);
+    }
+
+    /**
+     * Saves the order as pending and queues it for settlement.
+     * Submissions are rejected while the queue is full, so that the backlog stays bounded.
+     *
+     * @param requestedOrder the order entity to be submitted
+     * @return the saved pending order entity
+     * @throws BusinessException if the checkout queue is full
+     */
+    @Override
+    public OrderEntity submitOrder(OrderEntity requestedOrder) {
+        log.info("Submitting order for asynchronous checkout");
+
+        if (pendingOrders.remainingCapacity() == 0) {
+            log.warn("Checkout queue is full, rejecting order");
+            throw new BusinessException(
+                    messageSource.getMessage("backend.exceptions.ORD003", new Object[]{}, Locale.getDefault()));
+        }
+
+        OrderEntity pendingOrder = orderService.submitOrder(requestedOrder);
+
+        if (!queue(pendingOrder.getId())) {
+            log.warn("Checkout queue filled up, order with ID: {} left for recovery", pendingOrder.getId());
+        }
+
+        return pendingOrder;
+    }
+
+    /**
+     * Queues pending orders that have not been processed within the pending timeout,
+     * such as orders that were in the queue when the application stopped. Orders that are still queued
+     * or being processed on this instance are not queued again.
+     * One instance of the cluster recovers per run, so that a stale order is not queued on every instance.
+     */
+    @Scheduled(fixedDelayString = "${checkout.recovery-interval:PT1M}", initialDelayString = "${checkout.recovery-initial-delay:PT10S}")
+    public void recoverPendingOrders() {
+        jobLeaseService.runExclusively(RECOVERY_JOB, recoveryLeaseTime, this::queueStalePendingOrders);
+    }
+
+    private void queueStalePendingOrders() {
+        int capacity = pendingOrders.remainingCapacity();
+        if (capacity == 0) {
+            return;
+        }
+
+        List<UUID> staleOrderIds = orderService.getStalePendingOrderIds(LocalDateTime.now().minus(pendingTimeout), capacity);
+        if (!staleOrderIds.isEmpty()) {
+            log.info("Recovering {} pending orders", staleOrderIds.size());
+            staleOrderIds.forEach(this::queue);
+        }
+    }
+
+    /**
+     * Queues an order unless it is queued or being processed already.
+     *
+     * @return {@code false} if the queue is full
+     */
+    private boolean queue(UUID orderId) {
+        if (!queuedOrders.add(orderId)) {
+            log.debug("Order with ID: {} is queued already", orderId);
+            return true;
+        }
+        if (!pendingOrders.offer(orderId)) {
+            queuedOrders.remove(orderId);
+            return false;
+        }
+        return true;
+    }
+
+    private void drainQueue() {
+        while (!Thread.currentThread().isInterrupted()) {
+            UUID orderId;
+            try {
+                orderId = pendingOrders.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                continue;
+            }
+            try {
+                process(orderId);
+            } catch (RuntimeException e) {
+                log.error("Checkout worker failed to record an order result", e);
+            } finally {
+                queuedOrders.remove(orderId);
+            }
+        }
+    }
+
+    /**
+     * Settles one pending order. Business failures such as insufficient stock or balance mark the order as failed;
+     * other failures leave it pending so that it is retried by the recovery, until the maximum number of attempts
+     * is reached and the order is marked as failed with a generic reason.
+     */
+    private void process(UUID orderId) {
+        try {
+            orderService.processPendingOrder(orderId);
+            failedAttempts.remove(orderId);
+        } catch (BusinessException | ResourceNotFoundException | DataAlreadyExistException e) {
+            failedAttempts.remove(orderId);
+            orderService.failPendingOrder(orderId, e.getMessage());
+        } catch (RuntimeException e) {
+            int attempts = failedAttempts.merge(orderId, 1, Integer::sum);
+            if (attempts < maxAttempts) {
+                log.error("Processing of pending order with ID: {} failed on attempt {}, leaving it for recovery", orderId, attempts, e);
+                return;
+            }
+            log.error("Processing of pending order with ID: {} failed {} times, marking it as failed", orderId, attempts, e);
+            failedAttempts.remove(orderId);
+            orderService.failPendingOrder(orderId,
+                    messageSource.getMessage("backend.exceptions.ORD006", new Object[]{}, Locale.getDefault()));
+        }
+    }
+}
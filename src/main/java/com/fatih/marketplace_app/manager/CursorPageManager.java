@@ -0,0 +1,83 @@
+package com.fatih.marketplace_app.manager;
+
+import com.fatih.marketplace_app.dao.KeysetPageDao;
+import com.fatih.marketplace_app.dto.page.CursorPage;
+import com.fatih.marketplace_app.dto.page.CursorPosition;
+import com.fatih.marketplace_app.entity.BaseEntity;
+import com.fatih.marketplace_app.exception.BusinessException;
+import com.fatih.marketplace_app.manager.service.CursorPageService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.MessageSource;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Manager class responsible for keyset pagination.
+ * Unlike offset pages, a keyset page seeks straight to the row after the previous page,
+ * and the total count is only computed when the client asks for it.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CursorPageManager implements CursorPageService {
+
+    private final KeysetPageDao keysetPageDao;
+    private final MessageSource messageSource;
+
+    /**
+     * Retrieves one page of entities following the position encoded in the token.
+     * One extra row is read to find out whether another page follows.
+     *
+     * @param entityClass The entity type to read
+     * @param filter An additional restriction, or null
+     * @param token The continuation token of the previous page, or null for the first page
+     * @param size The maximum number of entities to return
+     * @param withTotal Whether to count all matching entities as well
+     * @param <E> The entity type
+     * @return The page of entities with the continuation token of the next page
+     * @throws BusinessException if the token is malformed
+     */
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
+    @Override
+    public <E extends BaseEntity> CursorPage<E> getPage(Class<E> entityClass, Specification<E> filter, String token, int size, boolean withTotal) {
+        log.info("Retrieving {} page of {} after token: {}", entityClass.getSimpleName(), size, token);
+
+        CursorPosition after = decode(token);
+        List<E> rows = keysetPageDao.findPage(entityClass, filter, after, size + 1);
+
+        String nextToken = null;
+        if (rows.size() > size) {
+            rows = rows.subList(0, size);
+            E last = rows.getLast();
+            nextToken = new CursorPosition(last.getCreateTime(), last.getId()).toToken();
+        }
+        Long totalElements = withTotal ? keysetPageDao.count(entityClass, filter) : null;
+
+        return new CursorPage<>(rows, nextToken, totalElements);
+    }
+
+    /**
+     * Decodes a continuation token.
+     *
+     * @param token The continuation token, or null for the first page
+     * @return The decoded position, or null for the first page
+     * @throws BusinessException if the token is malformed
+     */
+    private CursorPosition decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            return CursorPosition.fromToken(token);
+        } catch (IllegalArgumentException e) {
+            throw new BusinessException(messageSource.getMessage("backend.exceptions.PAG001",
+                    new Object[]{token}, Locale.getDefault()));
+        }
+    }
+}
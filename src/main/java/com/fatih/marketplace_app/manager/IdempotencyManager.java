@@ -0,0 +1,260 @@
+package com.fatih.marketplace_app.manager;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fatih.marketplace_app.dao.IdempotencyDao;
+import com.fatih.marketplace_app.dto.idempotency.IdempotencyRecord;
+import com.fatih.marketplace_app.exception.DataAlreadyExistException;
+import com.fatih.marketplace_app.manager.service.IdempotencyService;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.MessageSource;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+import static com.fatih.marketplace_app.constant.HeaderConst.IDEMPOTENT_REPLAYED;
+
+/**
+ * Service class responsible for idempotent request execution.
+ * Duplicates arriving at this instance while the first request is running wait on its result in memory;
+ * duplicates arriving at other instances see the in-progress record in the store and poll it.
+ * The in-progress record expires after the lock TTL, so that a crashed instance does not hold a key forever,
+ * and is renewed every third of the lock TTL while the request runs, so that a slow request keeps its key.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class IdempotencyManager implements IdempotencyService {
+
+    private static final long POLL_INTERVAL_MILLIS = 100;
+
+    private final IdempotencyDao idempotencyDao;
+    private final ObjectMapper objectMapper;
+    private final MessageSource messageSource;
+    private final Map<String, CompletableFuture<IdempotencyRecord>> inFlightRequests = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService lockRenewals = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("idempotency-lock-renewal").daemon().factory());
+
+    @Value("${idempotency.response-ttl:PT24H}")
+    private Duration responseTtl;
+
+    @Value("${idempotency.lock-ttl:PT30S}")
+    private Duration lockTtl;
+
+    @Value("${idempotency.wait-timeout:PT10S}")
+    private Duration waitTimeout;
+
+    /**
+     * Executes the action at most once per scope and idempotency key.
+     *
+     * @param scope          the name of the operation the key belongs to
+     * @param idempotencyKey the client supplied idempotency key, or null
+     * @param request        the request body
+     * @param responseType   the type of the response body
+     * @param action         the action producing the response
+     * @param <T>            the type of the response body
+     * @return the fresh or replayed response
+     * @throws DataAlreadyExistException if the key is still being processed elsewhere or was used for another request
+     */
+    @Override
+    public <T> ResponseEntity<T> execute(String scope, String idempotencyKey, Object request,
+                                         Class<T> responseType, Supplier<ResponseEntity<T>> action) {
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            return action.get();
+        }
+
+        String key = scope + ":" + idempotencyKey;
+        String fingerprint = fingerprint(request);
+        log.info("Executing idempotent request with key: {}", key);
+
+        CompletableFuture<IdempotencyRecord> ownRequest = new CompletableFuture<>();
+        CompletableFuture<IdempotencyRecord> inFlightRequest = inFlightRequests.putIfAbsent(key, ownRequest);
+        if (inFlightRequest != null) {
+            log.debug("Waiting for in-flight request with key: {}", key);
+            return replay(key, awaitInFlight(key, inFlightRequest), fingerprint, responseType);
+        }
+
+        try {
+            Optional<IdempotencyRecord> storedRecord = idempotencyDao.find(key);
+            if (storedRecord.isPresent() && storedRecord.get().completed()) {
+                ownRequest.complete(storedRecord.get());
+                return replay(key, storedRecord.get(), fingerprint, responseType);
+            }
+
+            IdempotencyRecord lockRecord = new IdempotencyRecord(fingerprint, null, null);
+            if (!idempotencyDao.saveIfAbsent(key, lockRecord, lockTtl)) {
+                IdempotencyRecord completedRecord = awaitStored(key);
+                ownRequest.complete(completedRecord);
+                return replay(key, completedRecord, fingerprint, responseType);
+            }
+
+            ResponseEntity<T> response = runAndStore(key, lockRecord, action);
+            ownRequest.complete(new IdempotencyRecord(fingerprint, response.getStatusCode().value(), write(response.getBody())));
+            return response;
+        } catch (RuntimeException e) {
+            ownRequest.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlightRequests.remove(key, ownRequest);
+        }
+    }
+
+    /**
+     * Stops renewing the locks of requests that are still running when the application shuts down.
+     */
+    @PreDestroy
+    public void stop() {
+        lockRenewals.shutdownNow();
+    }
+
+    /**
+     * Runs the action while renewing the lock of the key and stores its response,
+     * or releases the key if the action fails so that it can be retried.
+     */
+    private <T> ResponseEntity<T> runAndStore(String key, IdempotencyRecord lockRecord, Supplier<ResponseEntity<T>> action) {
+        long renewalMillis = Math.max(lockTtl.toMillis() / 3, 1);
+        ScheduledFuture<?> lockRenewal = lockRenewals.scheduleAtFixedRate(() -> renewLock(key, lockRecord),
+                renewalMillis, renewalMillis, TimeUnit.MILLISECONDS);
+        ResponseEntity<T> response;
+        try {
+            response = action.get();
+        } catch (RuntimeException e) {
+            lockRenewal.cancel(false);
+            log.debug("Request with key: {} failed, releasing the key", key);
+            idempotencyDao.delete(key);
+            throw e;
+        }
+        lockRenewal.cancel(false);
+
+        idempotencyDao.save(key,
+                new IdempotencyRecord(lockRecord.fingerprint(), response.getStatusCode().value(), write(response.getBody())),
+                responseTtl);
+        log.debug("Stored response for key: {}", key);
+
+        return response;
+    }
+
+    /**
+     * Extends the lock of a running request. Failures are logged rather than thrown,
+     * as a thrown exception would stop the renewals that follow.
+     */
+    private void renewLock(String key, IdempotencyRecord lockRecord) {
+        try {
+            if (!idempotencyDao.renew(key, lockRecord, lockTtl)) {
+                log.warn("Lock of idempotency key: {} expired while its request was running", key);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Failed to renew the lock of idempotency key: {}", key, e);
+        }
+    }
+
+    /**
+     * Waits for a request with the same key running on this instance and returns its result.
+     * If that request failed, its exception is rethrown for the duplicate as well.
+     */
+    private IdempotencyRecord awaitInFlight(String key, CompletableFuture<IdempotencyRecord> inFlightRequest) {
+        try {
+            return inFlightRequest.get(waitTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            throw inProgress(key);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw inProgress(key);
+        }
+    }
+
+    /**
+     * Polls the store until the request holding the key on another instance has stored its response.
+     */
+    private IdempotencyRecord awaitStored(String key) {
+        long deadline = System.nanoTime() + waitTimeout.toNanos();
+        while (System.nanoTime() - deadline < 0) {
+            Optional<IdempotencyRecord> storedRecord = idempotencyDao.find(key);
+            if (storedRecord.isPresent() && storedRecord.get().completed()) {
+                return storedRecord.get();
+            }
+            if (storedRecord.isEmpty()) {
+                log.debug("Request with key: {} was released without a response", key);
+                break;
+            }
+            try {
+                Thread.sleep(POLL_INTERVAL_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        throw inProgress(key);
+    }
+
+    private <T> ResponseEntity<T> replay(String key, IdempotencyRecord idempotencyRecord,
+                                         String fingerprint, Class<T> responseType) {
+        if (!idempotencyRecord.fingerprint().equals(fingerprint)) {
+            throw new DataAlreadyExistException(messageSource.getMessage("backend.exceptions.IDM002",
+                    new Object[]{key},
+                    Locale.getDefault()));
+        }
+        log.info("Replaying stored response for key: {}", key);
+
+        return ResponseEntity.status(HttpStatusCode.valueOf(idempotencyRecord.status()))
+                .header(IDEMPOTENT_REPLAYED, Boolean.TRUE.toString())
+                .body(read(idempotencyRecord.body(), responseType));
+    }
+
+    private DataAlreadyExistException inProgress(String key) {
+        return new DataAlreadyExistException(messageSource.getMessage("backend.exceptions.IDM001",
+                new Object[]{key},
+                Locale.getDefault()));
+    }
+
+    private String fingerprint(Object request) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(write(request).getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private String write(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unwritable idempotent request or response", e);
+        }
+    }
+
+    private <T> T read(String value, Class<T> type) {
+        try {
+            return objectMapper.readValue(value, type);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unreadable idempotent response", e);
+        }
+    }
+}
@@ -72,8 +72,8 @@ public class InvoiceExportManager {
         document.add(new Paragraph("PRODUCTS:"));
         log.debug("Adding product list to PDF document");
 
-        invoice.getOrder().getCart().getCartItem().forEach(cartItem -> {
-            String productName = cartItem.getProduct().getProductName();
+        invoice.getOrder().getOrderLines().forEach(orderLine -> {
+            String productName = orderLine.getProductName();
             log.trace("Added product '{}' to PDF document", productName);
             try {
                 document.add(new Paragraph(productName));
@@ -1,11 +1,14 @@
 package com.fatih.marketplace_app.manager;
 
 import com.fatih.marketplace_app.dao.InvoiceDao;
+import com.fatih.marketplace_app.dto.page.CursorPage;
 import com.fatih.marketplace_app.entity.InvoiceEntity;
 import com.fatih.marketplace_app.entity.OrderEntity;
 import com.fatih.marketplace_app.exception.BusinessException;
 import com.fatih.marketplace_app.exception.ResourceNotFoundException;
+import com.fatih.marketplace_app.manager.service.CursorPageService;
 import com.fatih.marketplace_app.manager.service.InvoiceService;
+import com.fatih.marketplace_app.manager.service.NumberGeneratorService;
 import com.fatih.marketplace_app.manager.service.OrderService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -30,12 +33,14 @@ public class InvoiceManager implements InvoiceService {
 
     private final InvoiceDao invoiceDao;
     private final OrderService orderService;
+    private final NumberGeneratorService numberGeneratorService;
     private final InvoiceExportManager invoiceExportManager;
     private final MessageSource messageSource;
+    private final CursorPageService cursorPageService;
 
     /**
      * Creates and exports an invoice for a given order.
-     * Generates a new invoice with a random invoice number, saves it to the database,
+     * Generates a new invoice with a unique invoice number, saves it to the database,
      * and then processes the export to PDF.
      *
      * @param orderId The ID of the order for which to create an invoice
@@ -52,7 +57,7 @@ public class InvoiceManager implements InvoiceService {
 
         InvoiceEntity invoiceEntity = InvoiceEntity.builder()
                 .order(foundOrder)
-                .invoiceNumber(orderService.generateRandomOrderNumber())
+                .invoiceNumber(numberGeneratorService.nextInvoiceNumber())
                 .build();
 
         invoiceDao.save(invoiceEntity);
@@ -113,6 +118,22 @@ public class InvoiceManager implements InvoiceService {
         return invoiceDao.findAll(pageable);
     }
 
+    /**
+     * Retrieves invoices with keyset pagination, newest first, without an offset scan.
+     *
+     * @param token The continuation token of the previous page, or null for the first page
+     * @param size The maximum number of invoices to return
+     * @param withTotal Whether to count all invoices as well
+     * @return A page of invoices with the continuation token of the next page
+     */
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
+    @Override
+    public CursorPage<InvoiceEntity> getAllInvoicesByCursor(String token, int size, boolean withTotal) {
+        log.info("Retrieving invoices by cursor. Size: {}", size);
+
+        return cursorPageService.getPage(InvoiceEntity.class, null, token, size, withTotal);
+    }
+
     /**
      * Retrieves an invoice by its ID.
      *
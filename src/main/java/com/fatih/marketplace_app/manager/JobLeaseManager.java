@@ -0,0 +1,95 @@
+package com.fatih.marketplace_app.manager;
+
+import com.fatih.marketplace_app.dao.JobLeaseDao;
+import com.fatih.marketplace_app.dto.job.UuidRange;
+import com.fatih.marketplace_app.manager.service.JobLeaseService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+
+/**
+ * Manager class responsible for coordinating scheduled jobs across instances.
+ * Before an instance runs a job, or a partition of a job, it takes the lease of that partition in the database;
+ * instances that find the lease taken skip it. A lease ends when its job finishes, but not before the minimum
+ * hold time, so that instances whose schedule fires a little later skip the run as well. A lease also ends
+ * after its lease time, so that the job of an instance that stopped is picked up again by the next run.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class JobLeaseManager implements JobLeaseService {
+
+    private static final int SINGLE_PARTITION = 0;
+
+    private final JobLeaseDao jobLeaseDao;
+    private final String owner = ManagementFactory.getRuntimeMXBean().getName() + "/" + UUID.randomUUID();
+
+    @Value("${job-lease.min-hold:PT30S}")
+    private Duration minHoldTime;
+
+    /**
+     * Runs a job if no other instance holds its lease.
+     *
+     * @param jobName The name of the job
+     * @param leaseTime The longest time the job is expected to run
+     * @param job The job to run
+     * @return true if the job was run by this instance
+     */
+    @Override
+    public boolean runExclusively(String jobName, Duration leaseTime, Runnable job) {
+        if (!jobLeaseDao.tryAcquire(jobName, SINGLE_PARTITION, owner, leaseTime)) {
+            log.debug("Job {} is running on another instance, skipping", jobName);
+            return false;
+        }
+        runLeased(jobName, SINGLE_PARTITION, job);
+        return true;
+    }
+
+    /**
+     * Runs each partition of a job whose lease no other instance holds. Partitions are tried starting at a random
+     * one, so that instances starting at the same time take different partitions instead of racing for the same.
+     * A failing partition is logged and its lease ended at once, so that the next run retries it.
+     *
+     * @param jobName The name of the job
+     * @param partitionCount The number of partitions
+     * @param leaseTime The longest time one partition is expected to run
+     * @param job The job to run for the key range of a partition
+     * @return The number of partitions run by this instance
+     */
+    @Override
+    public int runPartitioned(String jobName, int partitionCount, Duration leaseTime, Consumer<UuidRange> job) {
+        int firstPartition = ThreadLocalRandom.current().nextInt(partitionCount);
+        int runCount = 0;
+        for (int i = 0; i < partitionCount; i++) {
+            int partition = (firstPartition + i) % partitionCount;
+            if (!jobLeaseDao.tryAcquire(jobName, partition, owner, leaseTime)) {
+                continue;
+            }
+            try {
+                runLeased(jobName, partition, () -> job.accept(UuidRange.ofPartition(partition, partitionCount)));
+                runCount++;
+            } catch (RuntimeException e) {
+                log.error("Partition {} of job {} failed", partition, jobName, e);
+            }
+        }
+        log.debug("Ran {} of {} partitions of job {}", runCount, partitionCount, jobName);
+        return runCount;
+    }
+
+    private void runLeased(String jobName, int partition, Runnable job) {
+        Duration holdTime = Duration.ZERO;
+        try {
+            job.run();
+            holdTime = minHoldTime;
+        } finally {
+            jobLeaseDao.release(jobName, partition, owner, holdTime);
+        }
+    }
+}
@@ -0,0 +1,301 @@
+package com.fatih.marketplace_app.manager;
+
+import com.fatih.marketplace_app.dao.CartItemDao;
+import com.fatih.marketplace_app.dao.LiveCartDao;
+import com.fatih.marketplace_app.dto.cart.LiveCart;
+import com.fatih.marketplace_app.dto.cart.LiveCartLine;
+import com.fatih.marketplace_app.entity.CampaignEntity;
+import com.fatih.marketplace_app.entity.CartEntity;
+import com.fatih.marketplace_app.entity.CartItemEntity;
+import com.fatih.marketplace_app.exception.ResourceNotFoundException;
+import com.fatih.marketplace_app.manager.service.CampaignCatalogService;
+import com.fatih.marketplace_app.manager.service.CartExpiryService;
+import com.fatih.marketplace_app.manager.service.CartService;
+import com.fatih.marketplace_app.manager.service.LiveCartService;
+import com.fatih.marketplace_app.manager.service.ProductService;
+import com.fatih.marketplace_app.strategy.CartLines;
+import com.fatih.marketplace_app.strategy.DiscountRule;
+import com.fatih.marketplace_app.strategy.DiscountStrategyFactory;
+import com.fatih.marketplace_app.util.Cents;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Manager class responsible for live carts.
+ * While a customer browses, cart changes only touch the Redis hash of the cart. The cart items and the cart price
+ * in the database are written at checkout, or write-behind once the cart has been idle for a while,
+ * so that carts that are abandoned and changed many times cost at most one database write per idle period.
+ * <p>
+ * While a cart is live, its Redis hash owns the lines and a flush replaces the stored cart items with them.
+ * Checkout and the cart item endpoints therefore end the live cart first, writing its lines to the database,
+ * so that the database owns the lines until the next live change makes the cart live again from the stored items.
+ * Flushing, ending and making a cart live all hold the cart lock, like every other cart change.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class LiveCartManager implements LiveCartService {
+
+    private final LiveCartDao liveCartDao;
+    private final CartService cartService;
+    private final ProductService productService;
+    private final DiscountStrategyFactory discountStrategyFactory;
+    private final TransactionTemplate transactionTemplate;
+    private final CartExpiryService cartExpiryService;
+    private final CampaignCatalogService campaignCatalogService;
+    private final CartItemDao cartItemDao;
+
+    @Value("${live-cart.ttl:PT15M}")
+    private Duration ttl;
+
+    @Value("${live-cart.flush-after:PT5M}")
+    private Duration flushAfter;
+
+    @Value("${live-cart.flush-batch-size:100}")
+    private int flushBatchSize;
+
+    /**
+     * Retrieves the live state of a cart. Carts that are not live are read from the database without making them live.
+     *
+     * @param cartId The ID of the cart
+     * @return The live cart
+     * @throws ResourceNotFoundException if the cart is not live and does not exist
+     */
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
+    @Override
+    public LiveCart getLiveCart(UUID cartId) {
+        log.info("Retrieving live cart with ID: {}", cartId);
+        return liveCartDao.find(cartId).orElseGet(() -> toLiveCart(cartService.getCartWithItemsById(cartId)));
+    }
+
+    /**
+     * Adds a quantity of a product to a live cart. A new line takes the current price of the product.
+     *
+     * @param cartId The ID of the cart
+     * @param productId The ID of the product
+     * @param quantity The quantity to add
+     * @return The live cart after the change
+     * @throws ResourceNotFoundException if the product or the cart does not exist
+     */
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
+    @Override
+    public LiveCart addProduct(UUID cartId, UUID productId, int quantity) {
+        log.info("Adding {} of product with ID: {} to live cart with ID: {}", quantity, productId, cartId);
+
+        BigDecimal unitPrice = productService.getProductById(productId).getProductPrice();
+        changeQuantity(cartId, productId, quantity, unitPrice);
+        return getLiveCart(cartId);
+    }
+
+    /**
+     * Removes a quantity of a product from a live cart.
+     *
+     * @param cartId The ID of the cart
+     * @param productId The ID of the product
+     * @param quantity The quantity to remove
+     * @return The live cart after the change
+     * @throws ResourceNotFoundException if the cart does not exist
+     */
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
+    @Override
+    public LiveCart removeProduct(UUID cartId, UUID productId, int quantity) {
+        log.info("Removing {} of product with ID: {} from live cart with ID: {}", quantity, productId, cartId);
+
+        changeQuantity(cartId, productId, -quantity, BigDecimal.ZERO);
+        return getLiveCart(cartId);
+    }
+
+    /**
+     * Locks the cart, then replaces its cart items with the lines of its live cart and sets the cart price to the
+     * running total, discounted by the campaign of the cart. Unchanged items are not updated. The cart stays live.
+     *
+     * @param cartId The ID of the cart
+     * @throws ResourceNotFoundException if the cart does not exist
+     */
+    @Transactional
+    @Override
+    public void flushCart(UUID cartId) {
+        cartService.lockCart(cartId);
+        liveCartDao.find(cartId).ifPresent(liveCart -> {
+            log.debug("Flushing live cart with ID: {}", cartId);
+            writeLines(cartId, liveCart);
+        });
+    }
+
+    /**
+     * Locks the cart and ends its live state, writing its lines to the database so that the change that follows
+     * works on the current lines. If the transaction rolls back, the live cart is restored unless the cart was
+     * made live again in the meantime. While Redis is unavailable the stored cart items are used as they are.
+     *
+     * @param cartId The ID of the cart
+     * @throws ResourceNotFoundException if the cart does not exist
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    @Override
+    public void endLiveCart(UUID cartId) {
+        cartService.lockCart(cartId);
+        Optional<LiveCart> takenCart;
+        try {
+            takenCart = liveCartDao.take(cartId);
+        } catch (DataAccessException e) {
+            log.warn("Redis unavailable, changing cart with ID: {} without its live state", cartId, e);
+            return;
+        }
+        takenCart.ifPresent(liveCart -> {
+            log.debug("Ending live cart with ID: {}", cartId);
+            writeLines(cartId, liveCart);
+            cartItemDao.flushAndClear();
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        restoreLiveCart(liveCart);
+                    }
+                }
+            });
+        });
+    }
+
+    /**
+     * Flushes live carts that have not been changed for the flush delay, in batches of the flush batch size.
+     * Each cart is claimed before it is flushed, so that every change is written by one instance only,
+     * and is flushed in its own transaction. Carts whose flush fails are marked as changed again.
+     */
+    @Scheduled(fixedDelayString = "${live-cart.flush-interval:PT1M}", initialDelayString = "${live-cart.flush-interval:PT1M}")
+    @Override
+    public void flushIdleCarts() {
+        try {
+            int flushed = 0;
+            List<UUID> cartIds;
+            do {
+                cartIds = liveCartDao.findDirtyCartIds(System.currentTimeMillis() - flushAfter.toMillis(), flushBatchSize);
+                for (UUID cartId : cartIds) {
+                    if (liveCartDao.claimDirty(cartId) && flushClaimedCart(cartId)) {
+                        flushed++;
+                    }
+                }
+            } while (cartIds.size() == flushBatchSize);
+
+            if (flushed > 0) {
+                log.info("Flushed {} idle live carts", flushed);
+            }
+        } catch (DataAccessException e) {
+            log.warn("Redis unavailable, live carts are flushed on the next run", e);
+        }
+    }
+
+    private boolean flushClaimedCart(UUID cartId) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> flushCart(cartId));
+            return true;
+        } catch (ResourceNotFoundException e) {
+            log.warn("Live cart with ID: {} has no stored cart, skipping it", cartId);
+        } catch (RuntimeException e) {
+            log.warn("Flushing live cart with ID: {} failed, retrying on the next run", cartId, e);
+            liveCartDao.markDirty(cartId);
+        }
+        return false;
+    }
+
+    /**
+     * Changes the quantity of a line, making the cart live from its stored items first if needed.
+     * The stored items are read under the cart lock, so that a running change of the stored items is seen.
+     */
+    private void changeQuantity(UUID cartId, UUID productId, long delta, BigDecimal unitPrice) {
+        if (liveCartDao.addQuantity(cartId, productId, delta, unitPrice, ttl) < 0) {
+            log.debug("Cart with ID: {} is not live, seeding it from the database", cartId);
+            transactionTemplate.executeWithoutResult(status -> {
+                cartService.lockCart(cartId);
+                liveCartDao.seed(cartId, toLiveCart(cartService.getCartWithItemsById(cartId)).lines(), ttl);
+            });
+            liveCartDao.addQuantity(cartId, productId, delta, unitPrice, ttl);
+        }
+    }
+
+    /**
+     * Replaces the cart items of a locked cart with the lines of its live cart and reprices the cart.
+     */
+    private void writeLines(UUID cartId, LiveCart liveCart) {
+        CartEntity foundCart = cartService.getCartWithItemsById(cartId);
+        Map<UUID, LiveCartLine> lines = liveCart.lines().stream()
+                .collect(Collectors.toMap(LiveCartLine::productId, Function.identity(), (first, second) -> first, HashMap::new));
+
+        foundCart.getCartItem().removeIf(cartItem -> {
+            LiveCartLine line = lines.remove(cartItem.getProduct().getId());
+            if (line == null) {
+                return true;
+            }
+            cartItem.setProductQuantity(line.productQuantity());
+            cartItem.setCartItemPrice(line.linePrice());
+            return false;
+        });
+        lines.values().forEach(line -> foundCart.getCartItem().add(CartItemEntity.builder()
+                .cart(foundCart)
+                .product(productService.getProductReference(line.productId()))
+                .productQuantity(line.productQuantity())
+                .cartItemPrice(line.linePrice())
+                .build()));
+
+        foundCart.setCartPrice(applyCampaign(foundCart, liveCart));
+        cartExpiryService.scheduleExpiry(cartId);
+    }
+
+    /**
+     * Makes a cart live again with the lines of a live cart that was ended by a rolled back change.
+     */
+    private void restoreLiveCart(LiveCart liveCart) {
+        try {
+            liveCartDao.restore(liveCart, ttl);
+        } catch (DataAccessException e) {
+            log.warn("Failed to restore live cart with ID: {}", liveCart.cartId(), e);
+        }
+    }
+
+    private LiveCart toLiveCart(CartEntity cart) {
+        List<LiveCartLine> lines = cart.getCartItem().stream()
+                .map(cartItem -> {
+                    BigDecimal unitPrice = cartItem.getProduct().getProductPrice();
+                    return new LiveCartLine(cartItem.getProduct().getId(), cartItem.getProductQuantity(), unitPrice,
+                            unitPrice.multiply(BigDecimal.valueOf(cartItem.getProductQuantity())));
+                })
+                .toList();
+        BigDecimal cartPrice = lines.stream().map(LiveCartLine::linePrice).reduce(BigDecimal.ZERO, BigDecimal::add);
+        return new LiveCart(cart.getId(), lines, cartPrice);
+    }
+
+    private BigDecimal applyCampaign(CartEntity cart, LiveCart liveCart) {
+        CampaignEntity campaign = cart.getCampaign();
+        if (campaign == null) {
+            return liveCart.cartPrice();
+        }
+        DiscountRule discountRule = campaignCatalogService.findDiscountRule(campaign.getId())
+                .orElseGet(() -> discountStrategyFactory.compile(
+                        campaign.getCampaignType(), campaign.getDiscountValue(), campaign.getDiscountRules()));
+        if (!discountRule.needsLines()) {
+            return discountRule.apply(CartLines.ofTotal(Cents.toCents(liveCart.cartPrice())));
+        }
+        CartLines cartLines = CartLines.withCapacity(liveCart.lines().size());
+        liveCart.lines().forEach(line ->
+                cartLines.add(line.productId(), line.productQuantity(), Cents.toCents(line.linePrice())));
+        return discountRule.apply(cartLines);
+    }
+}
@@ -0,0 +1,74 @@
+package com.fatih.marketplace_app.manager;
+
+import com.fatih.marketplace_app.dao.InvoiceDao;
+import com.fatih.marketplace_app.dao.OrderDao;
+import com.fatih.marketplace_app.manager.service.NumberGeneratorService;
+import com.fatih.marketplace_app.util.TimeOrderedNumberGenerator;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * Service class generating order and invoice numbers with a {@link TimeOrderedNumberGenerator}.
+ * Every instance must be configured with its own {@code number-generator.node-id}, which keeps numbers
+ * of different instances apart without any coordination at runtime. The generated numbers start with a letter,
+ * which keeps them apart from the all-digit random numbers of orders and invoices created before.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class NumberGeneratorManager implements NumberGeneratorService {
+
+    private final OrderDao orderDao;
+    private final InvoiceDao invoiceDao;
+
+    @Value("${number-generator.node-id:0}")
+    private int nodeId;
+
+    private TimeOrderedNumberGenerator generator;
+
+    /**
+     * Creates the generator and moves it past the numbers this node issued before a restart.
+     * Only numbers in the range of the generator are considered, and they are parsed strictly,
+     * so that startup fails rather than continuing after a number the generator did not issue.
+     */
+    @PostConstruct
+    public void initialize() {
+        generator = new TimeOrderedNumberGenerator(nodeId);
+
+        String lowerBound = TimeOrderedNumberGenerator.format(nodeId);
+        String upperBound = TimeOrderedNumberGenerator.format(generator.upperBound());
+        String nodeSuffix = String.valueOf(nodeId);
+        orderDao.findMaxOrderNumber(lowerBound, upperBound, nodeSuffix).ifPresent(this::advancePast);
+        invoiceDao.findMaxInvoiceNumber(lowerBound, upperBound, nodeSuffix).ifPresent(this::advancePast);
+
+        log.info("Number generator initialized for node {}", nodeId);
+    }
+
+    /**
+     * Generates a new unique order number, increasing on this node and ending in the node ID.
+     *
+     * @return The 12-character order number
+     */
+    @Override
+    public String nextOrderNumber() {
+        return TimeOrderedNumberGenerator.format(generator.next());
+    }
+
+    /**
+     * Generates a new unique invoice number, taken from the same sequence as the order numbers.
+     *
+     * @return The 12-character invoice number
+     */
+    @Override
+    public String nextInvoiceNumber() {
+        return TimeOrderedNumberGenerator.format(generator.next());
+    }
+
+    private void advancePast(String issuedNumber) {
+        log.debug("Continuing after previously issued number {}", issuedNumber);
+        generator.advancePast(TimeOrderedNumberGenerator.parse(issuedNumber));
+    }
+}
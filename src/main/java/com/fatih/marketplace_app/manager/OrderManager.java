@@ -1,25 +1,51 @@
 package com.fatih.marketplace_app.manager;
 
 import com.fatih.marketplace_app.dao.OrderDao;
+import com.fatih.marketplace_app.dao.OrderLineDao;
+import com.fatih.marketplace_app.dto.order.OrderBatchResult;
+import com.fatih.marketplace_app.dto.order.OrderCancellationResult;
 import com.fatih.marketplace_app.entity.*;
+import com.fatih.marketplace_app.dto.page.CursorPage;
+import com.fatih.marketplace_app.enums.OrderStatus;
+import com.fatih.marketplace_app.enums.WalletTransactionType;
 import com.fatih.marketplace_app.exception.BusinessException;
 import com.fatih.marketplace_app.manager.service.AddressService;
 import com.fatih.marketplace_app.manager.service.CartService;
+import com.fatih.marketplace_app.manager.service.CursorPageService;
+import com.fatih.marketplace_app.manager.service.LiveCartService;
+import com.fatih.marketplace_app.manager.service.NumberGeneratorService;
 import com.fatih.marketplace_app.manager.service.OrderService;
+import com.fatih.marketplace_app.manager.service.OrderSummaryService;
+import com.fatih.marketplace_app.manager.service.ProductService;
 import com.fatih.marketplace_app.manager.service.WalletService;
+import com.fatih.marketplace_app.repository.projection.OrderLockView;
+import com.fatih.marketplace_app.util.LockOrder;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.MessageSource;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Locale;
-import java.util.Random;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
 import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -31,138 +57,364 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class OrderManager implements OrderService {
 
+    private static final int MAX_FAILURE_REASON_LENGTH = 255;
+
     private final OrderDao orderDao;
+    private final OrderLineDao orderLineDao;
     private final CartService cartService;
+    private final LiveCartService liveCartService;
     private final WalletService walletService;
     private final AddressService addressService;
+    private final ProductService productService;
+    private final NumberGeneratorService numberGeneratorService;
+    private final OrderSummaryService orderSummaryService;
     private final MessageSource messageSource;
+    private final TransactionTemplate transactionTemplate;
+    private final CursorPageService cursorPageService;
+
+    @Value("${checkout.batch-chunk-size:50}")
+    private int batchChunkSize;
 
     /**
      * Creates a new order with validation of wallet balance and product stock.
      *
      * @param requestedOrder The order entity to be created
      * @return The created order entity
-     * @throws BusinessException if wallet balance is insufficient or product stock is unavailable
+     * @throws BusinessException if the cart is empty, wallet balance is insufficient or product stock is unavailable
      */
     @Transactional
     @Override
     public OrderEntity createOrder(OrderEntity requestedOrder) {
         log.info("Creating new order for cart ID: {}", requestedOrder.getCart().getId());
 
-        CartEntity foundCart = cartService.getCartById(requestedOrder.getCart().getId());
+        liveCartService.endLiveCart(requestedOrder.getCart().getId());
+        CartEntity foundCart = cartService.getCartWithItemsById(requestedOrder.getCart().getId());
         log.debug("Retrieved cart with ID: {}", foundCart.getId());
 
-        WalletEntity foundWallet = walletService.getWalletById(requestedOrder.getWallet().getId());
-        log.debug("Retrieved wallet with ID: {}", foundWallet.getId());
+        prepareOrder(requestedOrder, foundCart);
+        OrderEntity savedOrder = orderDao.save(requestedOrder);
+        snapshotOrderLines(List.of(savedOrder));
+        settleOrder(savedOrder);
+        orderSummaryService.recordOrder(savedOrder);
+        recycleCarts(List.of(foundCart.getId()));
 
-        AddressEntity createdAddress = addressService.createAddress(requestedOrder.getAddress());
-        log.debug("Created address with ID: {}", createdAddress.getId());
+        return savedOrder;
+    }
 
+    /**
+     * Saves a new order in {@link OrderStatus#PENDING} status without reserving stock or charging the wallet.
+     * The order lines and price are fixed now, and the cart is emptied for the next order.
+     *
+     * @param requestedOrder The order entity to be submitted
+     * @return The saved pending order entity
+     * @throws BusinessException if the cart is empty
+     */
+    @Transactional
+    @Override
+    public OrderEntity submitOrder(OrderEntity requestedOrder) {
+        log.info("Submitting pending order for cart ID: {}", requestedOrder.getCart().getId());
 
-        requestedOrder.setUser(foundCart.getUser());
-        requestedOrder.setAddress(createdAddress);
+        liveCartService.endLiveCart(requestedOrder.getCart().getId());
+        CartEntity foundCart = cartService.getCartWithItemsById(requestedOrder.getCart().getId());
+        log.debug("Retrieved cart with ID: {}", foundCart.getId());
 
-        log.debug("Validating wallet balance. Current balance: {}, Required amount: {}",
-                foundWallet.getBalance(), foundCart.getCartPrice());
-        validateWalletBalance(foundWallet, foundCart.getCartPrice());
+        prepareOrder(requestedOrder, foundCart);
+        requestedOrder.setOrderStatus(OrderStatus.PENDING);
 
-        log.debug("Validating and deducting product stock");
-        validateAndDeductProductStock(foundCart);
+        OrderEntity savedOrder = orderDao.save(requestedOrder);
+        snapshotOrderLines(List.of(savedOrder));
+        orderSummaryService.recordOrder(savedOrder);
+        recycleCarts(List.of(foundCart.getId()));
 
-        log.debug("Updating wallet balance");
-        updateWalletBalance(foundWallet, foundCart.getCartPrice());
+        return savedOrder;
+    }
 
-        requestedOrder.setOrderNumber(generateRandomOrderNumber());
-        log.debug("Generated order number");
+    /**
+     * Settles a pending order by reserving the product stock of its lines and charging its wallet with its price.
+     * The order row is locked first, so an order is settled at most once even if it is processed concurrently.
+     * Orders that are no longer pending are skipped.
+     *
+     * @param orderId The ID of the pending order
+     * @throws BusinessException if wallet balance is insufficient or product stock is unavailable
+     */
+    @Transactional
+    @Override
+    public void processPendingOrder(UUID orderId) {
+        log.info("Processing pending order with ID: {}", orderId);
 
-        requestedOrder.setFinalPrice(foundCart.getCartPrice());
-        log.debug("Set final price to CartEntity");
+        OrderEntity foundOrder = orderDao.findByIdForUpdate(orderId)
+                .orElseThrow(() -> new BusinessException(
+                        messageSource.getMessage("backend.exceptions.ORD001",
+                                new Object[]{orderId}, Locale.getDefault())));
+
+        if (foundOrder.getOrderStatus() != OrderStatus.PENDING) {
+            log.debug("Order with ID: {} is already {}", orderId, foundOrder.getOrderStatus());
+            return;
+        }
 
-        return orderDao.save(requestedOrder);
+        settleOrder(foundOrder);
+        foundOrder.setOrderStatus(OrderStatus.FINALIZED);
+        orderSummaryService.recordOrderStatus(orderId, OrderStatus.FINALIZED);
+        log.info("Order with ID: {} finalized", orderId);
     }
 
     /**
-     * Validates that the wallet has sufficient balance for the order.
+     * Marks a pending order as failed in its own transaction, so the status survives the rollback of the failed attempt.
      *
-     * @param wallet The wallet entity to validate
-     * @param cartPrice The total price of the cart
-     * @throws BusinessException if wallet balance is insufficient
+     * @param orderId The ID of the pending order
+     * @param failureReason The reason the order could not be settled
      */
-    private void validateWalletBalance(WalletEntity wallet, BigDecimal cartPrice) {
-        log.debug("Validating wallet balance: {} against cart price: {}", wallet.getBalance(), cartPrice);
-
-        if (wallet.getBalance().compareTo(cartPrice) < 0) {
-            log.warn("Insufficient wallet balance. Wallet ID: {}, Balance: {}, Required: {}",
-                    wallet.getId(), wallet.getBalance(), cartPrice);
-
-            throw new BusinessException(
-                    messageSource.getMessage("backend.exceptions.WLT003",
-                            new Object[]{wallet.getId()},
-                            Locale.getDefault())
-            );
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @Override
+    public void failPendingOrder(UUID orderId, String failureReason) {
+        log.warn("Marking pending order with ID: {} as failed: {}", orderId, failureReason);
+
+        String reason = failureReason != null && failureReason.length() > MAX_FAILURE_REASON_LENGTH
+                ? failureReason.substring(0, MAX_FAILURE_REASON_LENGTH)
+                : failureReason;
+
+        if (orderDao.updateStatusIfCurrent(orderId, OrderStatus.PENDING, OrderStatus.FAILED, reason)) {
+            orderSummaryService.recordOrderStatus(orderId, OrderStatus.FAILED);
+        } else {
+            log.debug("Order with ID: {} is no longer pending", orderId);
         }
     }
 
     /**
-     * Validates that all products in the cart have sufficient stock
-     * and deducts the quantities from stock.
+     * Retrieves the IDs of pending orders that have not been updated since the given time.
      *
-     * @param cart The cart entity containing the items to validate
-     * @throws BusinessException if any product has insufficient stock
+     * @param updatedBefore The time the orders must have been last updated before
+     * @param limit The maximum number of IDs to return
+     * @return A list of order IDs, oldest first
      */
-    private void validateAndDeductProductStock(CartEntity cart) {
-        log.debug("Validating product stock for {} cart items", cart.getCartItem().size());
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
+    @Override
+    public List<UUID> getStalePendingOrderIds(LocalDateTime updatedBefore, int limit) {
+        log.debug("Retrieving pending orders updated before {}", updatedBefore);
 
-        cart.getCartItem().forEach(item -> {
-            ProductEntity product = item.getProduct();
+        return orderDao.findIdsByStatusUpdatedBefore(OrderStatus.PENDING, updatedBefore, limit);
+    }
 
-            log.trace("Checking stock for product ID: {}. Available: {}, Required: {}",
-                    product.getId(), product.getStockQuantity(), item.getProductQuantity());
+    /**
+     * Creates many orders, processing them in chunks that each run in their own transaction.
+     * Within a chunk all products and wallets involved are locked up front in ID order, so concurrent batches
+     * and single checkouts acquire locks in the same order and cannot deadlock. Orders are then checked
+     * against the locked stock and balances one by one, and the ones that fit are created together.
+     * An order that does not fit is reported as failed without affecting the others; an unexpected error
+     * rolls back its whole chunk and reports all orders of that chunk as failed, with a generic reason
+     * unless the error is a business error, so that database details are only logged.
+     *
+     * @param requestedOrders The order entities to be created
+     * @return One result per requested order, in request order
+     */
+    @Override
+    public List<OrderBatchResult> createOrders(List<OrderEntity> requestedOrders) {
+        log.info("Creating {} orders in chunks of {}", requestedOrders.size(), batchChunkSize);
+
+        List<OrderBatchResult> results = new ArrayList<>(requestedOrders.size());
+        for (int start = 0; start < requestedOrders.size(); start += batchChunkSize) {
+            int offset = start;
+            List<OrderEntity> chunk = requestedOrders.subList(start, Math.min(start + batchChunkSize, requestedOrders.size()));
+            try {
+                results.addAll(transactionTemplate.execute(status -> createOrderChunk(chunk, offset)));
+            } catch (RuntimeException e) {
+                log.warn("Order chunk starting at {} failed and was rolled back", offset, e);
+                String failureReason = e instanceof BusinessException
+                        ? e.getMessage()
+                        : messageSource.getMessage("backend.exceptions.ORD006", new Object[]{}, Locale.getDefault());
+                for (int i = 0; i < chunk.size(); i++) {
+                    results.add(OrderBatchResult.failure(offset + i, chunk.get(i).getCart().getId(), failureReason));
+                }
+            }
+        }
 
-            if (product.getStockQuantity() < item.getProductQuantity()) {
-                log.warn("Insufficient product stock. Product ID: {}, Available: {}, Required: {}",
-                        product.getId(), product.getStockQuantity(), item.getProductQuantity());
+        log.info("Created {} of {} orders", results.stream().filter(OrderBatchResult::succeeded).count(), requestedOrders.size());
+        return results;
+    }
 
-                throw new BusinessException(
-                        messageSource.getMessage("backend.exceptions.PRD002", new Object[]{product.getId()},
-                                Locale.getDefault())
-                );
+    /**
+     * Creates the orders of one chunk inside the current transaction.
+     *
+     * @param chunk The order entities of the chunk
+     * @param offset The position of the first order of the chunk in the batch
+     * @return One result per order of the chunk
+     */
+    private List<OrderBatchResult> createOrderChunk(List<OrderEntity> chunk, int offset) {
+        chunk.stream()
+                .map(order -> order.getCart().getId())
+                .distinct()
+                .sorted()
+                .forEach(liveCartService::endLiveCart);
+        Map<UUID, CartEntity> cartsById = cartService.getCartsByIds(chunk.stream().map(order -> order.getCart().getId()).toList())
+                .stream()
+                .collect(Collectors.toMap(CartEntity::getId, Function.identity()));
+
+        Map<UUID, SortedMap<UUID, Long>> quantitiesByCart = new HashMap<>();
+        cartsById.values().forEach(cart -> quantitiesByCart.put(cart.getId(), requestedQuantities(cart)));
+
+        log.debug("Locking products and wallets of {} orders", chunk.size());
+        Map<UUID, Long> stockQuantities = productService.lockStockQuantities(quantitiesByCart.values().stream()
+                .flatMap(quantities -> quantities.keySet().stream())
+                .collect(Collectors.toSet()));
+        Map<UUID, BigDecimal> balances = walletService.lockBalances(chunk.stream()
+                .map(order -> order.getWallet().getId())
+                .collect(Collectors.toSet()));
+
+        OrderBatchResult[] results = new OrderBatchResult[chunk.size()];
+        List<Integer> acceptedPositions = new ArrayList<>();
+        SortedMap<UUID, Long> acceptedQuantities = new TreeMap<>(LockOrder.UUID_ORDER);
+        Set<UUID> orderedCartIds = new HashSet<>();
+
+        for (int i = 0; i < chunk.size(); i++) {
+            OrderEntity requestedOrder = chunk.get(i);
+            UUID cartId = requestedOrder.getCart().getId();
+            UUID walletId = requestedOrder.getWallet().getId();
+            CartEntity foundCart = cartsById.get(cartId);
+
+            String failureReason = null;
+            if (foundCart == null) {
+                failureReason = messageSource.getMessage("backend.exceptions.CRT001", new Object[]{cartId}, Locale.getDefault());
+            } else if (foundCart.getCartItem().isEmpty()) {
+                failureReason = messageSource.getMessage("backend.exceptions.ORD005", new Object[]{cartId}, Locale.getDefault());
+            } else if (!orderedCartIds.add(cartId)) {
+                failureReason = messageSource.getMessage("backend.exceptions.ORD004", new Object[]{cartId}, Locale.getDefault());
+            } else if (!balances.containsKey(walletId)) {
+                failureReason = messageSource.getMessage("backend.exceptions.WLT001", new Object[]{walletId}, Locale.getDefault());
+            } else if (balances.get(walletId).compareTo(foundCart.getCartPrice()) < 0) {
+                failureReason = messageSource.getMessage("backend.exceptions.WLT003", new Object[]{walletId}, Locale.getDefault());
+            } else {
+                SortedMap<UUID, Long> quantities = quantitiesByCart.get(cartId);
+                List<UUID> failedProductIds = quantities.entrySet().stream()
+                        .filter(entry -> stockQuantities.getOrDefault(entry.getKey(), 0L) < entry.getValue())
+                        .map(Map.Entry::getKey)
+                        .toList();
+                if (!failedProductIds.isEmpty()) {
+                    failureReason = messageSource.getMessage("backend.exceptions.PRD003", new Object[]{failedProductIds}, Locale.getDefault());
+                } else {
+                    quantities.forEach((productId, quantity) -> {
+                        stockQuantities.merge(productId, -quantity, Long::sum);
+                        acceptedQuantities.merge(productId, quantity, Long::sum);
+                    });
+                    balances.merge(walletId, foundCart.getCartPrice().negate(), BigDecimal::add);
+                    acceptedPositions.add(i);
+                    continue;
+                }
             }
-        });
-
-        log.debug("Deducting quantities from product stock");
-        cart.getCartItem().forEach(item -> {
-            ProductEntity product = item.getProduct();
-            product.setStockQuantity(product.getStockQuantity() - item.getProductQuantity());
-            log.trace("Updated stock");
-            log.debug("Product stock validation and deduction completed successfully");
-        });
+
+            log.debug("Order {} of batch rejected: {}", offset + i, failureReason);
+            results[i] = OrderBatchResult.failure(offset + i, cartId, failureReason);
+        }
+
+        if (!acceptedPositions.isEmpty()) {
+            productService.reserveStock(acceptedQuantities);
+        }
+
+        List<OrderEntity> savedOrders = new ArrayList<>(acceptedPositions.size());
+        for (int i : acceptedPositions) {
+            OrderEntity requestedOrder = chunk.get(i);
+            CartEntity foundCart = cartsById.get(requestedOrder.getCart().getId());
+
+            prepareOrder(requestedOrder, foundCart);
+            OrderEntity savedOrder = orderDao.save(requestedOrder);
+            walletService.debit(savedOrder.getWallet().getId(), foundCart.getCartPrice(),
+                    WalletTransactionType.ORDER_PAYMENT, savedOrder.getId());
+            savedOrders.add(savedOrder);
+
+            results[i] = OrderBatchResult.success(offset + i, savedOrder);
+        }
+
+        if (!savedOrders.isEmpty()) {
+            snapshotOrderLines(savedOrders);
+            savedOrders.forEach(orderSummaryService::recordOrder);
+            recycleCarts(savedOrders.stream().map(order -> order.getCart().getId()).toList());
+        }
+
+        return List.of(results);
     }
 
     /**
-     * Updates the wallet balance by subtracting the cart price.
+     * Fills in the order details that do not depend on stock or wallet balance:
+     * the cart owner, the delivery address, the order number and the price.
      *
-     * @param wallet The wallet entity to update
-     * @param cartPrice The amount to subtract from the wallet balance
+     * @param requestedOrder The order entity to prepare
+     * @param foundCart The cart of the order
+     * @throws BusinessException if the cart has no items
      */
-    private void updateWalletBalance(WalletEntity wallet, BigDecimal cartPrice) {
-        log.debug("Updating wallet balance");
-        wallet.setBalance(wallet.getBalance().subtract(cartPrice));
-        log.debug("Wallet balance updated successfully");
+    private void prepareOrder(OrderEntity requestedOrder, CartEntity foundCart) {
+        if (foundCart.getCartItem().isEmpty()) {
+            log.warn("Cart with ID: {} is empty", foundCart.getId());
+            throw new BusinessException(messageSource.getMessage("backend.exceptions.ORD005",
+                    new Object[]{foundCart.getId()}, Locale.getDefault()));
+        }
+
+        AddressEntity createdAddress = addressService.createAddress(requestedOrder.getAddress());
+        log.debug("Created address with ID: {}", createdAddress.getId());
+
+        requestedOrder.setUser(foundCart.getUser());
+        requestedOrder.setAddress(createdAddress);
+
+        requestedOrder.setOrderNumber(numberGeneratorService.nextOrderNumber());
+        log.debug("Generated order number");
+
+        requestedOrder.setFinalPrice(foundCart.getCartPrice());
+        log.debug("Set final price to CartEntity");
     }
 
     /**
-     * Generates a random 12-digit order number.
+     * Writes the lines of the given saved orders from their carts with one statement
+     * and loads them into the orders with one query.
      *
-     * @return A random 12-digit order number as a String
+     * @param orders The saved order entities
      */
-    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
-    public String generateRandomOrderNumber() {
-        log.debug("Generating random order number");
+    private void snapshotOrderLines(List<OrderEntity> orders) {
+        List<UUID> orderIds = orders.stream().map(OrderEntity::getId).toList();
+        int lineCount = orderLineDao.insertFromCarts(orderIds);
+        log.debug("Wrote {} lines of {} orders", lineCount, orders.size());
+
+        Map<UUID, List<OrderLineEntity>> linesByOrder = orderLineDao.findAllByOrderIds(orderIds).stream()
+                .collect(Collectors.groupingBy(line -> line.getOrder().getId()));
+        orders.forEach(order -> order.setOrderLines(linesByOrder.getOrDefault(order.getId(), List.of())));
+    }
 
-        return new Random().ints(12, 0, 10)
-                .mapToObj(String::valueOf)
-                .collect(Collectors.joining());
+    /**
+     * Empties the ordered carts so that they can be filled again. Their live state was ended before the cart was read.
+     *
+     * @param cartIds The IDs of the ordered carts
+     */
+    private void recycleCarts(List<UUID> cartIds) {
+        cartService.recycleCarts(cartIds);
+    }
+
+    /**
+     * Reserves the product stock of the order lines and charges the order's wallet with the order price.
+     *
+     * @param order The saved order entity with its lines
+     * @throws BusinessException if wallet balance is insufficient or product stock is unavailable
+     */
+    private void settleOrder(OrderEntity order) {
+        log.debug("Reserving product stock for {} order lines", order.getOrderLines().size());
+        SortedMap<UUID, Long> requestedQuantities = new TreeMap<>(LockOrder.UUID_ORDER);
+        order.getOrderLines().forEach(line ->
+                requestedQuantities.merge(line.getProductId(), line.getProductQuantity().longValue(), Long::sum));
+        productService.reserveStock(requestedQuantities);
+
+        log.debug("Debiting wallet balance");
+        walletService.debit(order.getWallet().getId(), order.getFinalPrice(),
+                WalletTransactionType.ORDER_PAYMENT, order.getId());
+    }
+
+    /**
+     * Sums the quantities of the cart items per product.
+     *
+     * @param cart The cart entity
+     * @return The requested quantities keyed by product ID, in lock order
+     */
+    private SortedMap<UUID, Long> requestedQuantities(CartEntity cart) {
+        SortedMap<UUID, Long> requestedQuantities = new TreeMap<>(LockOrder.UUID_ORDER);
+        cart.getCartItem().forEach(item ->
+                requestedQuantities.merge(item.getProduct().getId(), item.getProductQuantity().longValue(), Long::sum));
+
+        return requestedQuantities;
     }
 
     /**
@@ -195,7 +447,7 @@ public class OrderManager implements OrderService {
     public OrderEntity getOrderById(UUID orderId) {
         log.info("Retrieving order with ID: {}", orderId);
 
-        return orderDao.findById(orderId)
+        return orderDao.findWithDetailsById(orderId)
                 .orElseThrow(() -> new BusinessException(
                         messageSource.getMessage("backend.exceptions.ORD001",
                                 new Object[]{orderId}, Locale.getDefault())));
@@ -216,8 +468,25 @@ public class OrderManager implements OrderService {
         return orderDao.findAll(pageable);
     }
 
+    /**
+     * Retrieves orders with keyset pagination, newest first, without an offset scan.
+     *
+     * @param token The continuation token of the previous page, or null for the first page
+     * @param size The maximum number of orders to return
+     * @param withTotal Whether to count all orders as well
+     * @return A page of orders with the continuation token of the next page
+     */
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
+    @Override
+    public CursorPage<OrderEntity> getAllOrdersByCursor(String token, int size, boolean withTotal) {
+        log.info("Retrieving orders by cursor. Size: {}", size);
+
+        return cursorPageService.getPage(OrderEntity.class, null, token, size, withTotal);
+    }
+
     /**
      * Cancels an order, restoring wallet balance and product stock.
+     * Only finalized orders were charged, so pending and failed orders are cancelled without a refund.
      *
      * @param orderId The ID of the order to cancel
      * @throws BusinessException if no order exists with the given ID
@@ -227,34 +496,57 @@ public class OrderManager implements OrderService {
     public void cancelOrder(UUID orderId) {
         log.info("Canceling order with ID: {}", orderId);
 
-        OrderEntity foundOrder = getOrderById(orderId);
-
-        log.debug("Restoring wallet balance");
-        foundOrder.getWallet().setBalance(foundOrder.getWallet().getBalance().add(foundOrder.getFinalPrice()));
-
-        log.debug("Restoring product stock for {} cart items", foundOrder.getCart().getCartItem().size());
-        foundOrder.getCart().getCartItem().forEach(item -> {
-            ProductEntity product = item.getProduct();
-            product.setStockQuantity(product.getStockQuantity() + item.getProductQuantity());
-        });
+        OrderCancellationResult result = cancelOrders(List.of(orderId));
+        if (!result.notFoundOrderIds().isEmpty()) {
+            throw new BusinessException(messageSource.getMessage("backend.exceptions.ORD001",
+                    new Object[]{orderId}, Locale.getDefault()));
+        }
 
-        orderDao.delete(foundOrder);
         log.info("Order with ID: {} canceled successfully", orderId);
     }
 
     /**
-     * Retrieves all orders for a specific user with pagination.
+     * Cancels many orders with a fixed number of set-based statements, however many orders, products and wallets
+     * are involved: the orders are locked in ID order, the stock of all finalized orders is restored in one update,
+     * their payments are refunded in one guarded wallet update that records one refund per order, and all orders
+     * are marked as cancelled in one update. Locks are taken orders first, then products, then wallets,
+     * the same order pending checkouts use. Only finalized orders were charged, so pending and failed orders
+     * are cancelled without a refund.
      *
-     * @param userId The ID of the user whose orders to retrieve
-     * @param pageable Pagination information
-     * @return A page of order entities for the specified user
+     * @param orderIds The IDs of the orders to cancel
+     * @return The cancelled, refunded and missing order IDs
      */
-    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
+    @Transactional
     @Override
-    public Page<OrderEntity> getOrdersByUserId(UUID userId, Pageable pageable) {
-        log.info("Retrieving orders for user with ID: {}. Page: {}, Size: {}",
-                userId, pageable.getPageNumber(), pageable.getPageSize());
+    public OrderCancellationResult cancelOrders(Collection<UUID> orderIds) {
+        log.info("Canceling {} orders", orderIds.size());
+
+        Set<UUID> requestedOrderIds = new LinkedHashSet<>(orderIds);
+        List<OrderLockView> lockedOrders = orderDao.lockOrders(requestedOrderIds);
+
+        List<UUID> cancelledOrderIds = lockedOrders.stream().map(OrderLockView::getId).toList();
+        requestedOrderIds.removeAll(cancelledOrderIds);
+        List<UUID> notFoundOrderIds = List.copyOf(requestedOrderIds);
+        List<OrderLockView> finalizedOrders = lockedOrders.stream()
+                .filter(order -> OrderStatus.FINALIZED.name().equals(order.getOrderStatus()))
+                .toList();
+        List<UUID> refundedOrderIds = finalizedOrders.stream().map(OrderLockView::getId).toList();
+
+        if (!refundedOrderIds.isEmpty()) {
+            log.debug("Restoring product stock and wallet balances of {} orders", refundedOrderIds.size());
+            productService.restoreStockOfOrders(refundedOrderIds);
+            walletService.refundOrders(refundedOrderIds, finalizedOrders.stream()
+                    .map(OrderLockView::getWalletId)
+                    .collect(Collectors.toSet()));
+        }
+
+        if (!cancelledOrderIds.isEmpty()) {
+            orderDao.cancelAll(cancelledOrderIds);
+            orderSummaryService.recordCancellation(cancelledOrderIds);
+        }
 
-        return orderDao.findAllByUserId(userId, pageable);
+        log.info("Canceled {} orders, refunded {}, {} not found",
+                cancelledOrderIds.size(), refundedOrderIds.size(), notFoundOrderIds.size());
+        return new OrderCancellationResult(cancelledOrderIds, refundedOrderIds, notFoundOrderIds);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,246 @@
+package com.fatih.marketplace_app.manager;
+
+import com.fatih.marketplace_app.dao.OrderDao;
+import com.fatih.marketplace_app.dao.OrderSummaryDao;
+import com.fatih.marketplace_app.dto.order.OrderSummaryAddress;
+import com.fatih.marketplace_app.dto.order.OrderSummaryLine;
+import com.fatih.marketplace_app.dto.page.CursorPage;
+import com.fatih.marketplace_app.entity.AddressEntity;
+import com.fatih.marketplace_app.entity.OrderEntity;
+import com.fatih.marketplace_app.entity.OrderSummaryEntity;
+import com.fatih.marketplace_app.entity.UserEntity;
+import com.fatih.marketplace_app.enums.OrderStatus;
+import com.fatih.marketplace_app.manager.service.CursorPageService;
+import com.fatih.marketplace_app.manager.service.OrderSummaryService;
+import com.fatih.marketplace_app.repository.projection.OrderPartyView;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Manager class responsible for the order history read model.
+ * Order summaries are written in the same transaction as the order changes they mirror,
+ * so order history pages never show an order that was rolled back.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OrderSummaryManager implements OrderSummaryService {
+
+    private static final UUID BACKFILL_START_ID = new UUID(0, 0);
+
+    private final OrderSummaryDao orderSummaryDao;
+    private final OrderDao orderDao;
+    private final TransactionTemplate transactionTemplate;
+    private final CursorPageService cursorPageService;
+
+    @Value("${order-summary.backfill-on-startup:true}")
+    private boolean backfillOnStartup;
+
+    @Value("${order-summary.backfill-chunk-size:200}")
+    private int backfillChunkSize;
+
+    /**
+     * Creates or refreshes the summary of an order, taking the order lines, the user name and the address
+     * as they are at the time of the call.
+     *
+     * @param order The saved order entity, with its lines, user and address loaded
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    @Override
+    public void recordOrder(OrderEntity order) {
+        log.debug("Recording summary of order with ID: {}", order.getId());
+
+        OrderSummaryEntity orderSummary = orderSummaryDao.findByOrderId(order.getId())
+                .orElseGet(() -> OrderSummaryEntity.builder().orderId(order.getId()).build());
+        UserEntity user = order.getUser();
+        AddressEntity address = order.getAddress();
+        orderSummaryDao.save(toOrderSummary(orderSummary, order, user.getId(), user.getFirstName(), user.getLastName(),
+                new OrderSummaryAddress(address.getId(), address.getCountry(), address.getCity(), address.getDistrict(),
+                        address.getNeighbourhood(), address.getStreet(), address.getApartment(),
+                        address.getApartmentNumber(), address.getZipCode())));
+    }
+
+    /**
+     * Changes the status recorded in the summary of an order.
+     *
+     * @param orderId The ID of the order
+     * @param orderStatus The new status of the order
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    @Override
+    public void recordOrderStatus(UUID orderId, OrderStatus orderStatus) {
+        log.debug("Recording status {} of order with ID: {}", orderStatus, orderId);
+
+        if (!orderSummaryDao.updateOrderStatus(orderId, orderStatus)) {
+            log.warn("Order with ID: {} has no summary yet, it is created by the next backfill", orderId);
+        }
+    }
+
+    /**
+     * Marks the summaries of the given orders as cancelled with a single update.
+     *
+     * @param orderIds The IDs of the cancelled orders
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    @Override
+    public void recordCancellation(Collection<UUID> orderIds) {
+        log.debug("Recording cancellation of {} orders", orderIds.size());
+
+        orderSummaryDao.cancelAll(orderIds);
+    }
+
+    /**
+     * Retrieves the order summaries of a user with a single query on the read model.
+     *
+     * @param userId The ID of the user
+     * @param pageable Pagination information
+     * @return A page of order summaries
+     */
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
+    @Override
+    public Page<OrderSummaryEntity> getOrderSummariesByUserId(UUID userId, Pageable pageable) {
+        log.info("Retrieving order summaries for user with ID: {}. Page: {}, Size: {}",
+                userId, pageable.getPageNumber(), pageable.getPageSize());
+
+        return orderSummaryDao.findAllByUserId(userId, pageable);
+    }
+
+    /**
+     * Retrieves the order summaries of a user with keyset pagination on the read model, newest first.
+     *
+     * @param userId The ID of the user
+     * @param token The continuation token of the previous page, or null for the first page
+     * @param size The maximum number of order summaries to return
+     * @param withTotal Whether to count all orders of the user as well
+     * @return A page of order summaries with the continuation token of the next page
+     */
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
+    @Override
+    public CursorPage<OrderSummaryEntity> getOrderSummariesByUserIdByCursor(UUID userId, String token, int size, boolean withTotal) {
+        log.info("Retrieving order summaries for user with ID: {} by cursor. Size: {}", userId, size);
+
+        return cursorPageService.getPage(OrderSummaryEntity.class,
+                (root, query, criteriaBuilder) -> criteriaBuilder.equal(root.get("userId"), userId),
+                token, size, withTotal);
+    }
+
+    /**
+     * Starts the backfill in the background once the application is ready, so startup is not delayed.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillOnStartup() {
+        if (backfillOnStartup) {
+            Thread.ofVirtual().name("order-summary-backfill").start(this::backfillOrderSummaries);
+        }
+    }
+
+    /**
+     * Creates the missing order summaries in chunks in ID order, each in its own transaction.
+     * An order that cannot be summarized is logged and skipped, and a chunk that fails, for example because
+     * another instance backfilled the same orders, is logged and skipped as a whole; the run continues after them
+     * and the skipped orders are picked up by the next run.
+     *
+     * @return The number of summaries created
+     */
+    @Override
+    public int backfillOrderSummaries() {
+        log.info("Backfilling order summaries in chunks of {}", backfillChunkSize);
+
+        int createdCount = 0;
+        UUID afterId = BACKFILL_START_ID;
+        List<UUID> orderIds;
+        do {
+            orderIds = orderSummaryDao.findOrderIdsWithoutSummary(afterId, backfillChunkSize);
+            if (orderIds.isEmpty()) {
+                break;
+            }
+            List<UUID> chunk = orderIds;
+            try {
+                createdCount += transactionTemplate.execute(status -> backfillChunk(chunk));
+            } catch (DataAccessException e) {
+                log.warn("Order summary backfill skipped the chunk of {} orders after order ID: {}", chunk.size(), afterId, e);
+            }
+            afterId = orderIds.getLast();
+        } while (orderIds.size() == backfillChunkSize);
+
+        log.info("Backfilled {} order summaries", createdCount);
+        return createdCount;
+    }
+
+    /**
+     * Creates the summaries of the given orders inside the current transaction.
+     * The users and addresses are read apart from the orders and their lines, so that a user or address deleted since
+     * the order was placed is still copied into the summary.
+     *
+     * @param orderIds The IDs of orders that have no summary
+     * @return The number of summaries created
+     */
+    private int backfillChunk(List<UUID> orderIds) {
+        Map<UUID, OrderPartyView> partiesByOrder = orderDao.findPartiesByIds(orderIds).stream()
+                .collect(Collectors.toMap(OrderPartyView::getOrderId, Function.identity()));
+
+        List<OrderSummaryEntity> orderSummaries = new ArrayList<>(orderIds.size());
+        for (OrderEntity order : orderDao.findAllWithLinesByIds(orderIds)) {
+            try {
+                OrderPartyView party = partiesByOrder.get(order.getId());
+                orderSummaries.add(toOrderSummary(OrderSummaryEntity.builder().orderId(order.getId()).build(), order,
+                        party.getUserId(), party.getFirstName(), party.getLastName(),
+                        new OrderSummaryAddress(party.getAddressId(), party.getCountry(), party.getCity(), party.getDistrict(),
+                                party.getNeighbourhood(), party.getStreet(), party.getApartment(),
+                                party.getApartmentNumber(), party.getZipCode())));
+            } catch (RuntimeException e) {
+                log.warn("Order summary backfill skipped order with ID: {}", order.getId(), e);
+            }
+        }
+        orderSummaryDao.saveAll(orderSummaries);
+
+        return orderSummaries.size();
+    }
+
+    /**
+     * Copies the fields of the order, its lines, its user and its address into the summary.
+     *
+     * @param orderSummary The summary to fill in
+     * @param order The order entity
+     * @param userId The ID of the user of the order
+     * @param firstName The first name of the user
+     * @param lastName The last name of the user
+     * @param address The delivery address of the order
+     * @return The filled in summary
+     */
+    private OrderSummaryEntity toOrderSummary(OrderSummaryEntity orderSummary, OrderEntity order, UUID userId,
+                                              String firstName, String lastName, OrderSummaryAddress address) {
+        orderSummary.setUserId(userId);
+        orderSummary.setOrderNumber(order.getOrderNumber());
+        orderSummary.setOrderStatus(order.getOrderStatus());
+        orderSummary.setFirstName(firstName);
+        orderSummary.setLastName(lastName);
+        orderSummary.setFinalPrice(order.getFinalPrice());
+        orderSummary.setCreateTime(order.getCreateTime());
+        orderSummary.setLines(order.getOrderLines().stream()
+                .map(line -> new OrderSummaryLine(line.getId(), line.getProductId(), line.getProductName(),
+                        line.getProductDescription(), line.getUnitPrice(), line.getLinePrice(), line.getProductQuantity()))
+                .toList());
+        orderSummary.setAddress(address);
+
+        return orderSummary;
+    }
+}
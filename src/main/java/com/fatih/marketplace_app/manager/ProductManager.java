@@ -1,8 +1,11 @@
 package com.fatih.marketplace_app.manager;
 
 import com.fatih.marketplace_app.dao.ProductDao;
+import com.fatih.marketplace_app.dto.page.CursorPage;
 import com.fatih.marketplace_app.entity.ProductEntity;
+import com.fatih.marketplace_app.exception.BusinessException;
 import com.fatih.marketplace_app.exception.ResourceNotFoundException;
+import com.fatih.marketplace_app.manager.service.CursorPageService;
 import com.fatih.marketplace_app.manager.service.ProductService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -16,8 +19,15 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.SortedMap;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Service class responsible for managing product-related operations.
@@ -29,6 +39,7 @@ public class ProductManager implements ProductService {
 
     private final ProductDao productDao;
     private final MessageSource messageSource;
+    private final CursorPageService cursorPageService;
 
     /**
      * Creates a new product and caches the result.
@@ -59,6 +70,22 @@ public class ProductManager implements ProductService {
         return productDao.findAll(pageable);
     }
 
+    /**
+     * Retrieves products with keyset pagination, newest first, without an offset scan.
+     *
+     * @param token The continuation token of the previous page, or null for the first page
+     * @param size The maximum number of products to return
+     * @param withTotal Whether to count all products as well
+     * @return A page of products with the continuation token of the next page
+     */
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
+    @Override
+    public CursorPage<ProductEntity> getAllProductsByCursor(String token, int size, boolean withTotal) {
+        log.info("Retrieving products by cursor. Size: {}", size);
+
+        return cursorPageService.getPage(ProductEntity.class, null, token, size, withTotal);
+    }
+
     /**
      * Retrieves a product by its unique identifier, caching the result.
      *
@@ -78,6 +105,44 @@ public class ProductManager implements ProductService {
                         Locale.getDefault())));
     }
 
+    /**
+     * Retrieves the products with the given IDs with a single query.
+     *
+     * @param productIds the unique identifiers of the products
+     * @return the product entities keyed by product ID
+     * @throws ResourceNotFoundException if any of the products is not found
+     */
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
+    @Override
+    public Map<UUID, ProductEntity> getProductsByIds(Collection<UUID> productIds) {
+        log.info("Fetching {} products by ID", productIds.size());
+
+        Map<UUID, ProductEntity> foundProducts = productDao.findAllByIds(productIds).stream()
+                .collect(Collectors.toMap(ProductEntity::getId, Function.identity()));
+        productIds.stream()
+                .filter(productId -> !foundProducts.containsKey(productId))
+                .findFirst()
+                .ifPresent(productId -> {
+                    throw new ResourceNotFoundException(messageSource
+                            .getMessage("backend.exceptions.PRD001",
+                                    new Object[]{productId},
+                                    Locale.getDefault()));
+                });
+        return foundProducts;
+    }
+
+    /**
+     * Returns a reference to a product without querying it.
+     *
+     * @param productId the unique identifier of the product
+     * @return a lazily loaded product entity
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    @Override
+    public ProductEntity getProductReference(UUID productId) {
+        return productDao.getReference(productId);
+    }
+
     /**
      * Updates an existing product and evicts the cache entry.
      *
@@ -109,6 +174,51 @@ public class ProductManager implements ProductService {
         productDao.delete(foundProduct);
     }
 
+    /**
+     * Reserves stock for the requested products with one conditional update per product.
+     * Updates are issued in the iteration order of the given map so that concurrent reservations
+     * lock product rows in the same order. Every product is attempted, so the error lists all
+     * products without enough stock; the caller's transaction is rolled back on failure.
+     *
+     * @param requestedQuantities the quantities to reserve, keyed by product ID in lock order
+     * @throws BusinessException if any product does not have enough stock
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    @Override
+    public void reserveStock(SortedMap<UUID, Long> requestedQuantities) {
+        log.info("Reserving stock for {} products", requestedQuantities.size());
+
+        List<UUID> failedProductIds = new ArrayList<>();
+        requestedQuantities.forEach((productId, quantity) -> {
+            if (!productDao.decreaseStock(productId, quantity)) {
+                log.warn("Insufficient product stock. Product ID: {}, Required: {}", productId, quantity);
+                failedProductIds.add(productId);
+            }
+        });
+
+        if (!failedProductIds.isEmpty()) {
+            throw new BusinessException(messageSource
+                    .getMessage("backend.exceptions.PRD003",
+                            new Object[]{failedProductIds},
+                            Locale.getDefault()));
+        }
+        log.debug("Stock reserved successfully");
+    }
+
+    /**
+     * Locks the given products in ID order and returns their current stock quantities.
+     *
+     * @param productIds the unique identifiers of the products
+     * @return the stock quantities keyed by product ID
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    @Override
+    public Map<UUID, Long> lockStockQuantities(Collection<UUID> productIds) {
+        log.info("Locking stock of {} products", productIds.size());
+
+        return productDao.lockStockQuantities(productIds);
+    }
+
     /**
      * Checks and updates product fields based on non-null values from the requested product.
      *
@@ -135,4 +245,20 @@ public class ProductManager implements ProductService {
 
         return foundProduct;
     }
-}
\ No newline at end of file
+
+    /**
+     * Restores the stock reserved by the given orders with one lock statement and one update statement,
+     * regardless of how many orders and order lines are involved.
+     *
+     * @param orderIds the IDs of the orders
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    @Override
+    public void restoreStockOfOrders(Collection<UUID> orderIds) {
+        log.info("Restoring stock of {} orders", orderIds.size());
+
+        List<UUID> lockedProductIds = productDao.lockProductsOfOrders(orderIds);
+        int restoredCount = productDao.restoreStockOfOrders(orderIds);
+        log.debug("Restored stock of {} of {} locked products", restoredCount, lockedProductIds.size());
+    }
+}
@@ -1,9 +1,11 @@
 package com.fatih.marketplace_app.manager;
 
 import com.fatih.marketplace_app.dao.UserDao;
+import com.fatih.marketplace_app.dto.page.CursorPage;
 import com.fatih.marketplace_app.entity.UserEntity;
 import com.fatih.marketplace_app.exception.DataAlreadyExistException;
 import com.fatih.marketplace_app.exception.ResourceNotFoundException;
+import com.fatih.marketplace_app.manager.service.CursorPageService;
 import com.fatih.marketplace_app.manager.service.UserService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -27,6 +29,7 @@ public class UserManager implements UserService {
 
     private final MessageSource messageSource;
     private final UserDao userDao;
+    private final CursorPageService cursorPageService;
 
     /**
      * Creates a new user after validating email and phone number.
@@ -57,6 +60,22 @@ public class UserManager implements UserService {
         return userDao.findAll(pageable);
     }
 
+    /**
+     * Retrieves users with keyset pagination, newest first, without an offset scan.
+     *
+     * @param token The continuation token of the previous page, or null for the first page
+     * @param size The maximum number of users to return
+     * @param withTotal Whether to count all users as well
+     * @return A page of users with the continuation token of the next page
+     */
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
+    @Override
+    public CursorPage<UserEntity> getAllUsersByCursor(String token, int size, boolean withTotal) {
+        log.info("Retrieving users by cursor. Size: {}", size);
+
+        return cursorPageService.getPage(UserEntity.class, null, token, size, withTotal);
+    }
+
     /**
      * Retrieves a user by ID.
      *
@@ -1,11 +1,16 @@
 package com.fatih.marketplace_app.manager;
 
 import com.fatih.marketplace_app.dao.WalletDao;
+import com.fatih.marketplace_app.dao.WalletTransactionDao;
+import com.fatih.marketplace_app.dto.page.CursorPage;
 import com.fatih.marketplace_app.entity.UserEntity;
 import com.fatih.marketplace_app.entity.WalletEntity;
+import com.fatih.marketplace_app.entity.WalletTransactionEntity;
+import com.fatih.marketplace_app.enums.WalletTransactionType;
 import com.fatih.marketplace_app.exception.BusinessException;
 import com.fatih.marketplace_app.exception.DataAlreadyExistException;
 import com.fatih.marketplace_app.exception.ResourceNotFoundException;
+import com.fatih.marketplace_app.manager.service.CursorPageService;
 import com.fatih.marketplace_app.manager.service.UserService;
 import com.fatih.marketplace_app.manager.service.WalletService;
 import lombok.RequiredArgsConstructor;
@@ -18,7 +23,12 @@ import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 
 @Slf4j
@@ -27,8 +37,10 @@ import java.util.UUID;
 public class WalletManager implements WalletService {
 
     private final WalletDao walletDao;
+    private final WalletTransactionDao walletTransactionDao;
     private final UserService userService;
     private final MessageSource messageSource;
+    private final CursorPageService cursorPageService;
 
     /**
      * Creates a new wallet for the given user.
@@ -77,6 +89,22 @@ public class WalletManager implements WalletService {
         return walletDao.findAll(pageable);
     }
 
+    /**
+     * Retrieves wallets with keyset pagination, newest first, without an offset scan.
+     *
+     * @param token The continuation token of the previous page, or null for the first page
+     * @param size The maximum number of wallets to return
+     * @param withTotal Whether to count all wallets as well
+     * @return A page of wallets with the continuation token of the next page
+     */
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
+    @Override
+    public CursorPage<WalletEntity> getAllWalletsByCursor(String token, int size, boolean withTotal) {
+        log.info("Retrieving wallets by cursor. Size: {}", size);
+
+        return cursorPageService.getPage(WalletEntity.class, null, token, size, withTotal);
+    }
+
     /**
      * Deletes a wallet by its ID.
      *
@@ -109,10 +137,9 @@ public class WalletManager implements WalletService {
             );
         }
 
-        WalletEntity foundWallet = getWalletById(walletId);
-        foundWallet.setBalance(foundWallet.getBalance().add(amount));
+        credit(walletId, amount, WalletTransactionType.LOAD, null);
 
-        return walletDao.save(foundWallet);
+        return getWalletById(walletId);
     }
 
     /**
@@ -133,16 +160,9 @@ public class WalletManager implements WalletService {
             );
         }
 
-        WalletEntity foundWallet = getWalletById(walletId);
-
-        if (foundWallet.getBalance().compareTo(amount) < 0) {
-            throw new BusinessException(
-                    messageSource.getMessage("backend.exceptions.WLT003", new Object[]{walletId}, Locale.getDefault())
-            );
-        }
+        debit(walletId, amount, WalletTransactionType.PAYMENT, null);
 
-        foundWallet.setBalance(foundWallet.getBalance().subtract(amount));
-        return walletDao.save(foundWallet);
+        return getWalletById(walletId);
     }
 
     /**
@@ -157,17 +177,91 @@ public class WalletManager implements WalletService {
     public WalletEntity changeBalance(UUID walletId, BigDecimal amount) {
         log.info("Changing balance of wallet with ID: {} to {}", walletId, amount);
 
-        WalletEntity foundWallet = getWalletById(walletId);
-
         if (amount.compareTo(BigDecimal.ZERO) < 0) {
             throw new BusinessException(
                     messageSource.getMessage("backend.exceptions.WLT006", new Object[]{}, Locale.getDefault())
             );
         }
 
-        foundWallet.setBalance(amount);
+        walletDao.changeBalance(walletId, amount);
 
-        return walletDao.save(foundWallet);
+        return getWalletById(walletId);
+    }
+
+    /**
+     * Subtracts an amount from the wallet balance with a single conditional update
+     * and records it in the wallet's transaction history.
+     *
+     * @param walletId The UUID of the wallet.
+     * @param amount The amount to subtract.
+     * @param transactionType The type of the transaction to record.
+     * @param referenceId The UUID of the related record, or null.
+     */
+    @Transactional
+    @Override
+    public void debit(UUID walletId, BigDecimal amount, WalletTransactionType transactionType, UUID referenceId) {
+        log.info("Debiting {} from wallet with ID: {} as {}", amount, walletId, transactionType);
+
+        if (!walletDao.debit(walletId, amount, transactionType, referenceId)) {
+            getWalletById(walletId);
+            log.warn("Insufficient wallet balance. Wallet ID: {}, Required: {}", walletId, amount);
+
+            throw new BusinessException(
+                    messageSource.getMessage("backend.exceptions.WLT003", new Object[]{walletId}, Locale.getDefault())
+            );
+        }
+    }
+
+    /**
+     * Adds an amount to the wallet balance with a single update
+     * and records it in the wallet's transaction history.
+     *
+     * @param walletId The UUID of the wallet.
+     * @param amount The amount to add.
+     * @param transactionType The type of the transaction to record.
+     * @param referenceId The UUID of the related record, or null.
+     */
+    @Transactional
+    @Override
+    public void credit(UUID walletId, BigDecimal amount, WalletTransactionType transactionType, UUID referenceId) {
+        log.info("Crediting {} to wallet with ID: {} as {}", amount, walletId, transactionType);
+
+        if (!walletDao.credit(walletId, amount, transactionType, referenceId)) {
+            getWalletById(walletId);
+        }
+    }
+
+    /**
+     * Retrieves a page of the wallet's transaction history, newest first.
+     *
+     * @param walletId The UUID of the wallet.
+     * @param createTime The creation time of the last transaction of the previous page, or null for the first page.
+     * @param transactionId The UUID of the last transaction of the previous page, or null for the first page.
+     * @param size The maximum number of transactions to return.
+     * @return The list of WalletTransactionEntity.
+     */
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
+    @Override
+    public List<WalletTransactionEntity> getWalletStatement(UUID walletId, LocalDateTime createTime,
+                                                            UUID transactionId, int size) {
+        log.info("Fetching statement of wallet with ID: {} after {} / {}", walletId, createTime, transactionId);
+
+        getWalletById(walletId);
+        return walletTransactionDao.findStatementPage(walletId, createTime, transactionId, size);
+    }
+
+    /**
+     * Locks the given wallets in ID order and returns their current balances.
+     *
+     * @param walletIds The UUIDs of the wallets.
+     * @return The balances keyed by wallet ID.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    @Override
+    public Map<UUID, BigDecimal> lockBalances(Collection<UUID> walletIds) {
+        log.info("Locking {} wallets", walletIds.size());
+
+        return walletDao.lockBalances(walletIds);
     }
 
     /**
@@ -204,4 +298,30 @@ public class WalletManager implements WalletService {
                             Locale.getDefault()));
         }
     }
+
+    /**
+     * Refunds the given orders with one guarded update over all their wallets.
+     * The wallets are locked in ID order first and a missing wallet fails the whole refund,
+     * so either every order is refunded or the surrounding transaction is rolled back.
+     *
+     * @param orderIds The UUIDs of the orders.
+     * @param walletIds The UUIDs of the wallets the orders were paid with.
+     * @throws ResourceNotFoundException if any of the wallets does not exist.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    @Override
+    public void refundOrders(Collection<UUID> orderIds, Collection<UUID> walletIds) {
+        log.info("Refunding {} orders to {} wallets", orderIds.size(), walletIds.size());
+
+        Set<UUID> lockedWalletIds = walletDao.lockBalances(walletIds).keySet();
+        List<UUID> missingWalletIds = walletIds.stream().filter(walletId -> !lockedWalletIds.contains(walletId)).toList();
+        if (!missingWalletIds.isEmpty()) {
+            throw new ResourceNotFoundException(messageSource.getMessage("backend.exceptions.WLT001",
+                    new Object[]{missingWalletIds},
+                    Locale.getDefault()));
+        }
+
+        int refundedCount = walletDao.refundOrders(orderIds, WalletTransactionType.ORDER_REFUND);
+        log.debug("Refunded {} orders", refundedCount);
+    }
 }
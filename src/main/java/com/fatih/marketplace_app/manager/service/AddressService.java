@@ -1,5 +1,6 @@
 package com.fatih.marketplace_app.manager.service;
 
+import com.fatih.marketplace_app.dto.page.CursorPage;
 import com.fatih.marketplace_app.entity.AddressEntity;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -35,6 +36,16 @@ public interface AddressService {
      */
     Page<AddressEntity> getAllAddresses(Pageable pageable);
 
+    /**
+     * Retrieves addresses with keyset pagination, newest first.
+     *
+     * @param token The continuation token of the previous page, or null for the first page.
+     * @param size The maximum number of addresses to return.
+     * @param withTotal Whether to count all addresses as well.
+     * @return A page of addresses with the continuation token of the next page.
+     */
+    CursorPage<AddressEntity> getAllAddressesByCursor(String token, int size, boolean withTotal);
+
     /**
      * Deletes an address by its unique ID.
      *
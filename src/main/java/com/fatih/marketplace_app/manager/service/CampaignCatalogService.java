@@ -0,0 +1,48 @@
+package com.fatih.marketplace_app.manager.service;
+
+import com.fatih.marketplace_app.dto.campaign.CatalogCampaign;
+import com.fatih.marketplace_app.strategy.DiscountRule;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Service interface for the in-memory catalog of campaigns.
+ */
+public interface CampaignCatalogService {
+
+    /**
+     * Finds a campaign by its campaign code.
+     *
+     * @param campaignCode The unique campaign code.
+     * @return The campaign, or empty if no campaign has the code.
+     */
+    Optional<CatalogCampaign> findCampaign(String campaignCode);
+
+    /**
+     * Finds the compiled discount rule of a campaign by its ID.
+     *
+     * @param campaignId The unique identifier of the campaign.
+     * @return The discount rule, or empty if the campaign is not in the catalog.
+     */
+    Optional<DiscountRule> findDiscountRule(UUID campaignId);
+
+    /**
+     * Returns the campaigns whose validity window contains the current time.
+     *
+     * @return The active campaigns, in the order of their start date.
+     */
+    List<CatalogCampaign> getActiveCampaigns();
+
+    /**
+     * Reloads the catalog on every instance once the current transaction commits.
+     * Must be called whenever a campaign is created, updated or deleted.
+     */
+    void campaignsChanged();
+
+    /**
+     * Reloads the catalog of this instance from the database.
+     */
+    void refreshCatalog();
+}
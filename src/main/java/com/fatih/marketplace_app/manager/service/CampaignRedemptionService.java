@@ -0,0 +1,25 @@
+package com.fatih.marketplace_app.manager.service;
+
+import com.fatih.marketplace_app.dto.campaign.CatalogCampaign;
+
+import java.util.UUID;
+
+/**
+ * Service interface for the redemption limits of campaigns.
+ */
+public interface CampaignRedemptionService {
+
+    /**
+     * Counts one redemption of a campaign by a user, or fails if the campaign or the user has reached its limit.
+     * Must be called inside the transaction that applies the campaign; the redemption is taken back if it rolls back.
+     *
+     * @param campaign The campaign being applied.
+     * @param userId   The unique identifier of the user applying the campaign.
+     */
+    void redeem(CatalogCampaign campaign, UUID userId);
+
+    /**
+     * Merges the changed redemption counters into the database.
+     */
+    void reconcileCounts();
+}
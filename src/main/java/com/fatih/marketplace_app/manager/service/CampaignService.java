@@ -1,11 +1,15 @@
 package com.fatih.marketplace_app.manager.service;
 
+import com.fatih.marketplace_app.dto.campaign.BestCampaign;
+import com.fatih.marketplace_app.dto.campaign.CatalogCampaign;
+import com.fatih.marketplace_app.dto.page.CursorPage;
 import com.fatih.marketplace_app.entity.CampaignEntity;
 import com.fatih.marketplace_app.entity.CartEntity;
 import jakarta.validation.constraints.NotNull;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.util.List;
 import java.util.UUID;
 
 /**
@@ -37,6 +41,16 @@ public interface CampaignService {
      */
     Page<CampaignEntity> getAllCampaigns(Pageable pageable);
 
+    /**
+     * Retrieves campaigns with keyset pagination, newest first.
+     *
+     * @param token The continuation token of the previous page, or null for the first page.
+     * @param size The maximum number of campaigns to return.
+     * @param withTotal Whether to count all campaigns as well.
+     * @return A page of campaigns with the continuation token of the next page.
+     */
+    CursorPage<CampaignEntity> getAllCampaignsByCursor(String token, int size, boolean withTotal);
+
     /**
      * Updates an existing campaign.
      *
@@ -60,6 +74,13 @@ public interface CampaignService {
      */
     CampaignEntity getCampaignByCampaignCode(String campaignCode);
 
+    /**
+     * Retrieves the campaigns whose validity window contains the current time.
+     *
+     * @return The active campaigns, in the order of their start date.
+     */
+    List<CatalogCampaign> getActiveCampaigns();
+
     /**
      * Applies a campaign discount to a cart.
      *
@@ -68,4 +89,12 @@ public interface CampaignService {
      * @return The updated cart entity after applying the campaign.
      */
     CartEntity applyCampaign(@NotNull String campaignCode, @NotNull UUID cartId);
+
+    /**
+     * Finds the active campaign giving a cart the largest discount, without applying it.
+     *
+     * @param cartId The unique identifier of the cart.
+     * @return The best campaign with the cart price before and after its discount.
+     */
+    BestCampaign findBestCampaign(@NotNull UUID cartId);
 }
@@ -0,0 +1,21 @@
+package com.fatih.marketplace_app.manager.service;
+
+import java.util.UUID;
+
+/**
+ * Service interface for expiring idle carts.
+ */
+public interface CartExpiryService {
+
+    /**
+     * Schedules the expiry of a cart that has just been changed, replacing its previous expiry.
+     *
+     * @param cartId The unique identifier of the cart.
+     */
+    void scheduleExpiry(UUID cartId);
+
+    /**
+     * Clears the carts whose expiry is due.
+     */
+    void expireDueCarts();
+}
@@ -1,10 +1,14 @@
 package com.fatih.marketplace_app.manager.service;
 
+import com.fatih.marketplace_app.dto.cart.CartItemOperation;
+import com.fatih.marketplace_app.dto.page.CursorPage;
+import com.fatih.marketplace_app.entity.CartEntity;
 import com.fatih.marketplace_app.entity.CartItemEntity;
 import jakarta.validation.constraints.NotNull;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.util.List;
 import java.util.UUID;
 
 /**
@@ -44,6 +48,16 @@ public interface CartItemService {
      */
     Page<CartItemEntity> getAllCartItems(Pageable pageable);
 
+    /**
+     * Retrieves cart items with keyset pagination, newest first.
+     *
+     * @param token The continuation token of the previous page, or null for the first page.
+     * @param size The maximum number of cart items to return.
+     * @param withTotal Whether to count all cart items as well.
+     * @return A page of cart items with the continuation token of the next page.
+     */
+    CursorPage<CartItemEntity> getAllCartItemsByCursor(String token, int size, boolean withTotal);
+
     /**
      * Deletes a cart item by its unique ID.
      *
@@ -69,6 +83,15 @@ public interface CartItemService {
      */
     CartItemEntity addProductToCartItem(@NotNull UUID cartItemId, @NotNull UUID productId);
 
+    /**
+     * Applies an ordered list of line changes to a cart in one transaction.
+     *
+     * @param cartId     The unique identifier of the cart.
+     * @param operations The changes to apply, in order.
+     * @return The cart after the changes, with its recomputed price.
+     */
+    CartEntity applyCartItemOperations(UUID cartId, List<CartItemOperation> operations);
+
     /**
      * Retrieves cart items by cart ID with pagination support.
      *
@@ -77,4 +100,15 @@ public interface CartItemService {
      * @return A paginated list of cart item entities belonging to the specified cart.
      */
     Page<CartItemEntity> getCartItemsByCartId(UUID cartId, Pageable pageable);
+
+    /**
+     * Retrieves cart items by cart ID with keyset pagination, newest first.
+     *
+     * @param cartId The unique identifier of the cart.
+     * @param token The continuation token of the previous page, or null for the first page.
+     * @param size The maximum number of cart items to return.
+     * @param withTotal Whether to count all cart items of the cart as well.
+     * @return A page of cart items with the continuation token of the next page.
+     */
+    CursorPage<CartItemEntity> getCartItemsByCartIdByCursor(UUID cartId, String token, int size, boolean withTotal);
 }
@@ -0,0 +1,45 @@
+package com.fatih.marketplace_app.manager.service;
+
+import com.fatih.marketplace_app.dto.cart.CartPriceDrift;
+import com.fatih.marketplace_app.repository.projection.CartPriceView;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Service interface for keeping cart prices in line with the prices of their cart items.
+ */
+public interface CartPricingService {
+
+    /**
+     * Changes the price of a cart by the price change of one of its lines.
+     * Must be called inside the transaction that changes the line, after locking the cart.
+     *
+     * @param cartId The unique identifier of the cart.
+     * @param lineDelta The new line price minus the previous line price.
+     */
+    void applyLineDelta(UUID cartId, BigDecimal lineDelta);
+
+    /**
+     * Recomputes the prices of the given carts from their lines and stores the ones that differ.
+     *
+     * @param cartIds The unique identifiers of the carts.
+     * @return The IDs of the carts whose price was corrected.
+     */
+    List<UUID> recomputeCartPrices(Collection<UUID> cartIds);
+
+    /**
+     * Compares the stored prices of the given carts with the prices of their lines, without locking the carts.
+     *
+     * @param carts The stored prices of the carts, with the totals of their lines.
+     * @return The carts whose stored price differs from the price of their lines.
+     */
+    List<CartPriceDrift> findDrifted(List<CartPriceView> carts);
+
+    /**
+     * Compares the stored prices of a sample of carts with their lines and reports the carts that drifted.
+     */
+    void verifyCartPrices();
+}
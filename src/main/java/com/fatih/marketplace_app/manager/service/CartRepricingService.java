@@ -0,0 +1,27 @@
+package com.fatih.marketplace_app.manager.service;
+
+import com.fatih.marketplace_app.dto.cart.CartRepricingProgress;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Service interface for re-pricing the carts of a campaign after its discount changed.
+ */
+public interface CartRepricingService {
+
+    /**
+     * Starts re-pricing the carts that applied a campaign once the current transaction commits.
+     * A re-pricing of the same campaign that is still running is stopped in favour of the new one.
+     *
+     * @param campaignId The unique identifier of the changed campaign.
+     */
+    void repriceCampaignCarts(UUID campaignId);
+
+    /**
+     * Returns the progress of the latest re-pricing of each campaign.
+     *
+     * @return The progress of the running and finished re-pricings.
+     */
+    List<CartRepricingProgress> getRepricingProgress();
+}
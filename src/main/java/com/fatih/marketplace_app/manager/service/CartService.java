@@ -1,9 +1,12 @@
 package com.fatih.marketplace_app.manager.service;
 
+import com.fatih.marketplace_app.dto.page.CursorPage;
 import com.fatih.marketplace_app.entity.CartEntity;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
 
 /**
@@ -27,6 +30,29 @@ public interface CartService {
      */
     CartEntity getCartById(UUID cartId);
 
+    /**
+     * Retrieves a cart by its unique ID together with its items, their products, its user and the user's wallet.
+     *
+     * @param cartId The unique identifier of the cart.
+     * @return The cart entity if found.
+     */
+    CartEntity getCartWithItemsById(UUID cartId);
+
+    /**
+     * Locks a cart until the end of the current transaction.
+     *
+     * @param cartId The unique identifier of the cart.
+     */
+    void lockCart(UUID cartId);
+
+    /**
+     * Returns a reference to a cart without loading it, for use as an association in the current transaction.
+     *
+     * @param cartId The unique identifier of the cart.
+     * @return A lazily loaded cart entity.
+     */
+    CartEntity getCartReference(UUID cartId);
+
     /**
      * Retrieves a cart associated with a specific user.
      *
@@ -43,6 +69,16 @@ public interface CartService {
      */
     Page<CartEntity> getAllCarts(Pageable pageable);
 
+    /**
+     * Retrieves carts with keyset pagination, newest first.
+     *
+     * @param token The continuation token of the previous page, or null for the first page.
+     * @param size The maximum number of carts to return.
+     * @param withTotal Whether to count all carts as well.
+     * @return A page of carts with the continuation token of the next page.
+     */
+    CursorPage<CartEntity> getAllCartsByCursor(String token, int size, boolean withTotal);
+
     /**
      * Deletes a cart by its unique ID.
      *
@@ -57,6 +93,14 @@ public interface CartService {
      */
     void clearCart(UUID cartId);
 
+    /**
+     * Empties the given carts after checkout so that they can be filled again: their items are removed,
+     * their prices reset and their campaigns removed. Must be called inside the checkout transaction.
+     *
+     * @param cartIds The unique identifiers of the carts.
+     */
+    void recycleCarts(Collection<UUID> cartIds);
+
     /**
      * Updates an existing cart.
      *
@@ -64,4 +108,13 @@ public interface CartService {
      * @return The updated cart entity.
      */
     CartEntity updateCart(CartEntity requestedCart);
-}
\ No newline at end of file
+
+    /**
+     * Retrieves all carts with the given IDs together with their items, their products, their users
+     * and the users' wallets. Missing carts are left out.
+     *
+     * @param cartIds The unique identifiers of the carts.
+     * @return A list of the cart entities that exist.
+     */
+    List<CartEntity> getCartsByIds(Collection<UUID> cartIds);
+}
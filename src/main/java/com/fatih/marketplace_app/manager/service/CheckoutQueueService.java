@@ -0,0 +1,17 @@
+package com.fatih.marketplace_app.manager.service;
+
+import com.fatih.marketplace_app.entity.OrderEntity;
+
+/**
+ * Service interface for asynchronous checkout.
+ */
+public interface CheckoutQueueService {
+
+    /**
+     * Saves the order as pending and queues it for settlement by a background worker.
+     *
+     * @param requestedOrder The order entity to be submitted.
+     * @return The saved pending order entity.
+     */
+    OrderEntity submitOrder(OrderEntity requestedOrder);
+}
@@ -0,0 +1,24 @@
+package com.fatih.marketplace_app.manager.service;
+
+import com.fatih.marketplace_app.dto.page.CursorPage;
+import com.fatih.marketplace_app.entity.BaseEntity;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Service interface for keyset pagination with opaque continuation tokens.
+ */
+public interface CursorPageService {
+
+    /**
+     * Retrieves one page of entities ordered by creation time and ID, newest first.
+     *
+     * @param entityClass The entity type to read.
+     * @param filter An additional restriction, or null.
+     * @param token The continuation token of the previous page, or null for the first page.
+     * @param size The maximum number of entities to return.
+     * @param withTotal Whether to count all matching entities as well.
+     * @param <E> The entity type.
+     * @return The page of entities with the continuation token of the next page.
+     */
+    <E extends BaseEntity> CursorPage<E> getPage(Class<E> entityClass, Specification<E> filter, String token, int size, boolean withTotal);
+}
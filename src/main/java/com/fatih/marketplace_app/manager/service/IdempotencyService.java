@@ -0,0 +1,28 @@
+package com.fatih.marketplace_app.manager.service;
+
+import org.springframework.http.ResponseEntity;
+
+import java.util.function.Supplier;
+
+/**
+ * Service interface for executing requests at most once per idempotency key.
+ */
+public interface IdempotencyService {
+
+    /**
+     * Executes the action once for the given idempotency key and returns its response.
+     * A repeated request with the same key returns the stored response without executing the action again,
+     * and concurrent requests with the same key wait for the first one instead of running in parallel.
+     * Without a key, the action is simply executed.
+     *
+     * @param scope          The name of the operation the key belongs to.
+     * @param idempotencyKey The client supplied idempotency key, or null.
+     * @param request        The request body, used to detect a key being reused for a different request.
+     * @param responseType   The type of the response body.
+     * @param action         The action producing the response.
+     * @param <T>            The type of the response body.
+     * @return The response of the action, either fresh or replayed.
+     */
+    <T> ResponseEntity<T> execute(String scope, String idempotencyKey, Object request,
+                                  Class<T> responseType, Supplier<ResponseEntity<T>> action);
+}
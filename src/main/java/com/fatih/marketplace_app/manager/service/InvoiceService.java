@@ -1,5 +1,6 @@
 package com.fatih.marketplace_app.manager.service;
 
+import com.fatih.marketplace_app.dto.page.CursorPage;
 import com.fatih.marketplace_app.entity.InvoiceEntity;
 import jakarta.validation.constraints.NotNull;
 import org.springframework.data.domain.Page;
@@ -42,6 +43,16 @@ public interface InvoiceService {
      */
     Page<InvoiceEntity> getAllInvoices(Pageable pageable);
 
+    /**
+     * Retrieves invoices with keyset pagination, newest first.
+     *
+     * @param token The continuation token of the previous page, or null for the first page.
+     * @param size The maximum number of invoices to return.
+     * @param withTotal Whether to count all invoices as well.
+     * @return A page of invoices with the continuation token of the next page.
+     */
+    CursorPage<InvoiceEntity> getAllInvoicesByCursor(String token, int size, boolean withTotal);
+
     /**
      * Retrieves an invoice by its unique ID.
      *
@@ -0,0 +1,34 @@
+package com.fatih.marketplace_app.manager.service;
+
+import com.fatih.marketplace_app.dto.job.UuidRange;
+
+import java.time.Duration;
+import java.util.function.Consumer;
+
+/**
+ * Service interface for running scheduled jobs on one instance of the cluster at a time.
+ */
+public interface JobLeaseService {
+
+    /**
+     * Runs a job if no other instance holds its lease.
+     *
+     * @param jobName   The name of the job.
+     * @param leaseTime The longest time the job is expected to run.
+     * @param job       The job to run.
+     * @return true if the job was run by this instance.
+     */
+    boolean runExclusively(String jobName, Duration leaseTime, Runnable job);
+
+    /**
+     * Splits a job into key range partitions and runs each partition whose lease no other instance holds,
+     * so that instances running the job at the same time share its partitions.
+     *
+     * @param jobName        The name of the job.
+     * @param partitionCount The number of partitions.
+     * @param leaseTime      The longest time one partition is expected to run.
+     * @param job            The job to run for the key range of a partition.
+     * @return The number of partitions run by this instance.
+     */
+    int runPartitioned(String jobName, int partitionCount, Duration leaseTime, Consumer<UuidRange> job);
+}
@@ -0,0 +1,59 @@
+package com.fatih.marketplace_app.manager.service;
+
+import com.fatih.marketplace_app.dto.cart.LiveCart;
+
+import java.util.UUID;
+
+/**
+ * Service interface for live carts, which keep the browsing phase of a cart in Redis.
+ */
+public interface LiveCartService {
+
+    /**
+     * Retrieves the live state of a cart, or its stored state if the cart is not live.
+     *
+     * @param cartId The unique identifier of the cart.
+     * @return The live cart.
+     */
+    LiveCart getLiveCart(UUID cartId);
+
+    /**
+     * Adds a quantity of a product to a live cart.
+     *
+     * @param cartId The unique identifier of the cart.
+     * @param productId The unique identifier of the product.
+     * @param quantity The quantity to add.
+     * @return The live cart after the change.
+     */
+    LiveCart addProduct(UUID cartId, UUID productId, int quantity);
+
+    /**
+     * Removes a quantity of a product from a live cart, removing the line once its quantity drops to zero.
+     *
+     * @param cartId The unique identifier of the cart.
+     * @param productId The unique identifier of the product.
+     * @param quantity The quantity to remove.
+     * @return The live cart after the change.
+     */
+    LiveCart removeProduct(UUID cartId, UUID productId, int quantity);
+
+    /**
+     * Writes the live state of a cart to its cart items and cart price, if the cart is live.
+     *
+     * @param cartId The unique identifier of the cart.
+     */
+    void flushCart(UUID cartId);
+
+    /**
+     * Ends the live state of a cart before its items are changed in the database, writing its lines first.
+     * Must be called inside the transaction of the change.
+     *
+     * @param cartId The unique identifier of the cart.
+     */
+    void endLiveCart(UUID cartId);
+
+    /**
+     * Writes the live carts that have been idle for the flush delay to the database.
+     */
+    void flushIdleCarts();
+}
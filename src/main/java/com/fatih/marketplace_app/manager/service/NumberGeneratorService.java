@@ -0,0 +1,21 @@
+package com.fatih.marketplace_app.manager.service;
+
+/**
+ * Service interface for generating unique business numbers such as order and invoice numbers.
+ */
+public interface NumberGeneratorService {
+
+    /**
+     * Generates a new unique order number.
+     *
+     * @return A 12-character order number.
+     */
+    String nextOrderNumber();
+
+    /**
+     * Generates a new unique invoice number.
+     *
+     * @return A 12-character invoice number.
+     */
+    String nextInvoiceNumber();
+}
@@ -1,9 +1,15 @@
 package com.fatih.marketplace_app.manager.service;
 
+import com.fatih.marketplace_app.dto.order.OrderBatchResult;
+import com.fatih.marketplace_app.dto.order.OrderCancellationResult;
+import com.fatih.marketplace_app.dto.page.CursorPage;
 import com.fatih.marketplace_app.entity.OrderEntity;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
 
 /**
@@ -20,6 +26,47 @@ public interface OrderService {
      */
     OrderEntity createOrder(OrderEntity requestedOrder);
 
+    /**
+     * Creates many orders at once. Each order succeeds or fails on its own.
+     *
+     * @param requestedOrders The order entities to be created.
+     * @return One result per requested order, in request order.
+     */
+    List<OrderBatchResult> createOrders(List<OrderEntity> requestedOrders);
+
+    /**
+     * Saves a new order as pending, to be settled later by {@link #processPendingOrder(UUID)}.
+     *
+     * @param requestedOrder The order entity to be submitted.
+     * @return The saved pending order entity.
+     */
+    OrderEntity submitOrder(OrderEntity requestedOrder);
+
+    /**
+     * Settles a pending order by reserving product stock and charging the wallet, then finalizes it.
+     * Orders that are no longer pending are left unchanged.
+     *
+     * @param orderId The unique identifier of the pending order.
+     */
+    void processPendingOrder(UUID orderId);
+
+    /**
+     * Marks a pending order as failed.
+     *
+     * @param orderId The unique identifier of the pending order.
+     * @param failureReason The reason the order could not be settled.
+     */
+    void failPendingOrder(UUID orderId, String failureReason);
+
+    /**
+     * Retrieves the IDs of pending orders that have not been updated since the given time.
+     *
+     * @param updatedBefore The time the orders must have been last updated before.
+     * @param limit The maximum number of IDs to return.
+     * @return A list of order IDs, oldest first.
+     */
+    List<UUID> getStalePendingOrderIds(LocalDateTime updatedBefore, int limit);
+
     /**
      * Retrieves an order by its unique ID.
      *
@@ -37,27 +84,30 @@ public interface OrderService {
     Page<OrderEntity> getAllOrders(Pageable pageable);
 
     /**
-     * Cancels an order by its unique ID.
+     * Retrieves orders with keyset pagination, newest first.
      *
-     * @param orderId The unique identifier of the order to be canceled.
+     * @param token The continuation token of the previous page, or null for the first page.
+     * @param size The maximum number of orders to return.
+     * @param withTotal Whether to count all orders as well.
+     * @return A page of orders with the continuation token of the next page.
      */
-    void cancelOrder(UUID orderId);
+    CursorPage<OrderEntity> getAllOrdersByCursor(String token, int size, boolean withTotal);
 
     /**
-     * Retrieves all orders associated with a specific user ID.
+     * Cancels an order by its unique ID.
      *
-     * @param userId   The unique identifier of the user.
-     * @param pageable The pagination information.
-     * @return A paginated list of orders belonging to the specified user.
+     * @param orderId The unique identifier of the order to be canceled.
      */
-    Page<OrderEntity> getOrdersByUserId(UUID userId, Pageable pageable);
+    void cancelOrder(UUID orderId);
 
     /**
-     * Generates a random order number.
+     * Cancels many orders at once, returning the stock and payment of the ones that were paid.
+     * Orders that do not exist are reported instead of failing the others.
      *
-     * @return A randomly generated order number as a string.
+     * @param orderIds The unique identifiers of the orders to be canceled.
+     * @return The outcome of the cancellation.
      */
-    String generateRandomOrderNumber();
+    OrderCancellationResult cancelOrders(Collection<UUID> orderIds);
 
     /**
      * Retrieves an order by its order number.
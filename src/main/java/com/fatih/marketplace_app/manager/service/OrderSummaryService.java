@@ -0,0 +1,67 @@
+package com.fatih.marketplace_app.manager.service;
+
+import com.fatih.marketplace_app.dto.page.CursorPage;
+import com.fatih.marketplace_app.entity.OrderEntity;
+import com.fatih.marketplace_app.entity.OrderSummaryEntity;
+import com.fatih.marketplace_app.enums.OrderStatus;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.util.Collection;
+import java.util.UUID;
+
+/**
+ * Service interface for the order history read model.
+ */
+public interface OrderSummaryService {
+
+    /**
+     * Creates or refreshes the summary of an order from the order and its lines.
+     * Must be called inside the transaction that saves the order.
+     *
+     * @param order The saved order entity, with its lines, user and address loaded.
+     */
+    void recordOrder(OrderEntity order);
+
+    /**
+     * Changes the status recorded in the summary of an order.
+     *
+     * @param orderId The unique identifier of the order.
+     * @param orderStatus The new status of the order.
+     */
+    void recordOrderStatus(UUID orderId, OrderStatus orderStatus);
+
+    /**
+     * Marks the summaries of the given orders as cancelled.
+     *
+     * @param orderIds The unique identifiers of the cancelled orders.
+     */
+    void recordCancellation(Collection<UUID> orderIds);
+
+    /**
+     * Retrieves the order summaries of a user with pagination.
+     *
+     * @param userId The unique identifier of the user.
+     * @param pageable Pagination details.
+     * @return A paginated list of order summaries.
+     */
+    Page<OrderSummaryEntity> getOrderSummariesByUserId(UUID userId, Pageable pageable);
+
+    /**
+     * Retrieves the order summaries of a user with keyset pagination, newest first.
+     *
+     * @param userId The unique identifier of the user.
+     * @param token The continuation token of the previous page, or null for the first page.
+     * @param size The maximum number of order summaries to return.
+     * @param withTotal Whether to count all orders of the user as well.
+     * @return A page of order summaries with the continuation token of the next page.
+     */
+    CursorPage<OrderSummaryEntity> getOrderSummariesByUserIdByCursor(UUID userId, String token, int size, boolean withTotal);
+
+    /**
+     * Creates the missing summaries of orders placed before the read model existed.
+     *
+     * @return The number of summaries created.
+     */
+    int backfillOrderSummaries();
+}
@@ -1,9 +1,13 @@
 package com.fatih.marketplace_app.manager.service;
 
+import com.fatih.marketplace_app.dto.page.CursorPage;
 import com.fatih.marketplace_app.entity.ProductEntity;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.util.Collection;
+import java.util.Map;
+import java.util.SortedMap;
 import java.util.UUID;
 
 /**
@@ -27,6 +31,16 @@ public interface ProductService {
      */
     Page<ProductEntity> getAllProducts(Pageable pageable);
 
+    /**
+     * Retrieves products with keyset pagination, newest first.
+     *
+     * @param token The continuation token of the previous page, or null for the first page.
+     * @param size The maximum number of products to return.
+     * @param withTotal Whether to count all products as well.
+     * @return A page of products with the continuation token of the next page.
+     */
+    CursorPage<ProductEntity> getAllProductsByCursor(String token, int size, boolean withTotal);
+
     /**
      * Retrieves a product by its unique ID.
      *
@@ -35,6 +49,22 @@ public interface ProductService {
      */
     ProductEntity getProductById(UUID productId);
 
+    /**
+     * Retrieves the products with the given unique IDs.
+     *
+     * @param productIds The unique identifiers of the products.
+     * @return The product entities keyed by product ID.
+     */
+    Map<UUID, ProductEntity> getProductsByIds(Collection<UUID> productIds);
+
+    /**
+     * Returns a reference to a product without loading it, for use as an association in the current transaction.
+     *
+     * @param productId The unique identifier of the product.
+     * @return A lazily loaded product entity.
+     */
+    ProductEntity getProductReference(UUID productId);
+
     /**
      * Updates an existing product.
      *
@@ -49,4 +79,28 @@ public interface ProductService {
      * @param productId The unique identifier of the product to be deleted.
      */
     void deleteProduct(UUID productId);
+
+    /**
+     * Reserves stock for the requested products by decreasing each product's stock quantity.
+     * Either all products are reserved or the surrounding transaction is rolled back.
+     *
+     * @param requestedQuantities The quantities to reserve, keyed by product ID in lock order.
+     */
+    void reserveStock(SortedMap<UUID, Long> requestedQuantities);
+
+    /**
+     * Locks the given products until the end of the current transaction and returns their stock quantities.
+     *
+     * @param productIds The unique identifiers of the products.
+     * @return The stock quantities keyed by product ID, for the products that exist.
+     */
+    Map<UUID, Long> lockStockQuantities(Collection<UUID> productIds);
+
+    /**
+     * Restores the stock reserved by the given orders, locking the affected products in lock order first.
+     * Must be called inside a transaction that already holds the locks of the orders.
+     *
+     * @param orderIds The unique identifiers of the orders.
+     */
+    void restoreStockOfOrders(Collection<UUID> orderIds);
 }
@@ -1,6 +1,7 @@
 package com.fatih.marketplace_app.manager.service;
 
 
+import com.fatih.marketplace_app.dto.page.CursorPage;
 import com.fatih.marketplace_app.entity.UserEntity;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -28,6 +29,16 @@ public interface UserService {
      */
     Page<UserEntity> getAllUsers(Pageable pageable);
 
+    /**
+     * Retrieves users with keyset pagination, newest first.
+     *
+     * @param token The continuation token of the previous page, or null for the first page.
+     * @param size The maximum number of users to return.
+     * @param withTotal Whether to count all users as well.
+     * @return A page of users with the continuation token of the next page.
+     */
+    CursorPage<UserEntity> getAllUsersByCursor(String token, int size, boolean withTotal);
+
     /**
      * Retrieves a user by their unique ID.
      *
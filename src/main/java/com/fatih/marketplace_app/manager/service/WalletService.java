@@ -1,6 +1,9 @@
 package com.fatih.marketplace_app.manager.service;
 
+import com.fatih.marketplace_app.dto.page.CursorPage;
 import com.fatih.marketplace_app.entity.WalletEntity;
+import com.fatih.marketplace_app.entity.WalletTransactionEntity;
+import com.fatih.marketplace_app.enums.WalletTransactionType;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
 import jakarta.validation.constraints.PositiveOrZero;
@@ -8,6 +11,10 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 /**
@@ -39,6 +46,16 @@ public interface WalletService {
      */
     Page<WalletEntity> getAllWallets(Pageable pageable);
 
+    /**
+     * Retrieves wallets with keyset pagination, newest first.
+     *
+     * @param token The continuation token of the previous page, or null for the first page.
+     * @param size The maximum number of wallets to return.
+     * @param withTotal Whether to count all wallets as well.
+     * @return A page of wallets with the continuation token of the next page.
+     */
+    CursorPage<WalletEntity> getAllWalletsByCursor(String token, int size, boolean withTotal);
+
     /**
      * Deletes a wallet by its unique ID.
      *
@@ -73,6 +90,38 @@ public interface WalletService {
      */
     WalletEntity changeBalance(@NotNull UUID walletId, @NotNull @PositiveOrZero BigDecimal amount);
 
+    /**
+     * Subtracts an amount from the wallet balance if the balance covers it, recording the transaction.
+     *
+     * @param walletId The unique identifier of the wallet.
+     * @param amount The amount to subtract.
+     * @param transactionType The type of the transaction.
+     * @param referenceId The unique identifier of the related record, or null.
+     */
+    void debit(UUID walletId, BigDecimal amount, WalletTransactionType transactionType, UUID referenceId);
+
+    /**
+     * Adds an amount to the wallet balance, recording the transaction.
+     *
+     * @param walletId The unique identifier of the wallet.
+     * @param amount The amount to add.
+     * @param transactionType The type of the transaction.
+     * @param referenceId The unique identifier of the related record, or null.
+     */
+    void credit(UUID walletId, BigDecimal amount, WalletTransactionType transactionType, UUID referenceId);
+
+    /**
+     * Retrieves a page of the wallet's transaction history, newest first.
+     * The next page starts after the creation time and ID of the last transaction of the previous page.
+     *
+     * @param walletId The unique identifier of the wallet.
+     * @param createTime The creation time of the last transaction already seen, or null for the first page.
+     * @param transactionId The unique identifier of the last transaction already seen, or null for the first page.
+     * @param size The maximum number of transactions to return.
+     * @return A list of wallet transaction entities.
+     */
+    List<WalletTransactionEntity> getWalletStatement(UUID walletId, LocalDateTime createTime, UUID transactionId, int size);
+
     /**
      * Retrieves a wallet by the associated user ID.
      *
@@ -80,4 +129,21 @@ public interface WalletService {
      * @return The wallet entity if found.
      */
     WalletEntity getWalletByUserId(UUID userId);
+
+    /**
+     * Locks the given wallets until the end of the current transaction and returns their balances.
+     *
+     * @param walletIds The unique identifiers of the wallets.
+     * @return The balances keyed by wallet ID, for the wallets that exist.
+     */
+    Map<UUID, BigDecimal> lockBalances(Collection<UUID> walletIds);
+
+    /**
+     * Refunds the final price of each given order to its wallet, recording one refund transaction per order.
+     * Must be called inside a transaction that already holds the locks of the orders.
+     *
+     * @param orderIds The unique identifiers of the orders.
+     * @param walletIds The unique identifiers of the wallets the orders were paid with.
+     */
+    void refundOrders(Collection<UUID> orderIds, Collection<UUID> walletIds);
 }
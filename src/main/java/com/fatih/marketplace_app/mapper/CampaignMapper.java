@@ -1,7 +1,9 @@
 package com.fatih.marketplace_app.mapper;
 
+import com.fatih.marketplace_app.dto.campaign.CatalogCampaign;
 import com.fatih.marketplace_app.dto.request.campaign.CreateCampaignRequest;
 import com.fatih.marketplace_app.dto.request.campaign.UpdateCampaignRequest;
+import com.fatih.marketplace_app.dto.response.campaign.ActiveCampaignResponse;
 import com.fatih.marketplace_app.dto.response.campaign.CampaignResponse;
 import com.fatih.marketplace_app.entity.CampaignEntity;
 import org.mapstruct.Mapper;
@@ -51,4 +53,12 @@ public interface CampaignMapper {
      * @return The mapped list of {@link CampaignResponse} objects.
      */
     List<CampaignResponse> toCampaignResponseList(List<CampaignEntity> campaignEntities);
+
+    /**
+     * Converts a list of {@link CatalogCampaign} objects to a list of {@link ActiveCampaignResponse} objects.
+     *
+     * @param catalogCampaigns The list of catalog campaigns to be converted.
+     * @return The mapped list of {@link ActiveCampaignResponse} objects.
+     */
+    List<ActiveCampaignResponse> toActiveCampaignResponseList(List<CatalogCampaign> catalogCampaigns);
 }
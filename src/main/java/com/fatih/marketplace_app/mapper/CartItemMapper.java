@@ -1,8 +1,12 @@
 package com.fatih.marketplace_app.mapper;
 
+import com.fatih.marketplace_app.dto.cart.CartItemOperation;
+import com.fatih.marketplace_app.dto.request.cartItem.CartItemOperationRequest;
 import com.fatih.marketplace_app.dto.request.cartItem.CreateCartItemRequest;
 import com.fatih.marketplace_app.dto.request.cartItem.UpdateCartItemRequest;
+import com.fatih.marketplace_app.dto.response.cartItem.CartItemBatchResponse;
 import com.fatih.marketplace_app.dto.response.cartItem.CartItemResponse;
+import com.fatih.marketplace_app.entity.CartEntity;
 import com.fatih.marketplace_app.entity.CartItemEntity;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
@@ -57,4 +61,22 @@ public interface CartItemMapper {
      * @return The mapped list of {@link CartItemResponse} objects.
      */
     List<CartItemResponse> toCartItemResponseList(List<CartItemEntity> cartItemEntities);
-}
\ No newline at end of file
+
+    /**
+     * Converts a list of {@link CartItemOperationRequest} objects to a list of {@link CartItemOperation} objects.
+     *
+     * @param cartItemOperationRequests The list of requested operations.
+     * @return The mapped list of {@link CartItemOperation} objects.
+     */
+    List<CartItemOperation> toCartItemOperations(List<CartItemOperationRequest> cartItemOperationRequests);
+
+    /**
+     * Converts a {@link CartEntity} to a {@link CartItemBatchResponse} holding all its cart items.
+     *
+     * @param cartEntity The cart entity to be converted.
+     * @return The mapped {@link CartItemBatchResponse}.
+     */
+    @Mapping(target = "cartId", source = "id")
+    @Mapping(target = "cartItemResponses", source = "cartItem")
+    CartItemBatchResponse toCartItemBatchResponse(CartEntity cartEntity);
+}
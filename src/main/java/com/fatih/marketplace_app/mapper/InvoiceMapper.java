@@ -11,7 +11,7 @@ import java.util.List;
 /**
  * Mapper interface for converting invoice-related entities to response DTOs.
  */
-@Mapper(uses = {AddressMapper.class, OrderMapper.class, UserMapper.class, CartItemMapper.class, CartMapper.class})
+@Mapper(uses = {AddressMapper.class, OrderMapper.class, UserMapper.class, OrderLineMapper.class, CartMapper.class})
 public interface InvoiceMapper {
 
     /**
@@ -31,7 +31,7 @@ public interface InvoiceMapper {
     @Mapping(target = "firstName", source = "order.user.firstName")
     @Mapping(target = "lastName", source = "order.user.lastName")
     @Mapping(target = "finalPrice", source = "order.finalPrice")
-    @Mapping(target = "cartItemResponses", source = "order.cart.cartItem")
+    @Mapping(target = "cartItemResponses", source = "order.orderLines")
     @Mapping(target = "addressResponse", source = "order.address")
     InvoiceResponse toInvoiceResponse(InvoiceEntity invoice);
 
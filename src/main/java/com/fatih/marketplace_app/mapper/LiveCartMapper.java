@@ -0,0 +1,26 @@
+package com.fatih.marketplace_app.mapper;
+
+import com.fatih.marketplace_app.dto.cart.LiveCart;
+import com.fatih.marketplace_app.dto.response.cart.LiveCartResponse;
+import org.mapstruct.Mapper;
+import org.mapstruct.factory.Mappers;
+
+/**
+ * Mapper interface for converting live carts to response DTOs.
+ */
+@Mapper
+public interface LiveCartMapper {
+
+    /**
+     * Singleton instance of the LiveCartMapper.
+     */
+    LiveCartMapper INSTANCE = Mappers.getMapper(LiveCartMapper.class);
+
+    /**
+     * Converts a {@link LiveCart} to a {@link LiveCartResponse}.
+     *
+     * @param liveCart The live cart to be converted.
+     * @return The mapped {@link LiveCartResponse}.
+     */
+    LiveCartResponse toLiveCartResponse(LiveCart liveCart);
+}
@@ -0,0 +1,53 @@
+package com.fatih.marketplace_app.mapper;
+
+import com.fatih.marketplace_app.dto.response.cartItem.CartItemResponse;
+import com.fatih.marketplace_app.dto.response.product.ProductResponse;
+import com.fatih.marketplace_app.entity.OrderLineEntity;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.factory.Mappers;
+
+import java.util.List;
+
+/**
+ * Mapper interface for converting order lines to the cart item DTOs order responses are made of.
+ */
+@Mapper
+public interface OrderLineMapper {
+
+    /**
+     * Singleton instance of the OrderLineMapper.
+     */
+    OrderLineMapper INSTANCE = Mappers.getMapper(OrderLineMapper.class);
+
+    /**
+     * Converts an {@link OrderLineEntity} to a {@link CartItemResponse}.
+     *
+     * @param orderLineEntity The order line to be converted.
+     * @return The mapped {@link CartItemResponse}.
+     */
+    @Mapping(target = "cartItemId", source = "id")
+    @Mapping(target = "cartItemPrice", source = "linePrice")
+    @Mapping(target = "productResponse", source = ".")
+    CartItemResponse toCartItemResponse(OrderLineEntity orderLineEntity);
+
+    /**
+     * Converts an {@link OrderLineEntity} to a {@link ProductResponse} with the product as it was ordered.
+     * The stock quantity is not part of the order line and is left empty.
+     *
+     * @param orderLineEntity The order line to be converted.
+     * @return The mapped {@link ProductResponse}.
+     */
+    @Mapping(target = "id", source = "productId")
+    @Mapping(target = "productPrice", source = "unitPrice")
+    @Mapping(target = "stockQuantity", ignore = true)
+    ProductResponse toProductResponse(OrderLineEntity orderLineEntity);
+
+    /**
+     * Converts a list of {@link OrderLineEntity} objects to a list of {@link CartItemResponse} objects.
+     *
+     * @param orderLineEntities The list of order lines to be converted.
+     * @return The mapped list of {@link CartItemResponse} objects.
+     */
+    List<CartItemResponse> toCartItemResponseList(List<OrderLineEntity> orderLineEntities);
+}
@@ -1,7 +1,12 @@
 package com.fatih.marketplace_app.mapper;
 
+import com.fatih.marketplace_app.dto.order.OrderBatchResult;
+import com.fatih.marketplace_app.dto.order.OrderCancellationResult;
 import com.fatih.marketplace_app.dto.request.order.CreateOrderRequest;
+import com.fatih.marketplace_app.dto.response.order.OrderBatchItemResponse;
+import com.fatih.marketplace_app.dto.response.order.OrderCancellationResponse;
 import com.fatih.marketplace_app.dto.response.order.OrderResponse;
+import com.fatih.marketplace_app.dto.response.order.OrderStatusResponse;
 import com.fatih.marketplace_app.entity.OrderEntity;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
@@ -12,7 +17,7 @@ import java.util.List;
 /**
  * Mapper interface for converting order-related entities to DTOs and vice versa.
  */
-@Mapper(uses = {AddressMapper.class, CartItemMapper.class, UserMapper.class})
+@Mapper(uses = {AddressMapper.class, OrderLineMapper.class, UserMapper.class})
 public interface OrderMapper {
 
     /**
@@ -39,12 +44,56 @@ public interface OrderMapper {
      * @return The mapped {@link OrderResponse}.
      */
     @Mapping(target = "orderId", source = "id")
-    @Mapping(target = "firstName", source = "cart.user.firstName")
-    @Mapping(target = "lastName", source = "cart.user.lastName")
-    @Mapping(target = "cartItemResponses", source = "cart.cartItem")
+    @Mapping(target = "firstName", source = "user.firstName")
+    @Mapping(target = "lastName", source = "user.lastName")
+    @Mapping(target = "cartItemResponses", source = "orderLines")
     @Mapping(target = "addressResponse", source = "address")
     OrderResponse toOrderResponse(OrderEntity orderEntity);
 
+    /**
+     * Converts an {@link OrderEntity} to an {@link OrderStatusResponse}.
+     *
+     * @param orderEntity The order entity to be converted.
+     * @return The mapped {@link OrderStatusResponse}.
+     */
+    @Mapping(target = "orderId", source = "id")
+    OrderStatusResponse toOrderStatusResponse(OrderEntity orderEntity);
+
+    /**
+     * Converts an {@link OrderBatchResult} to an {@link OrderBatchItemResponse}.
+     *
+     * @param orderBatchResult The batch result to be converted.
+     * @return The mapped {@link OrderBatchItemResponse}.
+     */
+    @Mapping(target = "orderId", source = "order.id")
+    @Mapping(target = "orderNumber", source = "order.orderNumber")
+    @Mapping(target = "finalPrice", source = "order.finalPrice")
+    OrderBatchItemResponse toOrderBatchItemResponse(OrderBatchResult orderBatchResult);
+
+    /**
+     * Converts a list of {@link OrderBatchResult} objects to a list of {@link OrderBatchItemResponse} objects.
+     *
+     * @param orderBatchResults The list of batch results to be converted.
+     * @return The mapped list of {@link OrderBatchItemResponse} objects.
+     */
+    List<OrderBatchItemResponse> toOrderBatchItemResponseList(List<OrderBatchResult> orderBatchResults);
+
+    /**
+     * Converts an {@link OrderCancellationResult} to an {@link OrderCancellationResponse}.
+     *
+     * @param orderCancellationResult The cancellation result to be converted.
+     * @return The mapped {@link OrderCancellationResponse}.
+     */
+    OrderCancellationResponse toOrderCancellationResponse(OrderCancellationResult orderCancellationResult);
+
+    /**
+     * Converts a list of {@link CreateOrderRequest} objects to a list of {@link OrderEntity} objects.
+     *
+     * @param createOrderRequests The list of request objects to be converted.
+     * @return The mapped list of {@link OrderEntity} objects.
+     */
+    List<OrderEntity> createOrderRequestsToEntities(List<CreateOrderRequest> createOrderRequests);
+
     /**
      * Converts a list of {@link OrderEntity} objects to a list of {@link OrderResponse} objects.
      *
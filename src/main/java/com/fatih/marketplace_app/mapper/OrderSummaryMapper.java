@@ -0,0 +1,72 @@
+package com.fatih.marketplace_app.mapper;
+
+import com.fatih.marketplace_app.dto.order.OrderSummaryAddress;
+import com.fatih.marketplace_app.dto.order.OrderSummaryLine;
+import com.fatih.marketplace_app.dto.response.address.AddressResponse;
+import com.fatih.marketplace_app.dto.response.cartItem.CartItemResponse;
+import com.fatih.marketplace_app.dto.response.order.OrderResponse;
+import com.fatih.marketplace_app.dto.response.product.ProductResponse;
+import com.fatih.marketplace_app.entity.OrderSummaryEntity;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.factory.Mappers;
+
+import java.util.List;
+
+/**
+ * Mapper interface for converting order summaries of the order history read model to order responses.
+ */
+@Mapper
+public interface OrderSummaryMapper {
+
+    /**
+     * Singleton instance of the OrderSummaryMapper.
+     */
+    OrderSummaryMapper INSTANCE = Mappers.getMapper(OrderSummaryMapper.class);
+
+    /**
+     * Converts an {@link OrderSummaryEntity} to an {@link OrderResponse}.
+     *
+     * @param orderSummaryEntity The order summary to be converted.
+     * @return The mapped {@link OrderResponse}.
+     */
+    @Mapping(target = "cartItemResponses", source = "lines")
+    @Mapping(target = "addressResponse", source = "address")
+    OrderResponse toOrderResponse(OrderSummaryEntity orderSummaryEntity);
+
+    /**
+     * Converts a list of {@link OrderSummaryEntity} objects to a list of {@link OrderResponse} objects.
+     *
+     * @param orderSummaryEntities The list of order summaries to be converted.
+     * @return The mapped list of {@link OrderResponse} objects.
+     */
+    List<OrderResponse> toOrderResponseList(List<OrderSummaryEntity> orderSummaryEntities);
+
+    /**
+     * Converts an {@link OrderSummaryLine} to a {@link CartItemResponse}.
+     *
+     * @param orderSummaryLine The order line to be converted.
+     * @return The mapped {@link CartItemResponse}.
+     */
+    @Mapping(target = "productResponse", source = ".")
+    CartItemResponse toCartItemResponse(OrderSummaryLine orderSummaryLine);
+
+    /**
+     * Converts an {@link OrderSummaryLine} to a {@link ProductResponse} with the product as it was ordered.
+     * The stock quantity is not part of the order history and is left empty.
+     *
+     * @param orderSummaryLine The order line to be converted.
+     * @return The mapped {@link ProductResponse}.
+     */
+    @Mapping(target = "id", source = "productId")
+    @Mapping(target = "stockQuantity", ignore = true)
+    ProductResponse toProductResponse(OrderSummaryLine orderSummaryLine);
+
+    /**
+     * Converts an {@link OrderSummaryAddress} to an {@link AddressResponse}.
+     *
+     * @param orderSummaryAddress The address snapshot to be converted.
+     * @return The mapped {@link AddressResponse}.
+     */
+    AddressResponse toAddressResponse(OrderSummaryAddress orderSummaryAddress);
+}
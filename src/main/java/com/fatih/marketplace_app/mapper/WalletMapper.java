@@ -1,7 +1,9 @@
 package com.fatih.marketplace_app.mapper;
 
 import com.fatih.marketplace_app.dto.response.wallet.WalletResponse;
+import com.fatih.marketplace_app.dto.response.wallet.WalletTransactionResponse;
 import com.fatih.marketplace_app.entity.WalletEntity;
+import com.fatih.marketplace_app.entity.WalletTransactionEntity;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.mapstruct.factory.Mappers;
@@ -40,4 +42,22 @@ public interface WalletMapper {
      * @return The mapped list of {@link WalletResponse} objects.
      */
     List<WalletResponse> toWalletResponseList(List<WalletEntity> content);
-}
\ No newline at end of file
+
+    /**
+     * Converts a {@link WalletTransactionEntity} to a {@link WalletTransactionResponse}.
+     *
+     * @param walletTransactionEntity The wallet transaction entity to be converted.
+     * @return The mapped {@link WalletTransactionResponse}.
+     */
+    @Mapping(target = "transactionId", source = "id")
+    @Mapping(target = "walletId", source = "wallet.id")
+    WalletTransactionResponse toWalletTransactionResponse(WalletTransactionEntity walletTransactionEntity);
+
+    /**
+     * Converts a list of {@link WalletTransactionEntity} objects to a list of {@link WalletTransactionResponse} objects.
+     *
+     * @param content The list of wallet transaction entities to be converted.
+     * @return The mapped list of {@link WalletTransactionResponse} objects.
+     */
+    List<WalletTransactionResponse> toWalletTransactionResponseList(List<WalletTransactionEntity> content);
+}
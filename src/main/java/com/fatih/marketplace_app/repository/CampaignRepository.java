@@ -4,6 +4,8 @@ import com.fatih.marketplace_app.entity.CampaignEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -20,4 +22,13 @@ public interface CampaignRepository extends JpaRepository<CampaignEntity, UUID>
      * @return an {@link Optional} containing the found {@link CampaignEntity}, or empty if no campaign exists with the given code.
      */
     Optional<CampaignEntity> findByCampaignCode(String campaignCode);
+
+    /**
+     * Retrieves the campaigns that started at or before a time and end after another.
+     *
+     * @param startDate the latest start date.
+     * @param endDate   the earliest end date, exclusive.
+     * @return a list of the matching {@link CampaignEntity} instances, ordered by start date.
+     */
+    List<CampaignEntity> findAllByStartDateLessThanEqualAndEndDateAfterOrderByStartDate(LocalDateTime startDate, LocalDateTime endDate);
 }
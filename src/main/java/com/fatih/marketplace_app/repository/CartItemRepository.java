@@ -1,11 +1,20 @@
 package com.fatih.marketplace_app.repository;
 
 import com.fatih.marketplace_app.entity.CartItemEntity;
+import com.fatih.marketplace_app.repository.projection.CartItemUpsertView;
+import com.fatih.marketplace_app.repository.projection.CartLineView;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 /**
@@ -22,4 +31,83 @@ public interface CartItemRepository extends JpaRepository<CartItemEntity, UUID>
      * @return a {@link Page} containing {@link CartItemEntity} instances for the specified cart.
      */
     Page<CartItemEntity> findAllByCart_Id(UUID cartId, Pageable pageable);
+
+    /**
+     * Reads the active lines of the given carts without loading the cart items.
+     *
+     * @param cartIds the unique identifiers of the carts.
+     * @return the active lines of the carts.
+     */
+    @Query(value = "SELECT cart_id AS \"cartId\", product_id AS \"productId\", product_quantity AS \"productQuantity\", " +
+            "cart_item_price AS \"cartItemPrice\" FROM cart_items " +
+            "WHERE cart_id IN (:cartIds) AND record_status <> true", nativeQuery = true)
+    List<CartLineView> findLinesByCartIds(@Param("cartIds") Collection<UUID> cartIds);
+
+    /**
+     * Retrieves all cart items of a cart together with their products.
+     *
+     * @param cartId the unique identifier of the cart.
+     * @return a list of {@link CartItemEntity} instances of the cart.
+     */
+    @EntityGraph(attributePaths = "product")
+    List<CartItemEntity> findAllWithProductByCart_Id(UUID cartId);
+
+    /**
+     * Adds a quantity of a product to a cart in one statement. A new line is inserted, or the existing line
+     * of the product is increased through the {@code uk_cart_items_cart_product} unique index. The line price
+     * is recomputed from the current product price and the cart price is changed by the difference of the line price.
+     * The cart row must be locked by the caller, so that the previous line price read here is still current.
+     * The price of a cart with a campaign is left to the caller, as the discount is not applied per line.
+     *
+     * @param cartId    the unique identifier of the cart.
+     * @param productId the unique identifier of the product.
+     * @param quantity  the quantity to add.
+     * @return an {@link Optional} containing the ID of the cart item and whether the cart price was changed,
+     * or empty if the product does not exist.
+     */
+    @Query(value = "WITH product AS (" +
+            "SELECT id, product_price FROM products WHERE id = :productId AND record_status <> true), " +
+            "previous AS (" +
+            "SELECT cart_item_price FROM cart_items " +
+            "WHERE cart_id = :cartId AND product_id = :productId AND record_status <> true), " +
+            "line AS (" +
+            "INSERT INTO cart_items " +
+            "(id, cart_id, product_id, product_quantity, cart_item_price, record_status, create_time, update_time) " +
+            "SELECT gen_random_uuid(), :cartId, id, :quantity, product_price * :quantity, false, now(), now() FROM product " +
+            "ON CONFLICT (cart_id, product_id) WHERE record_status <> true DO UPDATE " +
+            "SET product_quantity = cart_items.product_quantity + EXCLUDED.product_quantity, " +
+            "cart_item_price = (SELECT product_price FROM product) * (cart_items.product_quantity + EXCLUDED.product_quantity), " +
+            "update_time = now() " +
+            "RETURNING id, cart_item_price), " +
+            "cart AS (" +
+            "UPDATE carts SET cart_price = cart_price + (SELECT cart_item_price FROM line) " +
+            "- COALESCE((SELECT cart_item_price FROM previous), 0), update_time = now() " +
+            "WHERE id = :cartId AND campaign_id IS NULL AND EXISTS (SELECT 1 FROM line) RETURNING id) " +
+            "SELECT id AS \"cartItemId\", EXISTS (SELECT 1 FROM cart) AS \"cartPriced\" FROM line", nativeQuery = true)
+    Optional<CartItemUpsertView> addToCart(@Param("cartId") UUID cartId,
+                             @Param("productId") UUID productId,
+                             @Param("quantity") int quantity);
+
+    /**
+     * Finds the cart of an active cart item without loading the cart item.
+     *
+     * @param cartItemId the unique identifier of the cart item.
+     * @return an {@link Optional} containing the cart ID, or empty if the cart item does not exist.
+     */
+    @Query(value = "SELECT cart_id FROM cart_items WHERE id = :cartItemId AND record_status <> true", nativeQuery = true)
+    Optional<UUID> findCartIdById(@Param("cartItemId") UUID cartItemId);
+
+    /**
+     * Soft deletes all active cart items of the given carts in a single statement,
+     * the same way {@link CartItemEntity}'s soft delete does for one cart item.
+     * Pending changes are flushed first and the persistence context is cleared afterwards,
+     * so that carts and items loaded earlier in the transaction are read again instead of served stale.
+     *
+     * @param cartIds the unique identifiers of the carts.
+     * @return the number of cart items deleted.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "UPDATE cart_items SET record_status = true, cart_item_price = 0, product_quantity = 0, update_time = now() " +
+            "WHERE cart_id IN (:cartIds) AND record_status <> true", nativeQuery = true)
+    int deleteAllByCartIds(@Param("cartIds") Collection<UUID> cartIds);
 }
@@ -1,10 +1,18 @@
 package com.fatih.marketplace_app.repository;
 
 import com.fatih.marketplace_app.entity.CartEntity;
+import com.fatih.marketplace_app.repository.projection.CartExpiryView;
+import com.fatih.marketplace_app.repository.projection.CartPriceView;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -24,10 +32,218 @@ public interface CartRepository extends JpaRepository<CartEntity, UUID> {
     Optional<CartEntity> findByUser_Id(UUID userId);
 
     /**
-     * Retrieves a list of carts that were last updated before the specified expiration time.
+     * Finds a cart together with its items, their products and the cart owner with the owner's wallet,
+     * so a checkout can walk the whole cart without further queries.
      *
-     * @param expirationTime the time threshold for outdated carts.
-     * @return a list of {@link CartEntity} instances that have not been updated since the given time.
+     * @param cartId the unique identifier of the cart.
+     * @return an {@link Optional} containing the {@link CartEntity} if found, otherwise empty.
+     */
+    @EntityGraph(attributePaths = {"cartItem", "cartItem.product", "user", "user.wallet"})
+    @Query("SELECT c FROM CartEntity c WHERE c.id = :cartId")
+    Optional<CartEntity> findWithItemsById(@Param("cartId") UUID cartId);
+
+    /**
+     * Finds the carts with the given IDs together with the same associations as {@link #findWithItemsById(UUID)}.
+     *
+     * @param cartIds the unique identifiers of the carts.
+     * @return a list of the {@link CartEntity} instances that exist.
+     */
+    @EntityGraph(attributePaths = {"cartItem", "cartItem.product", "user", "user.wallet"})
+    @Query("SELECT c FROM CartEntity c WHERE c.id IN :cartIds")
+    List<CartEntity> findAllWithItemsByIdIn(@Param("cartIds") Collection<UUID> cartIds);
+
+    /**
+     * Locks the cart row until the end of the current transaction.
+     *
+     * @param cartId the unique identifier of the cart.
+     * @return an {@link Optional} containing the cart ID if the cart exists, otherwise empty.
+     */
+    @Query(value = "SELECT id FROM carts WHERE id = :cartId AND record_status <> true FOR UPDATE", nativeQuery = true)
+    Optional<UUID> lockById(@Param("cartId") UUID cartId);
+
+    /**
+     * Locks the given cart rows in ID order until the end of the current transaction.
+     *
+     * @param cartIds the unique identifiers of the carts.
+     * @return the IDs of the carts that exist.
+     */
+    @Query(value = "SELECT id FROM carts WHERE id IN (:cartIds) AND record_status <> true ORDER BY id FOR UPDATE",
+            nativeQuery = true)
+    List<UUID> lockByIds(@Param("cartIds") Collection<UUID> cartIds);
+
+    /**
+     * Adds the amount to the price of a cart without a campaign.
+     *
+     * @param cartId the unique identifier of the cart.
+     * @param amount the amount to add, negative to subtract.
+     * @return {@code 1} if the price was changed, {@code 0} if the cart is missing or has a campaign.
+     */
+    @Modifying
+    @Query(value = "UPDATE carts SET cart_price = cart_price + :amount, update_time = now() " +
+            "WHERE id = :cartId AND campaign_id IS NULL AND record_status <> true", nativeQuery = true)
+    int addToCartPrice(@Param("cartId") UUID cartId, @Param("amount") BigDecimal amount);
+
+    /**
+     * Sets the price of a cart.
+     *
+     * @param cartId    the unique identifier of the cart.
+     * @param cartPrice the new price of the cart.
+     * @return {@code 1} if the price was set, {@code 0} if the cart is missing.
+     */
+    @Modifying
+    @Query(value = "UPDATE carts SET cart_price = :cartPrice, update_time = now() " +
+            "WHERE id = :cartId AND record_status <> true", nativeQuery = true)
+    int setCartPrice(@Param("cartId") UUID cartId, @Param("cartPrice") BigDecimal cartPrice);
+
+    /**
+     * Reads the stored prices of the given carts together with the totals of their active lines in one query.
+     *
+     * @param cartIds the unique identifiers of the carts.
+     * @return the prices of the carts that exist.
+     */
+    @Query(value = "SELECT c.id AS \"cartId\", c.cart_price AS \"cartPrice\", " +
+            "COALESCE(SUM(ci.cart_item_price), 0) AS \"lineTotal\", " +
+            "cp.id AS \"campaignId\", cp.campaign_type AS \"campaignType\", cp.discount_value AS \"discountValue\", " +
+            "cp.discount_rules AS \"discountRules\" " +
+            "FROM carts c " +
+            "LEFT JOIN cart_items ci ON ci.cart_id = c.id AND ci.record_status <> true " +
+            "LEFT JOIN campaigns cp ON cp.id = c.campaign_id " +
+            "WHERE c.id IN (:cartIds) AND c.record_status <> true " +
+            "GROUP BY c.id, cp.id", nativeQuery = true)
+    List<CartPriceView> findCartPrices(@Param("cartIds") Collection<UUID> cartIds);
+
+    /**
+     * Reads the prices of the carts that follow the given ID in ID order, together with the totals of their lines.
+     * Starting from a random ID gives a cheap random sample, as cart IDs are random.
+     *
+     * @param startId the ID to start from.
+     * @param limit   the maximum number of carts to read.
+     * @return the prices of up to {@code limit} carts.
+     */
+    @Query(value = "SELECT c.id AS \"cartId\", c.cart_price AS \"cartPrice\", " +
+            "COALESCE(SUM(ci.cart_item_price), 0) AS \"lineTotal\", " +
+            "cp.id AS \"campaignId\", cp.campaign_type AS \"campaignType\", cp.discount_value AS \"discountValue\", " +
+            "cp.discount_rules AS \"discountRules\" " +
+            "FROM (SELECT id, cart_price, campaign_id FROM carts " +
+            "WHERE id >= :startId AND record_status <> true ORDER BY id LIMIT :limit) c " +
+            "LEFT JOIN cart_items ci ON ci.cart_id = c.id AND ci.record_status <> true " +
+            "LEFT JOIN campaigns cp ON cp.id = c.campaign_id " +
+            "GROUP BY c.id, c.cart_price, cp.id", nativeQuery = true)
+    List<CartPriceView> findCartPricesFrom(@Param("startId") UUID startId, @Param("limit") int limit);
+
+    /**
+     * Reads the prices of the next chunk of carts that applied a campaign, in ID order,
+     * together with the totals of their lines.
+     *
+     * @param campaignId the unique identifier of the campaign.
+     * @param afterId    the ID of the last cart of the previous chunk.
+     * @param limit      the maximum number of carts to read.
+     * @return the prices of up to {@code limit} carts, ordered by ID.
+     */
+    @Query(value = "SELECT c.id AS \"cartId\", c.cart_price AS \"cartPrice\", " +
+            "COALESCE(SUM(ci.cart_item_price), 0) AS \"lineTotal\", " +
+            "cp.id AS \"campaignId\", cp.campaign_type AS \"campaignType\", cp.discount_value AS \"discountValue\", " +
+            "cp.discount_rules AS \"discountRules\" " +
+            "FROM (SELECT id, cart_price, campaign_id FROM carts " +
+            "WHERE campaign_id = :campaignId AND id > :afterId AND record_status <> true ORDER BY id LIMIT :limit) c " +
+            "LEFT JOIN cart_items ci ON ci.cart_id = c.id AND ci.record_status <> true " +
+            "JOIN campaigns cp ON cp.id = c.campaign_id " +
+            "GROUP BY c.id, c.cart_price, cp.id ORDER BY c.id", nativeQuery = true)
+    List<CartPriceView> findCampaignCartPrices(@Param("campaignId") UUID campaignId,
+                                               @Param("afterId") UUID afterId,
+                                               @Param("limit") int limit);
+
+    /**
+     * Locks the next chunk of expired carts within an ID range that still hold a price or active items,
+     * in (update_time, id) order.
+     * Carts locked by a running change are skipped until the next run.
+     * Cleared carts no longer match, so a cleanup that was interrupted continues where it stopped.
+     *
+     * @param expirationTime  carts last updated before this time are expired.
+     * @param fromId          the first ID of the range.
+     * @param toId            the last ID of the range.
+     * @param afterUpdateTime the update time of the last cart of the previous chunk.
+     * @param afterId         the ID of the last cart of the previous chunk.
+     * @param limit           the maximum number of carts to lock.
+     * @return the keyset positions of the locked carts.
+     */
+    @Query(value = "SELECT c.id AS \"id\", c.update_time AS \"updateTime\" FROM carts c " +
+            "WHERE c.update_time < :expirationTime AND c.id BETWEEN :fromId AND :toId " +
+            "AND (c.update_time, c.id) > (:afterUpdateTime, :afterId) " +
+            "AND c.record_status <> true " +
+            "AND (c.cart_price <> 0 OR EXISTS (SELECT 1 FROM cart_items ci WHERE ci.cart_id = c.id AND ci.record_status <> true)) " +
+            "ORDER BY c.update_time, c.id LIMIT :limit FOR UPDATE OF c SKIP LOCKED", nativeQuery = true)
+    List<CartExpiryView> lockExpiredCarts(@Param("expirationTime") LocalDateTime expirationTime,
+                                          @Param("fromId") UUID fromId,
+                                          @Param("toId") UUID toId,
+                                          @Param("afterUpdateTime") LocalDateTime afterUpdateTime,
+                                          @Param("afterId") UUID afterId,
+                                          @Param("limit") int limit);
+
+    /**
+     * Resets the price of the given carts to zero in a single statement.
+     * Pending changes are flushed first and the persistence context is cleared afterwards.
+     *
+     * @param cartIds the unique identifiers of the carts.
+     * @return the number of carts updated.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "UPDATE carts SET cart_price = 0, update_time = now() WHERE id IN (:cartIds)", nativeQuery = true)
+    int clearCartPrices(@Param("cartIds") Collection<UUID> cartIds);
+
+    /**
+     * Locks those of the given carts that are expired and still hold a price or active items, in ID order.
+     * Carts locked by a running change are skipped.
+     *
+     * @param cartIds        the unique identifiers of the carts.
+     * @param expirationTime carts last updated before this time are expired.
+     * @return the unique identifiers of the locked carts.
+     */
+    @Query(value = "SELECT c.id FROM carts c " +
+            "WHERE c.id IN (:cartIds) AND c.update_time < :expirationTime AND c.record_status <> true " +
+            "AND (c.cart_price <> 0 OR EXISTS (SELECT 1 FROM cart_items ci WHERE ci.cart_id = c.id AND ci.record_status <> true)) " +
+            "ORDER BY c.id FOR UPDATE OF c SKIP LOCKED", nativeQuery = true)
+    List<UUID> lockExpiredCartsByIds(@Param("cartIds") Collection<UUID> cartIds,
+                                     @Param("expirationTime") LocalDateTime expirationTime);
+
+    /**
+     * Finds the next chunk of carts that still hold a price or active items, in (update_time, id) order.
+     *
+     * @param afterUpdateTime the update time of the last cart of the previous chunk.
+     * @param afterId         the ID of the last cart of the previous chunk.
+     * @param limit           the maximum number of carts to return.
+     * @return the keyset positions of the carts.
+     */
+    @Query(value = "SELECT c.id AS \"id\", c.update_time AS \"updateTime\" FROM carts c " +
+            "WHERE (c.update_time, c.id) > (:afterUpdateTime, :afterId) AND c.record_status <> true " +
+            "AND (c.cart_price <> 0 OR EXISTS (SELECT 1 FROM cart_items ci WHERE ci.cart_id = c.id AND ci.record_status <> true)) " +
+            "ORDER BY c.update_time, c.id LIMIT :limit", nativeQuery = true)
+    List<CartExpiryView> findUnclearedCarts(@Param("afterUpdateTime") LocalDateTime afterUpdateTime,
+                                            @Param("afterId") UUID afterId,
+                                            @Param("limit") int limit);
+
+    /**
+     * Finds those of the given carts that still hold a price or active items.
+     *
+     * @param cartIds the unique identifiers of the carts.
+     * @return the update times of the carts.
+     */
+    @Query(value = "SELECT c.id AS \"id\", c.update_time AS \"updateTime\" FROM carts c " +
+            "WHERE c.id IN (:cartIds) AND c.record_status <> true " +
+            "AND (c.cart_price <> 0 OR EXISTS (SELECT 1 FROM cart_items ci WHERE ci.cart_id = c.id AND ci.record_status <> true))",
+            nativeQuery = true)
+    List<CartExpiryView> findUnclearedCartsByIds(@Param("cartIds") Collection<UUID> cartIds);
+
+    /**
+     * Resets the price of the given carts to zero and removes their campaigns in a single statement,
+     * so the carts can be filled again after checkout.
+     * Pending changes are flushed first and the persistence context is cleared afterwards.
+     *
+     * @param cartIds the unique identifiers of the carts.
+     * @return the number of carts updated.
      */
-    List<CartEntity> findByUpdateTimeBefore(LocalDateTime expirationTime);
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "UPDATE carts SET cart_price = 0, campaign_id = NULL, update_time = now() WHERE id IN (:cartIds)",
+            nativeQuery = true)
+    int resetCarts(@Param("cartIds") Collection<UUID> cartIds);
 }
@@ -2,6 +2,8 @@ package com.fatih.marketplace_app.repository;
 
 import com.fatih.marketplace_app.entity.InvoiceEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -28,4 +30,18 @@ public interface InvoiceRepository extends JpaRepository<InvoiceEntity, UUID> {
      * @return an {@link Optional} containing the {@link InvoiceEntity} if found, otherwise empty.
      */
     Optional<InvoiceEntity> findByInvoiceNumber(String invoiceNumber);
+
+    /**
+     * Finds the greatest 12-character invoice number between the given bounds that ends with the given suffix,
+     * including deleted invoices.
+     *
+     * @param lowerBound the least invoice number to consider.
+     * @param upperBound the greatest invoice number to consider.
+     * @param nodeSuffix the suffix the invoice number must end with.
+     * @return the greatest matching invoice number, or {@code null} if there is none.
+     */
+    @Query(value = "SELECT max(invoice_number) FROM invoices WHERE length(invoice_number) = 12 " +
+            "AND invoice_number BETWEEN :lowerBound AND :upperBound AND invoice_number LIKE '%' || :nodeSuffix", nativeQuery = true)
+    String findMaxInvoiceNumber(@Param("lowerBound") String lowerBound, @Param("upperBound") String upperBound,
+                               @Param("nodeSuffix") String nodeSuffix);
 }
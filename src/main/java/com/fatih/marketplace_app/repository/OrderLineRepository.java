@@ -0,0 +1,45 @@
+package com.fatih.marketplace_app.repository;
+
+import com.fatih.marketplace_app.entity.OrderLineEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Repository interface for managing {@link OrderLineEntity} persistence operations.
+ */
+@Repository
+public interface OrderLineRepository extends JpaRepository<OrderLineEntity, UUID> {
+
+    /**
+     * Retrieves the lines of the given orders.
+     *
+     * @param orderIds the unique identifiers of the orders.
+     * @return a list of {@link OrderLineEntity} instances of the orders.
+     */
+    List<OrderLineEntity> findAllByOrder_IdIn(Collection<UUID> orderIds);
+
+    /**
+     * Writes the lines of the given orders from the active items of their carts and the products of those items
+     * in a single statement. Pending order inserts are flushed first, and orders that already have lines are skipped.
+     *
+     * @param orderIds the unique identifiers of the orders.
+     * @return the number of lines written.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = "INSERT INTO order_lines (id, order_id, product_id, product_name, product_description, unit_price, " +
+            "product_quantity, line_price, record_status, create_time, update_time) " +
+            "SELECT gen_random_uuid(), o.id, p.id, p.product_name, p.product_description, " +
+            "round(ci.cart_item_price / ci.product_quantity, 2), ci.product_quantity, ci.cart_item_price, false, now(), now() " +
+            "FROM orders o JOIN cart_items ci ON ci.cart_id = o.cart_id AND ci.record_status <> true " +
+            "JOIN products p ON p.id = ci.product_id " +
+            "WHERE o.id IN (:orderIds) AND NOT EXISTS (SELECT 1 FROM order_lines ol WHERE ol.order_id = o.id)",
+            nativeQuery = true)
+    int insertFromCarts(@Param("orderIds") Collection<UUID> orderIds);
+}
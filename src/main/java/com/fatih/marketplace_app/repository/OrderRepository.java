@@ -2,11 +2,23 @@ package com.fatih.marketplace_app.repository;
 
 import com.fatih.marketplace_app.entity.OrderEntity;
 import com.fatih.marketplace_app.entity.UserEntity;
+import com.fatih.marketplace_app.enums.OrderStatus;
+import com.fatih.marketplace_app.repository.projection.OrderLockView;
+import com.fatih.marketplace_app.repository.projection.OrderPartyView;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -41,4 +53,120 @@ public interface OrderRepository extends JpaRepository<OrderEntity, UUID> {
      * @return an {@link Optional} containing the {@link OrderEntity} if found, otherwise empty.
      */
     Optional<OrderEntity> findByOrderNumber(String orderNumber);
+
+    /**
+     * Finds an order together with its address, its invoice, its user and its lines,
+     * so the order can be mapped to a response without further queries.
+     *
+     * @param orderId the unique identifier of the order.
+     * @return an {@link Optional} containing the {@link OrderEntity} if found, otherwise empty.
+     */
+    @EntityGraph(attributePaths = {"address", "invoice", "user", "orderLines"})
+    @Query("SELECT o FROM OrderEntity o WHERE o.id = :orderId")
+    Optional<OrderEntity> findWithDetailsById(@Param("orderId") UUID orderId);
+
+    /**
+     * Finds the orders with the given IDs together with their lines.
+     *
+     * @param orderIds the unique identifiers of the orders.
+     * @return a list of the {@link OrderEntity} instances that exist.
+     */
+    @EntityGraph(attributePaths = {"orderLines"})
+    @Query("SELECT o FROM OrderEntity o WHERE o.id IN :orderIds")
+    List<OrderEntity> findAllWithLinesByIdIn(@Param("orderIds") Collection<UUID> orderIds);
+
+    /**
+     * Finds the users and the delivery addresses of the given orders with plain joins, so that users and addresses
+     * that were soft deleted after the order was placed are read as well.
+     *
+     * @param orderIds the unique identifiers of the orders.
+     * @return the users and addresses of the orders that exist.
+     */
+    @Query(value = "SELECT o.id AS \"orderId\", u.id AS \"userId\", u.first_name AS \"firstName\", u.last_name AS \"lastName\", " +
+            "a.id AS \"addressId\", a.country AS \"country\", a.city AS \"city\", a.district AS \"district\", " +
+            "a.neighbourhood AS \"neighbourhood\", a.street AS \"street\", a.apartment AS \"apartment\", " +
+            "a.apartment_number AS \"apartmentNumber\", a.zip_code AS \"zipCode\" " +
+            "FROM orders o JOIN users u ON u.id = o.user_id JOIN addresses a ON a.id = o.address_id " +
+            "WHERE o.id IN (:orderIds)", nativeQuery = true)
+    List<OrderPartyView> findPartiesByIdIn(@Param("orderIds") Collection<UUID> orderIds);
+
+    /**
+     * Finds an order by its unique identifier and locks its row until the end of the transaction.
+     *
+     * @param orderId the unique identifier of the order.
+     * @return an {@link Optional} containing the locked {@link OrderEntity} if found, otherwise empty.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT o FROM OrderEntity o WHERE o.id = :orderId")
+    Optional<OrderEntity> findByIdForUpdate(@Param("orderId") UUID orderId);
+
+    /**
+     * Finds the IDs of orders in the given status that were last updated before the given time, oldest first.
+     *
+     * @param orderStatus   the status of the orders.
+     * @param updatedBefore the time the orders must have been last updated before.
+     * @param limit         the maximum number of IDs to return.
+     * @return a list of order IDs.
+     */
+    @Query("SELECT o.id FROM OrderEntity o WHERE o.orderStatus = :orderStatus AND o.updateTime < :updatedBefore " +
+            "ORDER BY o.updateTime")
+    List<UUID> findIdsByOrderStatusUpdatedBefore(@Param("orderStatus") OrderStatus orderStatus,
+                                                 @Param("updatedBefore") LocalDateTime updatedBefore,
+                                                 Limit limit);
+
+    /**
+     * Changes the status of an order only if it is still in the expected status.
+     *
+     * @param orderId        the unique identifier of the order.
+     * @param expectedStatus the status the order must currently have.
+     * @param newStatus      the status to set.
+     * @param failureReason  the reason to record, or {@code null}.
+     * @param updateTime     the update time to set.
+     * @return the number of updated orders, {@code 0} if the order was not in the expected status.
+     */
+    @Modifying
+    @Query("UPDATE OrderEntity o SET o.orderStatus = :newStatus, o.failureReason = :failureReason, " +
+            "o.updateTime = :updateTime WHERE o.id = :orderId AND o.orderStatus = :expectedStatus")
+    int updateStatusIfCurrent(@Param("orderId") UUID orderId,
+                              @Param("expectedStatus") OrderStatus expectedStatus,
+                              @Param("newStatus") OrderStatus newStatus,
+                              @Param("failureReason") String failureReason,
+                              @Param("updateTime") LocalDateTime updateTime);
+
+    /**
+     * Finds the greatest 12-character order number between the given bounds that ends with the given suffix,
+     * including cancelled orders.
+     *
+     * @param lowerBound the least order number to consider.
+     * @param upperBound the greatest order number to consider.
+     * @param nodeSuffix the suffix the order number must end with.
+     * @return the greatest matching order number, or {@code null} if there is none.
+     */
+    @Query(value = "SELECT max(order_number) FROM orders WHERE length(order_number) = 12 " +
+            "AND order_number BETWEEN :lowerBound AND :upperBound AND order_number LIKE '%' || :nodeSuffix", nativeQuery = true)
+    String findMaxOrderNumber(@Param("lowerBound") String lowerBound, @Param("upperBound") String upperBound,
+                               @Param("nodeSuffix") String nodeSuffix);
+
+    /**
+     * Locks the given orders in ID order and returns the fields that decide how each is cancelled.
+     * Orders are locked before their products and wallets, the same order pending checkouts use.
+     *
+     * @param orderIds the unique identifiers of the orders.
+     * @return the orders that exist and are not cancelled yet.
+     */
+    @Query(value = "SELECT id AS \"id\", order_status AS \"orderStatus\", wallet_id AS \"walletId\" FROM orders " +
+            "WHERE id IN (:orderIds) AND record_status <> true ORDER BY id FOR UPDATE", nativeQuery = true)
+    List<OrderLockView> lockOrders(@Param("orderIds") Collection<UUID> orderIds);
+
+    /**
+     * Marks the given orders as cancelled and soft deletes them in a single statement,
+     * the same way {@link OrderEntity}'s soft delete does for one order.
+     *
+     * @param orderIds the unique identifiers of the orders.
+     * @return the number of cancelled orders.
+     */
+    @Modifying
+    @Query(value = "UPDATE orders SET record_status = true, order_status = 'CANCELLED', update_time = now() " +
+            "WHERE id IN (:orderIds) AND record_status <> true", nativeQuery = true)
+    int cancelAll(@Param("orderIds") Collection<UUID> orderIds);
 }
@@ -0,0 +1,79 @@
+package com.fatih.marketplace_app.repository;
+
+import com.fatih.marketplace_app.entity.OrderSummaryEntity;
+import com.fatih.marketplace_app.enums.OrderStatus;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Repository interface for managing {@link OrderSummaryEntity} persistence operations.
+ */
+@Repository
+public interface OrderSummaryRepository extends JpaRepository<OrderSummaryEntity, UUID> {
+
+    /**
+     * Finds the summary of an order.
+     *
+     * @param orderId the unique identifier of the order.
+     * @return an {@link Optional} containing the {@link OrderSummaryEntity} if found, otherwise empty.
+     */
+    Optional<OrderSummaryEntity> findByOrderId(UUID orderId);
+
+    /**
+     * Finds the order summaries of a user with pagination support.
+     *
+     * @param userId   the unique identifier of the user.
+     * @param pageable the pagination information.
+     * @return a paginated list of {@link OrderSummaryEntity} belonging to the user.
+     */
+    Page<OrderSummaryEntity> findAllByUserId(UUID userId, Pageable pageable);
+
+    /**
+     * Changes the status recorded in the summary of an order.
+     *
+     * @param orderId     the unique identifier of the order.
+     * @param orderStatus the status to set.
+     * @param updateTime  the update time to set.
+     * @return the number of updated summaries.
+     */
+    @Modifying
+    @Query("UPDATE OrderSummaryEntity s SET s.orderStatus = :orderStatus, s.updateTime = :updateTime " +
+            "WHERE s.orderId = :orderId")
+    int updateOrderStatus(@Param("orderId") UUID orderId,
+                          @Param("orderStatus") OrderStatus orderStatus,
+                          @Param("updateTime") LocalDateTime updateTime);
+
+    /**
+     * Marks the summaries of the given orders as cancelled and soft deletes them in a single statement.
+     *
+     * @param orderIds the unique identifiers of the orders.
+     * @return the number of cancelled summaries.
+     */
+    @Modifying
+    @Query(value = "UPDATE order_summaries SET record_status = true, order_status = 'CANCELLED', update_time = now() " +
+            "WHERE order_id IN (:orderIds) AND record_status <> true", nativeQuery = true)
+    int cancelAll(@Param("orderIds") Collection<UUID> orderIds);
+
+    /**
+     * Finds active orders after the given ID that have no summary yet, in ID order.
+     *
+     * @param afterId the ID after which to search.
+     * @param limit the maximum number of IDs to return.
+     * @return the unique identifiers of the orders.
+     */
+    @Query(value = "SELECT o.id FROM orders o WHERE o.id > :afterId AND o.record_status <> true " +
+            "AND NOT EXISTS (SELECT 1 FROM order_summaries s WHERE s.order_id = o.id) " +
+            "ORDER BY o.id LIMIT :limit", nativeQuery = true)
+    List<UUID> findOrderIdsWithoutSummary(@Param("afterId") UUID afterId, @Param("limit") int limit);
+}
@@ -1,9 +1,15 @@
 package com.fatih.marketplace_app.repository;
 
 import com.fatih.marketplace_app.entity.ProductEntity;
+import com.fatih.marketplace_app.repository.projection.ProductStockView;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
 
 /**
@@ -11,4 +17,54 @@ import java.util.UUID;
  */
 @Repository
 public interface ProductRepository extends JpaRepository<ProductEntity, UUID> {
+
+    /**
+     * Decreases the stock of a product only if enough stock is available.
+     * The check and the decrement are a single statement, so concurrent checkouts cannot oversell.
+     *
+     * @param productId the unique identifier of the product.
+     * @param quantity  the quantity to deduct from stock.
+     * @return {@code 1} if the stock was decreased, {@code 0} if the product is missing or has not enough stock.
+     */
+    @Modifying
+    @Query(value = "UPDATE products SET stock_quantity = stock_quantity - :quantity, update_time = now() " +
+            "WHERE id = :productId AND stock_quantity >= :quantity AND record_status <> true", nativeQuery = true)
+    int decreaseStock(@Param("productId") UUID productId, @Param("quantity") long quantity);
+
+    /**
+     * Locks the given products in ID order and returns their current stock quantities.
+     * Locking in ID order keeps concurrent batches from deadlocking on each other.
+     *
+     * @param productIds the unique identifiers of the products.
+     * @return the stock quantities of the products that exist.
+     */
+    @Query(value = "SELECT id AS \"id\", stock_quantity AS \"stockQuantity\" FROM products " +
+            "WHERE id IN (:productIds) AND record_status <> true ORDER BY id FOR UPDATE", nativeQuery = true)
+    List<ProductStockView> lockStockQuantities(@Param("productIds") Collection<UUID> productIds);
+
+    /**
+     * Locks the products in the lines of the given orders in ID order.
+     * Deleted products are locked as well, since their stock is restored like any other.
+     *
+     * @param orderIds the unique identifiers of the orders.
+     * @return the unique identifiers of the locked products.
+     */
+    @Query(value = "SELECT p.id FROM products p WHERE p.id IN (" +
+            "SELECT ol.product_id FROM order_lines ol WHERE ol.order_id IN (:orderIds)) " +
+            "ORDER BY p.id FOR UPDATE", nativeQuery = true)
+    List<UUID> lockProductsOfOrders(@Param("orderIds") Collection<UUID> orderIds);
+
+    /**
+     * Adds the quantities in the lines of the given orders back to the product stock in a single statement.
+     * Quantities of the same product across orders and lines are summed first.
+     *
+     * @param orderIds the unique identifiers of the orders.
+     * @return the number of products whose stock was restored.
+     */
+    @Modifying
+    @Query(value = "UPDATE products p SET stock_quantity = p.stock_quantity + q.quantity, update_time = now() " +
+            "FROM (SELECT ol.product_id, SUM(ol.product_quantity) AS quantity " +
+            "FROM order_lines ol WHERE ol.order_id IN (:orderIds) GROUP BY ol.product_id) q " +
+            "WHERE p.id = q.product_id", nativeQuery = true)
+    int restoreStockOfOrders(@Param("orderIds") Collection<UUID> orderIds);
 }
@@ -1,14 +1,23 @@
 package com.fatih.marketplace_app.repository;
 
 import com.fatih.marketplace_app.entity.WalletEntity;
+import com.fatih.marketplace_app.repository.projection.WalletBalanceView;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 /**
  * Repository interface for managing {@link WalletEntity} persistence operations.
+ * Balance movements are single statements that update the wallet and append the matching
+ * {@code wallet_transactions} row together, so the ledger always agrees with the balance.
  */
 @Repository
 public interface WalletRepository extends JpaRepository<WalletEntity, UUID> {
@@ -20,4 +29,108 @@ public interface WalletRepository extends JpaRepository<WalletEntity, UUID> {
      * @return an {@link Optional} containing the wallet if found, otherwise empty
      */
     Optional<WalletEntity> findByUser_Id(UUID userId);
+
+    /**
+     * Subtracts the amount from the wallet balance if the balance covers it and records the movement.
+     *
+     * @param walletId        the unique identifier of the wallet
+     * @param amount          the amount to subtract
+     * @param transactionType the name of the transaction type to record
+     * @param referenceId     the ID of the related record as text, or {@code null}
+     * @return {@code 1} if the balance was updated, {@code 0} if the wallet is missing or has insufficient balance
+     */
+    @Modifying
+    @Query(value = "WITH updated AS (" +
+            "UPDATE wallets SET balance = balance - :amount, update_time = now() " +
+            "WHERE id = :walletId AND balance >= :amount AND record_status <> true " +
+            "RETURNING id, balance) " +
+            "INSERT INTO wallet_transactions " +
+            "(id, wallet_id, transaction_type, amount, balance_after, reference_id, record_status, create_time, update_time) " +
+            "SELECT gen_random_uuid(), id, :transactionType, -CAST(:amount AS numeric), balance, " +
+            "CAST(:referenceId AS uuid), false, clock_timestamp(), clock_timestamp() FROM updated", nativeQuery = true)
+    int debit(@Param("walletId") UUID walletId,
+              @Param("amount") BigDecimal amount,
+              @Param("transactionType") String transactionType,
+              @Param("referenceId") String referenceId);
+
+    /**
+     * Adds the amount to the wallet balance and records the movement.
+     *
+     * @param walletId        the unique identifier of the wallet
+     * @param amount          the amount to add
+     * @param transactionType the name of the transaction type to record
+     * @param referenceId     the ID of the related record as text, or {@code null}
+     * @return {@code 1} if the balance was updated, {@code 0} if the wallet is missing
+     */
+    @Modifying
+    @Query(value = "WITH updated AS (" +
+            "UPDATE wallets SET balance = balance + :amount, update_time = now() " +
+            "WHERE id = :walletId AND record_status <> true " +
+            "RETURNING id, balance) " +
+            "INSERT INTO wallet_transactions " +
+            "(id, wallet_id, transaction_type, amount, balance_after, reference_id, record_status, create_time, update_time) " +
+            "SELECT gen_random_uuid(), id, :transactionType, :amount, balance, " +
+            "CAST(:referenceId AS uuid), false, clock_timestamp(), clock_timestamp() FROM updated", nativeQuery = true)
+    int credit(@Param("walletId") UUID walletId,
+               @Param("amount") BigDecimal amount,
+               @Param("transactionType") String transactionType,
+               @Param("referenceId") String referenceId);
+
+    /**
+     * Sets the wallet balance to the given amount and records the difference to the previous balance.
+     * The previous balance is read with a row lock, so the recorded difference matches the overwritten value.
+     *
+     * @param walletId the unique identifier of the wallet
+     * @param amount   the new balance
+     * @return {@code 1} if the balance was updated, {@code 0} if the wallet is missing
+     */
+    @Modifying
+    @Query(value = "WITH previous AS (" +
+            "SELECT id, balance FROM wallets WHERE id = :walletId AND record_status <> true FOR UPDATE), " +
+            "updated AS (" +
+            "UPDATE wallets w SET balance = :amount, update_time = now() FROM previous p WHERE w.id = p.id " +
+            "RETURNING w.id, w.balance, p.balance AS previous_balance) " +
+            "INSERT INTO wallet_transactions " +
+            "(id, wallet_id, transaction_type, amount, balance_after, reference_id, record_status, create_time, update_time) " +
+            "SELECT gen_random_uuid(), id, 'CHANGE', balance - previous_balance, balance, " +
+            "NULL, false, clock_timestamp(), clock_timestamp() FROM updated", nativeQuery = true)
+    int changeBalance(@Param("walletId") UUID walletId, @Param("amount") BigDecimal amount);
+
+    /**
+     * Locks the given wallets in ID order and returns their current balances.
+     * Locking in ID order keeps concurrent batches from deadlocking on each other.
+     *
+     * @param walletIds the unique identifiers of the wallets
+     * @return the balances of the wallets that exist
+     */
+    @Query(value = "SELECT id AS \"id\", balance AS \"balance\" FROM wallets " +
+            "WHERE id IN (:walletIds) AND record_status <> true ORDER BY id FOR UPDATE", nativeQuery = true)
+    List<WalletBalanceView> lockBalances(@Param("walletIds") Collection<UUID> walletIds);
+
+    /**
+     * Refunds the final price of each given order to its wallet and records one movement per order.
+     * Refunds to the same wallet are summed into a single balance update; the recorded balances
+     * follow the orders in ID order, so the last order of a wallet carries its final balance.
+     *
+     * @param orderIds        the unique identifiers of the orders
+     * @param transactionType the name of the transaction type to record
+     * @return the number of movements recorded, one per refunded order
+     */
+    @Modifying
+    @Query(value = "WITH refunds AS (" +
+            "SELECT id AS order_id, wallet_id, final_price, " +
+            "COALESCE(SUM(final_price) OVER (PARTITION BY wallet_id ORDER BY id " +
+            "ROWS BETWEEN 1 FOLLOWING AND UNBOUNDED FOLLOWING), 0) AS later_refunds " +
+            "FROM orders WHERE id IN (:orderIds)), " +
+            "updated AS (" +
+            "UPDATE wallets w SET balance = w.balance + t.amount, update_time = now() " +
+            "FROM (SELECT wallet_id, SUM(final_price) AS amount FROM refunds GROUP BY wallet_id) t " +
+            "WHERE w.id = t.wallet_id AND w.record_status <> true " +
+            "RETURNING w.id, w.balance) " +
+            "INSERT INTO wallet_transactions " +
+            "(id, wallet_id, transaction_type, amount, balance_after, reference_id, record_status, create_time, update_time) " +
+            "SELECT gen_random_uuid(), u.id, :transactionType, r.final_price, u.balance - r.later_refunds, " +
+            "r.order_id, false, clock_timestamp(), clock_timestamp() " +
+            "FROM updated u JOIN refunds r ON r.wallet_id = u.id", nativeQuery = true)
+    int refundOrders(@Param("orderIds") Collection<UUID> orderIds, @Param("transactionType") String transactionType);
 }
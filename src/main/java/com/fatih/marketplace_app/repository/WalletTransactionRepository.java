@@ -0,0 +1,47 @@
+package com.fatih.marketplace_app.repository;
+
+import com.fatih.marketplace_app.entity.WalletTransactionEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Repository interface for managing {@link WalletTransactionEntity} persistence operations.
+ */
+@Repository
+public interface WalletTransactionRepository extends JpaRepository<WalletTransactionEntity, UUID> {
+
+    /**
+     * Retrieves the newest transactions of a wallet.
+     *
+     * @param walletId the unique identifier of the wallet
+     * @param size     the maximum number of transactions to return
+     * @return the transactions ordered from newest to oldest
+     */
+    @Query(value = "SELECT * FROM wallet_transactions WHERE wallet_id = :walletId " +
+            "ORDER BY create_time DESC, id DESC LIMIT :size", nativeQuery = true)
+    List<WalletTransactionEntity> findFirstStatementPage(@Param("walletId") UUID walletId, @Param("size") int size);
+
+    /**
+     * Retrieves the transactions of a wallet that come after the given position, newest first.
+     * The position is the creation time and ID of the last transaction of the previous page.
+     *
+     * @param walletId   the unique identifier of the wallet
+     * @param createTime the creation time of the last transaction already returned
+     * @param id         the ID of the last transaction already returned
+     * @param size       the maximum number of transactions to return
+     * @return the transactions ordered from newest to oldest
+     */
+    @Query(value = "SELECT * FROM wallet_transactions WHERE wallet_id = :walletId " +
+            "AND (create_time, id) < (:createTime, :id) " +
+            "ORDER BY create_time DESC, id DESC LIMIT :size", nativeQuery = true)
+    List<WalletTransactionEntity> findStatementPageAfter(@Param("walletId") UUID walletId,
+                                                         @Param("createTime") LocalDateTime createTime,
+                                                         @Param("id") UUID id,
+                                                         @Param("size") int size);
+}
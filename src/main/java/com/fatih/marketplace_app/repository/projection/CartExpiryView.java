@@ -0,0 +1,14 @@
+package com.fatih.marketplace_app.repository.projection;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Projection of the ID and update time of a cart, from which its expiry is derived.
+ */
+public interface CartExpiryView {
+
+    UUID getId();
+
+    LocalDateTime getUpdateTime();
+}
@@ -0,0 +1,13 @@
+package com.fatih.marketplace_app.repository.projection;
+
+import java.util.UUID;
+
+/**
+ * Projection of the outcome of adding a product to a cart.
+ */
+public interface CartItemUpsertView {
+
+    UUID getCartItemId();
+
+    Boolean getCartPriced();
+}
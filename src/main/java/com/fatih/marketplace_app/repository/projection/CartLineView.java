@@ -0,0 +1,18 @@
+package com.fatih.marketplace_app.repository.projection;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * Projection of an active cart line, as read to evaluate discount rules that price individual products.
+ */
+public interface CartLineView {
+
+    UUID getCartId();
+
+    UUID getProductId();
+
+    Integer getProductQuantity();
+
+    BigDecimal getCartItemPrice();
+}
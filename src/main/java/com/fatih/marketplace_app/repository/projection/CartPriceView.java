@@ -0,0 +1,24 @@
+package com.fatih.marketplace_app.repository.projection;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * Projection of a stored cart price next to the total of its active lines and the campaign applied to the cart.
+ */
+public interface CartPriceView {
+
+    UUID getCartId();
+
+    BigDecimal getCartPrice();
+
+    BigDecimal getLineTotal();
+
+    UUID getCampaignId();
+
+    String getCampaignType();
+
+    BigDecimal getDiscountValue();
+
+    String getDiscountRules();
+}
@@ -0,0 +1,15 @@
+package com.fatih.marketplace_app.repository.projection;
+
+import java.util.UUID;
+
+/**
+ * Projection of the fields of a locked order that decide how it is cancelled.
+ */
+public interface OrderLockView {
+
+    UUID getId();
+
+    String getOrderStatus();
+
+    UUID getWalletId();
+}
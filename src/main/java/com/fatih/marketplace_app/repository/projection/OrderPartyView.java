@@ -0,0 +1,35 @@
+package com.fatih.marketplace_app.repository.projection;
+
+import java.util.UUID;
+
+/**
+ * Projection of the user and the delivery address of an order, read whether or not they were deleted since.
+ */
+public interface OrderPartyView {
+
+    UUID getOrderId();
+
+    UUID getUserId();
+
+    String getFirstName();
+
+    String getLastName();
+
+    UUID getAddressId();
+
+    String getCountry();
+
+    String getCity();
+
+    String getDistrict();
+
+    String getNeighbourhood();
+
+    String getStreet();
+
+    String getApartment();
+
+    String getApartmentNumber();
+
+    String getZipCode();
+}
@@ -0,0 +1,13 @@
+package com.fatih.marketplace_app.repository.projection;
+
+import java.util.UUID;
+
+/**
+ * Projection of a product's current stock quantity.
+ */
+public interface ProductStockView {
+
+    UUID getId();
+
+    Long getStockQuantity();
+}
@@ -0,0 +1,14 @@
+package com.fatih.marketplace_app.repository.projection;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * Projection of a wallet's current balance.
+ */
+public interface WalletBalanceView {
+
+    UUID getId();
+
+    BigDecimal getBalance();
+}
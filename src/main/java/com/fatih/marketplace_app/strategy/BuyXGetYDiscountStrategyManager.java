@@ -0,0 +1,64 @@
+package com.fatih.marketplace_app.strategy;
+
+import com.fatih.marketplace_app.dto.campaign.DiscountRules;
+import com.fatih.marketplace_app.enums.CampaignType;
+import com.fatih.marketplace_app.util.Cents;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * Implementation of {@link DiscountStrategyService} that gives free units of a product: for every buy quantity
+ * of the product in the cart, the free quantity that follows is not charged.
+ * The discount value of the campaign caps the discount.
+ */
+@Service
+public class BuyXGetYDiscountStrategyManager implements DiscountStrategyService {
+
+    @Override
+    public CampaignType getCampaignType() {
+        return CampaignType.BUY_X_GET_Y;
+    }
+
+    /**
+     * Compiles the product and quantities of the rules.
+     *
+     * @param discountValue the maximum discount
+     * @param discountRules the rules holding the product, buy quantity and free quantity
+     * @return the compiled rule
+     */
+    @Override
+    public DiscountRule compile(BigDecimal discountValue, DiscountRules discountRules) {
+        if (discountRules == null || discountRules.productId() == null
+                || discountRules.buyQuantity() == null || discountRules.freeQuantity() == null) {
+            throw new IllegalArgumentException("a buy-x-get-y campaign needs a product, a buy quantity and a free quantity");
+        }
+        if (discountRules.buyQuantity() <= 0 || discountRules.freeQuantity() <= 0) {
+            throw new IllegalArgumentException("buy and free quantities must be positive");
+        }
+        return new BuyXGetYDiscountRule(discountRules.productId(), discountRules.buyQuantity(),
+                discountRules.freeQuantity(), Cents.toCents(discountValue));
+    }
+
+    private record BuyXGetYDiscountRule(UUID productId, int buyQuantity, int freeQuantity, long maxDiscountCents)
+            implements DiscountRule {
+
+        @Override
+        public long discountCents(CartLines cart) {
+            long discountCents = 0;
+            for (int line = 0; line < cart.size(); line++) {
+                if (productId.equals(cart.productId(line))) {
+                    long freeUnits = (long) (cart.quantity(line) / (buyQuantity + freeQuantity)) * freeQuantity;
+                    discountCents += freeUnits * cart.unitCents(line);
+                }
+            }
+            return Math.min(discountCents, maxDiscountCents);
+        }
+
+        @Override
+        public boolean needsLines() {
+            return true;
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.fatih.marketplace_app.strategy;
+
+import java.util.UUID;
+
+/**
+ * Lines of a cart in cents, laid out in parallel arrays so that discount rules evaluate them without allocating.
+ * Carts priced by their total only are represented without lines.
+ */
+public final class CartLines {
+
+    private final UUID[] productIds;
+    private final int[] quantities;
+    private final long[] lineCents;
+    private int size;
+    private long totalCents;
+
+    private CartLines(int capacity) {
+        this.productIds = new UUID[capacity];
+        this.quantities = new int[capacity];
+        this.lineCents = new long[capacity];
+    }
+
+    /**
+     * Creates an empty cart with room for the given number of lines.
+     *
+     * @param capacity the number of lines to be added
+     * @return the empty cart
+     */
+    public static CartLines withCapacity(int capacity) {
+        return new CartLines(capacity);
+    }
+
+    /**
+     * Creates a cart without lines, priced by its total only.
+     *
+     * @param totalCents the total of the cart in cents
+     * @return the cart
+     */
+    public static CartLines ofTotal(long totalCents) {
+        CartLines cart = new CartLines(0);
+        cart.totalCents = totalCents;
+        return cart;
+    }
+
+    /**
+     * Adds a line and its price to the cart total.
+     *
+     * @param productId the product of the line
+     * @param quantity  the quantity of the product
+     * @param lineCents the price of the line in cents
+     * @return this cart
+     */
+    public CartLines add(UUID productId, int quantity, long lineCents) {
+        productIds[size] = productId;
+        quantities[size] = quantity;
+        this.lineCents[size] = lineCents;
+        size++;
+        totalCents += lineCents;
+        return this;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public UUID productId(int line) {
+        return productIds[line];
+    }
+
+    public int quantity(int line) {
+        return quantities[line];
+    }
+
+    public long lineCents(int line) {
+        return lineCents[line];
+    }
+
+    /**
+     * Returns the unit price of a line, derived from the line price and quantity.
+     *
+     * @param line the index of the line
+     * @return the unit price in cents, or zero for an empty line
+     */
+    public long unitCents(int line) {
+        return quantities[line] == 0 ? 0 : lineCents[line] / quantities[line];
+    }
+
+    public long totalCents() {
+        return totalCents;
+    }
+}
@@ -0,0 +1,39 @@
+package com.fatih.marketplace_app.strategy;
+
+import com.fatih.marketplace_app.util.Cents;
+
+import java.math.BigDecimal;
+
+/**
+ * Immutable discount rule compiled from a campaign by its {@link DiscountStrategyService}.
+ * A rule is compiled once and evaluated for every cart the campaign is applied to.
+ */
+public interface DiscountRule {
+
+    /**
+     * Computes the discount for a cart, which may exceed the cart total.
+     *
+     * @param cart the lines and total of the cart
+     * @return the discount in cents
+     */
+    long discountCents(CartLines cart);
+
+    /**
+     * Tells whether the rule reads the lines of a cart, or only its total.
+     *
+     * @return true if the cart lines must be provided
+     */
+    default boolean needsLines() {
+        return false;
+    }
+
+    /**
+     * Applies the discount to a cart, ensuring the price does not go below zero.
+     *
+     * @param cart the lines and total of the cart
+     * @return the discounted cart price
+     */
+    default BigDecimal apply(CartLines cart) {
+        return Cents.toAmount(Math.max(cart.totalCents() - discountCents(cart), 0));
+    }
+}
@@ -1,41 +1,73 @@
 package com.fatih.marketplace_app.strategy;
 
+import com.fatih.marketplace_app.dto.campaign.DiscountRules;
 import com.fatih.marketplace_app.enums.CampaignType;
 import com.fatih.marketplace_app.exception.BusinessException;
-import lombok.RequiredArgsConstructor;
 import org.springframework.context.MessageSource;
 import org.springframework.stereotype.Service;
 
+import java.math.BigDecimal;
+import java.util.EnumMap;
+import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 
 /**
- * Factory class for providing the appropriate discount strategy based on the campaign type.
+ * Registry of the discount strategies, built once from the {@link DiscountStrategyService} beans
+ * and keyed by the campaign type each of them handles.
  */
 @Service
-@RequiredArgsConstructor
 public class DiscountStrategyFactory {
 
     private final MessageSource messageSource;
+    private final Map<CampaignType, DiscountStrategyService> strategies = new EnumMap<>(CampaignType.class);
+
+    public DiscountStrategyFactory(List<DiscountStrategyService> discountStrategies, MessageSource messageSource) {
+        this.messageSource = messageSource;
+        for (DiscountStrategyService discountStrategy : discountStrategies) {
+            DiscountStrategyService previous = strategies.put(discountStrategy.getCampaignType(), discountStrategy);
+            if (previous != null) {
+                throw new IllegalStateException("More than one discount strategy for campaign type " + discountStrategy.getCampaignType());
+            }
+        }
+    }
 
     /**
      * Retrieves the discount strategy corresponding to the given campaign type.
      *
      * @param campaignType the type of the discount campaign
-     * @return an instance of {@link DiscountStrategyService} based on the campaign type
+     * @return the {@link DiscountStrategyService} registered for the campaign type
      * @throws BusinessException if the campaign type is not recognized
      */
     public DiscountStrategyService getStrategy(CampaignType campaignType) {
-        switch (campaignType) {
-            case FIXED:
-                return new FixedDiscountStrategyManager();
-            case PERCENTAGE:
-                return new PercentageDiscountStrategyManager();
-            default:
-                throw new BusinessException(messageSource.getMessage(
-                        "backend.exceptions.CMP003",
-                        new Object[]{campaignType},
-                        Locale.getDefault()));
+        DiscountStrategyService discountStrategy = campaignType == null ? null : strategies.get(campaignType);
+        if (discountStrategy == null) {
+            throw new BusinessException(messageSource.getMessage(
+                    "backend.exceptions.CMP003",
+                    new Object[]{campaignType},
+                    Locale.getDefault()));
         }
+        return discountStrategy;
     }
-}
 
+    /**
+     * Compiles the discount of a campaign with the strategy of its campaign type.
+     *
+     * @param campaignType  the type of the discount campaign
+     * @param discountValue the discount value of the campaign
+     * @param discountRules the discount rules of the campaign, or null if the campaign type has none
+     * @return the compiled rule
+     * @throws BusinessException if the campaign type is not recognized or the discount is not valid for it
+     */
+    public DiscountRule compile(CampaignType campaignType, BigDecimal discountValue, DiscountRules discountRules) {
+        DiscountStrategyService discountStrategy = getStrategy(campaignType);
+        try {
+            return discountStrategy.compile(discountValue, discountRules);
+        } catch (IllegalArgumentException | ArithmeticException e) {
+            throw new BusinessException(messageSource.getMessage(
+                    "backend.exceptions.CMP007",
+                    new Object[]{campaignType, e.getMessage()},
+                    Locale.getDefault()));
+        }
+    }
+}
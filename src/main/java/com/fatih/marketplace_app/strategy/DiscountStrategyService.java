@@ -1,18 +1,30 @@
 package com.fatih.marketplace_app.strategy;
 
+import com.fatih.marketplace_app.dto.campaign.DiscountRules;
+import com.fatih.marketplace_app.enums.CampaignType;
+
 import java.math.BigDecimal;
 
 /**
- * Interface for applying discount strategies to cart prices.
+ * Interface for the discount strategies of the campaign types.
+ * A strategy is stateless; it compiles the discount of a campaign into an immutable {@link DiscountRule}.
  */
 public interface DiscountStrategyService {
 
     /**
-     * Applies a discount to the given cart price based on the specified discount value.
+     * Returns the campaign type this strategy handles.
+     *
+     * @return the campaign type
+     */
+    CampaignType getCampaignType();
+
+    /**
+     * Compiles the discount of a campaign into a rule.
      *
-     * @param cartPrice     The original price of the cart.
-     * @param discountValue The discount value to be applied.
-     * @return The final price after applying the discount.
+     * @param discountValue The discount value of the campaign.
+     * @param discountRules The discount rules of the campaign, or null if the campaign type has none.
+     * @return The compiled rule.
+     * @throws IllegalArgumentException if the discount of the campaign is not valid for the campaign type
      */
-    BigDecimal applyDiscount(BigDecimal cartPrice, BigDecimal discountValue);
+    DiscountRule compile(BigDecimal discountValue, DiscountRules discountRules);
 }
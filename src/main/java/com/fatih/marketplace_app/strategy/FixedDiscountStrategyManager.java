@@ -1,5 +1,8 @@
 package com.fatih.marketplace_app.strategy;
 
+import com.fatih.marketplace_app.dto.campaign.DiscountRules;
+import com.fatih.marketplace_app.enums.CampaignType;
+import com.fatih.marketplace_app.util.Cents;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
@@ -10,18 +13,28 @@ import java.math.BigDecimal;
 @Service
 public class FixedDiscountStrategyManager implements DiscountStrategyService {
 
+    @Override
+    public CampaignType getCampaignType() {
+        return CampaignType.FIXED;
+    }
+
     /**
-     * Applies a fixed discount to the given cart price.
+     * Compiles a rule deducting the discount value from the cart price.
      *
-     * @param cartPrice     the original total price of the cart
      * @param discountValue the fixed discount amount to be deducted
-     * @return the final cart price after applying the discount, ensuring it does not go below zero
+     * @param discountRules not used
+     * @return the compiled rule
      */
     @Override
-    public BigDecimal applyDiscount(BigDecimal cartPrice, BigDecimal discountValue) {
+    public DiscountRule compile(BigDecimal discountValue, DiscountRules discountRules) {
+        return new FixedDiscountRule(Cents.toCents(discountValue));
+    }
 
-        BigDecimal discountedCartPrice = cartPrice.subtract(discountValue);
+    private record FixedDiscountRule(long discountCents) implements DiscountRule {
 
-        return discountedCartPrice.compareTo(BigDecimal.ZERO) <= 0 ? BigDecimal.ZERO : discountedCartPrice;
+        @Override
+        public long discountCents(CartLines cart) {
+            return discountCents;
+        }
     }
 }
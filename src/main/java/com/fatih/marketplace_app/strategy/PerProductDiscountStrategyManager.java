@@ -0,0 +1,67 @@
+package com.fatih.marketplace_app.strategy;
+
+import com.fatih.marketplace_app.dto.campaign.DiscountRules;
+import com.fatih.marketplace_app.dto.campaign.ProductDiscount;
+import com.fatih.marketplace_app.enums.CampaignType;
+import com.fatih.marketplace_app.util.Cents;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Implementation of {@link DiscountStrategyService} that deducts a discount per unit of each listed product,
+ * at most the unit price. The discount value of the campaign caps the discount.
+ */
+@Service
+public class PerProductDiscountStrategyManager implements DiscountStrategyService {
+
+    @Override
+    public CampaignType getCampaignType() {
+        return CampaignType.PER_PRODUCT;
+    }
+
+    /**
+     * Compiles the product discounts into a map keyed by product.
+     *
+     * @param discountValue the maximum discount
+     * @param discountRules the rules holding the product discounts
+     * @return the compiled rule
+     */
+    @Override
+    public DiscountRule compile(BigDecimal discountValue, DiscountRules discountRules) {
+        if (discountRules == null || discountRules.productDiscounts() == null || discountRules.productDiscounts().isEmpty()) {
+            throw new IllegalArgumentException("a per-product campaign needs at least one product discount");
+        }
+        Map<UUID, Long> discountCentsByProduct = new HashMap<>();
+        for (ProductDiscount productDiscount : discountRules.productDiscounts()) {
+            if (discountCentsByProduct.put(productDiscount.productId(), Cents.toCents(productDiscount.discount())) != null) {
+                throw new IllegalArgumentException("product " + productDiscount.productId() + " is discounted more than once");
+            }
+        }
+        return new PerProductDiscountRule(Map.copyOf(discountCentsByProduct), Cents.toCents(discountValue));
+    }
+
+    private record PerProductDiscountRule(Map<UUID, Long> discountCentsByProduct, long maxDiscountCents)
+            implements DiscountRule {
+
+        @Override
+        public long discountCents(CartLines cart) {
+            long discountCents = 0;
+            for (int line = 0; line < cart.size(); line++) {
+                Long unitDiscountCents = discountCentsByProduct.get(cart.productId(line));
+                if (unitDiscountCents != null) {
+                    discountCents += Math.min(unitDiscountCents, cart.unitCents(line)) * cart.quantity(line);
+                }
+            }
+            return Math.min(discountCents, maxDiscountCents);
+        }
+
+        @Override
+        public boolean needsLines() {
+            return true;
+        }
+    }
+}
@@ -1,9 +1,11 @@
 package com.fatih.marketplace_app.strategy;
 
+import com.fatih.marketplace_app.dto.campaign.DiscountRules;
+import com.fatih.marketplace_app.enums.CampaignType;
+import com.fatih.marketplace_app.util.Cents;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
-import java.math.RoundingMode;
 
 /**
  * Implementation of {@link DiscountStrategyService} that applies a percentage-based discount to the cart price.
@@ -11,19 +13,33 @@ import java.math.RoundingMode;
 @Service
 public class PercentageDiscountStrategyManager implements DiscountStrategyService {
 
+    private static final long HUNDRED_PERCENT_BASIS_POINTS = 10_000;
+
+    @Override
+    public CampaignType getCampaignType() {
+        return CampaignType.PERCENTAGE;
+    }
+
     /**
-     * Applies a percentage discount to the given cart price.
+     * Compiles a rule deducting the discount percentage of the cart price, rounded half up to cents.
      *
-     * @param cartPrice     the original total price of the cart
      * @param discountValue the discount percentage to be applied
-     * @return the final cart price after applying the discount, ensuring it does not go below zero
+     * @param discountRules not used
+     * @return the compiled rule
      */
     @Override
-    public BigDecimal applyDiscount(BigDecimal cartPrice, BigDecimal discountValue) {
+    public DiscountRule compile(BigDecimal discountValue, DiscountRules discountRules) {
+        return new PercentageDiscountRule(Cents.toCents(discountValue));
+    }
 
-        BigDecimal discountAmount = cartPrice.multiply(discountValue).divide(BigDecimal.valueOf(100), 2, RoundingMode.HALF_UP);
-        BigDecimal discountedCartPrice = cartPrice.subtract(discountAmount);
+    /**
+     * @param basisPoints the percentage in hundredths of a percent
+     */
+    private record PercentageDiscountRule(long basisPoints) implements DiscountRule {
 
-        return discountedCartPrice.compareTo(BigDecimal.ZERO) <= 0 ? BigDecimal.ZERO : discountedCartPrice;
+        @Override
+        public long discountCents(CartLines cart) {
+            return (cart.totalCents() * basisPoints + HUNDRED_PERCENT_BASIS_POINTS / 2) / HUNDRED_PERCENT_BASIS_POINTS;
+        }
     }
 }
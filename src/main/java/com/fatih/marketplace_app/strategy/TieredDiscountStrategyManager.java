@@ -0,0 +1,63 @@
+package com.fatih.marketplace_app.strategy;
+
+import com.fatih.marketplace_app.dto.campaign.DiscountRules;
+import com.fatih.marketplace_app.dto.campaign.DiscountTier;
+import com.fatih.marketplace_app.enums.CampaignType;
+import com.fatih.marketplace_app.util.Cents;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Implementation of {@link DiscountStrategyService} that deducts the discount of the highest tier reached by the
+ * cart price. The discount value of the campaign caps the discount.
+ */
+@Service
+public class TieredDiscountStrategyManager implements DiscountStrategyService {
+
+    @Override
+    public CampaignType getCampaignType() {
+        return CampaignType.TIERED;
+    }
+
+    /**
+     * Compiles the tiers into arrays sorted by threshold.
+     *
+     * @param discountValue the maximum discount
+     * @param discountRules the rules holding the tiers
+     * @return the compiled rule
+     */
+    @Override
+    public DiscountRule compile(BigDecimal discountValue, DiscountRules discountRules) {
+        if (discountRules == null || discountRules.tiers() == null || discountRules.tiers().isEmpty()) {
+            throw new IllegalArgumentException("a tiered campaign needs at least one tier");
+        }
+        List<DiscountTier> tiers = discountRules.tiers().stream()
+                .sorted(Comparator.comparing(DiscountTier::threshold))
+                .toList();
+        long[] thresholdCents = new long[tiers.size()];
+        long[] discountCents = new long[tiers.size()];
+        for (int i = 0; i < tiers.size(); i++) {
+            thresholdCents[i] = Cents.toCents(tiers.get(i).threshold());
+            discountCents[i] = Cents.toCents(tiers.get(i).discount());
+            if (i > 0 && thresholdCents[i] == thresholdCents[i - 1]) {
+                throw new IllegalArgumentException("tier thresholds must be distinct");
+            }
+        }
+        return new TieredDiscountRule(thresholdCents, discountCents, Cents.toCents(discountValue));
+    }
+
+    private record TieredDiscountRule(long[] thresholdCents, long[] discountCents, long maxDiscountCents)
+            implements DiscountRule {
+
+        @Override
+        public long discountCents(CartLines cart) {
+            int index = Arrays.binarySearch(thresholdCents, cart.totalCents());
+            int tier = index >= 0 ? index : -index - 2;
+            return tier < 0 ? 0 : Math.min(discountCents[tier], maxDiscountCents);
+        }
+    }
+}
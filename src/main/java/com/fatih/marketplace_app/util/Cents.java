@@ -0,0 +1,33 @@
+package com.fatih.marketplace_app.util;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Conversions between monetary amounts and whole cents, for price arithmetic on primitive longs.
+ */
+public final class Cents {
+
+    private Cents() {
+    }
+
+    /**
+     * Converts an amount to cents, rounding half up to two decimals.
+     *
+     * @param amount the amount
+     * @return the amount in cents
+     */
+    public static long toCents(BigDecimal amount) {
+        return amount.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    /**
+     * Converts cents to an amount with two decimals.
+     *
+     * @param cents the amount in cents
+     * @return the amount
+     */
+    public static BigDecimal toAmount(long cents) {
+        return BigDecimal.valueOf(cents, 2);
+    }
+}
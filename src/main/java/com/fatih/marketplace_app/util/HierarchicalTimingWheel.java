@@ -0,0 +1,161 @@
+package com.fatih.marketplace_app.util;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Hierarchical timing wheel that keeps one deadline per key.
+ * The lowest level has one bucket per tick; each higher level has one bucket per rotation of the level below,
+ * so far deadlines wait in coarse buckets and are cascaded into finer ones as they come closer.
+ * Scheduling, rescheduling and cancelling a key take constant time, and advancing the wheel visits only the
+ * buckets of the elapsed ticks instead of every deadline. Deadlines beyond the top level are parked in its last
+ * bucket and placed again when that bucket is reached.
+ * All methods are thread-safe.
+ *
+ * @param <K> the type of the keys
+ */
+public class HierarchicalTimingWheel<K> {
+
+    private final long tickMillis;
+    private final int wheelSize;
+    private final List<List<Set<K>>> levels;
+    private final Map<K, Timer<K>> timers = new HashMap<>();
+    private long currentTick;
+
+    /**
+     * Creates an empty timing wheel.
+     *
+     * @param tick        the duration of one tick, the resolution of the deadlines
+     * @param wheelSize   the number of buckets of each level
+     * @param levelCount  the number of levels
+     * @param startMillis the current time in epoch milliseconds
+     */
+    public HierarchicalTimingWheel(Duration tick, int wheelSize, int levelCount, long startMillis) {
+        if (tick.toMillis() <= 0 || wheelSize < 2 || levelCount < 1) {
+            throw new IllegalArgumentException("Timing wheel needs a positive tick, at least two buckets and one level");
+        }
+        this.tickMillis = tick.toMillis();
+        this.wheelSize = wheelSize;
+        this.levels = new ArrayList<>(levelCount);
+        for (int level = 0; level < levelCount; level++) {
+            List<Set<K>> buckets = new ArrayList<>(wheelSize);
+            for (int bucket = 0; bucket < wheelSize; bucket++) {
+                buckets.add(new HashSet<>());
+            }
+            levels.add(buckets);
+        }
+        this.currentTick = Math.floorDiv(startMillis, tickMillis);
+    }
+
+    /**
+     * Schedules a key to expire at the given time, replacing its previous deadline.
+     * Deadlines in the past expire on the next tick.
+     *
+     * @param key            the key
+     * @param deadlineMillis the deadline in epoch milliseconds
+     */
+    public synchronized void schedule(K key, long deadlineMillis) {
+        cancel(key);
+        place(key, Math.ceilDiv(deadlineMillis, tickMillis), currentTick + 1);
+    }
+
+    /**
+     * Removes the deadline of a key.
+     *
+     * @param key the key
+     * @return true if the key had a deadline
+     */
+    public synchronized boolean cancel(K key) {
+        Timer<K> timer = timers.remove(key);
+        if (timer == null) {
+            return false;
+        }
+        timer.bucket().remove(key);
+        return true;
+    }
+
+    /**
+     * Moves the wheel forward to the given time and removes the keys whose deadline has passed.
+     *
+     * @param nowMillis the current time in epoch milliseconds
+     * @return the expired keys
+     */
+    public synchronized List<K> advance(long nowMillis) {
+        long targetTick = Math.floorDiv(nowMillis, tickMillis);
+        List<K> expiredKeys = new ArrayList<>();
+        while (currentTick < targetTick) {
+            currentTick++;
+            cascade();
+            Set<K> dueBucket = levels.getFirst().get(bucketIndex(currentTick, 0));
+            dueBucket.forEach(timers::remove);
+            expiredKeys.addAll(dueBucket);
+            dueBucket.clear();
+        }
+        return expiredKeys;
+    }
+
+    /**
+     * Returns the number of keys with a deadline.
+     *
+     * @return the number of scheduled keys
+     */
+    public synchronized int size() {
+        return timers.size();
+    }
+
+    /**
+     * Places the keys of every higher level bucket that starts at the current tick into the levels below,
+     * top level first, so that each key moves down at most one level per visit.
+     */
+    private void cascade() {
+        long levelSpan = 1;
+        for (int level = 1; level < levels.size(); level++) {
+            levelSpan *= wheelSize;
+        }
+        for (int level = levels.size() - 1; level > 0; level--) {
+            if (currentTick % levelSpan == 0) {
+                Set<K> bucket = levels.get(level).get(bucketIndex(currentTick, level));
+                List<K> cascadedKeys = new ArrayList<>(bucket);
+                bucket.clear();
+                cascadedKeys.forEach(key -> place(key, timers.get(key).deadlineTick(), currentTick));
+            }
+            levelSpan /= wheelSize;
+        }
+    }
+
+    private void place(K key, long deadlineTick, long earliestTick) {
+        long slotTick = Math.max(deadlineTick, earliestTick);
+        long delta = slotTick - currentTick;
+        int level = 0;
+        long span = wheelSize;
+        while (delta >= span && level < levels.size() - 1) {
+            level++;
+            span *= wheelSize;
+        }
+        if (delta >= span) {
+            slotTick = currentTick + span - 1;
+        }
+        Set<K> bucket = levels.get(level).get(bucketIndex(slotTick, level));
+        bucket.add(key);
+        timers.put(key, new Timer<>(deadlineTick, bucket));
+    }
+
+    private int bucketIndex(long tick, int level) {
+        long levelTick = tick;
+        for (int i = 0; i < level; i++) {
+            levelTick /= wheelSize;
+        }
+        return (int) Math.floorMod(levelTick, (long) wheelSize);
+    }
+
+    /**
+     * Deadline of a key and the bucket it currently waits in.
+     */
+    private record Timer<K>(long deadlineTick, Set<K> bucket) {
+    }
+}
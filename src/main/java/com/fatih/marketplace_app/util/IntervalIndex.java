@@ -0,0 +1,98 @@
+package com.fatih.marketplace_app.util;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Function;
+
+/**
+ * Immutable index of values valid within half-open time intervals [start, end).
+ * The distinct start and end times split the time line into segments, and the values valid in each segment are
+ * collected once when the index is built, so finding the values valid at a time is a binary search over the
+ * boundaries. Values whose interval is empty are left out.
+ * Instances are safe to share between threads.
+ *
+ * @param <T> the type of the values
+ */
+public final class IntervalIndex<T> {
+
+    private final LocalDateTime[] boundaries;
+    private final List<List<T>> segments;
+
+    /**
+     * Builds the index of the given values.
+     *
+     * @param values the values
+     * @param start  the first moment a value is valid
+     * @param end    the moment a value is no longer valid
+     */
+    public IntervalIndex(Collection<T> values, Function<T, LocalDateTime> start, Function<T, LocalDateTime> end) {
+        List<T> validValues = values.stream().filter(value -> start.apply(value).isBefore(end.apply(value))).toList();
+
+        Set<LocalDateTime> boundarySet = new TreeSet<>();
+        validValues.forEach(value -> {
+            boundarySet.add(start.apply(value));
+            boundarySet.add(end.apply(value));
+        });
+        this.boundaries = boundarySet.toArray(new LocalDateTime[0]);
+
+        List<T> byStart = validValues.stream().sorted(Comparator.comparing(start)).toList();
+        List<T> byEnd = validValues.stream().sorted(Comparator.comparing(end)).toList();
+        Set<T> active = new LinkedHashSet<>();
+        List<List<T>> segmentValues = new ArrayList<>(boundaries.length);
+        int nextStart = 0;
+        int nextEnd = 0;
+        for (LocalDateTime boundary : boundaries) {
+            while (nextEnd < byEnd.size() && !end.apply(byEnd.get(nextEnd)).isAfter(boundary)) {
+                active.remove(byEnd.get(nextEnd++));
+            }
+            while (nextStart < byStart.size() && !start.apply(byStart.get(nextStart)).isAfter(boundary)) {
+                active.add(byStart.get(nextStart++));
+            }
+            segmentValues.add(List.copyOf(active));
+        }
+        this.segments = List.copyOf(segmentValues);
+    }
+
+    /**
+     * Finds the values valid at the given time.
+     *
+     * @param time the time
+     * @return the values whose interval contains the time, in the order of their start
+     */
+    public List<T> findValidAt(LocalDateTime time) {
+        int segment = segmentOf(time);
+        return segment < 0 ? List.of() : segments.get(segment);
+    }
+
+    /**
+     * Finds the first boundary after the given time, at which values become valid or stop being valid.
+     *
+     * @param time the time
+     * @return the next boundary, or null if no value changes after the time
+     */
+    public LocalDateTime findNextBoundary(LocalDateTime time) {
+        int next = segmentOf(time) + 1;
+        return next < boundaries.length ? boundaries[next] : null;
+    }
+
+    /**
+     * Returns the number of distinct boundaries of the index.
+     *
+     * @return the number of boundaries
+     */
+    public int boundaryCount() {
+        return boundaries.length;
+    }
+
+    private int segmentOf(LocalDateTime time) {
+        int index = Arrays.binarySearch(boundaries, time);
+        return index >= 0 ? index : -index - 2;
+    }
+}
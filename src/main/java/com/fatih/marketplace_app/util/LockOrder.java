@@ -0,0 +1,23 @@
+package com.fatih.marketplace_app.util;
+
+import java.util.Comparator;
+import java.util.UUID;
+
+/**
+ * Defines the order in which rows are locked when a single transaction touches several of them.
+ * Every code path that locks more than one row of the same table must acquire the locks in this order,
+ * otherwise concurrent transactions can deadlock on each other.
+ */
+public final class LockOrder {
+
+    /**
+     * Orders {@link UUID} values the same way PostgreSQL orders {@code uuid} columns (unsigned, byte by byte),
+     * so that locks taken from Java and locks taken by {@code ORDER BY id FOR UPDATE} queries agree.
+     */
+    public static final Comparator<UUID> UUID_ORDER = Comparator
+            .comparing(UUID::getMostSignificantBits, Long::compareUnsigned)
+            .thenComparing(UUID::getLeastSignificantBits, Long::compareUnsigned);
+
+    private LockOrder() {
+    }
+}
@@ -0,0 +1,149 @@
+package com.fatih.marketplace_app.util;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.LongSupplier;
+
+/**
+ * Generates unique, time-ordered 12-digit numbers for one node.
+ * <p>
+ * Numbers are formatted with their leading digit written as a letter from {@code A} to {@code J}
+ * (see {@link #format(long)}), so that they never meet the all-digit random numbers issued before this generator,
+ * which can have any value. Formatted numbers still sort in numeric order.
+ * <p>
+ * A number is {@code counter * NODE_SPACE + nodeId}. The counter counts {@value #TICK_MILLIS} ms ticks since
+ * 2025-01-01 and is incremented past the clock when more than one number is requested within a tick, so numbers
+ * of one node never repeat and numbers of different nodes never meet. The counter may run at most one hour ahead
+ * of the clock; beyond that callers wait for the clock to catch up, which bounds how far a restarted node has to
+ * look back to continue safely (see {@link #upperBound()} and {@link #advancePast(long)}).
+ * The sustained rate of one node is therefore limited to one number per tick, while bursts above it are absorbed
+ * by running ahead of the clock.
+ * <p>
+ * {@link #next()} does not allocate.
+ */
+public final class TimeOrderedNumberGenerator {
+
+    /** Number of characters of a formatted number. */
+    public static final int DIGITS = 12;
+
+    /** Letter that stands for a leading digit of zero in a formatted number. */
+    public static final char FIRST_LETTER = 'A';
+
+    /** Number of distinct node IDs; the last digit of every number is the node ID. */
+    public static final int NODE_SPACE = 10;
+
+    static final long EPOCH_MILLIS = 1_735_689_600_000L;
+    static final long TICK_MILLIS = 10;
+    static final long MAX_TICKS_AHEAD = TimeUnit.HOURS.toMillis(1) / TICK_MILLIS;
+    static final long MAX_COUNTER = 99_999_999_999L;
+
+    private final int nodeId;
+    private final LongSupplier clock;
+    private final long maxTicksAhead;
+    private final AtomicLong lastCounter = new AtomicLong();
+
+    public TimeOrderedNumberGenerator(int nodeId) {
+        this(nodeId, System::currentTimeMillis, MAX_TICKS_AHEAD);
+    }
+
+    TimeOrderedNumberGenerator(int nodeId, LongSupplier clock, long maxTicksAhead) {
+        if (nodeId < 0 || nodeId >= NODE_SPACE) {
+            throw new IllegalArgumentException("Node ID must be between 0 and " + (NODE_SPACE - 1) + ": " + nodeId);
+        }
+        this.nodeId = nodeId;
+        this.clock = clock;
+        this.maxTicksAhead = maxTicksAhead;
+    }
+
+    /**
+     * Returns the next number of this node.
+     *
+     * @return a number greater than every number this generator returned before
+     * @throws IllegalStateException if the 12-digit number space is exhausted
+     */
+    public long next() {
+        while (true) {
+            long currentTick = currentTick();
+            long previous = lastCounter.get();
+            long next = Math.max(previous + 1, currentTick);
+
+            if (next - currentTick > maxTicksAhead) {
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(TICK_MILLIS));
+                continue;
+            }
+            if (next > MAX_COUNTER) {
+                throw new IllegalStateException("Number space of node " + nodeId + " is exhausted");
+            }
+            if (lastCounter.compareAndSet(previous, next)) {
+                return next * NODE_SPACE + nodeId;
+            }
+        }
+    }
+
+    /**
+     * Makes sure later numbers are greater than the given number, which was issued by this node before.
+     *
+     * @param issuedNumber a number previously issued for this node ID
+     */
+    public void advancePast(long issuedNumber) {
+        lastCounter.accumulateAndGet(issuedNumber / NODE_SPACE, Math::max);
+    }
+
+    /**
+     * Returns the greatest number this node can have issued so far, given how far the counter may run ahead of the clock.
+     *
+     * @return the upper bound of the numbers issued by this node
+     */
+    public long upperBound() {
+        return Math.min(currentTick() + maxTicksAhead, MAX_COUNTER) * NODE_SPACE + nodeId;
+    }
+
+    public int nodeId() {
+        return nodeId;
+    }
+
+    /**
+     * Formats a number as a zero-padded 12-character string whose leading digit is written as a letter,
+     * e.g. {@code 12345} as {@code A00000012345}.
+     *
+     * @param number the number to format
+     * @return the formatted number
+     */
+    public static String format(long number) {
+        char[] digits = new char[DIGITS];
+        for (int i = DIGITS - 1; i > 0; i--) {
+            digits[i] = (char) ('0' + number % 10);
+            number /= 10;
+        }
+        digits[0] = (char) (FIRST_LETTER + number);
+        return new String(digits);
+    }
+
+    /**
+     * Parses a number formatted by {@link #format(long)}.
+     *
+     * @param formattedNumber the formatted number
+     * @return the number
+     * @throws IllegalArgumentException if the string was not formatted by {@link #format(long)}
+     */
+    public static long parse(String formattedNumber) {
+        if (formattedNumber.length() != DIGITS
+                || formattedNumber.charAt(0) < FIRST_LETTER || formattedNumber.charAt(0) > FIRST_LETTER + 9) {
+            throw new IllegalArgumentException("Not a time-ordered number: " + formattedNumber);
+        }
+        long number = formattedNumber.charAt(0) - FIRST_LETTER;
+        for (int i = 1; i < DIGITS; i++) {
+            char digit = formattedNumber.charAt(i);
+            if (digit < '0' || digit > '9') {
+                throw new IllegalArgumentException("Not a time-ordered number: " + formattedNumber);
+            }
+            number = number * 10 + (digit - '0');
+        }
+        return number;
+    }
+
+    private long currentTick() {
+        return (clock.getAsLong() - EPOCH_MILLIS) / TICK_MILLIS;
+    }
+}
@@ -0,0 +1,121 @@
+-- Runs after Hibernate has created or updated the tables (spring.jpa.defer-datasource-initialization),
+-- for schema objects that cannot be declared on the entities.
+
+-- Records the one-time data migrations of this script, so that they do not run again on later startups.
+CREATE TABLE IF NOT EXISTS schema_migrations (
+    migration_name VARCHAR(100) PRIMARY KEY,
+    applied_time   TIMESTAMP NOT NULL
+);
+
+-- Earlier versions could add a product to a cart twice. Before the unique index below is created, the active lines
+-- of the same product in a cart are merged into the oldest one, which gets their total quantity and price,
+-- and the others are soft deleted the way the cart item entity deletes them. Runs once only.
+DO '
+BEGIN
+    IF EXISTS (SELECT 1 FROM schema_migrations WHERE migration_name = ''cart_items_merge_duplicates'') THEN
+        RETURN;
+    END IF;
+
+    WITH ranked AS (
+        SELECT id, cart_id, product_id,
+               row_number() OVER (PARTITION BY cart_id, product_id ORDER BY create_time, id) AS line_rank,
+               sum(product_quantity) OVER (PARTITION BY cart_id, product_id) AS total_quantity,
+               sum(cart_item_price) OVER (PARTITION BY cart_id, product_id) AS total_price,
+               count(*) OVER (PARTITION BY cart_id, product_id) AS line_count
+        FROM cart_items
+        WHERE record_status <> true
+    )
+    UPDATE cart_items ci
+    SET product_quantity = CASE WHEN r.line_rank = 1 THEN r.total_quantity ELSE 0 END,
+        cart_item_price  = CASE WHEN r.line_rank = 1 THEN r.total_price ELSE 0 END,
+        record_status    = r.line_rank > 1,
+        update_time      = now()
+    FROM ranked r
+    WHERE ci.id = r.id AND r.line_count > 1;
+
+    INSERT INTO schema_migrations (migration_name, applied_time) VALUES (''cart_items_merge_duplicates'', now());
+END';
+
+-- One active line per product and cart; soft deleted lines are left out, so a removed product can be added again.
+CREATE UNIQUE INDEX IF NOT EXISTS uk_cart_items_cart_product ON cart_items (cart_id, product_id) WHERE record_status <> true;
+
+-- Leases of scheduled jobs, so that each job partition runs on one instance at a time.
+CREATE TABLE IF NOT EXISTS job_leases (
+    job_name     VARCHAR(100) NOT NULL,
+    partition_no INTEGER      NOT NULL,
+    owner        VARCHAR(255) NOT NULL,
+    acquired_at  TIMESTAMP    NOT NULL,
+    lease_until  TIMESTAMP    NOT NULL,
+    PRIMARY KEY (job_name, partition_no)
+);
+
+-- Redemption counts of campaigns per user, and per campaign under the nil user ID, merged in from the Redis counters.
+CREATE TABLE IF NOT EXISTS campaign_redemptions (
+    campaign_id    UUID      NOT NULL,
+    user_id        UUID      NOT NULL,
+    redeemed_count BIGINT    NOT NULL,
+    update_time    TIMESTAMP NOT NULL,
+    PRIMARY KEY (campaign_id, user_id)
+);
+
+-- When a user count was last redeemed in the database while Redis was unavailable, until its Redis counters are reloaded.
+ALTER TABLE campaign_redemptions ADD COLUMN IF NOT EXISTS reload_requested_time TIMESTAMP;
+CREATE INDEX IF NOT EXISTS idx_campaign_redemptions_reload ON campaign_redemptions (reload_requested_time)
+    WHERE reload_requested_time IS NOT NULL;
+
+-- A cart is emptied and reused after checkout, so it can have many orders; drop the unique key
+-- that earlier versions created on orders.cart_id when an order had a cart of its own.
+-- The block is single quoted rather than dollar quoted, as the script is split on semicolons outside quotes.
+DO '
+DECLARE
+    constraint_name TEXT;
+BEGIN
+    FOR constraint_name IN
+        SELECT c.conname FROM pg_constraint c JOIN pg_attribute a ON a.attrelid = c.conrelid AND a.attnum = ANY (c.conkey)
+        WHERE c.conrelid = ''orders''::regclass AND c.contype = ''u'' AND a.attname = ''cart_id'' AND array_length(c.conkey, 1) = 1
+    LOOP
+        EXECUTE format(''ALTER TABLE orders DROP CONSTRAINT %I'', constraint_name);
+    END LOOP;
+END';
+
+-- Order lines of orders placed before order lines were written at checkout, taken from the items their cart had
+-- when the order was placed: created before the order and not yet deleted then, as the expired cart cleanup has
+-- soft deleted most of them since. Runs once only, for the orders that have no lines yet, which includes the orders
+-- an earlier version of this backfill missed. Soft deleting a cart item zeroes its quantity and price, so such items
+-- are skipped, and orders that still have no lines are reported as a warning in the database log.
+DO '
+DECLARE
+    line_count  INTEGER;
+    order_count INTEGER;
+BEGIN
+    IF EXISTS (SELECT 1 FROM schema_migrations WHERE migration_name = ''order_lines_backfill_deleted_items'') THEN
+        RETURN;
+    END IF;
+
+    INSERT INTO order_lines (id, order_id, product_id, product_name, product_description, unit_price,
+                             product_quantity, line_price, record_status, create_time, update_time)
+    SELECT gen_random_uuid(), o.id, p.id, p.product_name, p.product_description,
+           round(ci.cart_item_price / ci.product_quantity, 2), ci.product_quantity, ci.cart_item_price, false, o.create_time, now()
+    FROM orders o
+             JOIN cart_items ci ON ci.cart_id = o.cart_id
+        AND ci.create_time <= o.create_time
+        AND (ci.record_status <> true OR ci.update_time >= o.create_time)
+        AND ci.product_quantity > 0
+             JOIN products p ON p.id = ci.product_id
+    WHERE NOT EXISTS (SELECT 1 FROM order_lines ol WHERE ol.order_id = o.id);
+    GET DIAGNOSTICS line_count = ROW_COUNT;
+    RAISE NOTICE ''Order lines backfill wrote % lines'', line_count;
+
+    SELECT count(*) INTO order_count FROM orders o WHERE NOT EXISTS (SELECT 1 FROM order_lines ol WHERE ol.order_id = o.id);
+    IF order_count > 0 THEN
+        RAISE WARNING ''Order lines backfill left % orders without lines, their cart items were not found'', order_count;
+    END IF;
+
+    INSERT INTO schema_migrations (migration_name, applied_time) VALUES (''order_lines_backfill_deleted_items'', now());
+END';
+
+-- Campaign types are stored by name; replace the check constraint that earlier versions created with the types
+-- known then, as updating the schema does not change existing check constraints.
+ALTER TABLE campaigns DROP CONSTRAINT IF EXISTS campaigns_campaign_type_check;
+ALTER TABLE campaigns ADD CONSTRAINT campaigns_campaign_type_check
+    CHECK (campaign_type IN ('FIXED', 'PERCENTAGE', 'TIERED', 'BUY_X_GET_Y', 'PER_PRODUCT'));
@@ -0,0 +1,112 @@
+package com.fatih.marketplace_app.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HierarchicalTimingWheelTest {
+
+    private static final Duration TICK = Duration.ofSeconds(1);
+    private static final long TICK_MILLIS = TICK.toMillis();
+
+    @Test
+    void expiresDeadlinesAcrossLevelBoundariesAtTheirTick() {
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(TICK, 4, 3, 0);
+        long[] deadlineTicks = {1, 3, 4, 5, 15, 16, 17, 20, 47, 48, 63};
+        for (long deadlineTick : deadlineTicks) {
+            wheel.schedule("key-" + deadlineTick, deadlineTick * TICK_MILLIS);
+        }
+
+        Map<String, Long> expiryTicks = advanceTickByTick(wheel, 0, 70);
+
+        assertEquals(deadlineTicks.length, expiryTicks.size());
+        for (long deadlineTick : deadlineTicks) {
+            assertEquals(deadlineTick, expiryTicks.get("key-" + deadlineTick));
+        }
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void expiresRandomDeadlinesAtTheirTickFromAnUnalignedStart() {
+        long startTick = 1_000_003;
+        HierarchicalTimingWheel<Integer> wheel = new HierarchicalTimingWheel<>(TICK, 8, 3, startTick * TICK_MILLIS + 500);
+        Random random = new Random(42);
+        Map<Integer, Long> deadlineTicks = new HashMap<>();
+        for (int key = 0; key < 2_000; key++) {
+            long deadlineMillis = (startTick + 1) * TICK_MILLIS + random.nextInt(600 * (int) TICK_MILLIS);
+            wheel.schedule(key, deadlineMillis);
+            deadlineTicks.put(key, Math.ceilDiv(deadlineMillis, TICK_MILLIS));
+        }
+
+        Map<Integer, Long> expiryTicks = advanceTickByTick(wheel, startTick, startTick + 700);
+
+        assertEquals(deadlineTicks, expiryTicks);
+    }
+
+    @Test
+    void rescheduledAndCancelledKeysFollowTheirLatestDeadlineAfterCascading() {
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(TICK, 4, 3, 0);
+        wheel.schedule("rescheduled-later", 18 * TICK_MILLIS);
+        wheel.schedule("cancelled-after-cascade", 19 * TICK_MILLIS);
+        wheel.schedule("cancelled-before-cascade", 30 * TICK_MILLIS);
+        wheel.schedule("rescheduled-earlier", 60 * TICK_MILLIS);
+
+        assertTrue(wheel.advance(10 * TICK_MILLIS).isEmpty());
+        assertTrue(wheel.cancel("cancelled-before-cascade"));
+        wheel.schedule("rescheduled-earlier", 12 * TICK_MILLIS);
+        assertEquals(List.of("rescheduled-earlier"), wheel.advance(12 * TICK_MILLIS));
+
+        assertTrue(wheel.advance(16 * TICK_MILLIS).isEmpty());
+        wheel.schedule("rescheduled-later", 40 * TICK_MILLIS);
+        assertTrue(wheel.cancel("cancelled-after-cascade"));
+        assertFalse(wheel.cancel("cancelled-after-cascade"));
+
+        Map<String, Long> expiryTicks = advanceTickByTick(wheel, 16, 70);
+
+        assertEquals(Map.of("rescheduled-later", 40L), expiryTicks);
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void parksDeadlinesBeyondTheTopLevelUntilTheyAreDue() {
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(TICK, 4, 2, 0);
+        wheel.schedule("far", 100 * TICK_MILLIS);
+        wheel.schedule("farther", 1_000 * TICK_MILLIS);
+
+        Map<String, Long> expiryTicks = advanceTickByTick(wheel, 0, 1_010);
+
+        assertEquals(Map.of("far", 100L, "farther", 1_000L), expiryTicks);
+    }
+
+    @Test
+    void expiresPastDeadlinesOnTheNextTick() {
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(TICK, 4, 2, 50 * TICK_MILLIS);
+        wheel.schedule("past", 10 * TICK_MILLIS);
+
+        assertTrue(wheel.advance(50 * TICK_MILLIS + 999).isEmpty());
+        assertEquals(List.of("past"), wheel.advance(51 * TICK_MILLIS));
+    }
+
+    @Test
+    void rejectsWheelsWithoutRoomForDeadlines() {
+        assertThrows(IllegalArgumentException.class, () -> new HierarchicalTimingWheel<>(Duration.ZERO, 4, 2, 0));
+        assertThrows(IllegalArgumentException.class, () -> new HierarchicalTimingWheel<>(TICK, 1, 2, 0));
+        assertThrows(IllegalArgumentException.class, () -> new HierarchicalTimingWheel<>(TICK, 4, 0, 0));
+    }
+
+    private static <K> Map<K, Long> advanceTickByTick(HierarchicalTimingWheel<K> wheel, long fromTick, long toTick) {
+        Map<K, Long> expiryTicks = new HashMap<>();
+        for (long tick = fromTick + 1; tick <= toTick; tick++) {
+            for (K key : wheel.advance(tick * TICK_MILLIS)) {
+                assertNull(expiryTicks.put(key, tick), "a key must expire once");
+            }
+        }
+        return expiryTicks;
+    }
+}
@@ -0,0 +1,83 @@
+package com.fatih.marketplace_app.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IntervalIndexTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+    @Test
+    void leavesOutEmptyIntervals() {
+        Window empty = window("empty", 10, 10);
+        Window reversed = window("reversed", 20, 15);
+
+        IntervalIndex<Window> index = index(empty, reversed);
+
+        assertEquals(0, index.boundaryCount());
+        assertTrue(index.findValidAt(at(10)).isEmpty());
+        assertTrue(index.findValidAt(at(17)).isEmpty());
+        assertNull(index.findNextBoundary(at(0)));
+    }
+
+    @Test
+    void switchesAdjacentIntervalsAtTheSharedBoundary() {
+        Window first = window("first", 10, 20);
+        Window second = window("second", 20, 30);
+
+        IntervalIndex<Window> index = index(second, first);
+
+        assertTrue(index.findValidAt(at(10).minusNanos(1)).isEmpty());
+        assertEquals(List.of(first), index.findValidAt(at(10)));
+        assertEquals(List.of(first), index.findValidAt(at(20).minusNanos(1)));
+        assertEquals(List.of(second), index.findValidAt(at(20)));
+        assertTrue(index.findValidAt(at(30)).isEmpty());
+        assertEquals(3, index.boundaryCount());
+    }
+
+    @Test
+    void findsTheNextBoundaryAfterAnyTime() {
+        IntervalIndex<Window> index = index(window("first", 10, 20), window("second", 20, 30));
+
+        assertEquals(at(10), index.findNextBoundary(at(5)));
+        assertEquals(at(20), index.findNextBoundary(at(10)));
+        assertEquals(at(20), index.findNextBoundary(at(15)));
+        assertEquals(at(30), index.findNextBoundary(at(20)));
+        assertNull(index.findNextBoundary(at(30)));
+    }
+
+    @Test
+    void returnsOverlappingValuesInTheOrderOfTheirStart() {
+        Window outer = window("outer", 10, 40);
+        Window inner = window("inner", 15, 20);
+        Window sameStart = window("same-start", 15, 25);
+
+        IntervalIndex<Window> index = index(sameStart, inner, outer);
+
+        assertEquals(List.of(outer), index.findValidAt(at(12)));
+        assertEquals(3, index.findValidAt(at(17)).size());
+        assertEquals(outer, index.findValidAt(at(17)).getFirst());
+        assertEquals(List.of(outer, sameStart), index.findValidAt(at(20)));
+        assertEquals(List.of(outer), index.findValidAt(at(25)));
+        assertTrue(index.findValidAt(at(40)).isEmpty());
+    }
+
+    private static IntervalIndex<Window> index(Window... windows) {
+        return new IntervalIndex<>(List.of(windows), Window::start, Window::end);
+    }
+
+    private static Window window(String name, int startMinute, int endMinute) {
+        return new Window(name, at(startMinute), at(endMinute));
+    }
+
+    private static LocalDateTime at(int minute) {
+        return BASE.plusMinutes(minute);
+    }
+
+    private record Window(String name, LocalDateTime start, LocalDateTime end) {
+    }
+}
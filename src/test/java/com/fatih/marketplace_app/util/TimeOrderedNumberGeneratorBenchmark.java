@@ -0,0 +1,58 @@
+package com.fatih.marketplace_app.util;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Compares the time-ordered number generator with the previous random order number generation.
+ * The generator runs without the run-ahead limit, so the benchmark measures the generation itself rather than
+ * the one-number-per-tick sustained rate. Run with {@code -prof gc} to see the allocation rate per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TimeOrderedNumberGeneratorBenchmark {
+
+    private final TimeOrderedNumberGenerator generator =
+            new TimeOrderedNumberGenerator(0, System::currentTimeMillis, Long.MAX_VALUE);
+
+    @Benchmark
+    public long timeOrderedNumber() {
+        return generator.next();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public long timeOrderedNumberContended() {
+        return generator.next();
+    }
+
+    @Benchmark
+    public String timeOrderedNumberFormatted() {
+        return TimeOrderedNumberGenerator.format(generator.next());
+    }
+
+    @Benchmark
+    public String legacyRandomNumber() {
+        return new Random().ints(12, 0, 10)
+                .mapToObj(String::valueOf)
+                .collect(Collectors.joining());
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(TimeOrderedNumberGeneratorBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,114 @@
+package com.fatih.marketplace_app.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimeOrderedNumberGeneratorTest {
+
+    private static final int THREADS = 8;
+    private static final int NUMBERS_PER_THREAD = 100_000;
+
+    @Test
+    void generatesUniqueNumbersAcrossThreads() throws Exception {
+        TimeOrderedNumberGenerator generator = new TimeOrderedNumberGenerator(3, System::currentTimeMillis, Long.MAX_VALUE);
+
+        List<Callable<long[]>> tasks = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            tasks.add(() -> {
+                long[] numbers = new long[NUMBERS_PER_THREAD];
+                for (int i = 0; i < numbers.length; i++) {
+                    numbers[i] = generator.next();
+                }
+                return numbers;
+            });
+        }
+
+        Set<Long> allNumbers = new HashSet<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(THREADS)) {
+            for (Future<long[]> future : executor.invokeAll(tasks)) {
+                long[] numbers = future.get();
+                for (int i = 0; i < numbers.length; i++) {
+                    if (i > 0) {
+                        assertTrue(numbers[i] > numbers[i - 1], "numbers of one thread must increase");
+                    }
+                    assertEquals(3, numbers[i] % TimeOrderedNumberGenerator.NODE_SPACE);
+                    allNumbers.add(numbers[i]);
+                }
+            }
+        }
+
+        assertEquals(THREADS * NUMBERS_PER_THREAD, allNumbers.size());
+    }
+
+    @Test
+    void numbersOfDifferentNodesNeverMeet() {
+        AtomicLong clock = new AtomicLong(TimeOrderedNumberGenerator.EPOCH_MILLIS);
+        TimeOrderedNumberGenerator first = new TimeOrderedNumberGenerator(1, clock::get, Long.MAX_VALUE);
+        TimeOrderedNumberGenerator second = new TimeOrderedNumberGenerator(2, clock::get, Long.MAX_VALUE);
+
+        Set<Long> numbers = new HashSet<>();
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(numbers.add(first.next()));
+            assertTrue(numbers.add(second.next()));
+        }
+    }
+
+    @Test
+    void continuesAfterPreviouslyIssuedNumber() {
+        AtomicLong clock = new AtomicLong(TimeOrderedNumberGenerator.EPOCH_MILLIS + 1_000);
+        TimeOrderedNumberGenerator generator = new TimeOrderedNumberGenerator(5, clock::get, TimeOrderedNumberGenerator.MAX_TICKS_AHEAD);
+
+        generator.advancePast(123_455L);
+
+        assertEquals(123_465L, generator.next());
+    }
+
+    @Test
+    void boundsNumbersByHowFarTheCounterMayRunAhead() {
+        AtomicLong clock = new AtomicLong(TimeOrderedNumberGenerator.EPOCH_MILLIS);
+        TimeOrderedNumberGenerator generator = new TimeOrderedNumberGenerator(7, clock::get, 100);
+
+        long last = 0;
+        for (int i = 0; i < 100; i++) {
+            last = generator.next();
+        }
+
+        assertEquals(generator.upperBound(), last);
+    }
+
+    @Test
+    void formatsAsTwelveCharactersLedByLetter() {
+        assertEquals("A00000012345", TimeOrderedNumberGenerator.format(12_345L));
+        assertEquals("J99999999999", TimeOrderedNumberGenerator.format(999_999_999_999L));
+    }
+
+    @Test
+    void parsesFormattedNumbers() {
+        assertEquals(12_345L, TimeOrderedNumberGenerator.parse("A00000012345"));
+        assertEquals(999_999_999_999L, TimeOrderedNumberGenerator.parse(TimeOrderedNumberGenerator.format(999_999_999_999L)));
+    }
+
+    @Test
+    void rejectsNumbersNotFormattedByTheGenerator() {
+        assertThrows(IllegalArgumentException.class, () -> TimeOrderedNumberGenerator.parse("000000012345"));
+        assertThrows(IllegalArgumentException.class, () -> TimeOrderedNumberGenerator.parse("K00000012345"));
+        assertThrows(IllegalArgumentException.class, () -> TimeOrderedNumberGenerator.parse("A0000001234"));
+    }
+
+    @Test
+    void rejectsNodeIdOutsideNodeSpace() {
+        assertThrows(IllegalArgumentException.class, () -> new TimeOrderedNumberGenerator(TimeOrderedNumberGenerator.NODE_SPACE));
+        assertThrows(IllegalArgumentException.class, () -> new TimeOrderedNumberGenerator(-1));
+    }
+}